@@ -28,4 +28,24 @@ public class Constants {
     public static final String ANONYMOUS_VALUE = "anonymous";
     public static final String UNKNOWN_VALUE = "UNKNOWN";
     public static final int UNKNOWN_INT_VALUE = -1;
+
+    public static final String AGGREGATION_ENABLED_PROP = "aggregation.enabled";
+    public static final String AGGREGATION_APIS_PROP = "aggregation.apis";
+    public static final String AGGREGATION_WINDOW_PROP = "aggregation.window_seconds";
+    public static final String AGGREGATION_MAX_KEYS_PROP = "aggregation.max_keys";
+    public static final String AGGREGATE_ALL_APIS = "*";
+    public static final int DEFAULT_AGGREGATION_WINDOW_SECONDS = 60;
+    public static final int DEFAULT_AGGREGATION_MAX_KEYS = 10000;
+
+    public static final String REQUEST_SIZE_KEY = "requestSize";
+    public static final String RESPONSE_SIZE_KEY = "responseSize";
+    public static final String AGGREGATED_KEY = "aggregated";
+    public static final String AGGREGATION_WINDOW_START_KEY = "aggregationWindowStart";
+    public static final String AGGREGATION_WINDOW_END_KEY = "aggregationWindowEnd";
+    public static final String REQUEST_COUNT_KEY = "requestCount";
+    public static final String MIN_RESPONSE_LATENCY_KEY = "minResponseLatency";
+    public static final String MAX_RESPONSE_LATENCY_KEY = "maxResponseLatency";
+    public static final String RESPONSE_LATENCY_HISTOGRAM_KEY = "responseLatencyHistogram";
+    public static final String TOTAL_REQUEST_SIZE_KEY = "totalRequestSize";
+    public static final String TOTAL_RESPONSE_SIZE_KEY = "totalResponseSize";
 }
@@ -39,25 +39,36 @@ public abstract class AbstractRequestDataPublisher implements RequestDataPublish
             new TypeReference<Map<String, Object>>() {
             };
     private static final Log log = LogFactory.getLog(AbstractRequestDataPublisher.class);
+    private static final EventAttributeWriter EVENT_ATTRIBUTE_WRITER = new EventAttributeWriter(OBJECT_MAPPER);
 
     @Override
     public void publish(Event analyticsEvent) {
 
+        if (AnalyticsEventAggregator.getInstance().aggregate(analyticsEvent, this)) {
+            return;
+        }
+        publishEvent(analyticsEvent);
+    }
+
+    /**
+     * Publishes the event without aggregating it.
+     *
+     * @param analyticsEvent analytics event
+     */
+    void publishEvent(Event analyticsEvent) {
+
         CounterMetric counterMetric = this.getCounterMetric();
         if (counterMetric == null) {
             log.error("counterMetric cannot be null.");
             return;
         }
 
-        Map<String, Object> dataMap = OBJECT_MAPPER.convertValue(analyticsEvent, MAP_TYPE_REFERENCE);
         MetricEventBuilder builder = counterMetric.getEventBuilder();
-        for (Map.Entry<String, Object> entry : dataMap.entrySet()) {
-            try {
-                builder.addAttribute(entry.getKey(), entry.getValue());
-            } catch (MetricReportingException e) {
-                log.error("Error adding data to the event stream.", e);
-                return;
-            }
+        try {
+            EVENT_ATTRIBUTE_WRITER.write(analyticsEvent, builder);
+        } catch (MetricReportingException e) {
+            log.error("Error adding data to the event stream.", e);
+            return;
         }
 
         try {
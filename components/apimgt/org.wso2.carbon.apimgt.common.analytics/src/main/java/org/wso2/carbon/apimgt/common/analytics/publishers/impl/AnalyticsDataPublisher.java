@@ -84,6 +84,7 @@ public class AnalyticsDataPublisher {
         } catch (MetricCreationException | IllegalArgumentException e) {
             log.error("Error initializing event publisher.", e);
         }
+        AnalyticsEventAggregator.getInstance().initialize(commonConfig);
     }
 
     public CounterMetric getSuccessMetricReporter() {
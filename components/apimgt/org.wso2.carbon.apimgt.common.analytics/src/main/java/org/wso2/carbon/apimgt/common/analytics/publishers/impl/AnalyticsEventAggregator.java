@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.analytics.publishers.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.common.analytics.AnalyticsCommonConfiguration;
+import org.wso2.carbon.apimgt.common.analytics.Constants;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.API;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Application;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Event;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Latencies;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.MetaInfo;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Operation;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolls the analytics events of selected APIs up in process and publishes one summary event per key and window,
+ * instead of one event per request. Events are keyed by the publisher, API, operation, application, status class,
+ * error and region. A summary event carries the attributes of the first event of its key with the average latencies
+ * of the window, and holds the request count, response latency histogram and byte totals in its properties.
+ * <p>
+ * Aggregation is enabled with the {@link Constants#AGGREGATION_ENABLED_PROP} property and applies to the APIs whose
+ * IDs are listed in {@link Constants#AGGREGATION_APIS_PROP}, or to all APIs when the list contains
+ * {@link Constants#AGGREGATE_ALL_APIS}. Events of the other APIs are published as they are.
+ */
+public class AnalyticsEventAggregator {
+
+    private static final Log log = LogFactory.getLog(AnalyticsEventAggregator.class);
+    private static final long[] LATENCY_BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    private static final String LATENCY_OVERFLOW_BUCKET = "+Inf";
+    private static final AnalyticsEventAggregator instance = new AnalyticsEventAggregator();
+
+    private final AtomicReference<Window> currentWindow = new AtomicReference<>();
+    private volatile boolean enabled;
+    private boolean aggregateAllApis;
+    private Set<String> aggregatedApis = Collections.emptySet();
+    private int maxKeys = Constants.DEFAULT_AGGREGATION_MAX_KEYS;
+    private Window closedWindow;
+    private ScheduledExecutorService scheduler;
+
+    private AnalyticsEventAggregator() {
+
+    }
+
+    public static AnalyticsEventAggregator getInstance() {
+
+        return instance;
+    }
+
+    public synchronized void initialize(AnalyticsCommonConfiguration commonConfig) {
+
+        Map<String, String> configs = commonConfig.getConfigurations();
+        if (enabled || configs == null || !Boolean.parseBoolean(configs.get(Constants.AGGREGATION_ENABLED_PROP))) {
+            return;
+        }
+        Set<String> apiIds = new HashSet<>();
+        String apis = configs.get(Constants.AGGREGATION_APIS_PROP);
+        if (apis != null) {
+            for (String apiId : apis.split(",")) {
+                if (StringUtils.isNotBlank(apiId)) {
+                    apiIds.add(apiId.trim());
+                }
+            }
+        }
+        if (apiIds.isEmpty()) {
+            log.warn("Analytics event aggregation is enabled, but no APIs are configured for aggregation.");
+            return;
+        }
+        int windowSeconds = getPositiveInt(configs, Constants.AGGREGATION_WINDOW_PROP,
+                Constants.DEFAULT_AGGREGATION_WINDOW_SECONDS);
+        aggregateAllApis = apiIds.contains(Constants.AGGREGATE_ALL_APIS);
+        aggregatedApis = apiIds;
+        maxKeys = getPositiveInt(configs, Constants.AGGREGATION_MAX_KEYS_PROP, Constants.DEFAULT_AGGREGATION_MAX_KEYS);
+        currentWindow.set(new Window(System.currentTimeMillis()));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AnalyticsEventAggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::rollWindow, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+        enabled = true;
+        log.info("Analytics events are aggregated over windows of " + windowSeconds + " seconds.");
+    }
+
+    /**
+     * Adds the event to the aggregate of its key in the current window.
+     *
+     * @param event     analytics event
+     * @param publisher publisher of the event, which publishes the summary event of the key
+     * @return true if the event was aggregated, false if it has to be published as it is
+     */
+    boolean aggregate(Event event, AbstractRequestDataPublisher publisher) {
+
+        if (!enabled) {
+            return false;
+        }
+        API api = event.getApi();
+        if (api == null || (!aggregateAllApis && !aggregatedApis.contains(api.getApiId()))) {
+            return false;
+        }
+        Window window = currentWindow.get();
+        AggregationKey key = new AggregationKey(publisher.getClass(), event);
+        Aggregate aggregate = window.aggregates.get(key);
+        if (aggregate == null) {
+            if (window.aggregates.size() >= maxKeys) {
+                // Too many distinct keys in this window, publish the event as it is
+                return false;
+            }
+            aggregate = window.aggregates.computeIfAbsent(key, k -> new Aggregate(event, publisher));
+        }
+        aggregate.record(event);
+        return true;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Stops aggregating events and publishes the aggregates of the open windows.
+     */
+    public synchronized void shutdown() {
+
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closedWindow != null) {
+            publish(closedWindow);
+            closedWindow = null;
+        }
+        Window window = currentWindow.get();
+        window.close(System.currentTimeMillis());
+        publish(window);
+    }
+
+    /**
+     * Opens a new window and publishes the window closed in the previous run. Publishing a window one run after it
+     * is closed lets the events which were being added while it was swapped out to complete.
+     */
+    private void rollWindow() {
+
+        long now = System.currentTimeMillis();
+        Window previous = closedWindow;
+        closedWindow = currentWindow.getAndSet(new Window(now));
+        closedWindow.close(now);
+        if (previous != null) {
+            publish(previous);
+        }
+    }
+
+    private void publish(Window window) {
+
+        for (Aggregate aggregate : window.aggregates.values()) {
+            try {
+                aggregate.publisher.publishEvent(aggregate.toSummaryEvent(window.start, window.end));
+            } catch (RuntimeException e) {
+                log.error("Error occurred when publishing aggregated event.", e);
+            }
+        }
+    }
+
+    private static int getPositiveInt(Map<String, String> configs, String name, int defaultValue) {
+
+        String value = configs.get(name);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue > 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value
+            }
+            log.warn("Invalid value " + value + " for " + name + ". Using the default value " + defaultValue);
+        }
+        return defaultValue;
+    }
+
+    private static String getTimeInISO(long time) {
+
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneOffset.UTC.normalized()).toString();
+    }
+
+    private static int getLatencyBucket(long latency) {
+
+        for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+            if (latency <= LATENCY_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS.length;
+    }
+
+    private static long getSize(Map<String, Object> properties, String key) {
+
+        Object size = properties.get(key);
+        return size instanceof Number ? ((Number) size).longValue() : 0;
+    }
+
+    /**
+     * Aggregates of a window.
+     */
+    private static final class Window {
+
+        private final long start;
+        private final Map<AggregationKey, Aggregate> aggregates = new ConcurrentHashMap<>();
+        private long end;
+
+        private Window(long start) {
+
+            this.start = start;
+        }
+
+        private void close(long end) {
+
+            this.end = end;
+        }
+    }
+
+    /**
+     * Key of the events which are rolled up together.
+     */
+    private static final class AggregationKey {
+
+        private final Class<?> publisherClass;
+        private final String apiId;
+        private final String apiMethod;
+        private final String apiResourceTemplate;
+        private final String applicationId;
+        private final String keyType;
+        private final int statusClass;
+        private final String errorType;
+        private final int errorCode;
+        private final String regionId;
+        private final int hashCode;
+
+        private AggregationKey(Class<?> publisherClass, Event event) {
+
+            this.publisherClass = publisherClass;
+            this.apiId = event.getApi().getApiId();
+            Operation operation = event.getOperation();
+            this.apiMethod = operation != null ? operation.getApiMethod() : null;
+            this.apiResourceTemplate = operation != null ? operation.getApiResourceTemplate() : null;
+            Application application = event.getApplication();
+            this.applicationId = application != null ? application.getApplicationId() : null;
+            this.keyType = application != null ? application.getKeyType() : null;
+            this.statusClass = event.getProxyResponseCode() / 100;
+            this.errorType = event.getErrorType();
+            this.errorCode = event.getError() != null ? event.getError().getErrorCode() : 0;
+            MetaInfo metaInfo = event.getMetaInfo();
+            this.regionId = metaInfo != null ? metaInfo.getRegionId() : null;
+            this.hashCode = Objects.hash(publisherClass, apiId, apiMethod, apiResourceTemplate, applicationId, keyType,
+                    statusClass, errorType, errorCode, regionId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AggregationKey)) {
+                return false;
+            }
+            AggregationKey that = (AggregationKey) o;
+            return hashCode == that.hashCode && statusClass == that.statusClass && errorCode == that.errorCode
+                    && publisherClass == that.publisherClass && Objects.equals(apiId, that.apiId)
+                    && Objects.equals(apiMethod, that.apiMethod)
+                    && Objects.equals(apiResourceTemplate, that.apiResourceTemplate)
+                    && Objects.equals(applicationId, that.applicationId) && Objects.equals(keyType, that.keyType)
+                    && Objects.equals(errorType, that.errorType) && Objects.equals(regionId, that.regionId);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hashCode;
+        }
+    }
+
+    /**
+     * Counters of the events of a key within a window.
+     */
+    private static final class Aggregate {
+
+        private final Event template;
+        private final AbstractRequestDataPublisher publisher;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder latencyCount = new LongAdder();
+        private final LongAdder responseLatency = new LongAdder();
+        private final LongAdder backendLatency = new LongAdder();
+        private final LongAdder requestMediationLatency = new LongAdder();
+        private final LongAdder responseMediationLatency = new LongAdder();
+        private final AtomicLong minResponseLatency = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxResponseLatency = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLongArray responseLatencyHistogram = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+        private final LongAdder requestSize = new LongAdder();
+        private final LongAdder responseSize = new LongAdder();
+
+        private Aggregate(Event template, AbstractRequestDataPublisher publisher) {
+
+            this.template = template;
+            this.publisher = publisher;
+        }
+
+        private void record(Event event) {
+
+            count.increment();
+            Latencies latencies = event.getLatencies();
+            if (latencies != null) {
+                long latency = latencies.getResponseLatency();
+                latencyCount.increment();
+                responseLatency.add(latency);
+                backendLatency.add(latencies.getBackendLatency());
+                requestMediationLatency.add(latencies.getRequestMediationLatency());
+                responseMediationLatency.add(latencies.getResponseMediationLatency());
+                responseLatencyHistogram.incrementAndGet(getLatencyBucket(latency));
+                long min = minResponseLatency.get();
+                while (latency < min && !minResponseLatency.compareAndSet(min, latency)) {
+                    min = minResponseLatency.get();
+                }
+                long max = maxResponseLatency.get();
+                while (latency > max && !maxResponseLatency.compareAndSet(max, latency)) {
+                    max = maxResponseLatency.get();
+                }
+            }
+            Map<String, Object> properties = event.getProperties();
+            if (properties != null) {
+                requestSize.add(getSize(properties, Constants.REQUEST_SIZE_KEY));
+                responseSize.add(getSize(properties, Constants.RESPONSE_SIZE_KEY));
+            }
+        }
+
+        private Event toSummaryEvent(long windowStart, long windowEnd) {
+
+            Event event = new Event();
+            event.setApi(template.getApi());
+            event.setOperation(template.getOperation());
+            event.setTarget(template.getTarget());
+            event.setApplication(template.getApplication());
+            event.setMetaInfo(template.getMetaInfo());
+            event.setError(template.getError());
+            event.setErrorType(template.getErrorType());
+            event.setProxyResponseCode(template.getProxyResponseCode());
+            event.setRequestTimestamp(getTimeInISO(windowStart));
+            event.setUserAgentHeader(Constants.UNKNOWN_VALUE);
+            event.setUserIp(Constants.UNKNOWN_VALUE);
+
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put(Constants.AGGREGATED_KEY, true);
+            properties.put(Constants.AGGREGATION_WINDOW_START_KEY, getTimeInISO(windowStart));
+            properties.put(Constants.AGGREGATION_WINDOW_END_KEY, getTimeInISO(windowEnd));
+            properties.put(Constants.REQUEST_COUNT_KEY, count.sum());
+            long samples = latencyCount.sum();
+            if (samples > 0) {
+                Latencies latencies = new Latencies();
+                latencies.setResponseLatency(responseLatency.sum() / samples);
+                latencies.setBackendLatency(backendLatency.sum() / samples);
+                latencies.setRequestMediationLatency(requestMediationLatency.sum() / samples);
+                latencies.setResponseMediationLatency(responseMediationLatency.sum() / samples);
+                event.setLatencies(latencies);
+                properties.put(Constants.MIN_RESPONSE_LATENCY_KEY, minResponseLatency.get());
+                properties.put(Constants.MAX_RESPONSE_LATENCY_KEY, maxResponseLatency.get());
+                Map<String, Long> histogram = new LinkedHashMap<>();
+                for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                    histogram.put(String.valueOf(LATENCY_BUCKETS[i]), responseLatencyHistogram.get(i));
+                }
+                histogram.put(LATENCY_OVERFLOW_BUCKET, responseLatencyHistogram.get(LATENCY_BUCKETS.length));
+                properties.put(Constants.RESPONSE_LATENCY_HISTOGRAM_KEY, histogram);
+            } else {
+                event.setLatencies(template.getLatencies());
+            }
+            properties.put(Constants.TOTAL_REQUEST_SIZE_KEY, requestSize.sum());
+            properties.put(Constants.TOTAL_RESPONSE_SIZE_KEY, responseSize.sum());
+            event.setProperties(properties);
+            return event;
+        }
+    }
+}
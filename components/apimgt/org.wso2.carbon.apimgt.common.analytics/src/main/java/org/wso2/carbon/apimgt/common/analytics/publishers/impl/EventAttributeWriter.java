@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.analytics.publishers.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.wso2.am.analytics.publisher.exception.MetricReportingException;
+import org.wso2.am.analytics.publisher.reporter.MetricEventBuilder;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.API;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Application;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Error;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Event;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.ExtendedAPI;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Latencies;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.MetaInfo;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Operation;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Target;
+
+import java.util.Map;
+
+/**
+ * Writes the attributes of an analytics {@link Event} directly into a {@link MetricEventBuilder}. The attributes are
+ * the same as the ones of the event converted to a map with Jackson, where the nested objects are unwrapped, but
+ * they are read from the getters instead of building an intermediate map reflectively. Subclasses of the event
+ * objects are converted with Jackson, so that attributes added by extensions are still published.
+ */
+final class EventAttributeWriter {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE_REFERENCE =
+            new TypeReference<Map<String, Object>>() {
+            };
+
+    private final ObjectMapper objectMapper;
+
+    EventAttributeWriter(ObjectMapper objectMapper) {
+
+        this.objectMapper = objectMapper;
+    }
+
+    void write(Event event, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (event.getClass() != Event.class) {
+            writeConverted(event, builder);
+            return;
+        }
+        writeApi(event.getApi(), builder);
+        writeOperation(event.getOperation(), builder);
+        writeTarget(event.getTarget(), builder);
+        writeApplication(event.getApplication(), builder);
+        writeLatencies(event.getLatencies(), builder);
+        writeMetaInfo(event.getMetaInfo(), builder);
+        writeError(event.getError(), builder);
+        builder.addAttribute("proxyResponseCode", event.getProxyResponseCode());
+        builder.addAttribute("requestTimestamp", event.getRequestTimestamp());
+        builder.addAttribute("userAgentHeader", event.getUserAgentHeader());
+        builder.addAttribute("userIp", event.getUserIp());
+        builder.addAttribute("errorType", event.getErrorType());
+        builder.addAttribute("properties", getProperties(event.getProperties()));
+    }
+
+    private void writeApi(API api, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (api == null) {
+            return;
+        }
+        if (api.getClass() != API.class && api.getClass() != ExtendedAPI.class) {
+            writeConverted(api, builder);
+            return;
+        }
+        builder.addAttribute("apiId", api.getApiId());
+        builder.addAttribute("apiType", api.getApiType());
+        builder.addAttribute("apiName", api.getApiName());
+        builder.addAttribute("apiVersion", api.getApiVersion());
+        builder.addAttribute("apiCreator", api.getApiCreator());
+        builder.addAttribute("apiCreatorTenantDomain", api.getApiCreatorTenantDomain());
+        if (api instanceof ExtendedAPI) {
+            builder.addAttribute("organizationId", ((ExtendedAPI) api).getOrganizationId());
+        }
+    }
+
+    private void writeOperation(Operation operation, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (operation == null) {
+            return;
+        }
+        if (operation.getClass() != Operation.class) {
+            writeConverted(operation, builder);
+            return;
+        }
+        builder.addAttribute("apiMethod", operation.getApiMethod());
+        builder.addAttribute("apiResourceTemplate", operation.getApiResourceTemplate());
+    }
+
+    private void writeTarget(Target target, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (target == null) {
+            return;
+        }
+        if (target.getClass() != Target.class) {
+            writeConverted(target, builder);
+            return;
+        }
+        builder.addAttribute("targetResponseCode", target.getTargetResponseCode());
+        builder.addAttribute("responseCacheHit", target.isResponseCacheHit());
+        builder.addAttribute("destination", target.getDestination());
+    }
+
+    private void writeApplication(Application application, MetricEventBuilder builder)
+            throws MetricReportingException {
+
+        if (application == null) {
+            return;
+        }
+        if (application.getClass() != Application.class) {
+            writeConverted(application, builder);
+            return;
+        }
+        builder.addAttribute("keyType", application.getKeyType());
+        builder.addAttribute("applicationId", application.getApplicationId());
+        builder.addAttribute("applicationName", application.getApplicationName());
+        builder.addAttribute("applicationOwner", application.getApplicationOwner());
+    }
+
+    private void writeLatencies(Latencies latencies, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (latencies == null) {
+            return;
+        }
+        if (latencies.getClass() != Latencies.class) {
+            writeConverted(latencies, builder);
+            return;
+        }
+        builder.addAttribute("responseLatency", latencies.getResponseLatency());
+        builder.addAttribute("backendLatency", latencies.getBackendLatency());
+        builder.addAttribute("requestMediationLatency", latencies.getRequestMediationLatency());
+        builder.addAttribute("responseMediationLatency", latencies.getResponseMediationLatency());
+    }
+
+    private void writeMetaInfo(MetaInfo metaInfo, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (metaInfo == null) {
+            return;
+        }
+        if (metaInfo.getClass() != MetaInfo.class) {
+            writeConverted(metaInfo, builder);
+            return;
+        }
+        builder.addAttribute("correlationId", metaInfo.getCorrelationId());
+        builder.addAttribute("regionId", metaInfo.getRegionId());
+        builder.addAttribute("gatewayType", metaInfo.getGatewayType());
+    }
+
+    private void writeError(Error error, MetricEventBuilder builder) throws MetricReportingException {
+
+        if (error == null) {
+            return;
+        }
+        if (error.getClass() != Error.class) {
+            writeConverted(error, builder);
+            return;
+        }
+        builder.addAttribute("errorCode", error.getErrorCode());
+        Object errorMessage = error.getErrorMessage();
+        if (errorMessage instanceof Enum) {
+            // Enums are serialized with their names
+            errorMessage = ((Enum<?>) errorMessage).name();
+        } else if (errorMessage != null) {
+            errorMessage = objectMapper.convertValue(errorMessage, Object.class);
+        }
+        builder.addAttribute("errorMessage", errorMessage);
+    }
+
+    private Object getProperties(Map<String, Object> properties) {
+
+        if (properties == null) {
+            return null;
+        }
+        for (Object value : properties.values()) {
+            if (value != null && !(value instanceof String) && !(value instanceof Number)
+                    && !(value instanceof Boolean)) {
+                // Custom properties which are objects are published as maps
+                return objectMapper.convertValue(properties, MAP_TYPE_REFERENCE);
+            }
+        }
+        return properties;
+    }
+
+    private void writeConverted(Object value, MetricEventBuilder builder) throws MetricReportingException {
+
+        Map<String, Object> dataMap = objectMapper.convertValue(value, MAP_TYPE_REFERENCE);
+        for (Map.Entry<String, Object> entry : dataMap.entrySet()) {
+            builder.addAttribute(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.http.util.EntityUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.gateway.handlers.logging.APILoggingConfig;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.dto.EventHubConfigurationDto;
@@ -38,6 +39,7 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -46,7 +48,9 @@ import java.util.Map;
  */
 public class APILoggerManager {
     private static final Log log = LogFactory.getLog(APILoggerManager.class);
-    private static final Map<String, String> logProperties = new HashMap<>();
+    // Immutable snapshot of the per API log levels, replaced as a whole when a log level changes so that the request
+    // flow always sees a consistent view without locking
+    private static volatile LoggerSnapshot loggerSnapshot = new LoggerSnapshot(Collections.emptyMap());
     private static final APILoggerManager apiLoggerManager = new APILoggerManager();
     private final EventHubConfigurationDto eventHubConfigurationDto;
     public static final int RETRIEVAL_RETRIES = 15;
@@ -59,9 +63,13 @@ public class APILoggerManager {
                     MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
             JSONObject responseJson = new JSONObject(responseString);
             JSONArray apiLogArray = responseJson.getJSONArray("apis");
-            for (int i = 0; i < apiLogArray.length(); i++) {
-                JSONObject apiLoggerObject = apiLogArray.getJSONObject(i);
-                logProperties.put(apiLoggerObject.getString("context"), apiLoggerObject.getString("logLevel"));
+            synchronized (APILoggerManager.class) {
+                Map<String, String> logProperties = new HashMap<>(loggerSnapshot.logProperties);
+                for (int i = 0; i < apiLogArray.length(); i++) {
+                    JSONObject apiLoggerObject = apiLogArray.getJSONObject(i);
+                    logProperties.put(apiLoggerObject.getString("context"), apiLoggerObject.getString("logLevel"));
+                }
+                loggerSnapshot = new LoggerSnapshot(logProperties);
             }
             if (log.isDebugEnabled()) {
                 log.debug("Response : " + responseString);
@@ -72,11 +80,52 @@ public class APILoggerManager {
     }
 
     public void updateLoggerMap(String apiContext, String logLevel) {
-        logProperties.put(apiContext, logLevel);
+        synchronized (APILoggerManager.class) {
+            Map<String, String> logProperties = new HashMap<>(loggerSnapshot.logProperties);
+            logProperties.put(apiContext, logLevel);
+            loggerSnapshot = new LoggerSnapshot(logProperties);
+        }
     }
 
     public Map<String, String> getPerAPILoggerList() {
-        return logProperties;
+        return loggerSnapshot.logProperties;
+    }
+
+    /**
+     * Checks whether logging is enabled for at least one API.
+     *
+     * @return true if any API has a log level other than OFF
+     */
+    public boolean isLoggingEnabled() {
+        return !loggerSnapshot.enabledConfigs.isEmpty();
+    }
+
+    /**
+     * Returns the logging configuration of the API which the given request path belongs to. The request path is
+     * matched against the API contexts from the most specific path segment to the least specific one.
+     *
+     * @param requestPath request path without the leading slash
+     * @return logging configuration of the API, or null if logging is not enabled for the API
+     */
+    public APILoggingConfig getLoggingConfig(String requestPath) {
+        Map<String, APILoggingConfig> enabledConfigs = loggerSnapshot.enabledConfigs;
+        if (enabledConfigs.isEmpty() || requestPath == null) {
+            return null;
+        }
+        int queryIndex = requestPath.indexOf('?');
+        String path = queryIndex >= 0 ? requestPath.substring(0, queryIndex) : requestPath;
+        while (!path.isEmpty()) {
+            APILoggingConfig loggingConfig = enabledConfigs.get(path);
+            if (loggingConfig != null) {
+                return loggingConfig;
+            }
+            int separatorIndex = path.lastIndexOf('/');
+            if (separatorIndex < 0) {
+                break;
+            }
+            path = path.substring(0, separatorIndex);
+        }
+        return null;
     }
 
     public APILoggerManager() {
@@ -141,4 +190,28 @@ public class APILoggerManager {
         }
         return EntityUtils.toString(httpResponse.getEntity(), UTF8);
     }
+
+    /**
+     * Per API log levels together with the logging configurations of the APIs which have logging enabled, keyed by
+     * the API context without the leading slash.
+     */
+    private static final class LoggerSnapshot {
+
+        private final Map<String, String> logProperties;
+        private final Map<String, APILoggingConfig> enabledConfigs;
+
+        private LoggerSnapshot(Map<String, String> logProperties) {
+
+            Map<String, APILoggingConfig> configs = new HashMap<>();
+            for (Map.Entry<String, String> entry : logProperties.entrySet()) {
+                APILoggingConfig loggingConfig = new APILoggingConfig(entry.getKey(), entry.getValue());
+                if (loggingConfig.isEnabled()) {
+                    configs.put(entry.getKey().startsWith("/") ? entry.getKey().substring(1) : entry.getKey(),
+                            loggingConfig);
+                }
+            }
+            this.logProperties = Collections.unmodifiableMap(logProperties);
+            this.enabledConfigs = configs;
+        }
+    }
 }
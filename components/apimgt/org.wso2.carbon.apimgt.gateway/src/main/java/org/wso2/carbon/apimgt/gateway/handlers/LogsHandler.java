@@ -31,6 +31,7 @@ import org.apache.synapse.transport.passthru.util.RelayUtils;
 import org.wso2.carbon.apimgt.gateway.APILoggerManager;
 import org.wso2.carbon.apimgt.gateway.APIMgtGatewayConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.logging.APILogHandler;
+import org.wso2.carbon.apimgt.gateway.handlers.logging.APILoggingConfig;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 
 import java.io.IOException;
@@ -55,6 +56,8 @@ public class LogsHandler extends AbstractSynapseHandler {
     private static final String UUID_HEADER = "UUID_HEADER";
     private static final String CORRELATION_ID_HEADER = "CORRELATION_ID_HEADER";
     protected static final String LOG_LEVEL = "LOG_LEVEL";
+    protected static final String API_LOGGING_CONFIG = "API_LOGGING_CONFIG";
+    protected static final String API_TO = "API_TO";
 
     private static final String REQUEST_BODY_SIZE_ERROR = "Error occurred while building the message to calculate" +
             " the response body size";
@@ -90,11 +93,12 @@ public class LogsHandler extends AbstractSynapseHandler {
                 return false;
             }
         }
-        // Get the log level of if logs are enabled to the API belongs to current API request
-        String log = getAPILogLevel(messageContext);
-        // If it presents log the details
-        if ((log) != null) {
-            APILogHandler.logAPI(REQUEST_IN, messageContext);
+        // Resolve the logging configuration of the API once and attach it to the request for the remaining flows
+        APILoggingConfig loggingConfig = getAPILoggingConfig(messageContext);
+        if (loggingConfig != null) {
+            messageContext.setProperty(API_LOGGING_CONFIG, loggingConfig);
+            messageContext.setProperty(LOG_LEVEL, loggingConfig.getLogLevel());
+            APILogHandler.logAPI(REQUEST_IN, messageContext, loggingConfig);
         }
         return true;
     }
@@ -129,9 +133,9 @@ public class LogsHandler extends AbstractSynapseHandler {
                 return false;
             }
         }
-        String log = (String) messageContext.getProperty(LOG_LEVEL);
-        if (log != null) {
-            APILogHandler.logAPI(REQUEST_OUT, messageContext);
+        APILoggingConfig loggingConfig = (APILoggingConfig) messageContext.getProperty(API_LOGGING_CONFIG);
+        if (loggingConfig != null) {
+            APILogHandler.logAPI(REQUEST_OUT, messageContext, loggingConfig);
         }
         return true;
     }
@@ -169,18 +173,18 @@ public class LogsHandler extends AbstractSynapseHandler {
             }
         }
         // if PER API logging is available
-        String log = (String) messageContext.getProperty(LOG_LEVEL);
-        if (log != null) {
-            APILogHandler.logAPI(RESPONSE_IN, messageContext);
+        APILoggingConfig loggingConfig = (APILoggingConfig) messageContext.getProperty(API_LOGGING_CONFIG);
+        if (loggingConfig != null) {
+            APILogHandler.logAPI(RESPONSE_IN, messageContext, loggingConfig);
         }
         return true;
     }
 
     public boolean handleResponseOutFlow(MessageContext messageContext) {
         // if PER API logging is available
-        String log = (String) messageContext.getProperty(LOG_LEVEL);
-        if (log != null) {
-            APILogHandler.logAPI(RESPONSE_OUT, messageContext);
+        APILoggingConfig loggingConfig = (APILoggingConfig) messageContext.getProperty(API_LOGGING_CONFIG);
+        if (loggingConfig != null) {
+            APILogHandler.logAPI(RESPONSE_OUT, messageContext, loggingConfig);
         }
         return true;
     }
@@ -301,17 +305,22 @@ public class LogsHandler extends AbstractSynapseHandler {
     }
 
     /**
-     * Check if the incoming API need to be logged, if yes return the loglevel, if not return null
+     * Check if the incoming API need to be logged, if yes return the logging configuration, if not return null
      *
      * @param ctx MessageContext of the incoming request
-     * @return log level of the API or null if not
+     * @return logging configuration of the API or null if not
      */
-    private String getAPILogLevel(MessageContext ctx) {
-        Map<String, String> logProperties = APILoggerManager.getInstance().getPerAPILoggerList();
-        // if the logging API data holder is empty or null return null
-        if (!logProperties.isEmpty()) {
-            return LogUtils.getMatchingLogLevel(ctx, logProperties);
+    private APILoggingConfig getAPILoggingConfig(MessageContext ctx) {
+        APILoggerManager apiLoggerManager = APILoggerManager.getInstance();
+        // if no API has logging enabled, skip resolving the request path
+        if (!apiLoggerManager.isLoggingEnabled()) {
+            return null;
         }
-        return null;
+        String apiCtx = LogUtils.getTransportInURL(ctx);
+        APILoggingConfig loggingConfig = apiLoggerManager.getLoggingConfig(apiCtx);
+        if (loggingConfig != null) {
+            ctx.setProperty(API_TO, apiCtx);
+        }
+        return loggingConfig;
     }
 }
@@ -58,16 +58,8 @@ public class WebsocketHandler extends CombinedChannelDuplexHandler<WebsocketInbo
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
 
         String channelId = ctx.channel().id().asLongText();
-        InboundMessageContext inboundMessageContext;
-        if (InboundMessageContextDataHolder.getInstance().getInboundMessageContextMap().containsKey(channelId)) {
-            inboundMessageContext = InboundMessageContextDataHolder.getInstance()
-                    .getInboundMessageContextForConnectionId(channelId);
-        } else {
-            inboundMessageContext = new InboundMessageContext();
-            inboundMessageContext.setCtx(ctx);
-            InboundMessageContextDataHolder.getInstance()
-                    .addInboundMessageContextForConnection(channelId, inboundMessageContext);
-        }
+        InboundMessageContext inboundMessageContext =
+                InboundMessageContextDataHolder.getInstance().getOrCreateInboundMessageContext(channelId, ctx);
 
         if (APIUtil.isAnalyticsEnabled()) {
             WebSocketUtils.setApiPropertyToChannel(ctx,
@@ -81,6 +73,7 @@ public class WebsocketHandler extends CombinedChannelDuplexHandler<WebsocketInbo
             //if the inbound frame is a closed frame, throttling, analytics will not be published.
             outboundHandler().write(ctx, msg, promise);
         } else if (msg instanceof WebSocketFrame) {
+            inboundMessageContext.recordOutboundFrame((WebSocketFrame) msg);
             InboundProcessorResponseDTO responseDTO = inboundHandler().getWebSocketProcessor().handleResponse(
                     (WebSocketFrame) msg, inboundMessageContext);
             if (responseDTO.isError()) {
@@ -95,6 +95,15 @@ public class WebsocketInboundHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+
+        //remove inbound message context of the closed connection from data holder
+        InboundMessageContextDataHolder.getInstance()
+                .removeInboundMessageContextForConnection(ctx.channel().id().asLongText());
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
 
@@ -108,16 +117,8 @@ public class WebsocketInboundHandler extends ChannelInboundHandlerAdapter {
             return;
         }
 
-        InboundMessageContext inboundMessageContext;
-        if (InboundMessageContextDataHolder.getInstance().getInboundMessageContextMap().containsKey(channelId)) {
-            inboundMessageContext = InboundMessageContextDataHolder.getInstance()
-                    .getInboundMessageContextForConnectionId(channelId);
-        } else {
-            inboundMessageContext = new InboundMessageContext();
-            inboundMessageContext.setCtx(ctx);
-            InboundMessageContextDataHolder.getInstance()
-                    .addInboundMessageContextForConnection(channelId, inboundMessageContext);
-        }
+        InboundMessageContext inboundMessageContext =
+                InboundMessageContextDataHolder.getInstance().getOrCreateInboundMessageContext(channelId, ctx);
         inboundMessageContext.setUserIP(getRemoteIP(ctx));
         if (APIUtil.isAnalyticsEnabled()) {
             WebSocketUtils.setApiPropertyToChannel(ctx,
@@ -161,6 +162,7 @@ public class WebsocketInboundHandler extends ChannelInboundHandlerAdapter {
             //if the inbound frame is a closed frame, throttling, analytics will not be published.
             ctx.fireChannelRead(msg);
         } else if (msg instanceof WebSocketFrame) {
+            inboundMessageContext.recordInboundFrame((WebSocketFrame) msg);
             InboundProcessorResponseDTO responseDTO =
                     webSocketProcessor.handleRequest((WebSocketFrame) msg, inboundMessageContext);
             if (responseDTO.isError()) {
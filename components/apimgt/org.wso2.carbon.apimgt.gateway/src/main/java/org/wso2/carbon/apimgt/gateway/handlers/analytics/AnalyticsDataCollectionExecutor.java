@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.analytics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.common.analytics.collectors.AnalyticsDataProvider;
+import org.wso2.carbon.apimgt.common.analytics.collectors.impl.GenericRequestDataCollector;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.metrics.manager.Gauge;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects and publishes analytics events outside the response thread. Events are queued in a bounded queue, and an
+ * event is dropped and counted when the queue is full so that a slow analytics backend never blocks the gateway.
+ * Asynchronous collection is enabled with the {@link Constants#ASYNC_DATA_COLLECTION_ENABLED_PROP} analytics
+ * property.
+ */
+public class AnalyticsDataCollectionExecutor {
+
+    private static final Log log = LogFactory.getLog(AnalyticsDataCollectionExecutor.class);
+    private static final AnalyticsDataCollectionExecutor instance = new AnalyticsDataCollectionExecutor();
+    private static final long DROPPED_EVENTS_LOG_INTERVAL = 10000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private volatile boolean initialized;
+    private boolean enabled;
+    private ThreadPoolExecutor executor;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private AnalyticsDataCollectionExecutor() {
+
+    }
+
+    /**
+     * This method can be used to get the singleton instance of this class.
+     *
+     * @return the singleton instance.
+     */
+    public static AnalyticsDataCollectionExecutor getInstance() {
+
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        init();
+        return enabled;
+    }
+
+    /**
+     * Queues the given analytics data to be collected and published by a worker thread.
+     *
+     * @param provider analytics data which does not depend on the message context
+     * @return false if the event was dropped since the queue is full
+     */
+    public boolean submit(AnalyticsDataProvider provider) {
+
+        try {
+            executor.execute(() -> {
+                try {
+                    new GenericRequestDataCollector(provider).collectData();
+                } catch (Exception e) {
+                    log.error("Error Occurred when collecting data", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            long dropped = droppedEvents.incrementAndGet();
+            if (dropped % DROPPED_EVENTS_LOG_INTERVAL == 1) {
+                log.warn("Analytics data collection queue is full. " + dropped + " analytics events have been "
+                        + "dropped so far.");
+            }
+            return false;
+        }
+    }
+
+    public long getDroppedEventCount() {
+
+        return droppedEvents.get();
+    }
+
+    public int getQueuedEventCount() {
+
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    /**
+     * Stops accepting analytics events and waits for a while until the queued events are published.
+     */
+    public void shutdown() {
+
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Analytics events queued at shutdown were not published within " + SHUTDOWN_TIMEOUT_SECONDS
+                        + " seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void init() {
+
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            try {
+                Map<String, String> properties = ServiceReferenceHolder.getInstance()
+                        .getApiManagerConfigurationService().getAPIAnalyticsConfiguration().getReporterProperties();
+                if (properties != null
+                        && Boolean.parseBoolean(properties.get(Constants.ASYNC_DATA_COLLECTION_ENABLED_PROP))) {
+                    int workers = getIntProperty(properties, Constants.ASYNC_DATA_COLLECTION_WORKERS_PROP,
+                            Constants.DEFAULT_ASYNC_DATA_COLLECTION_WORKERS);
+                    int queueSize = getIntProperty(properties, Constants.ASYNC_DATA_COLLECTION_QUEUE_SIZE_PROP,
+                            Constants.DEFAULT_ASYNC_DATA_COLLECTION_QUEUE_SIZE);
+                    executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                                Thread thread = new Thread(runnable, "AnalyticsDataCollector");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX,
+                            "AnalyticsDataCollection", "dropped"), (Gauge<Long>) this::getDroppedEventCount);
+                    MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX,
+                            "AnalyticsDataCollection", "queued"), (Gauge<Integer>) this::getQueuedEventCount);
+                    enabled = true;
+                    if (log.isDebugEnabled()) {
+                        log.debug("Asynchronous analytics data collection enabled with " + workers
+                                + " workers and a queue of " + queueSize + " events");
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Did not found valid asynchronous analytics data collection configuration. Analytics data "
+                        + "is collected in the response thread.", e);
+            }
+            initialized = true;
+        }
+    }
+
+    private static int getIntProperty(Map<String, String> properties, String name, int defaultValue) {
+
+        String value = properties.get(name);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.analytics;
+
+import org.wso2.carbon.apimgt.common.analytics.collectors.AnalyticsDataProvider;
+import org.wso2.carbon.apimgt.common.analytics.exceptions.DataNotFoundException;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.API;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Application;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Error;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Latencies;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.MetaInfo;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Operation;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Target;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.enums.EventCategory;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.enums.FaultCategory;
+
+import java.util.Map;
+
+/**
+ * Analytics data of a single request, copied from a {@link SynapseAnalyticsDataProvider} on the response thread so
+ * that the event can be collected and published after the message context has been released. Only the values the
+ * request data collectors use for the event category of the request are copied. The API information is resolved
+ * when it is first requested, since resolving it may call the internal API of the control plane.
+ */
+public class AnalyticsDataSnapshot implements AnalyticsDataProvider {
+
+    private final EventCategory eventCategory;
+    private long requestTime;
+    private Map<String, Object> properties;
+    private MetaInfo metaInfo;
+    private int proxyResponseCode;
+    private String apiContext;
+    private String apiVersion;
+    private boolean authenticated;
+    private boolean anonymous;
+    private Application application;
+    private DataNotFoundException applicationNotFound;
+    private String httpMethod;
+    private String apiResourceTemplate;
+    private String apiResourceTemplatePrefix;
+    private Target target;
+    private Latencies latencies;
+    private String userAgentHeader;
+    private String endUserIP;
+    private FaultCategory faultType;
+    private Error error;
+    private API api;
+
+    public AnalyticsDataSnapshot(SynapseAnalyticsDataProvider provider) {
+
+        this.eventCategory = provider.getEventCategory();
+        if (eventCategory == EventCategory.INVALID) {
+            // Nothing is collected for unclassified requests
+            return;
+        }
+        this.requestTime = provider.getRequestTime();
+        this.properties = provider.getProperties();
+        this.metaInfo = provider.getMetaInfo();
+        this.proxyResponseCode = provider.getProxyResponseCode();
+        this.apiContext = provider.getRestApiContext();
+        this.apiVersion = provider.getRestApiVersion();
+        this.authenticated = provider.isAuthenticated();
+        this.anonymous = provider.isAnonymous();
+        if (!anonymous) {
+            try {
+                this.application = provider.getApplication();
+            } catch (DataNotFoundException e) {
+                // Reported only if the collector needs the application
+                this.applicationNotFound = e;
+            }
+        }
+        if (eventCategory == EventCategory.SUCCESS) {
+            this.httpMethod = provider.getHttpMethod();
+            this.apiResourceTemplate = provider.getApiResourceTemplate();
+            this.apiResourceTemplatePrefix = provider.getApiResourceTemplatePrefix();
+            this.target = provider.getTarget();
+            this.latencies = provider.getLatencies();
+            this.userAgentHeader = provider.getUserAgentHeader();
+            this.endUserIP = provider.getEndUserIP();
+        } else {
+            this.faultType = provider.getFaultType();
+            this.error = provider.getError(faultType);
+        }
+    }
+
+    @Override
+    public EventCategory getEventCategory() {
+
+        return eventCategory;
+    }
+
+    @Override
+    public boolean isAnonymous() {
+
+        return anonymous;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+
+        return authenticated;
+    }
+
+    @Override
+    public FaultCategory getFaultType() {
+
+        return faultType;
+    }
+
+    @Override
+    public API getApi() throws DataNotFoundException {
+
+        if (api == null) {
+            api = SynapseAnalyticsDataProvider.resolveApi(apiContext, apiVersion);
+        }
+        return api;
+    }
+
+    @Override
+    public Application getApplication() throws DataNotFoundException {
+
+        if (applicationNotFound != null) {
+            throw applicationNotFound;
+        }
+        return application;
+    }
+
+    @Override
+    public Operation getOperation() throws DataNotFoundException {
+
+        return SynapseAnalyticsDataProvider.createOperation(httpMethod, apiResourceTemplate,
+                apiResourceTemplatePrefix, getApi().getApiType());
+    }
+
+    @Override
+    public Target getTarget() {
+
+        return target;
+    }
+
+    @Override
+    public Latencies getLatencies() {
+
+        return latencies;
+    }
+
+    @Override
+    public MetaInfo getMetaInfo() {
+
+        return metaInfo;
+    }
+
+    @Override
+    public int getProxyResponseCode() {
+
+        return proxyResponseCode;
+    }
+
+    @Override
+    public int getTargetResponseCode() {
+
+        return target != null ? target.getTargetResponseCode() : Constants.UNKNOWN_INT_VALUE;
+    }
+
+    @Override
+    public long getRequestTime() {
+
+        return requestTime;
+    }
+
+    @Override
+    public Error getError(FaultCategory faultCategory) {
+
+        return error;
+    }
+
+    @Override
+    public String getUserAgentHeader() {
+
+        return userAgentHeader;
+    }
+
+    @Override
+    public String getEndUserIP() {
+
+        return endUserIP;
+    }
+
+    @Override
+    public Map<String, Object> getProperties() {
+
+        return properties;
+    }
+}
@@ -23,9 +23,9 @@ import org.apache.synapse.AbstractExtendedSynapseHandler;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
-import org.wso2.carbon.apimgt.common.analytics.collectors.AnalyticsDataProvider;
 import org.wso2.carbon.apimgt.common.analytics.collectors.impl.GenericRequestDataCollector;
 import org.wso2.carbon.apimgt.common.analytics.exceptions.AnalyticsException;
+import org.wso2.carbon.apimgt.common.analytics.publishers.impl.AnalyticsEventAggregator;
 import org.wso2.carbon.apimgt.gateway.handlers.DataPublisherUtil;
 import org.wso2.carbon.apimgt.gateway.handlers.streaming.AsyncAnalyticsDataProvider;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
@@ -82,7 +82,7 @@ public class AnalyticsMetricsHandler extends AbstractExtendedSynapseHandler {
         if (messageContext.getPropertyKeySet().contains(InboundWebsocketConstants.WEBSOCKET_SUBSCRIBER_PATH)) {
             return true;
         }
-        AnalyticsDataProvider provider;
+        SynapseAnalyticsDataProvider provider;
         Object skipPublishMetrics = messageContext.getProperty(Constants.SKIP_DEFAULT_METRICS_PUBLISHING);
         if (skipPublishMetrics != null && (Boolean) skipPublishMetrics) {
             provider = new AsyncAnalyticsDataProvider(messageContext);
@@ -90,6 +90,16 @@ public class AnalyticsMetricsHandler extends AbstractExtendedSynapseHandler {
             provider = new SynapseAnalyticsDataProvider(messageContext,
                     ServiceReferenceHolder.getInstance().getAnalyticsCustomDataProvider());
         }
+        AnalyticsDataCollectionExecutor collectionExecutor = AnalyticsDataCollectionExecutor.getInstance();
+        if (collectionExecutor.isEnabled()) {
+            // Copy what the event needs from the message context, and build and publish the event in the background
+            try {
+                collectionExecutor.submit(new AnalyticsDataSnapshot(provider));
+            } catch (Exception e) {
+                log.error("Error Occurred when collecting data", e);
+            }
+            return true;
+        }
         GenericRequestDataCollector dataCollector = new GenericRequestDataCollector(provider);
         try {
             dataCollector.collectData();
@@ -107,7 +117,8 @@ public class AnalyticsMetricsHandler extends AbstractExtendedSynapseHandler {
 
     @Override
     public boolean handleServerShutDown() {
-        // Nothing to implement
+        AnalyticsDataCollectionExecutor.getInstance().shutdown();
+        AnalyticsEventAggregator.getInstance().shutdown();
         return true;
     }
 
@@ -36,6 +36,11 @@ public class Constants {
 
     public static final String REGION_ID_PROP = "apim.gw.region";
     public static final String DEFAULT_REGION_ID = "default";
+    public static final String ASYNC_DATA_COLLECTION_ENABLED_PROP = "apim.gw.analytics.async.enabled";
+    public static final String ASYNC_DATA_COLLECTION_WORKERS_PROP = "apim.gw.analytics.async.workers";
+    public static final String ASYNC_DATA_COLLECTION_QUEUE_SIZE_PROP = "apim.gw.analytics.async.queue_size";
+    public static final int DEFAULT_ASYNC_DATA_COLLECTION_WORKERS = 2;
+    public static final int DEFAULT_ASYNC_DATA_COLLECTION_QUEUE_SIZE = 10000;
     public static final String SUCCESS_EVENT_TYPE = "response";
     public static final String FAULTY_EVENT_TYPE = "fault";
     public static final String UNKNOWN_VALUE = "UNKNOWN";
@@ -126,8 +126,20 @@ public class SynapseAnalyticsDataProvider implements AnalyticsDataProvider {
     @Override
     public API getApi() throws DataNotFoundException {
 
-        String apiContext = (String) messageContext.getProperty(RESTConstants.REST_API_CONTEXT);
-        String apiVersion = (String) messageContext.getProperty(RESTConstants.SYNAPSE_REST_API_VERSION);
+        return resolveApi(getRestApiContext(), getRestApiVersion());
+    }
+
+    /**
+     * Resolves the analytics API information from the subscription data store, loading it from the internal API
+     * when it is not available in the store.
+     *
+     * @param apiContext context of the invoked API
+     * @param apiVersion version of the invoked API
+     * @return API information
+     * @throws DataNotFoundException if the API could not be loaded
+     */
+    public static API resolveApi(String apiContext, String apiVersion) throws DataNotFoundException {
+
         String tenantDomain = MultitenantUtils.getTenantDomainFromRequestURL(apiContext);
         if (tenantDomain == null) {
             tenantDomain = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
@@ -173,19 +185,55 @@ public class SynapseAnalyticsDataProvider implements AnalyticsDataProvider {
     @Override
     public Operation getOperation() throws DataNotFoundException {
 
-        String httpMethod = (String) messageContext.getProperty(APIMgtGatewayConstants.HTTP_METHOD);
-        String apiResourceTemplate = (String) messageContext.getProperty(APIConstants.API_ELECTED_RESOURCE);
+        return createOperation(getHttpMethod(), getApiResourceTemplate(), getApiResourceTemplatePrefix(),
+                getApi().getApiType());
+    }
+
+    static Operation createOperation(String httpMethod, String apiResourceTemplate, String apiResourceTemplatePrefix,
+                                     String apiType) {
+
         Operation operation = new Operation();
         operation.setApiMethod(httpMethod);
-        if (APIConstants.GRAPHQL_API.equalsIgnoreCase(getApi().getApiType())) {
+        if (APIConstants.GRAPHQL_API.equalsIgnoreCase(apiType)) {
             String orderedOperations = sortGraphQLOperations(apiResourceTemplate);
             operation.setApiResourceTemplate(orderedOperations);
         } else {
             operation.setApiResourceTemplate(apiResourceTemplate);
         }
+        if (apiResourceTemplatePrefix != null) {
+            operation.setApiResourceTemplate(apiResourceTemplatePrefix + operation.getApiResourceTemplate());
+        }
         return operation;
     }
 
+    protected String getRestApiContext() {
+
+        return (String) messageContext.getProperty(RESTConstants.REST_API_CONTEXT);
+    }
+
+    protected String getRestApiVersion() {
+
+        return (String) messageContext.getProperty(RESTConstants.SYNAPSE_REST_API_VERSION);
+    }
+
+    protected String getHttpMethod() {
+
+        return (String) messageContext.getProperty(APIMgtGatewayConstants.HTTP_METHOD);
+    }
+
+    protected String getApiResourceTemplate() {
+
+        return (String) messageContext.getProperty(APIConstants.API_ELECTED_RESOURCE);
+    }
+
+    /**
+     * @return prefix added to the resource template after it is resolved, or null if there is no prefix
+     */
+    protected String getApiResourceTemplatePrefix() {
+
+        return null;
+    }
+
     @Override
     public Target getTarget() {
 
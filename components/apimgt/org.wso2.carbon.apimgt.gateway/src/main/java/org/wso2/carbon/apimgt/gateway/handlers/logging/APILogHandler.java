@@ -39,6 +39,7 @@ public class APILogHandler {
     private static final Log log = LogFactory.getLog(APILogHandler.class);
     private static final Log logger = LogFactory.getLog(APIConstants.API_LOGGER);
     private static final String API_TO = "API_TO";
+    private static final String SELECTED_API = "API_LOG_SELECTED_API";
 
     private APILogHandler() {
         throw new IllegalStateException("Utility class");
@@ -49,42 +50,33 @@ public class APILogHandler {
      *
      * @param flow           Direction of the call (ex:- client to gateway = requestIn)
      * @param messageContext MessageContext of the request
+     * @param loggingConfig  Logging configuration of the API resolved for the request
      */
-    public static void logAPI(String flow, MessageContext messageContext) {
-        // Get the log level and exit if the log level is OFF
-        String logLevel = (String) messageContext.getProperty(APIConstants.LOG_LEVEL);
-        if (APIConstants.LOG_LEVEL_OFF.equals(logLevel)) {
+    public static void logAPI(String flow, MessageContext messageContext, APILoggingConfig loggingConfig) {
+        // Exit if logging is not enabled for the API
+        if (loggingConfig == null || !loggingConfig.isEnabled()) {
             return;
         }
 
         // Print debug log
         if (log.isDebugEnabled()) {
             log.debug("Initiating logging request for " + messageContext.getProperty(API_TO) + " with log level "
-                    + logLevel);
+                    + loggingConfig.getLogLevel());
         }
 
         // Add properties to the logMessage according to the log level
         JSONObject logMessage = new JSONObject();
-        switch (logLevel.toUpperCase()) {
-            case APIConstants.LOG_LEVEL_BASIC:
-                addBasicProperties(logMessage, messageContext, flow);
-                break;
-            case APIConstants.LOG_LEVEL_STANDARD:
-                addStandardProperties(logMessage, messageContext, flow);
-                break;
-            case APIConstants.LOG_LEVEL_FULL:
-                addFullProperties(logMessage, messageContext, flow);
-                break;
-            default:
-                break;
+        if (loggingConfig.isLogPayload()) {
+            addFullProperties(logMessage, messageContext, flow);
+        } else if (loggingConfig.isLogHeaders()) {
+            addStandardProperties(logMessage, messageContext, flow);
+        } else {
+            addBasicProperties(logMessage, messageContext, flow);
         }
 
         // Get API details and set custom properties to ThreadContext
-        String path = ApiUtils.getFullRequestPath(messageContext);
-        TreeMap<String, API> selectedApis = Utils.getSelectedAPIList(path, GatewayUtils.getTenantDomain());
-        if (selectedApis.size() > 0) {
-            String selectedPath = selectedApis.firstKey();
-            API selectedApi = selectedApis.get(selectedPath);
+        API selectedApi = getSelectedAPI(messageContext);
+        if (selectedApi != null) {
             ThreadContext.put("apiId", selectedApi.getUuid());
             ThreadContext.put("apiName", selectedApi.getApiName());
             ThreadContext.put("apiContext", selectedApi.getContext());
@@ -107,6 +99,26 @@ public class APILogHandler {
         }
     }
 
+    /**
+     * Returns the API the request belongs to. The API is looked up once per request and kept in the message context
+     * for the logs of the remaining flows.
+     *
+     * @param messageContext MessageContext of the request
+     * @return the API of the request or null if it could not be found
+     */
+    private static API getSelectedAPI(MessageContext messageContext) {
+        API selectedApi = (API) messageContext.getProperty(SELECTED_API);
+        if (selectedApi == null) {
+            String path = ApiUtils.getFullRequestPath(messageContext);
+            TreeMap<String, API> selectedApis = Utils.getSelectedAPIList(path, GatewayUtils.getTenantDomain());
+            if (selectedApis.size() > 0) {
+                selectedApi = selectedApis.firstEntry().getValue();
+                messageContext.setProperty(SELECTED_API, selectedApi);
+            }
+        }
+        return selectedApi;
+    }
+
     private static void addBasicProperties(JSONObject logMessage, MessageContext messageContext, String flow) {
         logMessage.put("apiTo", messageContext.getProperty(API_TO));
         logMessage.put("correlationId", messageContext.getProperty(APIConstants.CORRELATION_ID));
@@ -54,19 +54,19 @@ public class APILogMessageHandler extends AbstractHandler {
         String applicationName = (String) messageContext.getProperty(APIMgtGatewayConstants.APPLICATION_NAME);
         String endUserName = (String) messageContext.getProperty(APIMgtGatewayConstants.END_USER_NAME);
         boolean isLoginRequest = false;
-        String logMessage = "";
+        StringBuilder logMessage = new StringBuilder();
 
         org.apache.axis2.context.MessageContext axisMC = ((Axis2MessageContext) messageContext).getAxis2MessageContext();
 
         if (applicationName != null) {
-            logMessage = " appName=" + applicationName;
+            logMessage.append(" appName=").append(applicationName);
         }
         if (endUserName != null) {
-            logMessage = logMessage + " , userName=" + endUserName;
+            logMessage.append(" , userName=").append(endUserName);
         }
         String httpMethod = String.valueOf(axisMC.getProperty(Constants.Configuration.HTTP_METHOD));
         if (httpMethod != null) {
-            logMessage = logMessage + " , httpMethod=" + httpMethod;
+            logMessage.append(" , httpMethod=").append(httpMethod);
         }
         Map headers = (Map) axisMC.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
         String logID = (String) headers.get(APIConstants.ACTIVITY_ID);
@@ -92,28 +92,25 @@ public class APILogMessageHandler extends AbstractHandler {
             }
         }
         if (logID != null) {
-            logMessage = logMessage + " , transactionId=" + logID;
+            logMessage.append(" , transactionId=").append(logID);
         }
-        String userAgent = (String) ((Map<String, Object>) axisMC.getProperty(org.apache.axis2.context.MessageContext
-                .TRANSPORT_HEADERS)).get(APIConstants.USER_AGENT);
+        String userAgent = (String) headers.get(APIConstants.USER_AGENT);
         if (userAgent != null) {
-            logMessage = logMessage + " , userAgent=" + userAgent;
+            logMessage.append(" , userAgent=").append(userAgent);
         }
 
         String requestURI = (String) messageContext.getProperty(RESTConstants.REST_FULL_REQUEST_PATH);
         if (requestURI != null) {
-            logMessage = logMessage + " , requestURI=" + requestURI;
+            logMessage.append(" , requestURI=").append(requestURI);
             if ("/token/".equalsIgnoreCase(requestURI)) {
                 isLoginRequest = true;
             }
         }
         long reqIncomingTimestamp = Long.parseLong((String) ((Axis2MessageContext) messageContext).
                 getAxis2MessageContext().getProperty(APIMgtGatewayConstants.REQUEST_RECEIVED_TIME));
-        Date incomingReqTime = new Date(reqIncomingTimestamp);
-        logMessage = logMessage + " , requestTime=" + incomingReqTime;
+        logMessage.append(" , requestTime=").append(new Date(reqIncomingTimestamp));
 
-        String remoteIP = (String) ((Map<String, Object>) axisMC.getProperty(org.apache.axis2.context.MessageContext
-                .TRANSPORT_HEADERS)).get(APIMgtGatewayConstants.X_FORWARDED_FOR);
+        String remoteIP = (String) headers.get(APIMgtGatewayConstants.X_FORWARDED_FOR);
         if (remoteIP != null) {
             if (remoteIP.indexOf(',') > 0) {
                 remoteIP = remoteIP.substring(0, remoteIP.indexOf(','));
@@ -123,13 +120,13 @@ public class APILogMessageHandler extends AbstractHandler {
         }
         //null check before add it to log message
         if (remoteIP != null) {
-            logMessage = logMessage + " , clientIP=" + remoteIP;
+            logMessage.append(" , clientIP=").append(remoteIP);
         }
         if (DIRECTION_OUT.equals(direction)) {
             String statusCode = String.valueOf(axisMC.getProperty(NhttpConstants.HTTP_SC));
 
             if (StringUtils.isNotEmpty(statusCode)) {
-                logMessage = logMessage + " , statusCode=" + statusCode;
+                logMessage.append(" , statusCode=").append(statusCode);
             }
         }
         if (isLoginRequest) {
@@ -145,8 +142,8 @@ public class APILogMessageHandler extends AbstractHandler {
                 log.debug("Inbound API call from client to gateway: " + logMessage);
 
             } else if (DIRECTION_OUT.equals(direction)) {
-                logMessage = logMessage + " , EndPointURL=" + messageContext.getProperty(
-                        SynapseConstants.ENDPOINT_PREFIX);
+                logMessage.append(" , EndPointURL=").append(messageContext.getProperty(
+                        SynapseConstants.ENDPOINT_PREFIX));
                 log.debug("Outbound API call from gateway to client: " + logMessage);
             }
         }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.logging;
+
+import org.wso2.carbon.apimgt.impl.APIConstants;
+
+import java.util.Locale;
+
+/**
+ * Logging configuration of a deployed API, resolved once when the log level of the API is loaded or changed and
+ * attached to the message context of each request of the API.
+ */
+public final class APILoggingConfig {
+
+    private final String context;
+    private final String logLevel;
+    private final boolean enabled;
+    private final boolean logHeaders;
+    private final boolean logPayload;
+
+    public APILoggingConfig(String context, String logLevel) {
+
+        this.context = context;
+        this.logLevel = logLevel != null ? logLevel.toUpperCase(Locale.ENGLISH) : APIConstants.LOG_LEVEL_OFF;
+        boolean full = APIConstants.LOG_LEVEL_FULL.equals(this.logLevel);
+        this.logPayload = full;
+        this.logHeaders = full || APIConstants.LOG_LEVEL_STANDARD.equals(this.logLevel);
+        this.enabled = this.logHeaders || APIConstants.LOG_LEVEL_BASIC.equals(this.logLevel);
+    }
+
+    public String getContext() {
+
+        return context;
+    }
+
+    public String getLogLevel() {
+
+        return logLevel;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public boolean isLogHeaders() {
+
+        return logHeaders;
+    }
+
+    public boolean isLogPayload() {
+
+        return logPayload;
+    }
+}
@@ -37,6 +37,7 @@ import org.wso2.carbon.apimgt.gateway.handlers.Utils;
 import org.wso2.carbon.apimgt.gateway.handlers.security.keys.APIKeyDataStore;
 import org.wso2.carbon.apimgt.gateway.handlers.security.keys.WSAPIKeyDataStore;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.utils.CacheRefreshExecutor;
 import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
@@ -59,6 +60,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.cache.Cache;
 
@@ -74,8 +79,15 @@ public class APIKeyValidator {
 
     protected APIKeyDataStore dataStore;
 
+    private static final Map<String, CompletableFuture<APIKeyValidationInfoDTO>> IN_FLIGHT_VALIDATIONS =
+            new ConcurrentHashMap<>();
+
     private boolean gatewayKeyCacheEnabled;
 
+    private long tokenCacheExpiryMillis;
+
+    private long refreshAheadMillis;
+
     private boolean isGatewayAPIResourceValidationEnabled;
 
     protected Log log = LogFactory.getLog(getClass());
@@ -89,6 +101,8 @@ public class APIKeyValidator {
         this.gatewayKeyCacheEnabled = isGatewayTokenCacheEnabled();
 
         this.isGatewayAPIResourceValidationEnabled = isAPIResourceValidationEnabled();
+
+        initRefreshAhead();
     }
 
     protected Cache getGatewayKeyCache() {
@@ -112,6 +126,10 @@ public class APIKeyValidator {
         return CacheProvider.getInvalidTokenCache();
     }
 
+    protected InvalidTokenStore getInvalidTokenStore() {
+        return InvalidTokenDataHolder.getInstance().getInvalidTokenStore();
+    }
+
     @MethodStats
     protected Cache getResourceCache() {
         return CacheProvider.getResourceCache();
@@ -164,13 +182,17 @@ public class APIKeyValidator {
                         getGatewayTokenCache().remove(apiKey);
                         // Put into invalid token cache
                         getInvalidTokenCache().put(apiKey, cachedToken);
+                    } else if (isRefreshDue(info)) {
+                        refreshKeyValidationInfo(cacheKey, context, prefixedVersion, apiKey, authenticationScheme,
+                                matchingResource, httpVerb, keyManagers);
                     }
                     return info;
                 }
             } else {
                 // Check token available in invalidToken Cache
-                String revokedCachedToken = (String) getInvalidTokenCache().get(apiKey);
-                if (revokedCachedToken != null) {
+                InvalidTokenStore invalidTokenStore = getInvalidTokenStore();
+                if ((invalidTokenStore != null && invalidTokenStore.contains(apiKey))
+                        || getInvalidTokenCache().get(apiKey) != null) {
                     // Token is revoked/invalid or expired
                     APIKeyValidationInfoDTO apiKeyValidationInfoDTO = new APIKeyValidationInfoDTO();
                     apiKeyValidationInfoDTO.setAuthorized(false);
@@ -182,17 +204,73 @@ public class APIKeyValidator {
         }
 
         String tenantDomain = getTenantDomain();
-        APIKeyValidationInfoDTO info = doGetKeyValidationInfo(context, prefixedVersion, apiKey, authenticationScheme,
+        return getKeyValidationInfoCoalesced(cacheKey, context, prefixedVersion, apiKey, authenticationScheme,
+                matchingResource, httpVerb, tenantDomain, keyManagers);
+    }
+
+    /**
+     * Validates the key against the key manager, sharing a single validation between all the requests that present
+     * the same key for the same resource while a validation is in flight.
+     */
+    private APIKeyValidationInfoDTO getKeyValidationInfoCoalesced(String cacheKey, String context, String apiVersion,
+                                                                  String apiKey, String authenticationScheme,
+                                                                  String matchingResource, String httpVerb,
+                                                                  String tenantDomain, List<String> keyManagers)
+            throws APISecurityException {
+
+        CompletableFuture<APIKeyValidationInfoDTO> validation = new CompletableFuture<>();
+        CompletableFuture<APIKeyValidationInfoDTO> inFlightValidation =
+                IN_FLIGHT_VALIDATIONS.putIfAbsent(cacheKey, validation);
+        if (inFlightValidation != null) {
+            try {
+                return inFlightValidation.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                        "Interrupted while validating the access token", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof APISecurityException) {
+                    throw (APISecurityException) e.getCause();
+                }
+                throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getMessage(), e);
+            }
+        }
+        try {
+            APIKeyValidationInfoDTO info = fetchKeyValidationInfo(cacheKey, context, apiVersion, apiKey,
+                    authenticationScheme, matchingResource, httpVerb, tenantDomain, keyManagers);
+            validation.complete(info);
+            return info;
+        } catch (APISecurityException | RuntimeException e) {
+            validation.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT_VALIDATIONS.remove(cacheKey, validation);
+        }
+    }
+
+    private APIKeyValidationInfoDTO fetchKeyValidationInfo(String cacheKey, String context, String apiVersion,
+                                                           String apiKey, String authenticationScheme,
+                                                           String matchingResource, String httpVerb,
+                                                           String tenantDomain, List<String> keyManagers)
+            throws APISecurityException {
+
+        APIKeyValidationInfoDTO info = doGetKeyValidationInfo(context, apiVersion, apiKey, authenticationScheme,
                 matchingResource, httpVerb, tenantDomain, keyManagers);
         if (info != null) {
             if (gatewayKeyCacheEnabled) {
                 //Get the tenant domain of the API that is being invoked.
 
+                InvalidTokenStore invalidTokenStore = getInvalidTokenStore();
                 if (info.getValidationStatus() == APIConstants.KeyValidationStatus.API_AUTH_INVALID_CREDENTIALS) {
                     // if Token is not valid token (expired,invalid,revoked) put into invalid token cache
-                    getInvalidTokenCache().put(apiKey, tenantDomain);
+                    if (invalidTokenStore != null) {
+                        invalidTokenStore.add(apiKey);
+                    } else {
+                        getInvalidTokenCache().put(apiKey, tenantDomain);
+                    }
                 } else {
                     // Add into 1st level cache and Key cache
+                    info.setValidatedTime(System.currentTimeMillis());
                     getGatewayTokenCache().put(apiKey, tenantDomain);
                     getGatewayKeyCache().put(cacheKey, info);
                 }
@@ -208,7 +286,9 @@ public class APIKeyValidator {
                                 .API_AUTH_INVALID_CREDENTIALS) {
                             // if Token is not valid token (expired,invalid,revoked) put into invalid token cache in
                             // tenant cache
-                            getInvalidTokenCache().put(apiKey, tenantDomain);
+                            if (invalidTokenStore == null) {
+                                getInvalidTokenCache().put(apiKey, tenantDomain);
+                            }
                         } else {
                             // add into to tenant token cache
                             getGatewayTokenCache().put(apiKey, tenantDomain);
@@ -228,6 +308,46 @@ public class APIKeyValidator {
         }
     }
 
+    /**
+     * Refreshes the validation info of a frequently used token in the background before its cache entry expires.
+     */
+    private void refreshKeyValidationInfo(String cacheKey, String context, String apiVersion, String apiKey,
+                                          String authenticationScheme, String matchingResource, String httpVerb,
+                                          List<String> keyManagers) {
+
+        String tenantDomain = getTenantDomain();
+        CacheRefreshExecutor.refresh(cacheKey, tenantDomain, () -> {
+            try {
+                APIKeyValidationInfoDTO info = fetchKeyValidationInfo(cacheKey, context, apiVersion, apiKey,
+                        authenticationScheme, matchingResource, httpVerb, tenantDomain, keyManagers);
+                if (info.getValidationStatus() == APIConstants.KeyValidationStatus.API_AUTH_INVALID_CREDENTIALS) {
+                    // Token got revoked or expired since it was cached
+                    getGatewayKeyCache().remove(cacheKey);
+                    getGatewayTokenCache().remove(apiKey);
+                }
+            } catch (APISecurityException e) {
+                log.warn("Error while refreshing validation info of access token "
+                        + GatewayUtils.getMaskedToken(apiKey), e);
+            }
+        });
+    }
+
+    /**
+     * Checks whether a cached validation info should be refreshed ahead of the expiry of its cache entry. Tokens
+     * that expire before the cache entry would are not refreshed, as the entry is dropped once the token expires.
+     */
+    private boolean isRefreshDue(APIKeyValidationInfoDTO info) {
+
+        long validatedTime = info.getValidatedTime();
+        if (refreshAheadMillis <= 0 || validatedTime <= 0
+                || System.currentTimeMillis() - validatedTime < refreshAheadMillis) {
+            return false;
+        }
+        long validityPeriod = info.getValidityPeriod();
+        return validityPeriod == Long.MAX_VALUE
+                || info.getIssuedTime() + validityPeriod > validatedTime + tokenCacheExpiryMillis;
+    }
+
     protected void endTenantFlow() {
         PrivilegedCarbonContext.endTenantFlow();
     }
@@ -267,6 +387,24 @@ public class APIKeyValidator {
         return true;
     }
 
+    private void initRefreshAhead() {
+        try {
+            APIManagerConfiguration config = getApiManagerConfiguration();
+            String cacheExpiry = config.getFirstProperty(APIConstants.TOKEN_CACHE_EXPIRY);
+            long cacheExpirySeconds = cacheExpiry != null ? Long.parseLong(cacheExpiry)
+                    : CacheProvider.getDefaultCacheTimeout();
+            String refreshAheadPercentage = config.getFirstProperty(APIConstants.TOKEN_CACHE_REFRESH_AHEAD_PERCENTAGE);
+            int percentage = refreshAheadPercentage != null ? Integer.parseInt(refreshAheadPercentage)
+                    : APIConstants.DEFAULT_TOKEN_CACHE_REFRESH_AHEAD_PERCENTAGE;
+            tokenCacheExpiryMillis = TimeUnit.SECONDS.toMillis(cacheExpirySeconds);
+            if (percentage > 0 && percentage < 100) {
+                refreshAheadMillis = tokenCacheExpiryMillis * percentage / 100;
+            }
+        } catch (Exception e) {
+            log.error("Did not found valid token cache refresh ahead configuration. Refresh ahead is disabled " + e);
+        }
+    }
+
     public boolean isAPIResourceValidationEnabled() {
         try {
             APIManagerConfiguration config = getApiManagerConfiguration();
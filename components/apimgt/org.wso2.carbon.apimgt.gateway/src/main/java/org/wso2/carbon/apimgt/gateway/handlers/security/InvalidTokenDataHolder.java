@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.caching.CacheProvider;
+import org.wso2.carbon.metrics.manager.Gauge;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+
+/**
+ * Singleton which holds the fixed capacity stores of invalid access tokens and API keys. The stores are only
+ * created when they are enabled in the cache configurations, otherwise the invalid token caches are used. Entries of
+ * the stores expire after the token cache expiry time, which is also the expiry time of the invalid token caches.
+ */
+public class InvalidTokenDataHolder {
+
+    private static final Log log = LogFactory.getLog(InvalidTokenDataHolder.class);
+    private static final InvalidTokenDataHolder instance = new InvalidTokenDataHolder();
+
+    private volatile boolean initialized;
+    private InvalidTokenStore invalidTokenStore;
+    private InvalidTokenStore invalidApiKeyStore;
+
+    private InvalidTokenDataHolder() {
+
+    }
+
+    /**
+     * This method can be used to get the singleton instance of this class.
+     *
+     * @return the singleton instance.
+     */
+    public static InvalidTokenDataHolder getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * @return the store of invalid access tokens, or null if the invalid token stores are disabled
+     */
+    public InvalidTokenStore getInvalidTokenStore() {
+
+        init();
+        return invalidTokenStore;
+    }
+
+    /**
+     * @return the store of invalid API keys, or null if the invalid token stores are disabled
+     */
+    public InvalidTokenStore getInvalidApiKeyStore() {
+
+        init();
+        return invalidApiKeyStore;
+    }
+
+    private void init() {
+
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            try {
+                APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
+                if (Boolean.parseBoolean(config.getFirstProperty(APIConstants.INVALID_TOKEN_STORE_ENABLED))) {
+                    int capacity = APIConstants.DEFAULT_INVALID_TOKEN_STORE_CAPACITY;
+                    String configuredCapacity = config.getFirstProperty(APIConstants.INVALID_TOKEN_STORE_CAPACITY);
+                    if (configuredCapacity != null) {
+                        capacity = Integer.parseInt(configuredCapacity);
+                    }
+                    long timeToLive;
+                    String tokenCacheExpiry = config.getFirstProperty(APIConstants.TOKEN_CACHE_EXPIRY);
+                    if (tokenCacheExpiry != null) {
+                        timeToLive = Long.parseLong(tokenCacheExpiry) * 1000;
+                    } else {
+                        timeToLive = CacheProvider.getDefaultCacheTimeout() * 1000;
+                    }
+                    invalidTokenStore = new InvalidTokenStore(capacity, timeToLive);
+                    invalidApiKeyStore = new InvalidTokenStore(capacity, timeToLive);
+                    registerMetrics("InvalidTokenStore", invalidTokenStore);
+                    registerMetrics("InvalidApiKeyStore", invalidApiKeyStore);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Invalid token stores initialized with a capacity of "
+                                + invalidTokenStore.getCapacity() + " tokens and a time to live of " + timeToLive
+                                + " ms");
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Did not found valid invalid token store configuration. Invalid token caches are used.", e);
+            }
+            initialized = true;
+        }
+    }
+
+    private void registerMetrics(String storeName, InvalidTokenStore store) {
+
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, storeName, "inserts"),
+                (Gauge<Long>) store::getInsertCount);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, storeName, "evictions"),
+                (Gauge<Long>) store::getEvictionCount);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, storeName, "hits"),
+                (Gauge<Long>) store::getHitCount);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed capacity store of tokens which are known to be invalid. Instead of the token strings, only a 64 bit
+ * fingerprint of each token is kept in a single primitive array, so the memory used by the store is bounded and does
+ * not grow with the number of rejected tokens. The array is split into buckets of {@link #BUCKET_SIZE} slots, and a
+ * full bucket evicts with the clock (second chance) policy. Each token also expires after the configured time to
+ * live, the same way the invalid token caches expire their entries.
+ * <p>
+ * Lookups and inserts are lock free. An evicted token is validated again, so the store must only hold negative
+ * results that are re-derived the same way, e.g. tokens rejected by the key manager or API keys with an invalid
+ * signature. Revocations must not rely on this store alone.
+ */
+public class InvalidTokenStore {
+
+    static final int BUCKET_SIZE = 8;
+    private static final long REFERENCED = 1L;
+    private static final long EMPTY = 0L;
+    private static final int MAX_CLOCK_STEPS = 2 * BUCKET_SIZE;
+
+    private final AtomicLongArray slots;
+    private final AtomicLongArray expiryTimes;
+    private final AtomicIntegerArray clockHands;
+    private final int bucketMask;
+    private final long seed;
+    private final long timeToLive;
+    private final LongSupplier clock;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder inserts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a store which holds up to the given number of tokens, rounded up to a power of two.
+     *
+     * @param capacity   maximum number of tokens in the store
+     * @param timeToLive time in milliseconds after which an added token is no longer considered invalid
+     */
+    public InvalidTokenStore(int capacity, long timeToLive) {
+
+        this(capacity, timeToLive, System::currentTimeMillis);
+    }
+
+    InvalidTokenStore(int capacity, long timeToLive, LongSupplier clock) {
+
+        int requiredBuckets = Math.max(1, (capacity + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        int buckets = Integer.bitCount(requiredBuckets) == 1 ? requiredBuckets
+                : Integer.highestOneBit(requiredBuckets) << 1;
+        this.slots = new AtomicLongArray(buckets * BUCKET_SIZE);
+        this.expiryTimes = new AtomicLongArray(buckets * BUCKET_SIZE);
+        this.clockHands = new AtomicIntegerArray(buckets);
+        this.bucketMask = buckets - 1;
+        this.seed = new SecureRandom().nextLong();
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether the given token has been added to the store and has neither expired nor been evicted since.
+     *
+     * @param token token to check
+     * @return true if the token is known to be invalid
+     */
+    public boolean contains(String token) {
+
+        lookups.increment();
+        long hash = hash(token);
+        long fingerprint = fingerprint(hash);
+        int base = bucket(hash) * BUCKET_SIZE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            long entry = slots.get(base + i);
+            if ((entry & ~REFERENCED) == fingerprint) {
+                if (isExpired(base + i)) {
+                    // The slot is reused by the next token added to the bucket
+                    return false;
+                }
+                if ((entry & REFERENCED) == 0) {
+                    slots.compareAndSet(base + i, entry, entry | REFERENCED);
+                }
+                hits.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given token to the store, evicting a token of the same bucket which has not been looked up recently if
+     * the bucket is full. Adding a token which is already in the store restarts its time to live.
+     *
+     * @param token invalid token
+     */
+    public void add(String token) {
+
+        long hash = hash(token);
+        long fingerprint = fingerprint(hash);
+        int bucket = bucket(hash);
+        int base = bucket * BUCKET_SIZE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            long entry = slots.get(base + i);
+            if ((entry & ~REFERENCED) == fingerprint) {
+                expiryTimes.set(base + i, clock.getAsLong() + timeToLive);
+                return;
+            }
+            if ((entry == EMPTY || isExpired(base + i)) && slots.compareAndSet(base + i, entry, fingerprint)) {
+                expiryTimes.set(base + i, clock.getAsLong() + timeToLive);
+                inserts.increment();
+                return;
+            }
+        }
+        int slot = base;
+        for (int step = 0; step < MAX_CLOCK_STEPS; step++) {
+            slot = base + (clockHands.getAndIncrement(bucket) & (BUCKET_SIZE - 1));
+            long entry = slots.get(slot);
+            if ((entry & REFERENCED) != 0) {
+                // Give the entry a second chance
+                slots.compareAndSet(slot, entry, entry & ~REFERENCED);
+            } else if (slots.compareAndSet(slot, entry, fingerprint)) {
+                expiryTimes.set(slot, clock.getAsLong() + timeToLive);
+                inserts.increment();
+                evictions.increment();
+                return;
+            }
+        }
+        // Every entry of the bucket kept getting referenced, replace the one under the hand
+        slots.set(slot, fingerprint);
+        expiryTimes.set(slot, clock.getAsLong() + timeToLive);
+        inserts.increment();
+        evictions.increment();
+    }
+
+    /**
+     * Removes all the tokens from the store.
+     */
+    public void clear() {
+
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, EMPTY);
+        }
+    }
+
+    public long getTimeToLive() {
+
+        return timeToLive;
+    }
+
+    public int getCapacity() {
+
+        return slots.length();
+    }
+
+    public long getLookupCount() {
+
+        return lookups.sum();
+    }
+
+    public long getHitCount() {
+
+        return hits.sum();
+    }
+
+    public long getInsertCount() {
+
+        return inserts.sum();
+    }
+
+    public long getEvictionCount() {
+
+        return evictions.sum();
+    }
+
+    /**
+     * A slot which was just taken over may still carry the expiry time of the token it replaced. That time is never
+     * later than the expiry time of the new token, so the new token can only be treated as expired too early.
+     */
+    private boolean isExpired(int slot) {
+
+        return expiryTimes.get(slot) <= clock.getAsLong();
+    }
+
+    private int bucket(long hash) {
+
+        return (int) (hash >>> 32) & bucketMask;
+    }
+
+    private static long fingerprint(long hash) {
+
+        long fingerprint = hash & ~REFERENCED;
+        return fingerprint == EMPTY ? 2L : fingerprint;
+    }
+
+    /**
+     * Seeded 64 bit FNV-1a hash of the token bytes followed by the murmur3 finalizer, so that the fingerprints can
+     * not be predicted without the per process seed.
+     */
+    private long hash(String token) {
+
+        long hash = 0xcbf29ce484222325L ^ seed;
+        byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -48,6 +48,8 @@ import org.wso2.carbon.apimgt.gateway.dto.JWTTokenPayloadInfo;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityUtils;
+import org.wso2.carbon.apimgt.gateway.handlers.security.InvalidTokenDataHolder;
+import org.wso2.carbon.apimgt.gateway.handlers.security.InvalidTokenStore;
 import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
 import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationResponse;
 import org.wso2.carbon.apimgt.gateway.handlers.security.Authenticator;
@@ -246,7 +248,7 @@ public class ApiKeyAuthenticator implements Authenticator {
                             isVerified = true;
                         }
                     }
-                } else if (getInvalidGatewayApiKeyCache().get(tokenIdentifier) != null) {
+                } else if (isInvalidApiKey(tokenIdentifier)) {
                     if (log.isDebugEnabled()) {
                         log.debug("Api Key retrieved from the invalid Api Key cache. Api Key: " +
                                 GatewayUtils.getMaskedToken(splitToken[0]));
@@ -306,7 +308,7 @@ public class ApiKeyAuthenticator implements Authenticator {
                     if (isVerified) {
                         getGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
                     } else {
-                        getInvalidGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
+                        putInvalidApiKey(tokenIdentifier, tenantDomain);
                     }
 
                     if (!MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain)) {
@@ -319,7 +321,7 @@ public class ApiKeyAuthenticator implements Authenticator {
                             if (isVerified) {
                                 getGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
                             } else {
-                                getInvalidGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
+                                putInvalidApiKey(tokenIdentifier, tenantDomain);
                             }
                         } finally {
                             PrivilegedCarbonContext.endTenantFlow();
@@ -339,7 +341,7 @@ public class ApiKeyAuthenticator implements Authenticator {
                     payload = payloadInfo.getPayload();
                     if (isJwtTokenExpired(payload)) {
                         getGatewayApiKeyCache().remove(tokenIdentifier);
-                        getInvalidGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
+                        putInvalidApiKey(tokenIdentifier, tenantDomain);
                         log.error("Api Key is expired");
                         throw new APISecurityException(APISecurityConstants.API_AUTH_INVALID_CREDENTIALS,
                                 APISecurityConstants.API_AUTH_INVALID_CREDENTIALS_MESSAGE);
@@ -366,7 +368,7 @@ public class ApiKeyAuthenticator implements Authenticator {
                     if (isJwtTokenExpired(payload)) {
                         if (isGatewayTokenCacheEnabled) {
                             getGatewayApiKeyCache().remove(tokenIdentifier);
-                            getInvalidGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
+                            putInvalidApiKey(tokenIdentifier, tenantDomain);
                         }
                         log.error("Api Key is expired");
                         throw new APISecurityException(APISecurityConstants.API_AUTH_INVALID_CREDENTIALS,
@@ -646,6 +648,23 @@ public class ApiKeyAuthenticator implements Authenticator {
         return CacheProvider.getGatewayApiKeyCache();
     }
 
+    private boolean isInvalidApiKey(String tokenIdentifier) {
+        InvalidTokenStore invalidApiKeyStore = InvalidTokenDataHolder.getInstance().getInvalidApiKeyStore();
+        if (invalidApiKeyStore != null && invalidApiKeyStore.contains(tokenIdentifier)) {
+            return true;
+        }
+        return getInvalidGatewayApiKeyCache().get(tokenIdentifier) != null;
+    }
+
+    private void putInvalidApiKey(String tokenIdentifier, String tenantDomain) {
+        InvalidTokenStore invalidApiKeyStore = InvalidTokenDataHolder.getInstance().getInvalidApiKeyStore();
+        if (invalidApiKeyStore != null) {
+            invalidApiKeyStore.add(tokenIdentifier);
+        } else {
+            getInvalidGatewayApiKeyCache().put(tokenIdentifier, tenantDomain);
+        }
+    }
+
     private Cache getInvalidGatewayApiKeyCache() {
         return CacheProvider.getInvalidGatewayApiKeyCache();
     }
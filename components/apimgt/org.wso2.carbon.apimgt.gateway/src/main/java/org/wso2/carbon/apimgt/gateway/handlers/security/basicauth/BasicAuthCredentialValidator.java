@@ -32,6 +32,7 @@ import org.wso2.carbon.apimgt.gateway.handlers.security.APIKeyValidator;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.utils.CacheRefreshExecutor;
 import org.wso2.carbon.apimgt.gateway.utils.OpenAPIUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
@@ -48,9 +49,16 @@ import org.wso2.carbon.utils.CarbonUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.rmi.RemoteException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.cache.Cache;
 import javax.cache.Caching;
@@ -60,10 +68,18 @@ import javax.cache.Caching;
  */
 public class BasicAuthCredentialValidator {
 
+    private static final int SALT_LENGTH = 16;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Map<String, CompletableFuture<BasicAuthValidationInfoDTO>> IN_FLIGHT_VALIDATIONS =
+            new ConcurrentHashMap<>();
+    private static final String REFRESH_KEY_PREFIX = "BasicAuth:";
+
     private boolean gatewayKeyCacheEnabled;
+    private long refreshAheadMillis;
 
     protected Log log = LogFactory.getLog(getClass());
     private APIKeyMgtRemoteUserStoreMgtServiceStub apiKeyMgtRemoteUserStoreMgtServiceStub;
+    private UserAuthenticationInfoClient userAuthenticationInfoClient;
     private APIKeyValidator apiKeyValidator;
     /**
      * Initialize the validator with the synapse environment.
@@ -72,10 +88,15 @@ public class BasicAuthCredentialValidator {
      */
     public BasicAuthCredentialValidator() throws APISecurityException {
         this.gatewayKeyCacheEnabled = isGatewayTokenCacheEnabled();
+        this.refreshAheadMillis = getRefreshAheadMillis();
         this.getGatewayUsernameCache();
         this.apiKeyValidator = new APIKeyValidator();
-        ConfigurationContext configurationContext = ServiceReferenceHolder.getInstance().getAxis2ConfigurationContext();
         APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
+        if (Boolean.parseBoolean(config.getFirstProperty(APIConstants.ENABLE_REST_BASIC_AUTH_VALIDATION))) {
+            this.userAuthenticationInfoClient = UserAuthenticationInfoClient.getInstance();
+            return;
+        }
+        ConfigurationContext configurationContext = ServiceReferenceHolder.getInstance().getAxis2ConfigurationContext();
         EventHubConfigurationDto eventHubConfigurationDto = config.getEventHubConfigurationDto();
         String username = eventHubConfigurationDto.getUsername();
         String password = eventHubConfigurationDto.getPassword();
@@ -108,63 +129,179 @@ public class BasicAuthCredentialValidator {
      */
     @MethodStats
     public BasicAuthValidationInfoDTO validate(String username, String password) throws APISecurityException {
-        boolean isAuthenticated;
-        String cachedPasswordHash = null;
-        String providedPasswordHash = null;
-        String invalidCachedPasswordHash;
         if (gatewayKeyCacheEnabled) {
-            providedPasswordHash = GatewayUtils.hashString(password.getBytes(StandardCharsets.UTF_8));
+            byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
             BasicAuthValidationInfoDTO cachedValidationInfoObj = (BasicAuthValidationInfoDTO) getGatewayUsernameCache()
                     .get(username);
-            if (cachedValidationInfoObj != null) {
-                cachedPasswordHash = cachedValidationInfoObj.getHashedPassword();
-                cachedValidationInfoObj.setCached(true);
-            }
-            if (cachedPasswordHash != null && cachedPasswordHash.equals(providedPasswordHash)) {
+            if (cachedValidationInfoObj != null && isMatchingPassword(cachedValidationInfoObj, passwordBytes)) {
                 log.debug("Basic Authentication: <Valid Username Cache> Username & password authenticated");
-                return cachedValidationInfoObj;
-            } else {
-                BasicAuthValidationInfoDTO invalidCacheValidationInfoObj = (BasicAuthValidationInfoDTO) getInvalidUsernameCache()
-                        .get(username);
-                if (invalidCacheValidationInfoObj != null) {
-                    invalidCacheValidationInfoObj.setCached(true);
-                    invalidCachedPasswordHash = invalidCacheValidationInfoObj.getHashedPassword();
-                    if (invalidCachedPasswordHash != null && invalidCachedPasswordHash.equals(providedPasswordHash)) {
-                        log.debug(
-                                "Basic Authentication: <Invalid Username Cache> Username & password authentication failed");
-                        invalidCacheValidationInfoObj
-                                .setAuthenticated(false); //If (username->password) is in the invalid cache
-                        return invalidCacheValidationInfoObj;
-                    }
+                cachedValidationInfoObj.setCached(true);
+                if (isRefreshDue(cachedValidationInfoObj)) {
+                    refreshAhead(username, password);
                 }
+                return cachedValidationInfoObj;
+            }
+            BasicAuthValidationInfoDTO invalidCacheValidationInfoObj = (BasicAuthValidationInfoDTO)
+                    getInvalidUsernameCache().get(username);
+            if (invalidCacheValidationInfoObj != null && isMatchingPassword(invalidCacheValidationInfoObj,
+                    passwordBytes)) {
+                log.debug("Basic Authentication: <Invalid Username Cache> Username & password authentication failed");
+                invalidCacheValidationInfoObj.setCached(true);
+                //If (username->password) is in the invalid cache
+                invalidCacheValidationInfoObj.setAuthenticated(false);
+                return invalidCacheValidationInfoObj;
             }
         }
+        return validateCoalesced(username, password);
+    }
 
+    /**
+     * Validates the credentials against the key manager, sharing a single remote call between all the requests
+     * that present the same username and password while a validation is in flight.
+     *
+     * @param username given username
+     * @param password given password
+     * @return the validation info returned by the key manager
+     * @throws APISecurityException If an authentication failure or some other error occurs
+     */
+    private BasicAuthValidationInfoDTO validateCoalesced(String username, String password)
+            throws APISecurityException {
+        String inFlightKey = username + ':' + GatewayUtils.hashString(password.getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<BasicAuthValidationInfoDTO> validation = new CompletableFuture<>();
+        CompletableFuture<BasicAuthValidationInfoDTO> inFlightValidation =
+                IN_FLIGHT_VALIDATIONS.putIfAbsent(inFlightKey, validation);
+        if (inFlightValidation != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Basic Authentication: Waiting on in flight validation for user : " + username);
+            }
+            return awaitValidation(inFlightValidation, username);
+        }
+        try {
+            BasicAuthValidationInfoDTO basicAuthValidationInfoDTO = validateWithKeyManager(username, password);
+            validation.complete(basicAuthValidationInfoDTO);
+            return basicAuthValidationInfoDTO;
+        } catch (APISecurityException | RuntimeException e) {
+            validation.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT_VALIDATIONS.remove(inFlightKey, validation);
+        }
+    }
+
+    private BasicAuthValidationInfoDTO awaitValidation(CompletableFuture<BasicAuthValidationInfoDTO> validation,
+                                                       String username) throws APISecurityException {
+        try {
+            return validation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "Interrupted while validating user authentication for user : " + username, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APISecurityException) {
+                throw (APISecurityException) e.getCause();
+            }
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calls the key manager to validate the credentials and stores a salted hash of the password in the valid or
+     * invalid username cache depending on the outcome.
+     *
+     * @param username given username
+     * @param password given password
+     * @return the validation info returned by the key manager
+     * @throws APISecurityException If an authentication failure or some other error occurs
+     */
+    private BasicAuthValidationInfoDTO validateWithKeyManager(String username, String password)
+            throws APISecurityException {
         BasicAuthValidationInfoDTO basicAuthValidationInfoDTO;
+        if (userAuthenticationInfoClient != null) {
+            basicAuthValidationInfoDTO = userAuthenticationInfoClient.getUserAuthenticationInfo(username, password);
+        } else {
+            basicAuthValidationInfoDTO = getUserAuthenticationInfoFromStub(username, password);
+        }
+
+        if (gatewayKeyCacheEnabled) {
+            String salt = generateSalt();
+            basicAuthValidationInfoDTO.setPasswordSalt(salt);
+            basicAuthValidationInfoDTO.setHashedPassword(hashPassword(salt, password.getBytes(StandardCharsets.UTF_8)));
+            basicAuthValidationInfoDTO.setValidatedTime(System.currentTimeMillis());
+            if (basicAuthValidationInfoDTO.isAuthenticated()) {
+                // put (username->password) into the valid cache
+                getGatewayUsernameCache().put(username, basicAuthValidationInfoDTO);
+            } else {
+                // put (username->password) into the invalid cache
+                getInvalidUsernameCache().put(username, basicAuthValidationInfoDTO);
+            }
+        }
+        return basicAuthValidationInfoDTO;
+    }
+
+    private BasicAuthValidationInfoDTO getUserAuthenticationInfoFromStub(String username, String password)
+            throws APISecurityException {
         try {
             org.wso2.carbon.apimgt.impl.dto.xsd.BasicAuthValidationInfoDTO generatedInfoDTO = apiKeyMgtRemoteUserStoreMgtServiceStub
                     .getUserAuthenticationInfo(username, password);
-            basicAuthValidationInfoDTO = convertToDTO(generatedInfoDTO);
-            isAuthenticated = basicAuthValidationInfoDTO.isAuthenticated();
+            return convertToDTO(generatedInfoDTO);
         } catch (APIKeyMgtRemoteUserStoreMgtServiceAPIManagementException | RemoteException e) {
             log.error(
                     "Basic Authentication: Error while accessing backend services to validate user authentication for user : "
                             + username);
             throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getMessage(), e);
         }
+    }
 
-        if (gatewayKeyCacheEnabled) {
-            basicAuthValidationInfoDTO.setHashedPassword(providedPasswordHash);
-            if (isAuthenticated) {
-                // put (username->password) into the valid cache
-                getGatewayUsernameCache().put(username, basicAuthValidationInfoDTO);
-            } else {
-                // put (username->password) into the invalid cache
-                getInvalidUsernameCache().put(username, basicAuthValidationInfoDTO);
+    /**
+     * Revalidates a valid cache entry in the background so that frequently used credentials do not expire from the
+     * cache and pay for a key manager round trip on the request path.
+     *
+     * @param username given username
+     * @param password given password
+     */
+    private void refreshAhead(String username, String password) {
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        CacheRefreshExecutor.refresh(REFRESH_KEY_PREFIX + username, tenantDomain, () -> {
+            try {
+                BasicAuthValidationInfoDTO refreshedInfo = validateWithKeyManager(username, password);
+                if (!refreshedInfo.isAuthenticated()) {
+                    getGatewayUsernameCache().remove(username);
+                }
+            } catch (APISecurityException e) {
+                log.warn("Basic Authentication: Error while refreshing cached credentials for user : " + username, e);
             }
+        });
+    }
+
+    private boolean isRefreshDue(BasicAuthValidationInfoDTO cachedValidationInfoObj) {
+        return refreshAheadMillis > 0
+                && System.currentTimeMillis() - cachedValidationInfoObj.getValidatedTime() >= refreshAheadMillis;
+    }
+
+    private boolean isMatchingPassword(BasicAuthValidationInfoDTO cachedValidationInfoObj, byte[] passwordBytes) {
+        String cachedPasswordHash = cachedValidationInfoObj.getHashedPassword();
+        String salt = cachedValidationInfoObj.getPasswordSalt();
+        if (cachedPasswordHash == null || salt == null) {
+            return false;
         }
+        String providedPasswordHash = hashPassword(salt, passwordBytes);
+        return providedPasswordHash != null && MessageDigest.isEqual(
+                cachedPasswordHash.getBytes(StandardCharsets.UTF_8),
+                providedPasswordHash.getBytes(StandardCharsets.UTF_8));
+    }
 
-        return basicAuthValidationInfoDTO;
+    private static String generateSalt() {
+        byte[] salt = new byte[SALT_LENGTH];
+        SECURE_RANDOM.nextBytes(salt);
+        return Base64.getEncoder().encodeToString(salt);
+    }
+
+    private static String hashPassword(String salt, byte[] passwordBytes) {
+        byte[] saltBytes = Base64.getDecoder().decode(salt);
+        byte[] saltedPassword = new byte[saltBytes.length + passwordBytes.length];
+        System.arraycopy(saltBytes, 0, saltedPassword, 0, saltBytes.length);
+        System.arraycopy(passwordBytes, 0, saltedPassword, saltBytes.length, passwordBytes.length);
+        return GatewayUtils.hashString(saltedPassword);
     }
 
     private BasicAuthValidationInfoDTO convertToDTO(
@@ -384,4 +521,31 @@ public class BasicAuthCredentialValidator {
         }
         return true;
     }
+
+    /**
+     * Returns the age after which a valid username cache entry is refreshed in the background, derived from the
+     * token cache expiry and the configured refresh ahead percentage.
+     *
+     * @return the refresh ahead age in milliseconds, or 0 if refresh ahead is disabled
+     */
+    private long getRefreshAheadMillis() {
+        try {
+            APIManagerConfiguration config = getApiManagerConfiguration();
+            String cacheExpiry = config.getFirstProperty(APIConstants.TOKEN_CACHE_EXPIRY);
+            long cacheExpirySeconds = cacheExpiry != null ? Long.parseLong(cacheExpiry)
+                    : CacheProvider.getDefaultCacheTimeout();
+            String refreshAheadPercentage = config
+                    .getFirstProperty(APIConstants.BASIC_AUTH_CACHE_REFRESH_AHEAD_PERCENTAGE);
+            int percentage = refreshAheadPercentage != null ? Integer.parseInt(refreshAheadPercentage)
+                    : APIConstants.DEFAULT_BASIC_AUTH_CACHE_REFRESH_AHEAD_PERCENTAGE;
+            if (percentage <= 0 || percentage >= 100) {
+                return 0;
+            }
+            return TimeUnit.SECONDS.toMillis(cacheExpirySeconds) * percentage / 100;
+        } catch (Exception e) {
+            log.error("Did not find a valid basic auth cache refresh ahead configuration. Refresh ahead is disabled "
+                    + e, e);
+        }
+        return 0;
+    }
 }
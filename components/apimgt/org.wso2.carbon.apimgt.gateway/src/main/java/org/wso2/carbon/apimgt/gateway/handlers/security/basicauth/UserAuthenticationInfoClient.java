@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security.basicauth;
+
+import com.google.gson.Gson;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
+import org.wso2.carbon.apimgt.impl.dto.EventHubConfigurationDto;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validates basic auth credentials through the internal REST API of the key manager. All the validators share a
+ * single pooled HTTP client, so the connections to the key manager are kept alive and reused between requests
+ * instead of building a SOAP envelope over a new session for each validation.
+ */
+public class UserAuthenticationInfoClient {
+
+    private static final Log log = LogFactory.getLog(UserAuthenticationInfoClient.class);
+    private static volatile UserAuthenticationInfoClient instance;
+
+    private final Gson gson = new Gson();
+    private final HttpClient httpClient;
+    private final String endpoint;
+    private final String authorizationHeader;
+
+    private UserAuthenticationInfoClient() throws APISecurityException {
+
+        EventHubConfigurationDto eventHubConfigurationDto =
+                ServiceReferenceHolder.getInstance().getAPIManagerConfiguration().getEventHubConfigurationDto();
+        String serviceUrl = eventHubConfigurationDto.getServiceUrl();
+        if (serviceUrl == null) {
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "API key manager URL unspecified");
+        }
+        endpoint = serviceUrl + APIConstants.INTERNAL_WEB_APP_EP + APIConstants.USER_AUTHENTICATION_INFO_ENDPOINT;
+        byte[] credentials = Base64.encodeBase64((eventHubConfigurationDto.getUsername() + APIConstants.DELEM_COLON
+                + eventHubConfigurationDto.getPassword()).getBytes(StandardCharsets.UTF_8));
+        authorizationHeader = APIConstants.AUTHORIZATION_BASIC + new String(credentials, StandardCharsets.UTF_8);
+        try {
+            URL url = new URL(endpoint);
+            httpClient = APIUtil.getHttpClient(url.getPort(), url.getProtocol());
+        } catch (MalformedURLException e) {
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "Invalid API key manager URL " + serviceUrl, e);
+        }
+    }
+
+    /**
+     * Returns the client shared by all the basic auth validators of the gateway.
+     *
+     * @return the shared client
+     * @throws APISecurityException If the key manager URL is not configured properly
+     */
+    public static UserAuthenticationInfoClient getInstance() throws APISecurityException {
+
+        if (instance == null) {
+            synchronized (UserAuthenticationInfoClient.class) {
+                if (instance == null) {
+                    instance = new UserAuthenticationInfoClient();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Validates the given username and password and retrieves the roles of the user.
+     *
+     * @param username given username
+     * @param password given password
+     * @return the authentication info of the user
+     * @throws APISecurityException If the key manager could not be reached or returned an error
+     */
+    public BasicAuthValidationInfoDTO getUserAuthenticationInfo(String username, String password)
+            throws APISecurityException {
+
+        HttpPost method = new HttpPost(endpoint);
+        method.setHeader(APIConstants.AUTHORIZATION_HEADER_DEFAULT, authorizationHeader);
+        method.setEntity(new StringEntity(gson.toJson(new UserCredentials(username, password)),
+                ContentType.APPLICATION_JSON));
+        try {
+            HttpResponse httpResponse = httpClient.execute(method);
+            HttpEntity entity = httpResponse.getEntity();
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            if (statusCode != HttpStatus.SC_OK) {
+                // Consuming the entity releases the connection back to the pool
+                EntityUtils.consumeQuietly(entity);
+                throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                        "Error while validating user authentication. Received response with status code "
+                                + statusCode);
+            }
+            if (entity == null) {
+                throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                        "Error while validating user authentication. Received an empty response");
+            }
+            String responseString = EntityUtils.toString(entity, StandardCharsets.UTF_8);
+            return toDTO(gson.fromJson(responseString, UserAuthenticationInfo.class));
+        } catch (IOException e) {
+            log.error("Error while invoking " + endpoint + " to validate user authentication for user : "
+                    + username);
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getMessage(), e);
+        }
+    }
+
+    private BasicAuthValidationInfoDTO toDTO(UserAuthenticationInfo userAuthenticationInfo) {
+
+        BasicAuthValidationInfoDTO basicAuthValidationInfoDTO = new BasicAuthValidationInfoDTO();
+        if (userAuthenticationInfo != null) {
+            basicAuthValidationInfoDTO.setAuthenticated(userAuthenticationInfo.authenticated);
+            basicAuthValidationInfoDTO.setDomainQualifiedUsername(userAuthenticationInfo.domainQualifiedUsername);
+            basicAuthValidationInfoDTO.setUserRoleList(userAuthenticationInfo.userRoleList);
+        }
+        return basicAuthValidationInfoDTO;
+    }
+
+    /**
+     * Request payload of the user authentication info endpoint.
+     */
+    private static class UserCredentials {
+
+        private final String username;
+        private final String password;
+
+        UserCredentials(String username, String password) {
+
+            this.username = username;
+            this.password = password;
+        }
+    }
+
+    /**
+     * Response payload of the user authentication info endpoint.
+     */
+    private static class UserAuthenticationInfo {
+
+        private boolean authenticated;
+        private String domainQualifiedUsername;
+        private String[] userRoleList;
+    }
+}
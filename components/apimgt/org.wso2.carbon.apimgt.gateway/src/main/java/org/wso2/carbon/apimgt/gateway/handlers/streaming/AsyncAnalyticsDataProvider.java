@@ -21,9 +21,7 @@ package org.wso2.carbon.apimgt.gateway.handlers.streaming;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.transport.passthru.PassThroughConstants;
-import org.wso2.carbon.apimgt.common.analytics.exceptions.DataNotFoundException;
 import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Latencies;
-import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Operation;
 import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Target;
 import org.wso2.carbon.apimgt.gateway.handlers.analytics.Constants;
 import org.wso2.carbon.apimgt.gateway.handlers.analytics.SynapseAnalyticsDataProvider;
@@ -50,14 +48,10 @@ public class AsyncAnalyticsDataProvider extends SynapseAnalyticsDataProvider {
     }
 
     @Override
-    public Operation getOperation() throws DataNotFoundException {
+    protected String getApiResourceTemplatePrefix() {
 
-        Operation operation = super.getOperation();
         Object eventPrefix = messageContext.getProperty(ASYNC_MESSAGE_TYPE);
-        if (eventPrefix != null) {
-            operation.setApiResourceTemplate(eventPrefix.toString() + operation.getApiResourceTemplate());
-        }
-        return operation;
+        return eventPrefix != null ? eventPrefix.toString() : null;
     }
 
     @Override
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.streaming.sse;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * Event accounting of a single SSE response stream. The events of the stream are counted over the raw response
+ * buffers, including events whose delimiter is split across two buffers, and are accumulated so that the throttle and
+ * analytics events of the stream are published in batches instead of once per buffer. A batch is published when it
+ * holds the maximum number of events, or when the flush interval has elapsed since the previous batch. A stream with
+ * events is kept in the given set of active streams, so that its last batch can be published after the stream has
+ * gone idle or been closed.
+ */
+public class SseEventAccumulator {
+
+    private static final byte LINE_FEED = '\n';
+
+    private final BatchPublisher batchPublisher;
+    private final Set<SseEventAccumulator> activeAccumulators;
+    private final int maxBatchEvents;
+    private final long flushIntervalMillis;
+    private boolean lastByteWasLineFeed;
+    private int pendingEvents;
+    private long pendingBytes;
+    private long lastFlushTime;
+    private long lastActivityTime;
+    private boolean active;
+
+    public SseEventAccumulator(BatchPublisher batchPublisher, Set<SseEventAccumulator> activeAccumulators,
+                               int maxBatchEvents, long flushIntervalMillis, long currentTimeMillis) {
+
+        this.batchPublisher = batchPublisher;
+        this.activeAccumulators = activeAccumulators;
+        this.maxBatchEvents = maxBatchEvents;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.lastFlushTime = currentTimeMillis;
+        this.lastActivityTime = currentTimeMillis;
+    }
+
+    /**
+     * Counts the event delimiters (two consecutive line feeds) between the position and the limit of the buffer,
+     * without changing the position of the buffer. The encoding of the stream must encode a line feed as a single
+     * byte which is not part of any other character, as UTF-8 and the other ASCII compatible encodings do.
+     *
+     * @param buffer response buffer
+     * @return number of events completed in the buffer
+     */
+    public synchronized int countEvents(ByteBuffer buffer) {
+
+        int events = 0;
+        boolean lineFeed = lastByteWasLineFeed;
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) == LINE_FEED) {
+                if (lineFeed) {
+                    events++;
+                    lineFeed = false;
+                } else {
+                    lineFeed = true;
+                }
+            } else {
+                lineFeed = false;
+            }
+        }
+        lastByteWasLineFeed = lineFeed;
+        return events;
+    }
+
+    /**
+     * Adds the events of a response buffer to the current batch, and publishes the batch if it is due.
+     *
+     * @param events            number of events in the buffer
+     * @param bytes             size of the buffer
+     * @param currentTimeMillis current time
+     */
+    public void add(int events, int bytes, long currentTimeMillis) {
+
+        int batchEvents;
+        long batchBytes;
+        synchronized (this) {
+            pendingEvents += events;
+            pendingBytes += bytes;
+            lastActivityTime = currentTimeMillis;
+            if (!active && pendingEvents > 0) {
+                active = true;
+                activeAccumulators.add(this);
+            }
+            if (pendingEvents == 0 || (pendingEvents < maxBatchEvents
+                    && currentTimeMillis - lastFlushTime < flushIntervalMillis)) {
+                return;
+            }
+            batchEvents = pendingEvents;
+            batchBytes = pendingBytes;
+            reset(currentTimeMillis);
+        }
+        batchPublisher.publish(batchEvents, batchBytes);
+    }
+
+    /**
+     * Publishes the current batch if the flush interval has elapsed since the previous batch. This publishes the
+     * events of streams which are idle or have been closed. A stream without pending events which has been idle
+     * for longer than the idle timeout is removed from the active streams.
+     *
+     * @param currentTimeMillis current time
+     * @param idleTimeoutMillis time after which a stream without events is considered inactive
+     */
+    public void flushIfDue(long currentTimeMillis, long idleTimeoutMillis) {
+
+        int batchEvents;
+        long batchBytes;
+        synchronized (this) {
+            if (pendingEvents == 0) {
+                if (active && currentTimeMillis - lastActivityTime >= idleTimeoutMillis) {
+                    active = false;
+                    activeAccumulators.remove(this);
+                }
+                return;
+            }
+            if (currentTimeMillis - lastFlushTime < flushIntervalMillis) {
+                return;
+            }
+            batchEvents = pendingEvents;
+            batchBytes = pendingBytes;
+            reset(currentTimeMillis);
+        }
+        batchPublisher.publish(batchEvents, batchBytes);
+    }
+
+    private void reset(long currentTimeMillis) {
+
+        pendingEvents = 0;
+        pendingBytes = 0;
+        lastFlushTime = currentTimeMillis;
+    }
+
+    /**
+     * Publishes a batch of events of a stream.
+     */
+    public interface BatchPublisher {
+
+        void publish(int eventCount, long byteCount);
+    }
+}
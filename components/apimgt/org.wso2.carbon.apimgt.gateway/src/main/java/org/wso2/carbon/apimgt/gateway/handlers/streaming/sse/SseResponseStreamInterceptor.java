@@ -27,9 +27,11 @@ import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.transport.passthru.DefaultStreamInterceptor;
 import org.apache.synapse.transport.passthru.PassThroughConstants;
 import org.json.JSONObject;
+import org.wso2.carbon.apimgt.common.analytics.collectors.AnalyticsDataProvider;
 import org.wso2.carbon.apimgt.common.analytics.collectors.impl.GenericRequestDataCollector;
 import org.wso2.carbon.apimgt.common.analytics.exceptions.AnalyticsException;
 import org.wso2.carbon.apimgt.gateway.handlers.Utils;
+import org.wso2.carbon.apimgt.gateway.handlers.analytics.AnalyticsDataSnapshot;
 import org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.analytics.SseResponseEventDataProvider;
 import org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.throttling.ThrottleInfo;
 import org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.utils.SseUtils;
@@ -39,27 +41,49 @@ import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.SseApiConstants.SSE_ANALYTICS_INFO;
+import static org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.SseApiConstants.SSE_EVENT_ACCUMULATOR;
 import static org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.SseApiConstants.SSE_THROTTLE_DTO;
 import static org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.utils.SseUtils.isThrottled;
 
 /**
  * This is used for handling throttling, and analytics event publishing of sse apis (subset of streaming apis).
+ * The events of each stream are counted incrementally over the response buffers and are published to the traffic
+ * manager and to analytics in batches, see {@link SseEventAccumulator}.
  */
 public class SseResponseStreamInterceptor extends DefaultStreamInterceptor {
 
     private static final Log log = LogFactory.getLog(SseResponseStreamInterceptor.class);
     private static final String SSE_STREAM_DELIMITER = "\n\n";
     private static final int DEFAULT_NO_OF_THROTTLE_PUBLISHER_EXECUTORS = 100;
+    private static final int DEFAULT_MAX_BATCH_EVENTS = 100;
+    private static final int DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final long SWEEP_INTERVAL_MILLIS = 500;
+    private static final long IDLE_TIMEOUT_MILLIS = 60000;
     private String charset = StandardCharsets.UTF_8.name();
+    private boolean asciiCompatibleCharset = true;
     private ExecutorService throttlePublisherService;
     private int noOfExecutorThreads = DEFAULT_NO_OF_THROTTLE_PUBLISHER_EXECUTORS;
+    private int maxBatchEvents = DEFAULT_MAX_BATCH_EVENTS;
+    private int flushInterval = DEFAULT_FLUSH_INTERVAL_MILLIS;
+    private final Set<SseEventAccumulator> activeAccumulators = ConcurrentHashMap.newKeySet();
 
     public SseResponseStreamInterceptor() {
         throttlePublisherService = Executors.newFixedThreadPool(noOfExecutorThreads);
+        ScheduledExecutorService flushService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SseEventAccumulatorFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushService.scheduleWithFixedDelay(this::flushEventAccumulators, SWEEP_INTERVAL_MILLIS,
+                                            SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -70,13 +94,28 @@ public class SseResponseStreamInterceptor extends DefaultStreamInterceptor {
 
     @Override
     public boolean targetResponse(ByteBuffer buffer, MessageContext axis2Ctx) {
-        int eventCount = getEventCount(buffer);
+        Object throttleObject = axis2Ctx.getProperty(SSE_THROTTLE_DTO);
+        if (throttleObject == null) {
+            log.error("Throttle object cannot be null.");
+            return true;
+        }
+        ThrottleInfo throttleInfo = (ThrottleInfo) throttleObject;
+        SseEventAccumulator eventAccumulator = getEventAccumulator(axis2Ctx, throttleInfo);
+        int eventCount = getEventCount(buffer, eventAccumulator);
         if (log.isDebugEnabled()) {
             log.debug("No. of events =" + eventCount);
         }
         if (eventCount > 0) {
-            return handleThrottlingAndAnalytics(eventCount, axis2Ctx);
+            boolean isThrottled = isThrottled(throttleInfo.getSubscriberTenantDomain(),
+                                              throttleInfo.getResourceLevelThrottleKey(),
+                                              throttleInfo.getSubscriptionLevelThrottleKey(),
+                                              throttleInfo.getApplicationLevelThrottleKey());
+            if (isThrottled) {
+                log.warn("Request is throttled out");
+                return false;
+            }
         }
+        eventAccumulator.add(eventCount, buffer.remaining(), System.currentTimeMillis());
         return true;
     }
 
@@ -85,61 +124,100 @@ public class SseResponseStreamInterceptor extends DefaultStreamInterceptor {
         this.noOfExecutorThreads = executorThreads;
     }
 
-    private int getEventCount(ByteBuffer stream) {
+    @SuppressWarnings("unused")
+    public void setMaxBatchEvents(int maxBatchEvents) {
+        this.maxBatchEvents = maxBatchEvents;
+    }
+
+    @SuppressWarnings("unused")
+    public void setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    private int getEventCount(ByteBuffer stream, SseEventAccumulator eventAccumulator) {
+        if (asciiCompatibleCharset) {
+            return eventAccumulator.countEvents(stream);
+        }
         Charset charsetValue = Charset.forName(this.charset);
-        String text = charsetValue.decode(stream).toString();
+        String text = charsetValue.decode(stream.duplicate()).toString();
         return StringUtils.countMatches(text, SSE_STREAM_DELIMITER);
     }
 
-    private boolean handleThrottlingAndAnalytics(int eventCount, MessageContext axi2Ctx) {
+    private SseEventAccumulator getEventAccumulator(MessageContext axis2Ctx, ThrottleInfo throttleInfo) {
 
-        Object throttleObject = axi2Ctx.getProperty(SSE_THROTTLE_DTO);
-        if (throttleObject != null) {
-            String messageId = UIDGenerator.generateURNString();
-            ThrottleInfo throttleInfo = (ThrottleInfo) throttleObject;
-            String remoteIP = throttleInfo.getRemoteIp();
-            JSONObject propertiesMap = new JSONObject();
-            Utils.setRemoteIp(propertiesMap, remoteIP);
-            boolean isThrottled = isThrottled(throttleInfo.getSubscriberTenantDomain(),
-                                              throttleInfo.getResourceLevelThrottleKey(),
-                                              throttleInfo.getSubscriptionLevelThrottleKey(),
-                                              throttleInfo.getApplicationLevelThrottleKey());
-            if (isThrottled) {
-                log.warn("Request is throttled out");
-                return false;
-            }
-            throttlePublisherService.execute(
-                    () -> SseUtils.publishNonThrottledEvent(eventCount, messageId, throttleInfo, propertiesMap));
-            if (APIUtil.isAnalyticsEnabled()) {
-                try {
-                    publishAnalyticsData(eventCount, axi2Ctx);
-                } catch (AnalyticsException e) {
-                    log.error("Error while publishing analytics data", e);
-                }
-            }
-            return true;
-        } else {
-            log.error("Throttle object cannot be null.");
+        Object accumulator = axis2Ctx.getProperty(SSE_EVENT_ACCUMULATOR);
+        if (accumulator != null) {
+            return (SseEventAccumulator) accumulator;
         }
-        return true;
+        JSONObject propertiesMap = new JSONObject();
+        Utils.setRemoteIp(propertiesMap, throttleInfo.getRemoteIp());
+        AnalyticsDataProvider analyticsDataProvider = getAnalyticsDataProvider(axis2Ctx);
+        SseEventAccumulator eventAccumulator = new SseEventAccumulator(
+                (eventCount, byteCount) -> publishBatch(eventCount, byteCount, throttleInfo, propertiesMap,
+                                                        analyticsDataProvider),
+                activeAccumulators, maxBatchEvents, flushInterval, System.currentTimeMillis());
+        axis2Ctx.setProperty(SSE_EVENT_ACCUMULATOR, eventAccumulator);
+        return eventAccumulator;
     }
 
-    private void publishAnalyticsData(int eventCount, MessageContext axi2Ctx) throws AnalyticsException {
+    private AnalyticsDataProvider getAnalyticsDataProvider(MessageContext axi2Ctx) {
 
+        if (!APIUtil.isAnalyticsEnabled()) {
+            return null;
+        }
         Object responseEventProvider = axi2Ctx.getProperty(SSE_ANALYTICS_INFO);
         if (responseEventProvider == null) {
             log.error("SSE Analytics event provider is null.");
-            return;
+            return null;
         }
         SseResponseEventDataProvider provider = (SseResponseEventDataProvider) responseEventProvider;
         provider.setResponseCode((int) axi2Ctx.getProperty(SynapseConstants.HTTP_SC));
+        // The analytics data of a stream does not change between its events
+        return new AnalyticsDataSnapshot(provider);
+    }
+
+    private void publishBatch(int eventCount, long byteCount, ThrottleInfo throttleInfo, JSONObject propertiesMap,
+                              AnalyticsDataProvider analyticsDataProvider) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Publishing a batch of " + eventCount + " events in " + byteCount + " bytes");
+        }
+        String messageId = UIDGenerator.generateURNString();
+        throttlePublisherService.execute(() -> {
+            SseUtils.publishNonThrottledEvent(eventCount, messageId, throttleInfo, propertiesMap);
+            if (analyticsDataProvider != null) {
+                try {
+                    publishAnalyticsData(eventCount, analyticsDataProvider);
+                } catch (AnalyticsException e) {
+                    log.error("Error while publishing analytics data", e);
+                }
+            }
+        });
+    }
+
+    private void publishAnalyticsData(int eventCount, AnalyticsDataProvider provider) throws AnalyticsException {
+
         GenericRequestDataCollector dataCollector = new GenericRequestDataCollector(provider);
         for (int count = 0; count < eventCount; count++) {
             dataCollector.collectData();
         }
     }
 
+    private void flushEventAccumulators() {
+
+        long currentTime = System.currentTimeMillis();
+        for (SseEventAccumulator eventAccumulator : activeAccumulators) {
+            try {
+                eventAccumulator.flushIfDue(currentTime, IDLE_TIMEOUT_MILLIS);
+            } catch (RuntimeException e) {
+                log.error("Error while publishing SSE events", e);
+            }
+        }
+    }
+
     public void setCharset(String charset) {
         this.charset = charset;
+        byte[] lineFeed = "\n".getBytes(Charset.forName(charset));
+        this.asciiCompatibleCharset = lineFeed.length == 1 && lineFeed[0] == '\n';
     }
 }
@@ -19,10 +19,7 @@
 package org.wso2.carbon.apimgt.gateway.handlers.streaming.sse.analytics;
 
 import org.apache.synapse.MessageContext;
-import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Operation;
-import org.wso2.carbon.apimgt.gateway.APIMgtGatewayConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.streaming.AsyncAnalyticsDataProvider;
-import org.wso2.carbon.apimgt.impl.APIConstants;
 
 /**
  * Data provider for the response events of server sent events.
@@ -30,11 +27,9 @@ import org.wso2.carbon.apimgt.impl.APIConstants;
 public class SseResponseEventDataProvider extends AsyncAnalyticsDataProvider {
 
     private int responseCode;
-    private MessageContext messageContext;
 
     public SseResponseEventDataProvider(MessageContext messageContext) {
         super(messageContext);
-        this.messageContext = messageContext;
     }
 
     @Override
@@ -48,13 +43,9 @@ public class SseResponseEventDataProvider extends AsyncAnalyticsDataProvider {
     }
 
     @Override
-    public Operation getOperation() {
-        String httpMethod = (String) messageContext.getProperty(APIMgtGatewayConstants.HTTP_METHOD);
-        String apiResourceTemplate = (String) messageContext.getProperty(APIConstants.API_ELECTED_RESOURCE);
-        Operation operation = new Operation();
-        operation.setApiMethod(httpMethod);
-        operation.setApiResourceTemplate(apiResourceTemplate);
-        return operation;
+    protected String getApiResourceTemplatePrefix() {
+        // Resource templates of SSE APIs are not prefixed with the message type
+        return null;
     }
 
     public void setResponseCode(int responseCode) {
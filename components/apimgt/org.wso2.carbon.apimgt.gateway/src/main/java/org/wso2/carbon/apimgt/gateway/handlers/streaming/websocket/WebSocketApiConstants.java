@@ -48,6 +48,11 @@ public class WebSocketApiConstants {
         public static final String GRAPHQL_QUERY_TOO_COMPLEX_MESSAGE = "QUERY TOO COMPLEX";
         public static final int GRAPHQL_INVALID_QUERY = 4022;
         public static final String GRAPHQL_INVALID_QUERY_MESSAGE = "INVALID QUERY";
+        public static final String TOKEN_REVOKED_MESSAGE = "Token revoked";
+        public static final String SUBSCRIPTION_REMOVED_MESSAGE = "Subscription removed";
+        public static final String APPLICATION_REMOVED_MESSAGE = "Application removed";
+        public static final int API_REMOVED_ERROR = 1001;
+        public static final String API_REMOVED_MESSAGE = "API removed from the gateway";
         public static final String ERROR_CODE = "code";
         public static final String ERROR_MESSAGE = "message";
     }
@@ -59,6 +59,7 @@ import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityUtils;
 import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.local.LocalTrafficManager;
 import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
@@ -400,15 +401,28 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
                                             isThrottled = true;
 
                                         } else {
-                                            ServiceReferenceHolder.getInstance().getThrottleDataPublisher().
-                                                    publishNonThrottledEvent(applicationLevelThrottleKey,
-                                                            applicationLevelTier, apiLevelThrottleKey, apiLevelTier,
-                                                            subscriptionLevelThrottleKey, subscriptionLevelTier,
-                                                            resourceLevelThrottleKey, resourceLevelTier,
-                                                            authorizedUser, apiContext,
-                                                            apiVersion, subscriberTenantDomain, apiTenantDomain,
-                                                            applicationId,
-                                                            synCtx, authContext);
+                                            boolean localTrafficManagerEnabled =
+                                                    getLocalTrafficManager().isEnabled();
+                                            if (localTrafficManagerEnabled) {
+                                                getLocalTrafficManager().processRequest(verbInfo,
+                                                        applicationLevelThrottleKey, applicationLevelTier,
+                                                        apiLevelThrottleKey, apiLevelTier,
+                                                        subscriptionLevelThrottleKey, subscriptionLevelTier,
+                                                        authorizedUser, subscriberTenantDomain, apiTenantDomain,
+                                                        synCtx, authContext);
+                                            }
+                                            // Custom policies are only evaluated by the traffic manager
+                                            if (!localTrafficManagerEnabled || keyTemplatesAvailable) {
+                                                ServiceReferenceHolder.getInstance().getThrottleDataPublisher().
+                                                        publishNonThrottledEvent(applicationLevelThrottleKey,
+                                                                applicationLevelTier, apiLevelThrottleKey,
+                                                                apiLevelTier, subscriptionLevelThrottleKey,
+                                                                subscriptionLevelTier, resourceLevelThrottleKey,
+                                                                resourceLevelTier, authorizedUser, apiContext,
+                                                                apiVersion, subscriberTenantDomain,
+                                                                apiTenantDomain, applicationId,
+                                                                synCtx, authContext);
+                                            }
                                         }
                                     } else {
                                         log.debug("Request throttled at custom throttling");
@@ -506,6 +520,10 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
         return ServiceReferenceHolder.getInstance().getThrottleDataHolder();
     }
 
+    protected LocalTrafficManager getLocalTrafficManager() {
+        return LocalTrafficManager.getInstance();
+    }
+
     protected String getTenantDomain() {
         return CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
     }
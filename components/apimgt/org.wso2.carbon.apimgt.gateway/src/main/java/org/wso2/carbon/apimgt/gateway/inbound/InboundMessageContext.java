@@ -17,12 +17,15 @@
  */
 package org.wso2.carbon.apimgt.gateway.inbound;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import org.apache.axis2.context.MessageContext;
 import org.apache.synapse.api.API;
 import org.wso2.carbon.apimgt.api.gateway.GraphQLSchemaDTO;
 import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
 import org.wso2.carbon.apimgt.gateway.dto.GraphQLOperationDTO;
+import org.wso2.carbon.apimgt.gateway.inbound.websocket.throttling.FrameRateLimit;
 import org.wso2.carbon.apimgt.impl.dto.APIKeyValidationInfoDTO;
 import org.wso2.carbon.apimgt.impl.dto.ResourceInfoDTO;
 import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
@@ -31,6 +34,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Message context to hold information of an intercepted single inbound connection.
@@ -65,6 +71,17 @@ public class InboundMessageContext {
     private GraphQLSchemaDTO graphQLSchemaDTO;
     private Map<String, GraphQLOperationDTO> graphQLMsgIdToVerbInfo = new HashMap<>();
 
+    //Frames and bytes received from the client and sent to the client through the connection
+    private final AtomicLong inboundFrameCount = new AtomicLong();
+    private final AtomicLong inboundByteCount = new AtomicLong();
+    private final AtomicLong outboundFrameCount = new AtomicLong();
+    private final AtomicLong outboundByteCount = new AtomicLong();
+    private volatile FrameRateLimit frameRateLimit; //local frame rate limit of the connection
+
+    //Result of the last successful JWT authentication of the connection
+    private volatile long authenticationExpiryTime;
+    private final Set<String> authorizedOperations = ConcurrentHashMap.newKeySet();
+
     public void addVerbInfoForGraphQLMsgId(String msgId, GraphQLOperationDTO graphQLOperationDTO) {
         this.graphQLMsgIdToVerbInfo.put(msgId, graphQLOperationDTO);
     }
@@ -252,4 +269,66 @@ public class InboundMessageContext {
     public void setJWTToken(boolean JWTToken) {
         isJWTToken = JWTToken;
     }
+
+    public void recordInboundFrame(WebSocketFrame frame) {
+        inboundFrameCount.incrementAndGet();
+        inboundByteCount.addAndGet(getFrameSize(frame));
+    }
+
+    public void recordOutboundFrame(WebSocketFrame frame) {
+        outboundFrameCount.incrementAndGet();
+        outboundByteCount.addAndGet(getFrameSize(frame));
+    }
+
+    public long getInboundFrameCount() {
+        return inboundFrameCount.get();
+    }
+
+    public long getInboundByteCount() {
+        return inboundByteCount.get();
+    }
+
+    public long getOutboundFrameCount() {
+        return outboundFrameCount.get();
+    }
+
+    public long getOutboundByteCount() {
+        return outboundByteCount.get();
+    }
+
+    public FrameRateLimit getFrameRateLimit() {
+        return frameRateLimit;
+    }
+
+    public void setFrameRateLimit(FrameRateLimit frameRateLimit) {
+        this.frameRateLimit = frameRateLimit;
+    }
+
+    public long getAuthenticationExpiryTime() {
+        return authenticationExpiryTime;
+    }
+
+    /**
+     * Sets the time until which the JWT authentication of the connection is reused. The operations authorized under
+     * the previous authentication are cleared.
+     *
+     * @param authenticationExpiryTime expiry time in milliseconds, or 0 to authenticate the next frame
+     */
+    public void setAuthenticationExpiryTime(long authenticationExpiryTime) {
+        this.authorizedOperations.clear();
+        this.authenticationExpiryTime = authenticationExpiryTime;
+    }
+
+    public boolean isOperationAuthorized(String operation) {
+        return authorizedOperations.contains(operation);
+    }
+
+    public void addAuthorizedOperation(String operation) {
+        authorizedOperations.add(operation);
+    }
+
+    private static int getFrameSize(WebSocketFrame frame) {
+        ByteBuf content = frame.content();
+        return content != null ? content.readableBytes() : 0;
+    }
 }
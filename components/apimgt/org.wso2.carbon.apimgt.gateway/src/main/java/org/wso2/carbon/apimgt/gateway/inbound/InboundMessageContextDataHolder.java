@@ -17,21 +17,36 @@
  */
 package org.wso2.carbon.apimgt.gateway.inbound;
 
-import java.util.HashMap;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
+import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * A gateway data holder to hold information of InboundMessageContext and connection which it associates with.
+ * Connections are registered and removed from the event loop threads of the connections, so they are held in a
+ * concurrent map, which locks per bin instead of for the whole map. The connections of an API, a tenant or an
+ * application can be looked up, for example to close them when the API is removed or the application is blocked.
  */
 public class InboundMessageContextDataHolder {
 
     private static final InboundMessageContextDataHolder instance = new InboundMessageContextDataHolder();
-    private Map<String, InboundMessageContext> inboundMessageContextMap = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 1024;
+    private final Map<String, InboundMessageContext> inboundMessageContextMap =
+            new ConcurrentHashMap<>(INITIAL_CAPACITY);
 
     public static InboundMessageContextDataHolder getInstance() {
         return instance;
     }
-    
+
     public Map<String, InboundMessageContext> getInboundMessageContextMap() {
         return inboundMessageContextMap;
     }
@@ -45,8 +60,130 @@ public class InboundMessageContextDataHolder {
         return inboundMessageContextMap.get(connectionId);
     }
 
+    /**
+     * Returns the InboundMessageContext of the connection, registering a new one if the connection has none.
+     *
+     * @param connectionId connection ID
+     * @param ctx          channel handler context of the connection
+     * @return InboundMessageContext of the connection
+     */
+    public InboundMessageContext getOrCreateInboundMessageContext(String connectionId, ChannelHandlerContext ctx) {
+        InboundMessageContext inboundMessageContext = inboundMessageContextMap.get(connectionId);
+        if (inboundMessageContext != null) {
+            return inboundMessageContext;
+        }
+        return inboundMessageContextMap.computeIfAbsent(connectionId, id -> {
+            InboundMessageContext context = new InboundMessageContext();
+            context.setCtx(ctx);
+            return context;
+        });
+    }
+
     public void removeInboundMessageContextForConnection(String connectionId) {
         inboundMessageContextMap.remove(connectionId);
     }
-}
 
+    public int getConnectionCount() {
+        return inboundMessageContextMap.size();
+    }
+
+    /**
+     * Returns the InboundMessageContexts of the connections of an API.
+     *
+     * @param apiUuid UUID of the API
+     * @return InboundMessageContexts of the connections
+     */
+    public List<InboundMessageContext> getInboundMessageContextsForApi(String apiUuid) {
+        return getInboundMessageContexts(context -> context.getElectedAPI() != null
+                && Objects.equals(apiUuid, context.getElectedAPI().getUuid()));
+    }
+
+    /**
+     * Returns the InboundMessageContexts of the connections of a tenant.
+     *
+     * @param tenantDomain tenant domain
+     * @return InboundMessageContexts of the connections
+     */
+    public List<InboundMessageContext> getInboundMessageContextsForTenant(String tenantDomain) {
+        return getInboundMessageContexts(context -> Objects.equals(tenantDomain, context.getTenantDomain()));
+    }
+
+    /**
+     * Returns the InboundMessageContexts of the connections opened by an application.
+     *
+     * @param applicationId ID of the application
+     * @return InboundMessageContexts of the connections
+     */
+    public List<InboundMessageContext> getInboundMessageContextsForApplication(String applicationId) {
+        return getInboundMessageContexts(context -> {
+            AuthenticationContext authContext = context.getAuthContext();
+            return authContext != null && Objects.equals(applicationId, authContext.getApplicationId());
+        });
+    }
+
+    /**
+     * Returns the InboundMessageContexts of the connections opened by an application to an API.
+     *
+     * @param apiUuid       UUID of the API
+     * @param applicationId ID of the application
+     * @return InboundMessageContexts of the connections
+     */
+    public List<InboundMessageContext> getInboundMessageContextsForSubscription(String apiUuid,
+                                                                                String applicationId) {
+        return getInboundMessageContexts(context -> {
+            AuthenticationContext authContext = context.getAuthContext();
+            return context.getElectedAPI() != null && Objects.equals(apiUuid, context.getElectedAPI().getUuid())
+                    && authContext != null && Objects.equals(applicationId, authContext.getApplicationId());
+        });
+    }
+
+    /**
+     * Returns the InboundMessageContexts of the connections authenticated with a token. A JWT is matched by its JTI
+     * or signature, which are the identifiers used in token revocation events, other tokens by the token itself.
+     *
+     * @param token token, or JTI or signature of a JWT
+     * @return InboundMessageContexts of the connections
+     */
+    public List<InboundMessageContext> getInboundMessageContextsForToken(String token) {
+        return getInboundMessageContexts(context -> {
+            if (Objects.equals(token, context.getToken())) {
+                return true;
+            }
+            SignedJWTInfo signedJWTInfo = context.getSignedJWTInfo();
+            if (signedJWTInfo == null) {
+                return false;
+            }
+            JWTClaimsSet jwtClaimsSet = signedJWTInfo.getJwtClaimsSet();
+            return (jwtClaimsSet != null && Objects.equals(token, jwtClaimsSet.getJWTID()))
+                    || (signedJWTInfo.getSignedJWT() != null
+                    && token.equals(signedJWTInfo.getSignedJWT().getSignature().toString()));
+        });
+    }
+
+    /**
+     * Closes the given connections with a close frame.
+     *
+     * @param inboundMessageContexts InboundMessageContexts of the connections
+     * @param statusCode             close status code
+     * @param reason                 close reason
+     */
+    public void closeConnections(List<InboundMessageContext> inboundMessageContexts, int statusCode, String reason) {
+        for (InboundMessageContext inboundMessageContext : inboundMessageContexts) {
+            ChannelHandlerContext ctx = inboundMessageContext.getCtx();
+            if (ctx != null) {
+                ctx.writeAndFlush(new CloseWebSocketFrame(statusCode, reason));
+                ctx.close();
+            }
+        }
+    }
+
+    private List<InboundMessageContext> getInboundMessageContexts(Predicate<InboundMessageContext> filter) {
+        List<InboundMessageContext> inboundMessageContexts = new ArrayList<>();
+        for (InboundMessageContext inboundMessageContext : inboundMessageContextMap.values()) {
+            if (filter.test(inboundMessageContext)) {
+                inboundMessageContexts.add(inboundMessageContext);
+            }
+        }
+        return inboundMessageContexts;
+    }
+}
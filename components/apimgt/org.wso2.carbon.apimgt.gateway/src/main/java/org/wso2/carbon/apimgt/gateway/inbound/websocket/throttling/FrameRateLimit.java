@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.inbound.websocket.throttling;
+
+/**
+ * Token buckets which limit the frames and the bytes per second of a WebSocket connection, subscription or
+ * application. Each bucket holds up to one second of its rate. A frame which is larger than the byte rate is let
+ * through when the byte bucket is full, and the bytes over the rate are paid back before the next frame.
+ */
+public class FrameRateLimit {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long frameRate;
+    private final long byteRate;
+    private double frameTokens;
+    private double byteTokens;
+    private long lastRefillTime;
+    private volatile long lastAccessTime;
+
+    /**
+     * @param frameRate   frames per second, or 0 to not limit the frames
+     * @param byteRate    bytes per second, or 0 to not limit the bytes
+     * @param currentTime current time in nanoseconds
+     */
+    public FrameRateLimit(long frameRate, long byteRate, long currentTime) {
+
+        this.frameRate = frameRate;
+        this.byteRate = byteRate;
+        this.frameTokens = frameRate;
+        this.byteTokens = byteRate;
+        this.lastRefillTime = currentTime;
+        this.lastAccessTime = currentTime;
+    }
+
+    /**
+     * Takes a frame of the given size from the buckets.
+     *
+     * @param frameSize   size of the frame in bytes
+     * @param currentTime current time in nanoseconds
+     * @return true if the frame is within the limits
+     */
+    public synchronized boolean tryAcquire(long frameSize, long currentTime) {
+
+        lastAccessTime = currentTime;
+        long elapsed = currentTime - lastRefillTime;
+        if (elapsed > 0) {
+            frameTokens = Math.min(frameRate, frameTokens + (double) elapsed * frameRate / NANOS_PER_SECOND);
+            byteTokens = Math.min(byteRate, byteTokens + (double) elapsed * byteRate / NANOS_PER_SECOND);
+            lastRefillTime = currentTime;
+        }
+        if (frameRate > 0 && frameTokens < 1) {
+            return false;
+        }
+        if (byteRate > 0 && byteTokens < Math.min(frameSize, byteRate)) {
+            return false;
+        }
+        frameTokens -= 1;
+        byteTokens -= frameSize;
+        return true;
+    }
+
+    public long getLastAccessTime() {
+
+        return lastAccessTime;
+    }
+
+    public boolean isUnlimited() {
+
+        return frameRate <= 0 && byteRate <= 0;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.inbound.websocket.throttling;
+
+import org.apache.axiom.util.UIDGenerator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONObject;
+import org.wso2.carbon.apimgt.gateway.handlers.Utils;
+import org.wso2.carbon.apimgt.gateway.handlers.throttling.APIThrottleConstants;
+import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContext;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.publisher.ThrottleDataPublisher;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gateway local throttling of WebSocket frames. Frames are limited per connection, subscription and application with
+ * the token buckets of {@link FrameRateLimit}, using the rates in the WebSocketLocalThrottling throttling
+ * configurations. Frames over the local limits are rejected on the gateway and are not sent to the traffic manager.
+ * Frames within the limits are not published to the traffic manager one by one, but are reported in an aggregated
+ * event per set of throttle keys once per publish interval. The event carries the total size of the frames as the
+ * message size, and the number of frames as the message count.
+ */
+public class LocalWebSocketThrottler {
+
+    private static final Log log = LogFactory.getLog(LocalWebSocketThrottler.class);
+    private static final LocalWebSocketThrottler instance = new LocalWebSocketThrottler();
+    private static final String THROTTLE_STREAM_ID = "org.wso2.throttle.request.stream:1.0.0";
+    private static final String MESSAGE_COUNT = "messageCount";
+    private static final int MESSAGE_ID_INDEX = 0;
+    private static final int PROPERTIES_INDEX = 16;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private volatile boolean initialized;
+    private boolean enabled;
+    private long connectionFrameRate;
+    private long connectionByteRate;
+    private long subscriptionFrameRate;
+    private long subscriptionByteRate;
+    private long applicationFrameRate;
+    private long applicationByteRate;
+    private final Map<String, FrameRateLimit> subscriptionLimits = new ConcurrentHashMap<>();
+    private final Map<String, FrameRateLimit> applicationLimits = new ConcurrentHashMap<>();
+    private final AtomicReference<Map<String, FrameBatch>> currentBatches =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+    private Map<String, FrameBatch> closedBatches;
+
+    private LocalWebSocketThrottler() {
+
+    }
+
+    public static LocalWebSocketThrottler getInstance() {
+
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        init();
+        return enabled;
+    }
+
+    /**
+     * Takes a frame from the local limits of the connection, the subscription and the application.
+     *
+     * @param inboundMessageContext        InboundMessageContext of the connection
+     * @param subscriptionLevelThrottleKey subscription level throttle key
+     * @param applicationLevelThrottleKey  application level throttle key
+     * @param frameSize                    size of the frame in bytes
+     * @return true if the frame is within the local limits
+     */
+    public boolean tryAcquire(InboundMessageContext inboundMessageContext, String subscriptionLevelThrottleKey,
+                              String applicationLevelThrottleKey, long frameSize) {
+
+        long currentTime = System.nanoTime();
+        FrameRateLimit connectionLimit = inboundMessageContext.getFrameRateLimit();
+        if (connectionLimit == null) {
+            connectionLimit = new FrameRateLimit(connectionFrameRate, connectionByteRate, currentTime);
+            inboundMessageContext.setFrameRateLimit(connectionLimit);
+        }
+        return acquire(connectionLimit, frameSize, currentTime)
+                && acquire(getLimit(subscriptionLimits, subscriptionLevelThrottleKey, subscriptionFrameRate,
+                subscriptionByteRate, currentTime), frameSize, currentTime)
+                && acquire(getLimit(applicationLimits, applicationLevelThrottleKey, applicationFrameRate,
+                applicationByteRate, currentTime), frameSize, currentTime);
+    }
+
+    /**
+     * Adds a frame which is within the limits to the aggregated event of its throttle keys.
+     *
+     * @param batchKey    key of the throttle keys and the remote IP of the frame
+     * @param eventData   throttle event data of the frame, used if this is the first frame of the batch
+     * @param remoteIP    remote IP of the frame
+     * @param frameSize   size of the frame in bytes
+     */
+    public void addToBatch(String batchKey, Object[] eventData, String remoteIP, long frameSize) {
+
+        FrameBatch batch = currentBatches.get().computeIfAbsent(batchKey, key -> new FrameBatch(eventData, remoteIP));
+        batch.frameCount.incrementAndGet();
+        batch.byteCount.addAndGet(frameSize);
+    }
+
+    private boolean acquire(FrameRateLimit limit, long frameSize, long currentTime) {
+
+        return limit.isUnlimited() || limit.tryAcquire(frameSize, currentTime);
+    }
+
+    private FrameRateLimit getLimit(Map<String, FrameRateLimit> limits, String throttleKey, long frameRate,
+                                    long byteRate, long currentTime) {
+
+        FrameRateLimit limit = limits.get(throttleKey);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(throttleKey, key -> new FrameRateLimit(frameRate, byteRate, currentTime));
+        }
+        return limit;
+    }
+
+    /**
+     * Publishes the batches closed in the previous run and closes the current batches. Publishing a batch one run
+     * after it is closed lets the frames which were being added while it was swapped out to complete.
+     */
+    private void publishBatches() {
+
+        try {
+            Map<String, FrameBatch> batches = closedBatches;
+            closedBatches = currentBatches.getAndSet(new ConcurrentHashMap<>());
+            if (batches != null) {
+                for (FrameBatch batch : batches.values()) {
+                    publish(batch);
+                }
+            }
+            long idleTime = System.nanoTime() - IDLE_TIMEOUT_NANOS;
+            subscriptionLimits.values().removeIf(limit -> limit.getLastAccessTime() - idleTime < 0);
+            applicationLimits.values().removeIf(limit -> limit.getLastAccessTime() - idleTime < 0);
+        } catch (RuntimeException e) {
+            log.error("Error while publishing aggregated WebSocket throttle events", e);
+        }
+    }
+
+    private void publish(FrameBatch batch) {
+
+        ThrottleDataPublisher throttleDataPublisher = ServiceReferenceHolder.getInstance().getThrottleDataPublisher();
+        if (throttleDataPublisher == null) {
+            log.error("Cannot publish events to traffic manager because ThrottleDataPublisher "
+                    + "has not been initialised");
+            return;
+        }
+        JSONObject jsonObMap = new JSONObject();
+        Utils.setRemoteIp(jsonObMap, batch.remoteIP);
+        jsonObMap.put(APIThrottleConstants.MESSAGE_SIZE, batch.byteCount.get());
+        jsonObMap.put(MESSAGE_COUNT, batch.frameCount.get());
+        Object[] objects = batch.eventData.clone();
+        objects[MESSAGE_ID_INDEX] = UIDGenerator.generateURNString();
+        objects[PROPERTIES_INDEX] = jsonObMap.toString();
+        org.wso2.carbon.databridge.commons.Event event = new org.wso2.carbon.databridge.commons.Event(
+                THROTTLE_STREAM_ID, System.currentTimeMillis(), null, null, objects);
+        throttleDataPublisher.getDataPublisher().tryPublish(event);
+    }
+
+    private void init() {
+
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            try {
+                APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
+                if (Boolean.parseBoolean(config.getFirstProperty(APIConstants.WS_LOCAL_THROTTLING_ENABLED))) {
+                    connectionFrameRate = getRate(config, APIConstants.WS_LOCAL_THROTTLING_CONNECTION_FRAME_RATE);
+                    connectionByteRate = getRate(config, APIConstants.WS_LOCAL_THROTTLING_CONNECTION_BYTE_RATE);
+                    subscriptionFrameRate = getRate(config, APIConstants.WS_LOCAL_THROTTLING_SUBSCRIPTION_FRAME_RATE);
+                    subscriptionByteRate = getRate(config, APIConstants.WS_LOCAL_THROTTLING_SUBSCRIPTION_BYTE_RATE);
+                    applicationFrameRate = getRate(config, APIConstants.WS_LOCAL_THROTTLING_APPLICATION_FRAME_RATE);
+                    applicationByteRate = getRate(config, APIConstants.WS_LOCAL_THROTTLING_APPLICATION_BYTE_RATE);
+                    long publishInterval = APIConstants.DEFAULT_WS_LOCAL_THROTTLING_PUBLISH_INTERVAL;
+                    String configuredInterval =
+                            config.getFirstProperty(APIConstants.WS_LOCAL_THROTTLING_PUBLISH_INTERVAL);
+                    if (configuredInterval != null) {
+                        publishInterval = Long.parseLong(configuredInterval);
+                    }
+                    ScheduledExecutorService publisherService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "WebSocketThrottleEventPublisher");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    publisherService.scheduleWithFixedDelay(this::publishBatches, publishInterval, publishInterval,
+                            TimeUnit.MILLISECONDS);
+                    enabled = true;
+                    if (log.isDebugEnabled()) {
+                        log.debug("WebSocket local throttling enabled with a publish interval of " + publishInterval
+                                + " ms");
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Did not found valid WebSocket local throttling configuration. Throttle events are "
+                        + "published for each frame.", e);
+            }
+            initialized = true;
+        }
+    }
+
+    private static long getRate(APIManagerConfiguration config, String property) {
+
+        String rate = config.getFirstProperty(property);
+        return rate != null ? Long.parseLong(rate) : 0;
+    }
+
+    /**
+     * Frames of a set of throttle keys within a publish interval.
+     */
+    private static final class FrameBatch {
+
+        private final Object[] eventData;
+        private final String remoteIP;
+        private final AtomicLong frameCount = new AtomicLong();
+        private final AtomicLong byteCount = new AtomicLong();
+
+        private FrameBatch(Object[] eventData, String remoteIP) {
+
+            this.eventData = eventData;
+            this.remoteIP = remoteIP;
+        }
+    }
+}
@@ -44,8 +44,10 @@ import org.wso2.carbon.apimgt.gateway.handlers.throttling.APIThrottleConstants;
 import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContext;
 import org.wso2.carbon.apimgt.gateway.inbound.websocket.GraphQLProcessorResponseDTO;
 import org.wso2.carbon.apimgt.gateway.inbound.websocket.InboundProcessorResponseDTO;
+import org.wso2.carbon.apimgt.gateway.inbound.websocket.throttling.LocalWebSocketThrottler;
 import org.wso2.carbon.apimgt.gateway.internal.DataHolder;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.jwt.RevokedJWTDataHolder;
 import org.wso2.carbon.apimgt.gateway.utils.APIMgtGoogleAnalyticsUtils;
 import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
@@ -75,6 +77,8 @@ import javax.cache.Cache;
 public class InboundWebsocketProcessorUtil {
 
     private static final Log log = LogFactory.getLog(InboundWebsocketProcessorUtil.class);
+    private static final long DEFAULT_AUTHENTICATION_CACHE_EXPIRY = 900;
+    private static volatile long authenticationCacheExpiry = -1;
 
     /**
      * Validates AuthenticationContext and set APIKeyValidationInfoDTO to InboundMessageContext.
@@ -131,11 +135,12 @@ public class InboundWebsocketProcessorUtil {
         PrivilegedCarbonContext.startTenantFlow();
         PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(inboundMessageContext.getTenantDomain(),
                 true);
-        JWTValidator jwtValidator = new JWTValidator(new APIKeyValidator(), inboundMessageContext.getTenantDomain());
+        JWTValidator jwtValidator = getJWTValidator(inboundMessageContext.getTenantDomain());
         authenticationContext = jwtValidator.
                 authenticateForGraphQLSubscription(inboundMessageContext.getSignedJWTInfo(),
                         inboundMessageContext.getApiContext(), inboundMessageContext.getVersion());
-        return validateAuthenticationContext(authenticationContext, inboundMessageContext);
+        return cacheAuthentication(validateAuthenticationContext(authenticationContext, inboundMessageContext),
+                inboundMessageContext);
     }
 
     /**
@@ -150,12 +155,88 @@ public class InboundWebsocketProcessorUtil {
             throws APIManagementException, APISecurityException {
 
         AuthenticationContext authenticationContext;
-        JWTValidator jwtValidator = new JWTValidator(new APIKeyValidator(), inboundMessageContext.getTenantDomain());
+        JWTValidator jwtValidator = getJWTValidator(inboundMessageContext.getTenantDomain());
         authenticationContext = jwtValidator.
                 authenticateForWebSocket(inboundMessageContext.getSignedJWTInfo(),
                         inboundMessageContext.getApiContext(), inboundMessageContext.getVersion(),
                         inboundMessageContext.getMatchingResource());
-        return validateAuthenticationContext(authenticationContext, inboundMessageContext);
+        return cacheAuthentication(validateAuthenticationContext(authenticationContext, inboundMessageContext),
+                inboundMessageContext);
+    }
+
+    /**
+     * Creates a JWTValidator for the tenant. A validator is not shared between requests, since its constructor
+     * sets the signing keys of the tenant on the gateway JWT configuration and generator. Repeated validation of
+     * an established connection is avoided by the authentication recorded in the InboundMessageContext instead.
+     *
+     * @param tenantDomain tenant domain
+     * @return JWTValidator of the tenant
+     * @throws APIManagementException if the validator cannot be created
+     */
+    private static JWTValidator getJWTValidator(String tenantDomain) throws APIManagementException {
+
+        return new JWTValidator(new APIKeyValidator(), tenantDomain);
+    }
+
+    /**
+     * Records a successful JWT authentication in the InboundMessageContext, so that the frames of the connection
+     * reuse it until the token expires or the gateway token cache expiry elapses, whichever comes first.
+     *
+     * @param authenticated         whether the authentication succeeded
+     * @param inboundMessageContext InboundMessageContext
+     * @return authenticated
+     */
+    private static boolean cacheAuthentication(boolean authenticated, InboundMessageContext inboundMessageContext) {
+
+        if (!authenticated) {
+            inboundMessageContext.setAuthenticationExpiryTime(0);
+            return false;
+        }
+        long expiryTime = System.currentTimeMillis() + getAuthenticationCacheExpiry() * 1000;
+        SignedJWTInfo signedJWTInfo = inboundMessageContext.getSignedJWTInfo();
+        if (signedJWTInfo != null && signedJWTInfo.getJwtClaimsSet() != null
+                && signedJWTInfo.getJwtClaimsSet().getExpirationTime() != null) {
+            expiryTime = Math.min(expiryTime, signedJWTInfo.getJwtClaimsSet().getExpirationTime().getTime());
+        }
+        inboundMessageContext.setAuthenticationExpiryTime(expiryTime);
+        return true;
+    }
+
+    /**
+     * Checks whether the last JWT authentication of the connection can be reused for the current frame.
+     *
+     * @param inboundMessageContext InboundMessageContext
+     * @return true if the connection was authenticated and the token has not expired or been revoked since
+     */
+    private static boolean isAuthenticationCached(InboundMessageContext inboundMessageContext) {
+
+        if (System.currentTimeMillis() >= inboundMessageContext.getAuthenticationExpiryTime()) {
+            return false;
+        }
+        SignedJWTInfo signedJWTInfo = inboundMessageContext.getSignedJWTInfo();
+        String tokenIdentifier = signedJWTInfo.getJwtClaimsSet().getJWTID();
+        if (StringUtils.isEmpty(tokenIdentifier)) {
+            tokenIdentifier = signedJWTInfo.getSignedJWT().getSignature().toString();
+        }
+        if (RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap(tokenIdentifier)) {
+            inboundMessageContext.setAuthenticationExpiryTime(0);
+            return false;
+        }
+        return true;
+    }
+
+    private static long getAuthenticationCacheExpiry() {
+
+        if (authenticationCacheExpiry == -1) {
+            long expiry = DEFAULT_AUTHENTICATION_CACHE_EXPIRY;
+            String tokenCacheExpiry = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration()
+                    .getFirstProperty(APIConstants.TOKEN_CACHE_EXPIRY);
+            if (tokenCacheExpiry != null) {
+                expiry = Long.parseLong(tokenCacheExpiry);
+            }
+            authenticationCacheExpiry = expiry;
+        }
+        return authenticationCacheExpiry;
     }
 
     /**
@@ -171,10 +252,14 @@ public class InboundWebsocketProcessorUtil {
                                                              InboundMessageContext inboundMessageContext)
             throws APIManagementException, APISecurityException {
 
-        JWTValidator jwtValidator = new JWTValidator(new APIKeyValidator(), inboundMessageContext.getTenantDomain());
+        if (inboundMessageContext.isOperationAuthorized(matchingResource)) {
+            return true;
+        }
+        JWTValidator jwtValidator = getJWTValidator(inboundMessageContext.getTenantDomain());
         jwtValidator.validateScopesForGraphQLSubscriptions(inboundMessageContext.getApiContext(),
                 inboundMessageContext.getVersion(), matchingResource, inboundMessageContext.getSignedJWTInfo(),
                 inboundMessageContext.getAuthContext());
+        inboundMessageContext.addAuthorizedOperation(matchingResource);
         return true;
     }
 
@@ -287,6 +372,19 @@ public class InboundWebsocketProcessorUtil {
         if (remoteIP.indexOf(":") > 0) {
             remoteIP = remoteIP.substring(1, remoteIP.indexOf(":"));
         }
+        LocalWebSocketThrottler localThrottler = LocalWebSocketThrottler.getInstance();
+        boolean localThrottlingEnabled = localThrottler.isEnabled();
+        if (localThrottlingEnabled && !localThrottler.tryAcquire(inboundMessageContext, subscriptionLevelThrottleKey,
+                applicationLevelThrottleKey, msgSize)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Frame throttled out by the local frame rate limits of subscription "
+                        + subscriptionLevelThrottleKey);
+            }
+            responseDTO.setError(true);
+            responseDTO.setErrorCode(WebSocketApiConstants.FrameErrorConstants.THROTTLED_OUT_ERROR);
+            responseDTO.setErrorMessage(WebSocketApiConstants.FrameErrorConstants.THROTTLED_OUT_ERROR_MESSAGE);
+            return responseDTO;
+        }
         JSONObject jsonObMap = new JSONObject();
         Utils.setRemoteIp(jsonObMap, remoteIP);
         jsonObMap.put(APIThrottleConstants.MESSAGE_SIZE, msgSize);
@@ -309,6 +407,12 @@ public class InboundWebsocketProcessorUtil {
                         apiLevelTier, subscriptionLevelThrottleKey, subscriptionLevelTier, resourceLevelThrottleKey,
                         resourceLevelTier, authorizedUser, inboundMessageContext.getApiContext(), apiVersion,
                         appTenant, apiTenant, appId, apiName, jsonObMap.toString()};
+        if (localThrottlingEnabled) {
+            //Frames within the local limits are reported to the traffic manager in aggregated events
+            localThrottler.addToBatch(subscriptionLevelThrottleKey + ":" + resourceLevelThrottleKey + ":"
+                    + applicationLevelThrottleKey + ":" + remoteIP, objects, remoteIP, msgSize);
+            return responseDTO;
+        }
         org.wso2.carbon.databridge.commons.Event event = new org.wso2.carbon.databridge.commons.Event(
                 "org.wso2.throttle.request.stream:1.0.0", System.currentTimeMillis(), null, null, objects);
         if (ServiceReferenceHolder.getInstance().getThrottleDataPublisher() == null) {
@@ -676,8 +780,8 @@ public class InboundWebsocketProcessorUtil {
         InboundProcessorResponseDTO inboundProcessorResponseDTO = new InboundProcessorResponseDTO();
         try {
             //validate token and subscriptions
-            if (inboundMessageContext.isJWTToken() && !InboundWebsocketProcessorUtil.authenticateGraphQLJWTToken(
-                    inboundMessageContext)) {
+            if (inboundMessageContext.isJWTToken() && !isAuthenticationCached(inboundMessageContext)
+                    && !InboundWebsocketProcessorUtil.authenticateGraphQLJWTToken(inboundMessageContext)) {
                 inboundProcessorResponseDTO = InboundWebsocketProcessorUtil.getFrameErrorDTO(
                         WebSocketApiConstants.FrameErrorConstants.API_AUTH_INVALID_CREDENTIALS,
                         APISecurityConstants.API_AUTH_INVALID_CREDENTIALS_MESSAGE, true);
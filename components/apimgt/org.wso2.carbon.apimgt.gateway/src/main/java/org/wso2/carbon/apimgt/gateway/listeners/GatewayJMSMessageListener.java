@@ -31,6 +31,9 @@ import org.wso2.carbon.apimgt.gateway.APILoggerManager;
 import org.wso2.carbon.apimgt.gateway.EndpointCertificateDeployer;
 import org.wso2.carbon.apimgt.gateway.GoogleAnalyticsConfigDeployer;
 import org.wso2.carbon.apimgt.gateway.InMemoryAPIDeployer;
+import org.wso2.carbon.apimgt.gateway.handlers.streaming.websocket.WebSocketApiConstants;
+import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContext;
+import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContextDataHolder;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIConstants.EventType;
@@ -56,6 +59,7 @@ import org.wso2.carbon.context.PrivilegedCarbonContext;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.jms.JMSException;
 import javax.jms.Message;
@@ -166,6 +170,10 @@ public class GatewayJMSMessageListener implements MessageListener {
                             startTenantFlow(tenantDomain);
                             tenantFlowStarted = true;
                             inMemoryApiDeployer.unDeployAPI(gatewayEvent);
+                            closeWebSocketConnections(InboundMessageContextDataHolder.getInstance()
+                                            .getInboundMessageContextsForApi(gatewayEvent.getUuid()),
+                                    WebSocketApiConstants.FrameErrorConstants.API_REMOVED_ERROR,
+                                    WebSocketApiConstants.FrameErrorConstants.API_REMOVED_MESSAGE);
                         } catch (ArtifactSynchronizerException e) {
                             log.error("Error in undeploying artifacts");
                         } finally {
@@ -207,9 +215,18 @@ public class GatewayJMSMessageListener implements MessageListener {
         } else if (EventType.SUBSCRIPTIONS_DELETE.toString().equals(eventType)) {
             SubscriptionEvent event = new Gson().fromJson(eventJson, SubscriptionEvent.class);
             ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeSubscription(event);
+            closeWebSocketConnections(InboundMessageContextDataHolder.getInstance()
+                            .getInboundMessageContextsForSubscription(event.getApiUUID(),
+                                    String.valueOf(event.getApplicationId())),
+                    WebSocketApiConstants.FrameErrorConstants.RESOURCE_FORBIDDEN_ERROR,
+                    WebSocketApiConstants.FrameErrorConstants.SUBSCRIPTION_REMOVED_MESSAGE);
         } else if (EventType.APPLICATION_DELETE.toString().equals(eventType)) {
             ApplicationEvent event = new Gson().fromJson(eventJson, ApplicationEvent.class);
             ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeApplication(event);
+            closeWebSocketConnections(InboundMessageContextDataHolder.getInstance()
+                            .getInboundMessageContextsForApplication(String.valueOf(event.getApplicationId())),
+                    WebSocketApiConstants.FrameErrorConstants.RESOURCE_FORBIDDEN_ERROR,
+                    WebSocketApiConstants.FrameErrorConstants.APPLICATION_REMOVED_MESSAGE);
         } else if (EventType.REMOVE_APPLICATION_KEYMAPPING.toString().equals(eventType)) {
             ApplicationRegistrationEvent event = new Gson().fromJson(eventJson, ApplicationRegistrationEvent.class);
             ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeApplicationKeyMapping(event);
@@ -299,6 +316,17 @@ public class GatewayJMSMessageListener implements MessageListener {
         }
     }
 
+    private void closeWebSocketConnections(List<InboundMessageContext> inboundMessageContexts, int statusCode,
+                                           String reason) {
+
+        if (!inboundMessageContexts.isEmpty()) {
+            if (debugEnabled) {
+                log.debug("Closing " + inboundMessageContexts.size() + " WebSocket connections. Reason: " + reason);
+            }
+            InboundMessageContextDataHolder.getInstance().closeConnections(inboundMessageContexts, statusCode, reason);
+        }
+    }
+
     private void endTenantFlow() {
 
         PrivilegedCarbonContext.endTenantFlow();
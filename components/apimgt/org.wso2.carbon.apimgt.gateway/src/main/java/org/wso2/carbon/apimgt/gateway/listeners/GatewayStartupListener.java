@@ -33,6 +33,7 @@ import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.gateway.jwt.RevokedJWTTokensRetriever;
 import org.wso2.carbon.apimgt.gateway.throttling.util.BlockingConditionRetriever;
 import org.wso2.carbon.apimgt.gateway.throttling.util.KeyTemplateRetriever;
+import org.wso2.carbon.apimgt.gateway.throttling.util.ThrottleDataSnapshot;
 import org.wso2.carbon.apimgt.gateway.webhooks.WebhooksDataHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.certificatemgt.exceptions.CertificateManagementException;
@@ -253,6 +254,7 @@ public class GatewayStartupListener extends AbstractAxis2ConfigurationContextObs
     public void invoke() {
 
         CertificateReLoaderUtil.shutDownCertificateReLoader();
+        ThrottleDataSnapshot.getInstance().stop();
         if (jmsTransportHandlerForTrafficManager != null) {
             // This method will make shutdown the Listener.
             log.debug("Unsubscribe from JMS Events...");
@@ -24,6 +24,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.gateway.handlers.streaming.websocket.WebSocketApiConstants;
+import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContextDataHolder;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 
@@ -90,5 +92,12 @@ public class GatewayTokenRevocationMessageListener implements MessageListener {
             ServiceReferenceHolder.getInstance().getRevokedTokenService()
                     .removeTokenFromGatewayCache(revokedToken, isJwtToken);
         }
+        // Close the WebSocket connections which were authenticated with the revoked token
+        InboundMessageContextDataHolder inboundMessageContextDataHolder =
+                InboundMessageContextDataHolder.getInstance();
+        inboundMessageContextDataHolder.closeConnections(
+                inboundMessageContextDataHolder.getInboundMessageContextsForToken(revokedToken),
+                WebSocketApiConstants.FrameErrorConstants.API_AUTH_INVALID_CREDENTIALS,
+                WebSocketApiConstants.FrameErrorConstants.TOKEN_REVOKED_MESSAGE);
     }
 }
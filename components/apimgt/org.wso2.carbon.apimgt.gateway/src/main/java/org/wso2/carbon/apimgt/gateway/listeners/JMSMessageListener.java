@@ -28,10 +28,20 @@ import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.gateway.dto.APICondition;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import javax.jms.JMSException;
 import javax.jms.MapMessage;
@@ -43,6 +53,7 @@ import javax.jms.Topic;
 public class JMSMessageListener implements MessageListener {
 
     private static final Log log = LogFactory.getLog(JMSMessageListener.class);
+    private static final String DECISION_PROPAGATION_DELAY = "DECISION_PROPAGATION_DELAY";
 
     // These patterns will be used to determine for which type of keys the throttling condition has occurred.
     private Pattern apiPattern = Pattern.compile("/.*/(.*):\\1_(condition_(\\d*)|default)");
@@ -83,6 +94,14 @@ public class JMSMessageListener implements MessageListener {
                              */
 
                             handleThrottleUpdateMessage(payloadData);
+                            recordPropagationDelay(message.getJMSTimestamp());
+                        } else if (payloadData.get(APIConstants.AdvancedThrottleConstants.THROTTLE_DECISIONS) != null) {
+                            /*
+                             * This message contains the throttle decisions coalesced by the traffic manager
+                             * decisions - base64 encoded gzip of the JSON array of throttle decisions
+                             * batchTimeStamp - When the first decision of the batch was taken
+                             */
+                            handleThrottleBatchMessage(payloadData);
                         } else if (payloadData.get(APIConstants.BLOCKING_CONDITION_KEY) != null) {
                             /*
                              * This message contains blocking condition data
@@ -112,6 +131,8 @@ public class JMSMessageListener implements MessageListener {
             log.error("Error while processing evaluatedConditions", e);
         } catch (JsonProcessingException e) {
             log.error("Error while parsing JMS payload", e);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error while decoding the throttle decisions of JMS payload", e);
         }
     }
 
@@ -129,38 +150,104 @@ public class JMSMessageListener implements MessageListener {
         if (APIConstants.AdvancedThrottleConstants.TRUE.equalsIgnoreCase(throttleState)) {
             ServiceReferenceHolder.getInstance().getAPIThrottleDataService().
                     addThrottleData(throttleKey, timeStamp);
+            addThrottledAPIKey(throttleKey, timeStamp, evaluatedConditionObject);
+        } else {
+            ServiceReferenceHolder.getInstance().getAPIThrottleDataService().removeThrottleData(throttleKey);
+            removeThrottledAPIKey(throttleKey);
+        }
+    }
 
-            APICondition extractedKey = extractAPIorResourceKey(throttleKey);
+    /**
+     * Applies a batch of throttle decisions. The throttled keys are added to the throttle data in bulk. A decision
+     * whose evaluated conditions cannot be parsed is logged without affecting the other decisions of the batch.
+     *
+     * @param msg payload of the batch message
+     * @throws IOException if the decisions cannot be decoded
+     */
+    private void handleThrottleBatchMessage(JsonNode msg) throws IOException {
 
-            if (extractedKey != null) {
-                if (evaluatedConditionObject != null) {
-                    ServiceReferenceHolder.getInstance().getAPIThrottleDataService().addThrottledApiConditions
-                            (extractedKey.getResourceKey(), extractedKey.getName(), APIUtil.extractConditionDto(
-                                    evaluatedConditionObject.toString()));
-                }
-                if (!ServiceReferenceHolder.getInstance().getAPIThrottleDataService().isAPIThrottled(extractedKey
-                        .getResourceKey())) {
-                    ServiceReferenceHolder.getInstance().getAPIThrottleDataService().addThrottledAPIKey(extractedKey
-                            .getResourceKey(), timeStamp);
-                    if (log.isDebugEnabled()) {
-                        log.debug("Adding throttling key : " + extractedKey);
-                    }
+        byte[] compressedDecisions = Base64.getDecoder().decode(
+                msg.get(APIConstants.AdvancedThrottleConstants.THROTTLE_DECISIONS).asText());
+        JsonNode decisions;
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressedDecisions))) {
+            decisions = new ObjectMapper().readTree(inputStream);
+        }
+        Map<String, Long> throttledKeys = new HashMap<>();
+        for (JsonNode decision : decisions) {
+            String throttleKey = decision.get(APIConstants.AdvancedThrottleConstants.THROTTLE_KEY).asText();
+            Long timeStamp = decision.get(APIConstants.AdvancedThrottleConstants.EXPIRY_TIMESTAMP).asLong();
+            if (decision.get(APIConstants.AdvancedThrottleConstants.IS_THROTTLED).asBoolean()) {
+                throttledKeys.put(throttleKey, timeStamp);
+                try {
+                    addThrottledAPIKey(throttleKey, timeStamp,
+                            decision.get(APIConstants.AdvancedThrottleConstants.EVALUATED_CONDITIONS));
+                } catch (ParseException e) {
+                    log.error("Error while processing evaluatedConditions of throttle key " + throttleKey, e);
                 }
+            } else {
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService().removeThrottleData(throttleKey);
+                removeThrottledAPIKey(throttleKey);
+            }
+        }
+        ServiceReferenceHolder.getInstance().getAPIThrottleDataService().addThrottleDataFromMap(throttledKeys);
+        if (log.isDebugEnabled()) {
+            log.debug("Received a batch of " + decisions.size() + " throttle decisions, of which "
+                    + throttledKeys.size() + " are throttled");
+        }
+        JsonNode batchTimeStamp = msg.get(APIConstants.AdvancedThrottleConstants.BATCH_TIMESTAMP);
+        if (batchTimeStamp != null) {
+            recordPropagationDelay(batchTimeStamp.asLong());
+        }
+    }
 
+    private void addThrottledAPIKey(String throttleKey, Long timeStamp, Object evaluatedConditionObject)
+            throws ParseException {
+
+        APICondition extractedKey = extractAPIorResourceKey(throttleKey);
+        if (extractedKey != null) {
+            if (evaluatedConditionObject != null) {
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService().addThrottledApiConditions
+                        (extractedKey.getResourceKey(), extractedKey.getName(), APIUtil.extractConditionDto(
+                                evaluatedConditionObject.toString()));
             }
-        } else {
-            ServiceReferenceHolder.getInstance().getAPIThrottleDataService().removeThrottleData(throttleKey);
-            APICondition extractedKey = extractAPIorResourceKey(throttleKey);
-            if (extractedKey != null) {
+            if (!ServiceReferenceHolder.getInstance().getAPIThrottleDataService().isAPIThrottled(extractedKey
+                    .getResourceKey())) {
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService().addThrottledAPIKey(extractedKey
+                        .getResourceKey(), timeStamp);
                 if (log.isDebugEnabled()) {
-                    log.debug("Removing throttling key : " + extractedKey.getResourceKey());
+                    log.debug("Adding throttling key : " + extractedKey);
                 }
+            }
+        }
+    }
 
-                ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
-                        .removeThrottledAPIKey(extractedKey.getResourceKey());
-                ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
-                        .removeThrottledApiConditions(extractedKey.getResourceKey(), extractedKey.getName());
+    private void removeThrottledAPIKey(String throttleKey) {
+
+        APICondition extractedKey = extractAPIorResourceKey(throttleKey);
+        if (extractedKey != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Removing throttling key : " + extractedKey.getResourceKey());
             }
+
+            ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
+                    .removeThrottledAPIKey(extractedKey.getResourceKey());
+            ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
+                    .removeThrottledApiConditions(extractedKey.getResourceKey(), extractedKey.getName());
+        }
+    }
+
+    /**
+     * Records the time taken for a throttle decision to reach the gateway from the traffic manager.
+     *
+     * @param decisionTime time at which the traffic manager sent or took the decision
+     */
+    private void recordPropagationDelay(long decisionTime) {
+
+        long delay = System.currentTimeMillis() - decisionTime;
+        if (decisionTime > 0 && delay >= 0) {
+            MetricManager.timer(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX,
+                    JMSMessageListener.class.getSimpleName(), DECISION_PROPAGATION_DELAY))
+                    .update(delay, TimeUnit.MILLISECONDS);
         }
     }
 
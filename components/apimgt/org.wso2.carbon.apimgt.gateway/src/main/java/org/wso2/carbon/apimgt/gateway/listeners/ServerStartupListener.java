@@ -26,6 +26,7 @@ import org.wso2.carbon.apimgt.impl.caching.CacheInvalidationServiceImpl;
 import org.wso2.carbon.apimgt.gateway.service.RevokedTokenDataImpl;
 import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
 import org.wso2.carbon.apimgt.gateway.throttling.publisher.ThrottleDataPublisher;
+import org.wso2.carbon.apimgt.gateway.throttling.util.ThrottleDataSnapshot;
 import org.wso2.carbon.apimgt.gateway.webhooks.SubscriptionsDataServiceImpl;
 import org.wso2.carbon.apimgt.impl.caching.CacheInvalidationService;
 import org.wso2.carbon.apimgt.impl.webhooks.SubscriptionsDataService;
@@ -37,6 +38,16 @@ public class ServerStartupListener implements ServerStartupObserver {
 
     @Override
     public void completingServerStartup() {
+        // The throttle data holder is created before the transports are started, so that the throttle data restored
+        // from the local snapshot is enforced from the first request.
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        APIThrottleDataServiceImpl throttleDataServiceImpl =
+                new APIThrottleDataServiceImpl(throttleDataHolder);
+        // Register APIThrottleDataService so that ThrottleData maps are available to other components.
+        ServiceReferenceHolder.getInstance().setAPIThrottleDataService(throttleDataServiceImpl);
+        ServiceReferenceHolder.getInstance().setThrottleDataHolder(throttleDataHolder);
+        ThrottleDataSnapshot.getInstance().restore();
+        ThrottleDataSnapshot.getInstance().start();
     }
 
     @Override
@@ -44,14 +55,8 @@ public class ServerStartupListener implements ServerStartupObserver {
         // This prevents errors in an All in one setup caused by the ThrottleDataPublisher trying to connect to the
         // event receiver, before the event receiver has been started on completion of server startup.
         ServiceReferenceHolder.getInstance().setThrottleDataPublisher(new ThrottleDataPublisher());
-        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
-        APIThrottleDataServiceImpl throttleDataServiceImpl =
-                new APIThrottleDataServiceImpl(throttleDataHolder);
         CacheInvalidationService cacheInvalidationService = new CacheInvalidationServiceImpl();
-        // Register APIThrottleDataService so that ThrottleData maps are available to other components.
         ServiceReferenceHolder.getInstance().setCacheInvalidationService(cacheInvalidationService);
-        ServiceReferenceHolder.getInstance().setAPIThrottleDataService(throttleDataServiceImpl);
-        ServiceReferenceHolder.getInstance().setThrottleDataHolder(throttleDataHolder);
         ServiceReferenceHolder.getInstance().setRevokedTokenService(new RevokedTokenDataImpl());
         SubscriptionsDataService subscriptionsDataService = new SubscriptionsDataServiceImpl();
         ServiceReferenceHolder.getInstance().setSubscriptionsDataService(subscriptionsDataService);
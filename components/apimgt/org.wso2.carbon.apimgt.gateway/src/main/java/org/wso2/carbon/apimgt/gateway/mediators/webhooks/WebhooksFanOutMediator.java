@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.mediators.webhooks;
+
+import org.apache.http.protocol.HTTP;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.mediators.AbstractMediator;
+import org.wso2.carbon.apimgt.gateway.handlers.analytics.Constants;
+import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.utils.WebhooksUtils;
+import org.wso2.carbon.apimgt.gateway.webhooks.delivery.WebhookFanOutEngine;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.dto.WebhooksDTO;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This mediator would hand over an event to the webhooks fan out engine for delivery to all the subscribers of its
+ * topic. It replaces the SubscribersLoader, SubscriberInfoLoader, call and DeliveryStatusUpdater steps of the event
+ * receiver flow, so that the event is not mediated once per subscriber. The default websub_api_template does not use
+ * this mediator, so it has to be configured in place of the SubscribersLoader clone in a customized template.
+ */
+public class WebhooksFanOutMediator extends AbstractMediator {
+
+    @Override
+    public boolean mediate(MessageContext messageContext) {
+        messageContext.setProperty(Constants.REQUEST_START_TIME_PROPERTY, System.currentTimeMillis());
+        try {
+            List<WebhooksDTO> subscribers = WebhooksUtils.getSubscribersListFromInMemoryMap(messageContext);
+            if (subscribers == null || subscribers.isEmpty()) {
+                messageContext.setProperty(APIConstants.Webhooks.SUBSCRIBERS_COUNT_PROPERTY, 0);
+                return true;
+            }
+            messageContext.setProperty(APIConstants.Webhooks.SUBSCRIBERS_COUNT_PROPERTY, subscribers.size());
+            String payload = (String) messageContext.getProperty(APIConstants.Webhooks.PAYLOAD_PROPERTY);
+            String contentType = getContentType(messageContext);
+            WebhookFanOutEngine fanOutEngine = WebhookFanOutEngine.getInstance();
+            for (WebhooksDTO subscriber : subscribers) {
+                if (isThrottled(subscriber, messageContext)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Event to callback " + subscriber.getCallbackURL() + " is throttled out");
+                    }
+                    continue;
+                }
+                fanOutEngine.submit(subscriber, payload, contentType);
+            }
+        } catch (URISyntaxException e) {
+            handleException("Error while getting subscribers list", e, messageContext);
+        }
+        return true;
+    }
+
+    private boolean isThrottled(WebhooksDTO subscriber, MessageContext messageContext) {
+        if (ServiceReferenceHolder.getInstance().getSubscriptionsDataService().getThrottleStatus(
+                subscriber.getAppID(), subscriber.getApiUUID(), subscriber.getTenantDomain())) {
+            return true;
+        }
+        AuthenticationContext authContext = new AuthenticationContext();
+        WebhooksUtils.populateAuthContext(subscriber.getTenantDomain(), Integer.parseInt(subscriber.getAppID()),
+                authContext);
+        return WebhooksUtils.doThrottle(subscriber, messageContext, authContext);
+    }
+
+    private String getContentType(MessageContext messageContext) {
+        Map<?, ?> headers = (Map<?, ?>) ((Axis2MessageContext) messageContext).getAxis2MessageContext()
+                .getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
+        return headers != null ? (String) headers.get(HTTP.CONTENT_TYPE) : null;
+    }
+}
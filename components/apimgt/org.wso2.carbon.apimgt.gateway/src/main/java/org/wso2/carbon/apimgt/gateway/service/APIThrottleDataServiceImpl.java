@@ -25,6 +25,7 @@ import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
 import org.wso2.carbon.apimgt.impl.throttling.APIThrottleDataService;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of  {@code APIThrottleDataService}. This class holds a singleton of ThrottleDataHolder and provides
@@ -70,6 +71,12 @@ public class APIThrottleDataServiceImpl implements APIThrottleDataService {
         throttleDataHolder.addThrottleData(throttleKey, timeStamp);
     }
 
+    @Override
+    public void addThrottleDataFromMap(Map<String, Long> throttleData) {
+
+        throttleDataHolder.addThrottleDataFromMap(throttleData);
+    }
+
     @Override
     public void addThrottledAPIKey(String resourceKey, Long timeStamp) {
 
@@ -271,6 +271,42 @@ public class ThrottleDataHolder {
         return keyTemplateMap;
     }
 
+    public Map<String, Long> getThrottleDataMap() {
+        return throttleDataMap;
+    }
+
+    public Map<String, String> getAPIBlockingConditionsMap() {
+        return blockedAPIConditionsMap;
+    }
+
+    public Map<String, String> getApplicationBlockingConditionsMap() {
+        return blockedApplicationConditionsMap;
+    }
+
+    public Map<String, String> getUserBlockingConditionsMap() {
+        return blockedUserConditionsMap;
+    }
+
+    public Map<String, Set<IPRange>> getIpBlockingConditionsMap() {
+        return blockedIpConditionsMap;
+    }
+
+    public Map<String, String> getSubscriptionBlockingConditionsMap() {
+        return blockedSubscriptionConditionsMap;
+    }
+
+    public Map<String, Long> getThrottledAPIKeysMap() {
+        return throttledAPIKeysMap;
+    }
+
+    public Map<String, Map<String, List<ConditionDto>>> getThrottledApiConditionsMap() {
+        return conditionDtoMap;
+    }
+
+    public void removeIpBlockingConditions(String tenantDomain) {
+        blockedIpConditionsMap.remove(tenantDomain);
+    }
+
     public boolean isRequestBlocked(String apiBlockingKey, String applicationBlockingKey, String userBlockingKey,
                                     String ipBlockingKey, String apiTenantDomain, String subscriptionBlockingKey) {
         return (blockedAPIConditionsMap.containsKey(apiBlockingKey) ||
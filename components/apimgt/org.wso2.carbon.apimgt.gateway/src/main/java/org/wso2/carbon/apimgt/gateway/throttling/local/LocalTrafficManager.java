@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.throttling.local;
+
+import org.apache.axiom.soap.SOAPBody;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.transport.passthru.util.RelayUtils;
+import org.wso2.carbon.apimgt.api.dto.ConditionGroupDTO;
+import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
+import org.wso2.carbon.apimgt.gateway.handlers.throttling.APIThrottleConstants;
+import org.wso2.carbon.apimgt.gateway.handlers.throttling.ThrottleConditionEvaluator;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.VerbInfoDTO;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+import org.wso2.carbon.apimgt.keymgt.SubscriptionDataHolder;
+import org.wso2.carbon.apimgt.keymgt.model.SubscriptionDataStore;
+import org.wso2.carbon.apimgt.keymgt.model.entity.APIPolicyConditionGroup;
+import org.wso2.carbon.apimgt.keymgt.model.entity.ApiPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.BandwidthLimit;
+import org.wso2.carbon.apimgt.keymgt.model.entity.Limit;
+import org.wso2.carbon.apimgt.keymgt.model.entity.Policy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.QuotaPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.RequestCountLimit;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In process traffic manager for single node gateways. When enabled, the subscription, application, API and resource
+ * level policies of a request are evaluated on the gateway with {@link ThrottleCounter}s, instead of publishing the
+ * request to the traffic manager. The counters use the same throttle keys and the same epoch aligned windows as the
+ * traffic manager execution plans, and the throttle decisions are added to the {@link ThrottleDataHolder} in the same
+ * way as the decisions received from the traffic manager, hence the decisions are effective from the next request.
+ * The limits of the policies are taken from the subscription data store. Custom policies and event count limits are
+ * not evaluated locally. While custom policies are deployed, requests are still published to the traffic manager so
+ * that it keeps enforcing them. Event count limits are not enforced in this mode.
+ */
+public class LocalTrafficManager {
+
+    private static final Log log = LogFactory.getLog(LocalTrafficManager.class);
+    private static final LocalTrafficManager instance = new LocalTrafficManager();
+    private static final String CONDITION_GROUP_PREFIX = "_condition_";
+    private static final long PURGE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private volatile boolean initialized;
+    private boolean enabled;
+    private final Map<String, ThrottleCounter> counters = new ConcurrentHashMap<>();
+
+    LocalTrafficManager() {
+
+    }
+
+    public static LocalTrafficManager getInstance() {
+
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        init();
+        return enabled;
+    }
+
+    /**
+     * Counts a request which is not throttled against the resource, subscription and application level policies of
+     * the request.
+     *
+     * @param verbInfo                     VerbInfoDTO of the resource
+     * @param applicationLevelThrottleKey  application level throttle key
+     * @param applicationLevelTier         application level tier
+     * @param apiLevelThrottleKey          API level throttle key
+     * @param apiLevelTier                 API level tier
+     * @param subscriptionLevelThrottleKey subscription level throttle key
+     * @param subscriptionLevelTier        subscription level tier
+     * @param authorizedUser               authorized user
+     * @param subscriberTenantDomain       tenant domain of the application
+     * @param apiTenantDomain              tenant domain of the API
+     * @param synCtx                       message context of the request
+     * @param authContext                  authentication context of the request
+     */
+    public void processRequest(VerbInfoDTO verbInfo, String applicationLevelThrottleKey,
+                               String applicationLevelTier, String apiLevelThrottleKey, String apiLevelTier,
+                               String subscriptionLevelThrottleKey, String subscriptionLevelTier,
+                               String authorizedUser, String subscriberTenantDomain, String apiTenantDomain,
+                               MessageContext synCtx, AuthenticationContext authContext) {
+
+        long currentTime = System.currentTimeMillis();
+        long messageSize = 0;
+        if (authContext.isContentAwareTierPresent() || verbInfo.isContentAware()) {
+            messageSize = getMessageSize(synCtx);
+        }
+        SubscriptionDataStore apiTenantStore =
+                SubscriptionDataHolder.getInstance().getTenantSubscriptionStore(apiTenantDomain);
+        if (apiTenantStore != null) {
+            int apiTenantId = APIUtil.getTenantIdFromTenantDomain(apiTenantDomain);
+            processResourceLevel(verbInfo, apiLevelThrottleKey, apiLevelTier, authorizedUser, apiTenantStore,
+                    apiTenantId, messageSize, currentTime, synCtx, authContext);
+            if (!isUnlimited(subscriptionLevelTier)) {
+                count(subscriptionLevelThrottleKey,
+                        getDefaultLimit(apiTenantStore.getSubscriptionPolicyByName(subscriptionLevelTier, apiTenantId)),
+                        null, messageSize, currentTime);
+            }
+        }
+        SubscriptionDataStore appTenantStore =
+                SubscriptionDataHolder.getInstance().getTenantSubscriptionStore(subscriberTenantDomain);
+        if (appTenantStore != null && !isUnlimited(applicationLevelTier)) {
+            int appTenantId = APIUtil.getTenantIdFromTenantDomain(subscriberTenantDomain);
+            count(applicationLevelThrottleKey,
+                    getDefaultLimit(appTenantStore.getApplicationPolicyByName(applicationLevelTier, appTenantId)),
+                    null, messageSize, currentTime);
+        }
+    }
+
+    private void processResourceLevel(VerbInfoDTO verbInfo, String apiLevelThrottleKey, String apiLevelTier,
+                                      String authorizedUser, SubscriptionDataStore store, int tenantId,
+                                      long messageSize, long currentTime, MessageContext synCtx,
+                                      AuthenticationContext authContext) {
+
+        String resourceLevelThrottleKey = verbInfo.getRequestKey();
+        String resourceLevelTier = verbInfo.getThrottling();
+        if (!StringUtils.isEmpty(apiLevelTier) && !isUnlimited(apiLevelTier)) {
+            resourceLevelThrottleKey = apiLevelThrottleKey;
+            resourceLevelTier = apiLevelTier;
+        }
+        ConditionGroupDTO[] conditionGroupDTOs = verbInfo.getConditionGroups();
+        if (isUnlimited(resourceLevelTier) || conditionGroupDTOs == null || conditionGroupDTOs.length == 0) {
+            return;
+        }
+        ApiPolicy apiPolicy = store.getApiPolicyByName(resourceLevelTier, tenantId);
+        if (apiPolicy == null) {
+            return;
+        }
+        if (APIConstants.API_POLICY_USER_LEVEL.equalsIgnoreCase(verbInfo.getApplicableLevel())) {
+            resourceLevelThrottleKey = resourceLevelThrottleKey + "_" + authorizedUser;
+        }
+        for (ConditionGroupDTO conditionGroup : ThrottleConditionEvaluator.getInstance()
+                .getApplicableConditions(synCtx, authContext, conditionGroupDTOs)) {
+            if (conditionGroup != null) {
+                count(resourceLevelThrottleKey + conditionGroup.getConditionGroupId(),
+                        getConditionGroupLimit(apiPolicy, conditionGroup.getConditionGroupId()),
+                        resourceLevelThrottleKey, messageSize, currentTime);
+            }
+        }
+    }
+
+    private void count(String throttleKey, QuotaPolicy quotaPolicy, String resourceLevelThrottleKey,
+                       long messageSize, long currentTime) {
+
+        Limit limit = quotaPolicy != null ? quotaPolicy.getLimit() : null;
+        if (limit == null) {
+            return;
+        }
+        long windowSize = limit.getTimeInMilliSeconds();
+        if (windowSize <= 0) {
+            return;
+        }
+        long maxCount;
+        long cost;
+        if (limit instanceof BandwidthLimit) {
+            maxCount = ((BandwidthLimit) limit).getStandardDataAmount();
+            cost = messageSize;
+        } else {
+            maxCount = ((RequestCountLimit) limit).getRequestCount();
+            cost = 1;
+        }
+        ThrottleCounter counter = counters.get(throttleKey);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(throttleKey, key -> new ThrottleCounter());
+        }
+        long expiryTimeStamp = counter.add(cost, maxCount, windowSize, currentTime);
+        if (expiryTimeStamp > 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Throttling key " + throttleKey + " locally until " + expiryTimeStamp);
+            }
+            ThrottleDataHolder throttleDataHolder = ServiceReferenceHolder.getInstance().getThrottleDataHolder();
+            throttleDataHolder.addThrottleData(throttleKey, expiryTimeStamp);
+            if (resourceLevelThrottleKey != null && !throttleDataHolder.isAPIThrottled(resourceLevelThrottleKey)) {
+                throttleDataHolder.addThrottledAPIKey(resourceLevelThrottleKey, expiryTimeStamp);
+            }
+        }
+    }
+
+    private static QuotaPolicy getConditionGroupLimit(ApiPolicy apiPolicy, String conditionGroupId) {
+
+        if (APIConstants.THROTTLE_POLICY_DEFAULT.equals(conditionGroupId)) {
+            return apiPolicy.getDefaultLimit();
+        }
+        if (conditionGroupId != null && conditionGroupId.startsWith(CONDITION_GROUP_PREFIX)) {
+            String id = conditionGroupId.substring(CONDITION_GROUP_PREFIX.length());
+            for (APIPolicyConditionGroup conditionGroup : apiPolicy.getConditionGroups()) {
+                if (id.equals(String.valueOf(conditionGroup.getConditionGroupId()))) {
+                    return conditionGroup.getDefaultLimit();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static QuotaPolicy getDefaultLimit(Policy policy) {
+
+        return policy != null ? policy.getDefaultLimit() : null;
+    }
+
+    private static boolean isUnlimited(String tier) {
+
+        return StringUtils.isEmpty(tier) || APIConstants.UNLIMITED_TIER.equalsIgnoreCase(tier);
+    }
+
+    private static long getMessageSize(MessageContext messageContext) {
+
+        org.apache.axis2.context.MessageContext axis2MessageContext =
+                ((Axis2MessageContext) messageContext).getAxis2MessageContext();
+        Map transportHeaders =
+                (Map) axis2MessageContext.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
+        Object contentLength = transportHeaders != null ? transportHeaders.get(APIThrottleConstants.CONTENT_LENGTH)
+                : null;
+        if (contentLength != null) {
+            return Long.parseLong(contentLength.toString());
+        }
+        try {
+            RelayUtils.buildMessage(axis2MessageContext);
+        } catch (Exception e) {
+            log.error("Error occurred while building the message to calculate the request body size", e);
+        }
+        SOAPEnvelope env = messageContext.getEnvelope();
+        if (env != null) {
+            SOAPBody soapbody = env.getBody();
+            if (soapbody != null) {
+                return soapbody.toString().getBytes(Charset.defaultCharset()).length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Removes the counters whose windows have ended. The counter of a key is created again with its next request.
+     */
+    void purgeCounters() {
+
+        try {
+            long currentTime = System.currentTimeMillis();
+            counters.values().removeIf(counter -> counter.isExpired(currentTime));
+        } catch (RuntimeException e) {
+            log.error("Error while removing expired local throttle counters", e);
+        }
+    }
+
+    int getCounterCount() {
+
+        return counters.size();
+    }
+
+    private void init() {
+
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            try {
+                APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
+                if (config != null
+                        && Boolean.parseBoolean(config.getFirstProperty(APIConstants.LOCAL_TRAFFIC_MANAGER_ENABLED))) {
+                    ScheduledExecutorService purgeService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "LocalThrottleCounterPurger");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    purgeService.scheduleWithFixedDelay(this::purgeCounters, PURGE_INTERVAL, PURGE_INTERVAL,
+                            TimeUnit.MILLISECONDS);
+                    enabled = true;
+                    log.info("Local traffic manager enabled. Throttle policies are evaluated on the gateway.");
+                    log.warn("The local traffic manager does not evaluate custom (key template) policies and event "
+                            + "count limits. Requests are still published to the traffic manager while custom "
+                            + "policies are deployed, but event count limits are not enforced.");
+                }
+            } catch (Exception e) {
+                log.error("Invalid local traffic manager configuration. Requests are published to the traffic "
+                        + "manager.", e);
+            }
+            initialized = true;
+        }
+    }
+}
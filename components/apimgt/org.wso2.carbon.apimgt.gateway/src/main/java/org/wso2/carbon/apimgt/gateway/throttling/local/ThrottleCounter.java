@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.throttling.local;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock free counter of a throttle key. The counter counts within fixed time windows which are aligned to the epoch,
+ * in the same way as the time batch windows of the traffic manager execution plans. A new window is started with a
+ * compare and set when a request arrives after the end of the current window.
+ */
+public class ThrottleCounter {
+
+    private final AtomicReference<Window> currentWindow = new AtomicReference<>(new Window(0, 0));
+
+    /**
+     * Adds the cost of a request to the window of the given time.
+     *
+     * @param cost        cost of the request, 1 for request count limits and the message size for bandwidth limits
+     * @param limit       limit of the window
+     * @param windowSize  size of the window in milliseconds
+     * @param currentTime time of the request in milliseconds
+     * @return end time of the window if the limit is reached with this request, or 0 otherwise
+     */
+    public long add(long cost, long limit, long windowSize, long currentTime) {
+
+        Window window = currentWindow.get();
+        while (currentTime >= window.end || window.end - window.start != windowSize) {
+            long start = currentTime - currentTime % windowSize;
+            Window newWindow = new Window(start, start + windowSize);
+            if (currentWindow.compareAndSet(window, newWindow)) {
+                window = newWindow;
+                break;
+            }
+            window = currentWindow.get();
+        }
+        return window.count.addAndGet(cost) >= limit ? window.end : 0;
+    }
+
+    /**
+     * Returns whether the window of the counter has ended before the given time.
+     *
+     * @param currentTime time in milliseconds
+     * @return true if the counter does not count in a window of the given time
+     */
+    public boolean isExpired(long currentTime) {
+
+        return currentTime >= currentWindow.get().end;
+    }
+
+    /**
+     * Fixed time window of a counter.
+     */
+    private static final class Window {
+
+        private final long start;
+        private final long end;
+        private final AtomicLong count = new AtomicLong();
+
+        private Window(long start, long end) {
+
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
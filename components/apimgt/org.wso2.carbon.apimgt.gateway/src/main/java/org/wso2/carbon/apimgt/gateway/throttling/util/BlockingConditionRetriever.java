@@ -26,6 +26,7 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.util.EntityUtils;
 import org.wso2.carbon.apimgt.gateway.dto.BlockConditionsDTO;
+import org.wso2.carbon.apimgt.gateway.dto.IPRange;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
 import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
@@ -36,6 +37,8 @@ import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -118,22 +121,30 @@ public class BlockingConditionRetriever extends TimerTask {
     public void loadBlockingConditionsFromWebService() {
         BlockConditionsDTO blockConditionsDTO = retrieveBlockConditionsData();
         if (blockConditionsDTO != null) {
-            if (!blockConditionsDTO.getApi().isEmpty()) {
-                getThrottleDataHolder().addAPIBlockingConditionsFromMap(
-                        GatewayUtils.generateMap(blockConditionsDTO.getApi()));
+            Map<String, String> apiBlockingConditions = GatewayUtils.generateMap(blockConditionsDTO.getApi());
+            Map<String, String> applicationBlockingConditions =
+                    GatewayUtils.generateMap(blockConditionsDTO.getApplication());
+            Map<String, String> userBlockingConditions = GatewayUtils.generateMap(blockConditionsDTO.getUser());
+            Map<String, Set<IPRange>> ipBlockingConditions =
+                    GatewayUtils.generateIpRangeMap(blockConditionsDTO.getIp());
+            Map<String, String> subscriptionBlockingConditions =
+                    GatewayUtils.generateMap(blockConditionsDTO.getSubscription());
+            if (!apiBlockingConditions.isEmpty()) {
+                getThrottleDataHolder().addAPIBlockingConditionsFromMap(apiBlockingConditions);
             }
-            if (!blockConditionsDTO.getApplication().isEmpty()) {
-                getThrottleDataHolder().addApplicationBlockingConditionsFromMap(
-                        GatewayUtils.generateMap(blockConditionsDTO.getApplication()));
+            if (!applicationBlockingConditions.isEmpty()) {
+                getThrottleDataHolder().addApplicationBlockingConditionsFromMap(applicationBlockingConditions);
             }
-            if (!blockConditionsDTO.getUser().isEmpty()) {
-                getThrottleDataHolder().addUserBlockingConditionsFromMap(
-                        GatewayUtils.generateMap(blockConditionsDTO.getUser()));
+            if (!userBlockingConditions.isEmpty()) {
+                getThrottleDataHolder().addUserBlockingConditionsFromMap(userBlockingConditions);
             }
-            if (!blockConditionsDTO.getIp().isEmpty()) {
-                getThrottleDataHolder()
-                        .addIplockingConditionsFromMap(GatewayUtils.generateIpRangeMap(blockConditionsDTO.getIp()));
+            if (!ipBlockingConditions.isEmpty()) {
+                getThrottleDataHolder().addIplockingConditionsFromMap(ipBlockingConditions);
             }
+            // Drops the restored snapshot blocking conditions which were deleted while the gateway was down
+            ThrottleDataSnapshot.getInstance().reconcileBlockingConditions(apiBlockingConditions,
+                    applicationBlockingConditions, userBlockingConditions, ipBlockingConditions,
+                    subscriptionBlockingConditions);
         }
     }
 
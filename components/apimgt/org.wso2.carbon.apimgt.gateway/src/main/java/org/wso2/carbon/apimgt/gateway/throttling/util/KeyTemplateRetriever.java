@@ -38,7 +38,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -127,9 +127,13 @@ public class KeyTemplateRetriever extends TimerTask {
 
 
     public void loadKeyTemplatesFromWebService() {
-        List keyListMap = Arrays.asList(retrieveKeyTemplateData());
-        if (!keyListMap.isEmpty()) {
-            getThrottleDataHolder().addKeyTemplateFromMap(GatewayUtils.generateMap(keyListMap));
+        String[] keyTemplates = retrieveKeyTemplateData();
+        if (keyTemplates != null) {
+            Map<String, String> keyTemplateMap = GatewayUtils.generateMap(Arrays.asList(keyTemplates));
+            if (!keyTemplateMap.isEmpty()) {
+                getThrottleDataHolder().addKeyTemplateFromMap(keyTemplateMap);
+            }
+            ThrottleDataSnapshot.getInstance().reconcileKeyTemplates(keyTemplateMap);
         }
     }
 
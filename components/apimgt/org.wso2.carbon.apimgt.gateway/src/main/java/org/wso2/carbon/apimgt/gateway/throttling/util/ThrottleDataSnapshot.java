@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.throttling.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.gateway.dto.IPRange;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
+import org.wso2.carbon.base.CarbonBaseUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Local snapshot of the throttle data of the gateway. The active throttle decisions, the throttled API and resource
+ * keys with their evaluated conditions, the blocking conditions and the key templates of the
+ * {@link ThrottleDataHolder} are periodically written to a snapshot file, and are restored from it at server startup
+ * before the transports are started. Hence a restarted gateway keeps enforcing the throttle decisions of the traffic
+ * manager without waiting for them to be emitted again. Expired throttle decisions are dropped on restore. The
+ * blocking conditions and key templates restored from the snapshot are reconciled with the ones retrieved from the
+ * event hub, once they are available.
+ */
+public class ThrottleDataSnapshot {
+
+    private static final Log log = LogFactory.getLog(ThrottleDataSnapshot.class);
+    private static final ThrottleDataSnapshot instance = new ThrottleDataSnapshot();
+    private static final int MAGIC = 0x54445331;
+    private static final int HEADER_LENGTH = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final String DEFAULT_LOCATION =
+            "repository" + File.separator + "data" + File.separator + "throttle-data.snapshot";
+
+    private final Gson gson = new Gson();
+    private volatile boolean initialized;
+    private boolean enabled;
+    private long interval = APIConstants.DEFAULT_THROTTLE_DATA_SNAPSHOT_INTERVAL;
+    private File snapshotFile;
+    private ThrottleDataHolder throttleDataHolder;
+    private ScheduledExecutorService snapshotService;
+    private volatile SnapshotData restoredBlockingConditions;
+    private volatile Map<String, String> restoredKeyTemplates;
+
+    private ThrottleDataSnapshot() {
+
+    }
+
+    ThrottleDataSnapshot(ThrottleDataHolder throttleDataHolder, File snapshotFile) {
+
+        this.throttleDataHolder = throttleDataHolder;
+        this.snapshotFile = snapshotFile;
+        this.enabled = true;
+        this.initialized = true;
+    }
+
+    public static ThrottleDataSnapshot getInstance() {
+
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        init();
+        return enabled;
+    }
+
+    /**
+     * Restores the throttle data of the snapshot file to the throttle data holder. Throttle decisions and throttled
+     * API keys which are already expired are not restored, neither are the evaluated conditions of those API keys.
+     */
+    public void restore() {
+
+        if (!isEnabled() || !snapshotFile.isFile()) {
+            return;
+        }
+        try {
+            SnapshotData data = read();
+            if (data == null) {
+                log.warn("Ignoring invalid throttle data snapshot " + snapshotFile.getPath());
+                return;
+            }
+            long currentTime = System.currentTimeMillis();
+            Map<String, Long> throttleData = new HashMap<>();
+            for (Map.Entry<String, Long> entry : nullToEmpty(data.throttleData).entrySet()) {
+                if (entry.getValue() != null && entry.getValue() >= currentTime) {
+                    throttleData.put(entry.getKey(), entry.getValue());
+                }
+            }
+            throttleDataHolder.addThrottleDataFromMap(throttleData);
+            Map<String, Map<String, List<ConditionDto>>> throttledApiConditions =
+                    nullToEmpty(data.throttledApiConditions);
+            int throttledApiKeyCount = 0;
+            for (Map.Entry<String, Long> entry : nullToEmpty(data.throttledApiKeys).entrySet()) {
+                if (entry.getValue() == null || entry.getValue() < currentTime) {
+                    continue;
+                }
+                Map<String, List<ConditionDto>> conditions = throttledApiConditions.get(entry.getKey());
+                if (conditions != null) {
+                    for (Map.Entry<String, List<ConditionDto>> condition : conditions.entrySet()) {
+                        throttleDataHolder.addThrottledApiConditions(entry.getKey(), condition.getKey(),
+                                condition.getValue());
+                    }
+                }
+                throttleDataHolder.addThrottledAPIKey(entry.getKey(), entry.getValue());
+                throttledApiKeyCount++;
+            }
+            throttleDataHolder.addAPIBlockingConditionsFromMap(nullToEmpty(data.apiBlockingConditions));
+            throttleDataHolder.addApplicationBlockingConditionsFromMap(
+                    nullToEmpty(data.applicationBlockingConditions));
+            throttleDataHolder.addUserBlockingConditionsFromMap(nullToEmpty(data.userBlockingConditions));
+            throttleDataHolder.addIplockingConditionsFromMap(nullToEmpty(data.ipBlockingConditions));
+            throttleDataHolder.addSubscriptionBlockingConditionsFromMap(
+                    nullToEmpty(data.subscriptionBlockingConditions));
+            throttleDataHolder.addKeyTemplateFromMap(nullToEmpty(data.keyTemplates));
+            restoredBlockingConditions = data;
+            restoredKeyTemplates = nullToEmpty(data.keyTemplates);
+            log.info("Restored " + throttleData.size() + " active throttle decisions and " + throttledApiKeyCount
+                    + " throttled API keys from the throttle data snapshot created at " + new Date(data.createdTime));
+        } catch (IOException | JsonParseException e) {
+            log.error("Error while restoring the throttle data snapshot " + snapshotFile.getPath(), e);
+        }
+    }
+
+    /**
+     * Starts writing the snapshot periodically.
+     */
+    public void start() {
+
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            if (snapshotService != null) {
+                return;
+            }
+            snapshotService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ThrottleDataSnapshotWriter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotService.scheduleWithFixedDelay(this::writeSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic snapshots and writes the final snapshot.
+     */
+    public void stop() {
+
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            if (snapshotService != null) {
+                snapshotService.shutdownNow();
+                snapshotService = null;
+            }
+        }
+        writeSnapshot();
+    }
+
+    /**
+     * Removes the blocking conditions which were restored from the snapshot, but are no longer present in the
+     * blocking conditions retrieved from the event hub.
+     *
+     * @param apiBlockingConditions          API blocking conditions retrieved from the event hub
+     * @param applicationBlockingConditions  application blocking conditions retrieved from the event hub
+     * @param userBlockingConditions         user blocking conditions retrieved from the event hub
+     * @param ipBlockingConditions           IP blocking conditions retrieved from the event hub
+     * @param subscriptionBlockingConditions subscription blocking conditions retrieved from the event hub
+     */
+    public void reconcileBlockingConditions(Map<String, String> apiBlockingConditions,
+                                            Map<String, String> applicationBlockingConditions,
+                                            Map<String, String> userBlockingConditions,
+                                            Map<String, Set<IPRange>> ipBlockingConditions,
+                                            Map<String, String> subscriptionBlockingConditions) {
+
+        SnapshotData restored = restoredBlockingConditions;
+        if (restored == null) {
+            return;
+        }
+        restoredBlockingConditions = null;
+        removeStaleEntries(restored.apiBlockingConditions, apiBlockingConditions,
+                throttleDataHolder::removeAPIBlockingCondition);
+        removeStaleEntries(restored.applicationBlockingConditions, applicationBlockingConditions,
+                throttleDataHolder::removeApplicationBlockingCondition);
+        removeStaleEntries(restored.userBlockingConditions, userBlockingConditions,
+                throttleDataHolder::removeUserBlockingCondition);
+        removeStaleEntries(restored.ipBlockingConditions, ipBlockingConditions,
+                throttleDataHolder::removeIpBlockingConditions);
+        removeStaleEntries(restored.subscriptionBlockingConditions, subscriptionBlockingConditions,
+                throttleDataHolder::removeSubscriptionBlockingCondition);
+    }
+
+    /**
+     * Removes the key templates which were restored from the snapshot, but are no longer present in the key
+     * templates retrieved from the event hub.
+     *
+     * @param keyTemplates key templates retrieved from the event hub
+     */
+    public void reconcileKeyTemplates(Map<String, String> keyTemplates) {
+
+        Map<String, String> restored = restoredKeyTemplates;
+        if (restored == null) {
+            return;
+        }
+        restoredKeyTemplates = null;
+        removeStaleEntries(restored, keyTemplates, throttleDataHolder::removeKeyTemplate);
+    }
+
+    /**
+     * Writes the throttle data of the throttle data holder to the snapshot file. The snapshot is written and synced
+     * to a temporary file, and the temporary file is moved over the snapshot file, hence a crash while writing never
+     * leaves a partially written snapshot behind.
+     *
+     * @throws IOException if the snapshot could not be written
+     */
+    synchronized void write() throws IOException {
+
+        long currentTime = System.currentTimeMillis();
+        SnapshotData data = new SnapshotData();
+        data.throttleData = new HashMap<>();
+        for (Map.Entry<String, Long> entry : throttleDataHolder.getThrottleDataMap().entrySet()) {
+            if (entry.getValue() != null && entry.getValue() >= currentTime) {
+                data.throttleData.put(entry.getKey(), entry.getValue());
+            }
+        }
+        data.throttledApiKeys = new HashMap<>();
+        data.throttledApiConditions = new HashMap<>();
+        for (Map.Entry<String, Long> entry : throttleDataHolder.getThrottledAPIKeysMap().entrySet()) {
+            if (entry.getValue() != null && entry.getValue() >= currentTime) {
+                data.throttledApiKeys.put(entry.getKey(), entry.getValue());
+                Map<String, List<ConditionDto>> conditions =
+                        throttleDataHolder.getThrottledApiConditionsMap().get(entry.getKey());
+                if (conditions != null) {
+                    data.throttledApiConditions.put(entry.getKey(), new HashMap<>(conditions));
+                }
+            }
+        }
+        data.apiBlockingConditions = new HashMap<>(throttleDataHolder.getAPIBlockingConditionsMap());
+        data.applicationBlockingConditions =
+                new HashMap<>(throttleDataHolder.getApplicationBlockingConditionsMap());
+        data.userBlockingConditions = new HashMap<>(throttleDataHolder.getUserBlockingConditionsMap());
+        data.ipBlockingConditions = new HashMap<>();
+        for (Map.Entry<String, Set<IPRange>> entry : throttleDataHolder.getIpBlockingConditionsMap().entrySet()) {
+            data.ipBlockingConditions.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        data.subscriptionBlockingConditions =
+                new HashMap<>(throttleDataHolder.getSubscriptionBlockingConditionsMap());
+        data.keyTemplates = new HashMap<>(throttleDataHolder.getKeyTemplateMap());
+        byte[] content = gson.toJson(data).getBytes(StandardCharsets.UTF_8);
+
+        File parent = snapshotFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create the throttle data snapshot directory " + parent.getPath());
+        }
+        Path tempFile = Paths.get(snapshotFile.getPath() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + content.length);
+        buffer.putInt(MAGIC).putLong(currentTime).putInt(content.length).put(content);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tempFile, snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the snapshot file.
+     *
+     * @return snapshot data, or null if the snapshot file is not a valid snapshot
+     * @throws IOException if the snapshot could not be read
+     */
+    SnapshotData read() throws IOException {
+
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return null;
+                }
+            }
+            buffer.flip();
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            long createdTime = buffer.getLong();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return null;
+            }
+            byte[] content = new byte[length];
+            buffer.get(content);
+            SnapshotData data = gson.fromJson(new String(content, StandardCharsets.UTF_8), SnapshotData.class);
+            if (data != null) {
+                data.createdTime = createdTime;
+            }
+            return data;
+        }
+    }
+
+    private void writeSnapshot() {
+
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error while writing the throttle data snapshot " + snapshotFile.getPath(), e);
+        }
+    }
+
+    private static <V> Map<String, V> nullToEmpty(Map<String, V> map) {
+
+        return map != null ? map : Collections.<String, V>emptyMap();
+    }
+
+    private static void removeStaleEntries(Map<String, ?> restored, Map<String, ?> retrieved,
+                                           Consumer<String> remover) {
+
+        for (String key : nullToEmpty(restored).keySet()) {
+            if (!retrieved.containsKey(key)) {
+                remover.accept(key);
+            }
+        }
+    }
+
+    private void init() {
+
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            try {
+                APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
+                if (config != null
+                        && Boolean.parseBoolean(config.getFirstProperty(APIConstants.THROTTLE_DATA_SNAPSHOT_ENABLED))) {
+                    String intervalProperty = config.getFirstProperty(APIConstants.THROTTLE_DATA_SNAPSHOT_INTERVAL);
+                    if (StringUtils.isNotEmpty(intervalProperty)) {
+                        interval = Long.parseLong(intervalProperty.trim());
+                    }
+                    String location = config.getFirstProperty(APIConstants.THROTTLE_DATA_SNAPSHOT_LOCATION);
+                    if (StringUtils.isEmpty(location)) {
+                        location = DEFAULT_LOCATION;
+                    }
+                    snapshotFile = new File(location.trim());
+                    if (!snapshotFile.isAbsolute()) {
+                        snapshotFile = new File(CarbonBaseUtils.getCarbonHome(), location.trim());
+                    }
+                    throttleDataHolder = ServiceReferenceHolder.getInstance().getThrottleDataHolder();
+                    enabled = interval > 0 && throttleDataHolder != null;
+                    if (enabled) {
+                        log.info("Throttle data snapshot enabled. Snapshot file: " + snapshotFile.getPath());
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Invalid throttle data snapshot configuration. Throttle data snapshot is disabled.", e);
+            }
+            initialized = true;
+        }
+    }
+
+    /**
+     * Content of the snapshot file.
+     */
+    static class SnapshotData {
+
+        transient long createdTime;
+        Map<String, Long> throttleData;
+        Map<String, Long> throttledApiKeys;
+        Map<String, Map<String, List<ConditionDto>>> throttledApiConditions;
+        Map<String, String> apiBlockingConditions;
+        Map<String, String> applicationBlockingConditions;
+        Map<String, String> userBlockingConditions;
+        Map<String, Set<IPRange>> ipBlockingConditions;
+        Map<String, String> subscriptionBlockingConditions;
+        Map<String, String> keyTemplates;
+    }
+}
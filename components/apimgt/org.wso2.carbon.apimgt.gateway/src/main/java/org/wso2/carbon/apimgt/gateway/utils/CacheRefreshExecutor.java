@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs refresh ahead tasks of the gateway caches in the background. Only one refresh is scheduled at a time for a
+ * given key, and a refresh is dropped when the queue is full since the request path keeps serving the cached entry
+ * until it expires.
+ */
+public final class CacheRefreshExecutor {
+
+    private static final Log log = LogFactory.getLog(CacheRefreshExecutor.class);
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final Set<String> REFRESHING_KEYS = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "GatewayCacheRefresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private CacheRefreshExecutor() {
+
+    }
+
+    /**
+     * Schedules a refresh of the given key within the given tenant flow, unless a refresh of the same key is
+     * already pending.
+     *
+     * @param key          key of the refreshed cache entry
+     * @param tenantDomain tenant domain the refresh runs in
+     * @param refreshTask  task refreshing the cache entry
+     */
+    public static void refresh(String key, String tenantDomain, Runnable refreshTask) {
+
+        if (!REFRESHING_KEYS.add(key)) {
+            return;
+        }
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
+                    refreshTask.run();
+                } catch (RuntimeException e) {
+                    log.warn("Error while refreshing gateway cache entry", e);
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                    REFRESHING_KEYS.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            REFRESHING_KEYS.remove(key);
+            if (log.isDebugEnabled()) {
+                log.debug("Skipped refreshing gateway cache entry as the refresh queue is full");
+            }
+        }
+    }
+}
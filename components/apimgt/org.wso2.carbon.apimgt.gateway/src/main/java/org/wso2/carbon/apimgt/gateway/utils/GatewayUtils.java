@@ -811,7 +811,6 @@ public class GatewayUtils {
             throws APISecurityException {
 
         JSONObject api = null;
-        APIKeyValidator apiKeyValidator = new APIKeyValidator();
         APIKeyValidationInfoDTO apiKeyValidationInfoDTO = null;
         boolean apiKeySubValidationEnabled = isAPIKeySubscriptionValidationEnabled();
         JSONObject application;
@@ -823,8 +822,10 @@ public class GatewayUtils {
         // validate subscription
         // if the appId is equal to 0 then it's a internal key
         if (apiKeySubValidationEnabled && appId != 0) {
-            apiKeyValidationInfoDTO =
-                    apiKeyValidator.validateSubscription(apiContext, apiVersion, appId, getTenantDomain());
+            // The decision is resolved once per application and API, and served from the subscription data store
+            // until a subscription, application or policy event changes it.
+            apiKeyValidationInfoDTO = new APIKeyValidator()
+                    .validateSubscription(apiContext, apiVersion, appId, getTenantDomain());
         }
 
         if (payload.getClaim(APIConstants.JwtTokenConstants.SUBSCRIBED_APIS) != null) {
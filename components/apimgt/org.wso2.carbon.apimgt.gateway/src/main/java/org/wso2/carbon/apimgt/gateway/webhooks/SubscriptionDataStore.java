@@ -37,7 +37,9 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -52,7 +54,9 @@ public class SubscriptionDataStore {
     private String tenantDomain = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
     public static final int retrievalRetries = 15;
     private static final Log log = LogFactory.getLog(SubscriptionDataStore.class);
-    private Map<String, Map<String, WebhooksDTO>> subscribersMap;
+    // Subscribers of each API topic. The lists are immutable snapshots which are replaced on every change, so that
+    // event deliveries can iterate them without copying or locking
+    private Map<String, List<WebhooksDTO>> subscribersMap;
     private Map<String, Boolean> throttlingStatusMap;
     ExecutorService executor = Executors.newSingleThreadExecutor();
 
@@ -74,12 +78,17 @@ public class SubscriptionDataStore {
         this.throttlingStatusMap = new ConcurrentHashMap<>();
         executor.submit(() -> {
             List<WebhooksDTO> subscriptions = loadSubscriptions();
+            Map<String, List<WebhooksDTO>> loadedSubscribers = new HashMap<>();
             for (WebhooksDTO subscriber: subscriptions) {
                 String subscriptionKey = subscriber.getApiUUID() + "_" + subscriber.getTopicName();
                 String throttleKey = subscriber.getAppID() + "_" + subscriber.getApiUUID();
-                addSubscriber(subscriptionKey, subscriber);
+                loadedSubscribers.computeIfAbsent(subscriptionKey, key -> new ArrayList<>()).add(subscriber);
                 throttlingStatusMap.put(throttleKey, false);
             }
+            for (Map.Entry<String, List<WebhooksDTO>> entry : loadedSubscribers.entrySet()) {
+                subscribersMap.compute(entry.getKey(), (key, existingSubscribers) ->
+                        withSubscribers(existingSubscribers, entry.getValue()));
+            }
         });
     }
 
@@ -90,15 +99,8 @@ public class SubscriptionDataStore {
      * @param subscriber        the subscriber.
      */
     public void addSubscriber(String key, WebhooksDTO subscriber) {
-        Map<String, WebhooksDTO> subscribersOfAPIMap = subscribersMap.get(key);
-        if (subscribersOfAPIMap != null) {
-            subscribersOfAPIMap.put(subscriber.getCallbackURL(), subscriber);
-            subscribersMap.replace(key, subscribersOfAPIMap);
-        } else {
-            subscribersOfAPIMap = new HashMap<>();
-            subscribersOfAPIMap.put(subscriber.getCallbackURL(), subscriber);
-            subscribersMap.put(key, subscribersOfAPIMap);
-        }
+        subscribersMap.compute(key, (subscriptionKey, existingSubscribers) ->
+                withSubscribers(existingSubscribers, Collections.singletonList(subscriber)));
     }
 
     /**
@@ -131,12 +133,37 @@ public class SubscriptionDataStore {
      * @param subscriber        the subscriber.
      */
     public void removeSubscriber(String key, WebhooksDTO subscriber) {
-        Map<String, WebhooksDTO> existingSubscribers = subscribersMap.get(key);
+        subscribersMap.computeIfPresent(key, (subscriptionKey, existingSubscribers) -> {
+            List<WebhooksDTO> subscribers = new ArrayList<>(existingSubscribers.size());
+            for (WebhooksDTO existingSubscriber : existingSubscribers) {
+                if (!existingSubscriber.getCallbackURL().equals(subscriber.getCallbackURL())) {
+                    subscribers.add(existingSubscriber);
+                }
+            }
+            return Collections.unmodifiableList(subscribers);
+        });
+    }
+
+    /**
+     * Creates a new snapshot of the subscribers with the given subscribers added. An added subscriber replaces the
+     * existing subscriber of the same callback url at its position.
+     *
+     * @param existingSubscribers   the current snapshot, or null if there is none.
+     * @param addedSubscribers      the subscribers to add.
+     * @return the new snapshot.
+     */
+    private static List<WebhooksDTO> withSubscribers(List<WebhooksDTO> existingSubscribers,
+                                                     List<WebhooksDTO> addedSubscribers) {
+        Map<String, WebhooksDTO> subscribersByCallback = new LinkedHashMap<>();
         if (existingSubscribers != null) {
-            existingSubscribers.values().removeIf(existingSubscriber -> existingSubscriber.getCallbackURL().equals(
-                    subscriber.getCallbackURL()));
-            subscribersMap.replace(key, existingSubscribers);
+            for (WebhooksDTO existingSubscriber : existingSubscribers) {
+                subscribersByCallback.put(existingSubscriber.getCallbackURL(), existingSubscriber);
+            }
         }
+        for (WebhooksDTO addedSubscriber : addedSubscribers) {
+            subscribersByCallback.put(addedSubscriber.getCallbackURL(), addedSubscriber);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(subscribersByCallback.values()));
     }
 
     /**
@@ -201,19 +228,40 @@ public class SubscriptionDataStore {
     /**
      * This method is used to get subscribers lists of a given API key.
      *
+     * The returned list is an immutable snapshot which is not affected by later subscription changes.
+     *
      * @param api the api key
      * @return the subscription list.
      */
     public List<WebhooksDTO> getSubscribers(String api) {
-        Map<String, WebhooksDTO> subscribers = subscribersMap.get(api);
+        List<WebhooksDTO> subscribers = subscribersMap.get(api);
         if (subscribers != null) {
-            Map<String, WebhooksDTO> existingSubscribers = subscribersMap.get(api);
             long now = Instant.now().toEpochMilli();
-            existingSubscribers.values().removeIf(existingSubscriber -> existingSubscriber.getExpiryTime() != 0 &&
-                    existingSubscriber.getExpiryTime() < now);
-            subscribersMap.replace(api, existingSubscribers);
-            return new ArrayList<WebhooksDTO>(existingSubscribers.values());
+            if (hasExpiredSubscribers(subscribers, now)) {
+                subscribers = subscribersMap.computeIfPresent(api, (subscriptionKey, existingSubscribers) -> {
+                    List<WebhooksDTO> activeSubscribers = new ArrayList<>(existingSubscribers.size());
+                    for (WebhooksDTO existingSubscriber : existingSubscribers) {
+                        if (!isExpired(existingSubscriber, now)) {
+                            activeSubscribers.add(existingSubscriber);
+                        }
+                    }
+                    return Collections.unmodifiableList(activeSubscribers);
+                });
+            }
         }
-        return null;
+        return subscribers;
+    }
+
+    private static boolean hasExpiredSubscribers(List<WebhooksDTO> subscribers, long now) {
+        for (int i = 0; i < subscribers.size(); i++) {
+            if (isExpired(subscribers.get(i), now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExpired(WebhooksDTO subscriber, long now) {
+        return subscriber.getExpiryTime() != 0 && subscriber.getExpiryTime() < now;
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Sends deliveries to the subscriber callbacks over HTTP. One pooled HTTP client is kept per callback host, so the
+ * connections to a host are reused by all of its callbacks. When the subscriber has a secret, the payload is signed
+ * in the X-Hub-Signature header as in the WebSub mediation flow.
+ */
+public class HttpWebhookSender implements WebhookSender {
+
+    private static final String SIGNATURE_HEADER = "X-Hub-Signature";
+    private static final String SIGNATURE_PREFIX = "sha1=";
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA1";
+
+    private final Map<String, HttpClient> httpClients = new ConcurrentHashMap<>();
+    private final RequestConfig requestConfig;
+
+    /**
+     * @param timeout connect, connection request and socket timeout of the deliveries in milliseconds
+     */
+    public HttpWebhookSender(int timeout) {
+
+        this.requestConfig = RequestConfig.custom().setConnectTimeout(timeout).setConnectionRequestTimeout(timeout)
+                .setSocketTimeout(timeout).build();
+    }
+
+    @Override
+    public int send(WebhookDelivery delivery) throws IOException {
+
+        URL callbackURL = new URL(delivery.getCallbackURL());
+        HttpClient httpClient = httpClients.computeIfAbsent(
+                callbackURL.getProtocol() + "://" + callbackURL.getAuthority(),
+                host -> APIUtil.getHttpClient(callbackURL.getPort(), callbackURL.getProtocol()));
+        HttpPost method = new HttpPost(delivery.getCallbackURL());
+        method.setConfig(requestConfig);
+        method.setEntity(new StringEntity(delivery.getPayload(), getContentType(delivery.getContentType())));
+        String secret = delivery.getSubscriber().getSecret();
+        if (StringUtils.isNotEmpty(secret)) {
+            method.setHeader(SIGNATURE_HEADER, SIGNATURE_PREFIX + sign(delivery.getPayload(), secret));
+        }
+        HttpResponse httpResponse = httpClient.execute(method);
+        try {
+            return httpResponse.getStatusLine().getStatusCode();
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    private static ContentType getContentType(String contentType) {
+
+        if (StringUtils.isNotEmpty(contentType)) {
+            try {
+                return ContentType.parse(contentType);
+            } catch (RuntimeException e) {
+                // fall back to JSON, which is the content type of most WebSub events
+            }
+        }
+        return ContentType.APPLICATION_JSON;
+    }
+
+    private static String sign(String payload, String secret) throws IOException {
+
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM));
+            return Hex.encodeHexString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Error while signing the webhook payload", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed capacity store of the deliveries which could not be delivered to their callbacks. When the store is full
+ * the oldest dead letter is evicted.
+ */
+public class WebhookDeadLetterStore {
+
+    private static final Log log = LogFactory.getLog(WebhookDeadLetterStore.class);
+
+    private final int capacity;
+    private final ConcurrentLinkedQueue<WebhookDelivery> deadLetters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong deadLetterCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public WebhookDeadLetterStore(int capacity) {
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a failed delivery to the store.
+     *
+     * @param delivery      the delivery
+     * @param failureReason the reason of the failure
+     */
+    public void add(WebhookDelivery delivery, String failureReason) {
+
+        delivery.setFailureReason(failureReason);
+        deadLetterCount.incrementAndGet();
+        log.warn("Moved the event to callback " + delivery.getCallbackURL() + " of the topic "
+                + delivery.getSubscriber().getTopicName() + " to the dead letter store: " + failureReason);
+        if (capacity <= 0) {
+            return;
+        }
+        deadLetters.add(delivery);
+        if (size.incrementAndGet() > capacity && deadLetters.poll() != null) {
+            size.decrementAndGet();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes and returns all the dead letters of the store.
+     *
+     * @return the dead letters
+     */
+    public List<WebhookDelivery> drain() {
+
+        List<WebhookDelivery> drained = new ArrayList<>();
+        WebhookDelivery delivery;
+        while ((delivery = deadLetters.poll()) != null) {
+            size.decrementAndGet();
+            drained.add(delivery);
+        }
+        return drained;
+    }
+
+    public int size() {
+
+        return size.get();
+    }
+
+    public long getDeadLetterCount() {
+
+        return deadLetterCount.get();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import org.wso2.carbon.apimgt.impl.dto.WebhooksDTO;
+
+/**
+ * An event of a WebSub API to be delivered to the callback of a subscriber.
+ */
+public class WebhookDelivery {
+
+    private final WebhooksDTO subscriber;
+    private final String payload;
+    private final String contentType;
+    private final long createdTime;
+    private int attempts;
+    private String failureReason;
+
+    public WebhookDelivery(WebhooksDTO subscriber, String payload, String contentType) {
+
+        this.subscriber = subscriber;
+        this.payload = payload;
+        this.contentType = contentType;
+        this.createdTime = System.currentTimeMillis();
+    }
+
+    public WebhooksDTO getSubscriber() {
+
+        return subscriber;
+    }
+
+    public String getCallbackURL() {
+
+        return subscriber.getCallbackURL();
+    }
+
+    public String getPayload() {
+
+        return payload;
+    }
+
+    public String getContentType() {
+
+        return contentType;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    int incrementAttempts() {
+
+        return ++attempts;
+    }
+
+    void resetAttempts() {
+
+        attempts = 0;
+    }
+
+    public String getFailureReason() {
+
+        return failureReason;
+    }
+
+    void setFailureReason(String failureReason) {
+
+        this.failureReason = failureReason;
+    }
+}
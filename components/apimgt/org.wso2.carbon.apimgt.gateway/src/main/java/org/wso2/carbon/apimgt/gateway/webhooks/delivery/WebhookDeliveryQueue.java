@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounded queue of the pending deliveries of a subscriber callback. The queue is drained by at most one delivery
+ * worker at a time, so the events of a callback are sent in order, one request at a time.
+ */
+class WebhookDeliveryQueue {
+
+    private final Deque<WebhookDelivery> deliveries = new ArrayDeque<>();
+    private final int capacity;
+    private boolean scheduled;
+    private long lastActiveTime;
+    private int lastReportedStatus;
+    private long lastReportedTime;
+
+    WebhookDeliveryQueue(int capacity) {
+
+        this.capacity = capacity;
+        this.lastActiveTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Adds a delivery to the queue. New deliveries are rejected when the queue is full, while retried deliveries
+     * are always accepted since they were already admitted once.
+     *
+     * @param delivery the delivery
+     * @param retry    whether the delivery is a retry
+     * @return false if the queue is full
+     */
+    synchronized boolean offer(WebhookDelivery delivery, boolean retry) {
+
+        if (!retry && deliveries.size() >= capacity) {
+            return false;
+        }
+        deliveries.add(delivery);
+        lastActiveTime = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Puts a retried delivery back at the head of the queue, so that it is sent before the deliveries queued after
+     * it. The queue stays scheduled while a retry is pending, so no other delivery of the callback is sent meanwhile.
+     *
+     * @param delivery the delivery
+     */
+    synchronized void retry(WebhookDelivery delivery) {
+
+        deliveries.addFirst(delivery);
+        lastActiveTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Marks the queue as scheduled for draining.
+     *
+     * @return true if the caller has to submit a worker to drain the queue
+     */
+    synchronized boolean schedule() {
+
+        if (scheduled || deliveries.isEmpty()) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * Takes the next delivery of the queue. The queue is unscheduled when it is empty, so that the next offer
+     * schedules a new worker.
+     *
+     * @return the next delivery, or null if the queue is empty
+     */
+    synchronized WebhookDelivery poll() {
+
+        WebhookDelivery delivery = deliveries.poll();
+        if (delivery == null) {
+            scheduled = false;
+        }
+        return delivery;
+    }
+
+    /**
+     * Marks the queue as not scheduled, when a worker could not be submitted to drain it.
+     */
+    synchronized void unschedule() {
+
+        scheduled = false;
+    }
+
+    synchronized int size() {
+
+        return deliveries.size();
+    }
+
+    /**
+     * @return the creation time of the oldest pending delivery, or 0 if the queue is empty
+     */
+    synchronized long getOldestCreatedTime() {
+
+        WebhookDelivery delivery = deliveries.peek();
+        return delivery != null ? delivery.getCreatedTime() : 0;
+    }
+
+    synchronized boolean isIdle(long idleTime) {
+
+        return !scheduled && deliveries.isEmpty() && lastActiveTime < idleTime;
+    }
+
+    /**
+     * Checks whether a delivery status has to be reported. A status is reported when it differs from the last
+     * reported status of the callback, or when the report interval has elapsed since the last report.
+     *
+     * @param status         the delivery status
+     * @param currentTime    the current time in milliseconds
+     * @param reportInterval the report interval in milliseconds
+     * @return true if the status has to be reported
+     */
+    synchronized boolean shouldReportStatus(int status, long currentTime, long reportInterval) {
+
+        if (status == lastReportedStatus && currentTime - lastReportedTime < reportInterval) {
+            return false;
+        }
+        lastReportedStatus = status;
+        lastReportedTime = currentTime;
+        return true;
+    }
+}
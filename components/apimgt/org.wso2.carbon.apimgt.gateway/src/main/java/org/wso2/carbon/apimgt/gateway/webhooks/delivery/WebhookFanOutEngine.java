@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.utils.WebhooksUtils;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.WebhooksDTO;
+import org.wso2.carbon.metrics.manager.Gauge;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the events of WebSub APIs to the callbacks of their subscribers outside the mediation flow. Each
+ * callback has a bounded queue which is drained by a pool of delivery workers, one worker per callback at a time.
+ * Failed deliveries are retried with exponential backoff and are moved to the dead letter store once the retries
+ * are exhausted. The queue of a callback is held while a retry is pending, so the events are delivered in order.
+ * Delivery statuses are reported to the event hub when the status of a callback changes, and at most once per status
+ * report interval otherwise.
+ */
+public class WebhookFanOutEngine {
+
+    private static final Log log = LogFactory.getLog(WebhookFanOutEngine.class);
+    private static final int DELIVERY_STATUS_SUCCESS = 1;
+    private static final int DELIVERY_STATUS_FAILURE = 2;
+    private static final int DELIVERY_STATUS_PERSIST_RETRIES = 15;
+    private static final int DELIVERIES_PER_DRAIN = 32;
+    private static final long QUEUE_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    private static volatile WebhookFanOutEngine instance;
+
+    private final int queueCapacity;
+    private final int maxRetries;
+    private final long initialRetryInterval;
+    private final long maxRetryInterval;
+    private final long statusReportInterval;
+    private final WebhookSender sender;
+    private final WebhookDeadLetterStore deadLetterStore;
+    private final Map<String, WebhookDeliveryQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService deliveryExecutor;
+    private final ExecutorService statusReportExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile long lastDeliveryLag;
+
+    WebhookFanOutEngine(int workerThreads, int queueCapacity, int maxRetries, long initialRetryInterval,
+                        long maxRetryInterval, int deadLetterCapacity, long statusReportInterval,
+                        WebhookSender sender) {
+
+        this.queueCapacity = queueCapacity;
+        this.maxRetries = maxRetries;
+        this.initialRetryInterval = initialRetryInterval;
+        this.maxRetryInterval = maxRetryInterval;
+        this.statusReportInterval = statusReportInterval;
+        this.sender = sender;
+        this.deadLetterStore = new WebhookDeadLetterStore(deadLetterCapacity);
+        this.deliveryExecutor = Executors.newFixedThreadPool(workerThreads, new DaemonThreadFactory(
+                "WebhookDeliveryWorker"));
+        this.statusReportExecutor = Executors.newSingleThreadExecutor(new DaemonThreadFactory(
+                "WebhookDeliveryStatusReporter"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(
+                "WebhookDeliveryRetryScheduler"));
+        this.retryScheduler.scheduleWithFixedDelay(this::removeIdleQueues, QUEUE_IDLE_TIMEOUT, QUEUE_IDLE_TIMEOUT,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method can be used to get the singleton instance of this class. The engine is created with the
+     * WebhooksFanOut configurations on first use.
+     *
+     * @return the singleton instance.
+     */
+    public static WebhookFanOutEngine getInstance() {
+
+        if (instance == null) {
+            synchronized (WebhookFanOutEngine.class) {
+                if (instance == null) {
+                    instance = createEngine();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queues an event for delivery to the callback of the subscriber.
+     *
+     * @param subscriber  the subscriber
+     * @param payload     the event payload
+     * @param contentType the content type of the payload
+     * @return false if the queue of the callback is full and the event was moved to the dead letter store
+     */
+    public boolean submit(WebhooksDTO subscriber, String payload, String contentType) {
+
+        WebhookDelivery delivery = new WebhookDelivery(subscriber, payload, contentType);
+        WebhookDeliveryQueue queue = queues.computeIfAbsent(delivery.getCallbackURL(),
+                callback -> new WebhookDeliveryQueue(queueCapacity));
+        if (!queue.offer(delivery, false)) {
+            rejectedCount.incrementAndGet();
+            deadLetterStore.add(delivery, "Delivery queue of the callback is full");
+            return false;
+        }
+        schedule(queue);
+        return true;
+    }
+
+    /**
+     * Queues the dead letters for delivery again.
+     *
+     * @return the number of dead letters queued
+     */
+    public int redeliverDeadLetters() {
+
+        int count = 0;
+        for (WebhookDelivery delivery : deadLetterStore.drain()) {
+            delivery.resetAttempts();
+            WebhookDeliveryQueue queue = queues.computeIfAbsent(delivery.getCallbackURL(),
+                    callback -> new WebhookDeliveryQueue(queueCapacity));
+            queue.offer(delivery, true);
+            schedule(queue);
+            count++;
+        }
+        return count;
+    }
+
+    public WebhookDeadLetterStore getDeadLetterStore() {
+
+        return deadLetterStore;
+    }
+
+    /**
+     * @return the number of deliveries waiting in the callback queues
+     */
+    public long getPendingDeliveryCount() {
+
+        long count = 0;
+        for (WebhookDeliveryQueue queue : queues.values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the age in milliseconds of the oldest delivery waiting in the callback queues
+     */
+    public long getMaxDeliveryLag() {
+
+        long now = System.currentTimeMillis();
+        long maxLag = 0;
+        for (WebhookDeliveryQueue queue : queues.values()) {
+            long oldestCreatedTime = queue.getOldestCreatedTime();
+            if (oldestCreatedTime > 0) {
+                maxLag = Math.max(maxLag, now - oldestCreatedTime);
+            }
+        }
+        return maxLag;
+    }
+
+    /**
+     * @return the time in milliseconds from queueing to delivery of the last successful delivery
+     */
+    public long getLastDeliveryLag() {
+
+        return lastDeliveryLag;
+    }
+
+    public long getDeliveredCount() {
+
+        return deliveredCount.get();
+    }
+
+    public long getRetryCount() {
+
+        return retryCount.get();
+    }
+
+    public long getRejectedCount() {
+
+        return rejectedCount.get();
+    }
+
+    private void schedule(WebhookDeliveryQueue queue) {
+
+        if (queue.schedule()) {
+            submitDrain(queue);
+        }
+    }
+
+    /**
+     * Submits a worker to drain a scheduled queue. The queue is unscheduled if the worker is rejected, so that the
+     * next delivery of the callback schedules it again.
+     */
+    private void submitDrain(WebhookDeliveryQueue queue) {
+
+        try {
+            deliveryExecutor.execute(() -> drain(queue));
+        } catch (RejectedExecutionException e) {
+            queue.unschedule();
+            log.error("Error while scheduling webhook deliveries", e);
+        }
+    }
+
+    /**
+     * Delivers the pending deliveries of a callback. After a fixed number of deliveries the worker is handed back
+     * to the pool, so that a busy callback does not hold a worker away from the other callbacks.
+     */
+    private void drain(WebhookDeliveryQueue queue) {
+
+        for (int i = 0; i < DELIVERIES_PER_DRAIN; i++) {
+            WebhookDelivery delivery = queue.poll();
+            if (delivery == null || !deliver(queue, delivery)) {
+                return;
+            }
+        }
+        submitDrain(queue);
+    }
+
+    /**
+     * Sends a delivery to its callback.
+     *
+     * @return false if the delivery failed and a retry was scheduled, in which case the queue is held until the
+     * retry is taken up
+     */
+    private boolean deliver(WebhookDeliveryQueue queue, WebhookDelivery delivery) {
+
+        String failureReason;
+        try {
+            int statusCode = sender.send(delivery);
+            if (statusCode >= 200 && statusCode < 300) {
+                deliveredCount.incrementAndGet();
+                lastDeliveryLag = System.currentTimeMillis() - delivery.getCreatedTime();
+                reportStatus(queue, delivery, DELIVERY_STATUS_SUCCESS);
+                return true;
+            }
+            failureReason = "Callback responded with status code " + statusCode;
+        } catch (IOException | RuntimeException e) {
+            failureReason = "Error while sending the event to the callback: " + e.getMessage();
+        }
+        int attempts = delivery.incrementAttempts();
+        if (attempts <= maxRetries) {
+            retryCount.incrementAndGet();
+            long retryInterval = getRetryInterval(attempts);
+            if (log.isDebugEnabled()) {
+                log.debug(failureReason + ". Retrying the delivery to callback " + delivery.getCallbackURL()
+                        + " after " + retryInterval + " ms");
+            }
+            try {
+                retryScheduler.schedule(() -> {
+                    queue.retry(delivery);
+                    submitDrain(queue);
+                }, retryInterval, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                queue.retry(delivery);
+                queue.unschedule();
+                log.error("Error while scheduling the retry of a webhook delivery", e);
+            }
+            return false;
+        }
+        deadLetterStore.add(delivery, failureReason);
+        reportStatus(queue, delivery, DELIVERY_STATUS_FAILURE);
+        return true;
+    }
+
+    long getRetryInterval(int attempts) {
+
+        long retryInterval = initialRetryInterval << Math.min(attempts - 1, 30);
+        return retryInterval > 0 ? Math.min(retryInterval, maxRetryInterval) : maxRetryInterval;
+    }
+
+    private void reportStatus(WebhookDeliveryQueue queue, WebhookDelivery delivery, int status) {
+
+        if (queue.shouldReportStatus(status, System.currentTimeMillis(), statusReportInterval)) {
+            try {
+                statusReportExecutor.execute(() -> persistDeliveryStatus(delivery.getSubscriber(), status));
+            } catch (RejectedExecutionException e) {
+                log.error("Error while reporting the webhook delivery status", e);
+            }
+        }
+    }
+
+    /**
+     * Reports the delivery status of a callback to the event hub.
+     *
+     * @param subscriber the subscriber
+     * @param status     1 if the event was delivered, 2 if the delivery failed
+     */
+    void persistDeliveryStatus(WebhooksDTO subscriber, int status) {
+
+        ObjectNode node = new ObjectMapper().createObjectNode();
+        node.put(APIConstants.Webhooks.API_UUID, subscriber.getApiUUID());
+        node.put(APIConstants.Webhooks.APP_ID, subscriber.getAppID());
+        node.put(APIConstants.Webhooks.TENANT_DOMAIN, subscriber.getTenantDomain());
+        node.put(APIConstants.Webhooks.CALLBACK, subscriber.getCallbackURL());
+        node.put(APIConstants.Webhooks.TOPIC, subscriber.getTopicName());
+        node.put(APIConstants.Webhooks.STATUS, status);
+        try {
+            WebhooksUtils.persistData(node.toString(), DELIVERY_STATUS_PERSIST_RETRIES,
+                    APIConstants.Webhooks.DELIVERY_EVENT_TYPE);
+        } catch (IOException e) {
+            log.error("Error while persisting delivery status", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while persisting delivery status", e);
+        }
+    }
+
+    private void removeIdleQueues() {
+
+        long idleTime = System.currentTimeMillis() - QUEUE_IDLE_TIMEOUT;
+        queues.values().removeIf(queue -> queue.isIdle(idleTime));
+    }
+
+    private static WebhookFanOutEngine createEngine() {
+
+        int workerThreads = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_WORKER_THREADS;
+        int queueCapacity = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_QUEUE_CAPACITY;
+        int maxRetries = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_MAX_RETRIES;
+        long initialRetryInterval = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_INITIAL_RETRY_INTERVAL;
+        long maxRetryInterval = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_MAX_RETRY_INTERVAL;
+        int deadLetterCapacity = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_DEAD_LETTER_CAPACITY;
+        int deliveryTimeout = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_DELIVERY_TIMEOUT;
+        long statusReportInterval = APIConstants.DEFAULT_WEBHOOKS_FAN_OUT_STATUS_REPORT_INTERVAL;
+        try {
+            APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
+            workerThreads = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_WORKER_THREADS, workerThreads);
+            queueCapacity = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_QUEUE_CAPACITY, queueCapacity);
+            maxRetries = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_MAX_RETRIES, maxRetries);
+            initialRetryInterval = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_INITIAL_RETRY_INTERVAL,
+                    initialRetryInterval);
+            maxRetryInterval = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_MAX_RETRY_INTERVAL,
+                    maxRetryInterval);
+            deadLetterCapacity = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_DEAD_LETTER_CAPACITY,
+                    deadLetterCapacity);
+            deliveryTimeout = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_DELIVERY_TIMEOUT, deliveryTimeout);
+            statusReportInterval = getProperty(config, APIConstants.WEBHOOKS_FAN_OUT_STATUS_REPORT_INTERVAL,
+                    statusReportInterval);
+        } catch (Exception e) {
+            log.error("Did not found valid webhooks fan out configuration. Default configuration is used.", e);
+        }
+        WebhookFanOutEngine engine = new WebhookFanOutEngine(workerThreads, queueCapacity, maxRetries,
+                initialRetryInterval, maxRetryInterval, deadLetterCapacity, statusReportInterval,
+                new HttpWebhookSender(deliveryTimeout));
+        try {
+            engine.registerMetrics();
+        } catch (Exception e) {
+            log.warn("Error while registering webhooks fan out metrics", e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Webhooks fan out engine initialized with " + workerThreads + " delivery workers");
+        }
+        return engine;
+    }
+
+    private static int getProperty(APIManagerConfiguration config, String property, int defaultValue) {
+
+        String value = config.getFirstProperty(property);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static long getProperty(APIManagerConfiguration config, String property, long defaultValue) {
+
+        String value = config.getFirstProperty(property);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    private void registerMetrics() {
+
+        String name = "WebhooksFanOut";
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "pending"),
+                (Gauge<Long>) this::getPendingDeliveryCount);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "maxLag"),
+                (Gauge<Long>) this::getMaxDeliveryLag);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "lastLag"),
+                (Gauge<Long>) this::getLastDeliveryLag);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "delivered"),
+                (Gauge<Long>) this::getDeliveredCount);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "retries"),
+                (Gauge<Long>) this::getRetryCount);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "rejected"),
+                (Gauge<Long>) this::getRejectedCount);
+        MetricManager.gauge(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX, name, "deadLetters"),
+                (Gauge<Long>) deadLetterStore::getDeadLetterCount);
+    }
+
+    /**
+     * Creates named daemon threads, so that the delivery threads do not block the server shutdown.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private DaemonThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import java.io.IOException;
+
+/**
+ * Sends a delivery to the callback of its subscriber.
+ */
+public interface WebhookSender {
+
+    /**
+     * Sends the delivery to the callback.
+     *
+     * @param delivery the delivery
+     * @return the HTTP status code returned by the callback
+     * @throws IOException if the callback could not be reached
+     */
+    int send(WebhookDelivery delivery) throws IOException;
+}
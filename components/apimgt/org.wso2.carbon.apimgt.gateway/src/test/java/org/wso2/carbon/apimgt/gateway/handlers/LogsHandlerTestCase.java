@@ -52,7 +52,7 @@ public class LogsHandlerTestCase {
         LogsHandler logsHandler = PowerMockito.spy(new LogsHandler());
         MessageContext messageContext = Mockito.mock(Axis2MessageContext.class);
         PowerMockito.when(LogUtils.getTo(messageContext)).thenReturn("pizzashack/1.0.0/menu");
-        PowerMockito.doReturn(null).when(logsHandler, "getAPILogLevel", messageContext);
+        PowerMockito.doReturn(null).when(logsHandler, "getAPILoggingConfig", messageContext);
         Assert.assertTrue(logsHandler.handleRequestInFlow(messageContext));
     }
 
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.analytics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.wso2.carbon.apimgt.common.analytics.exceptions.DataNotFoundException;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Application;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Latencies;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Target;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.enums.EventCategory;
+import org.wso2.carbon.apimgt.common.analytics.publishers.dto.enums.FaultCategory;
+
+/**
+ * Test class for AnalyticsDataSnapshot
+ */
+public class AnalyticsDataSnapshotTestCase {
+
+    @Test
+    public void testSuccessRequestIsCopiedWithoutResolvingApi() throws Exception {
+
+        SynapseAnalyticsDataProvider provider = Mockito.mock(SynapseAnalyticsDataProvider.class);
+        Application application = new Application();
+        Target target = new Target();
+        target.setTargetResponseCode(200);
+        Latencies latencies = new Latencies();
+        Mockito.when(provider.getEventCategory()).thenReturn(EventCategory.SUCCESS);
+        Mockito.when(provider.getRequestTime()).thenReturn(1000L);
+        Mockito.when(provider.getProxyResponseCode()).thenReturn(200);
+        Mockito.when(provider.isAuthenticated()).thenReturn(true);
+        Mockito.when(provider.getApplication()).thenReturn(application);
+        Mockito.when(provider.getTarget()).thenReturn(target);
+        Mockito.when(provider.getLatencies()).thenReturn(latencies);
+        Mockito.when(provider.getHttpMethod()).thenReturn("GET");
+        Mockito.when(provider.getApiResourceTemplate()).thenReturn("/pets");
+        Mockito.when(provider.getUserAgentHeader()).thenReturn("curl");
+
+        AnalyticsDataSnapshot snapshot = new AnalyticsDataSnapshot(provider);
+        Mockito.verify(provider, Mockito.never()).getApi();
+        Mockito.verify(provider, Mockito.never()).getOperation();
+        Mockito.verify(provider, Mockito.never()).getFaultType();
+        Assert.assertEquals(EventCategory.SUCCESS, snapshot.getEventCategory());
+        Assert.assertEquals(1000L, snapshot.getRequestTime());
+        Assert.assertEquals(200, snapshot.getProxyResponseCode());
+        Assert.assertEquals(200, snapshot.getTargetResponseCode());
+        Assert.assertSame(application, snapshot.getApplication());
+        Assert.assertSame(target, snapshot.getTarget());
+        Assert.assertSame(latencies, snapshot.getLatencies());
+        Assert.assertEquals("curl", snapshot.getUserAgentHeader());
+    }
+
+    @Test
+    public void testMissingApplicationIsReportedWhenRequested() throws Exception {
+
+        SynapseAnalyticsDataProvider provider = Mockito.mock(SynapseAnalyticsDataProvider.class);
+        DataNotFoundException notFound = new DataNotFoundException("Application not found");
+        Mockito.when(provider.getEventCategory()).thenReturn(EventCategory.FAULT);
+        Mockito.when(provider.getFaultType()).thenReturn(FaultCategory.TARGET_CONNECTIVITY);
+        Mockito.when(provider.getApplication()).thenThrow(notFound);
+
+        AnalyticsDataSnapshot snapshot = new AnalyticsDataSnapshot(provider);
+        Mockito.verify(provider).getError(FaultCategory.TARGET_CONNECTIVITY);
+        Assert.assertEquals(FaultCategory.TARGET_CONNECTIVITY, snapshot.getFaultType());
+        try {
+            snapshot.getApplication();
+            Assert.fail("Expected the application lookup failure to be reported");
+        } catch (DataNotFoundException e) {
+            Assert.assertSame(notFound, e);
+        }
+    }
+
+    @Test
+    public void testInvalidRequestIsNotCopied() {
+
+        SynapseAnalyticsDataProvider provider = Mockito.mock(SynapseAnalyticsDataProvider.class);
+        Mockito.when(provider.getEventCategory()).thenReturn(EventCategory.INVALID);
+
+        AnalyticsDataSnapshot snapshot = new AnalyticsDataSnapshot(provider);
+        Assert.assertEquals(EventCategory.INVALID, snapshot.getEventCategory());
+        Mockito.verify(provider, Mockito.never()).getProperties();
+        Mockito.verify(provider, Mockito.never()).getRequestTime();
+    }
+
+    @Test
+    public void testGraphQLOperationsAreSortedBeforePrefixing() {
+
+        Assert.assertEquals("subscription:a,b", SynapseAnalyticsDataProvider
+                .createOperation("POST", "b,a", "subscription:", "GRAPHQL").getApiResourceTemplate());
+        Assert.assertEquals("b,a", SynapseAnalyticsDataProvider
+                .createOperation("POST", "b,a", null, "HTTP").getApiResourceTemplate());
+    }
+}
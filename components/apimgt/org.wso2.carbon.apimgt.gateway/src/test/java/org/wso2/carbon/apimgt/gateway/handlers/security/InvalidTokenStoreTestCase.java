@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for InvalidTokenStore
+ */
+public class InvalidTokenStoreTestCase {
+
+    private static final long TIME_TO_LIVE = 15 * 60 * 1000L;
+
+    @Test
+    public void testCapacityIsRoundedToPowerOfTwo() {
+
+        Assert.assertEquals(8, new InvalidTokenStore(1, TIME_TO_LIVE).getCapacity());
+        Assert.assertEquals(16, new InvalidTokenStore(9, TIME_TO_LIVE).getCapacity());
+        Assert.assertEquals(1024, new InvalidTokenStore(1000, TIME_TO_LIVE).getCapacity());
+    }
+
+    @Test
+    public void testContainsAddedToken() {
+
+        InvalidTokenStore store = new InvalidTokenStore(1024, TIME_TO_LIVE);
+        Assert.assertFalse(store.contains("invalid-token"));
+        store.add("invalid-token");
+        Assert.assertTrue(store.contains("invalid-token"));
+        Assert.assertFalse(store.contains("valid-token"));
+        store.add("invalid-token");
+        Assert.assertEquals(1, store.getInsertCount());
+        Assert.assertEquals(1, store.getHitCount());
+        Assert.assertEquals(3, store.getLookupCount());
+    }
+
+    @Test
+    public void testMemoryIsBoundedByEviction() {
+
+        InvalidTokenStore store = new InvalidTokenStore(1024, TIME_TO_LIVE);
+        int tokenCount = 100000;
+        for (int i = 0; i < tokenCount; i++) {
+            store.add("token-" + i);
+        }
+        Assert.assertEquals(tokenCount, store.getInsertCount());
+        Assert.assertTrue(store.getEvictionCount() >= tokenCount - store.getCapacity());
+        int found = 0;
+        for (int i = 0; i < tokenCount; i++) {
+            if (store.contains("token-" + i)) {
+                found++;
+            }
+        }
+        Assert.assertTrue(found <= store.getCapacity());
+    }
+
+    @Test
+    public void testReferencedTokenSurvivesEviction() {
+
+        InvalidTokenStore store = new InvalidTokenStore(InvalidTokenStore.BUCKET_SIZE, TIME_TO_LIVE);
+        store.add("hot-token");
+        for (int i = 0; i < InvalidTokenStore.BUCKET_SIZE * 4; i++) {
+            Assert.assertTrue(store.contains("hot-token"));
+            store.add("cold-token-" + i);
+        }
+        Assert.assertTrue(store.contains("hot-token"));
+    }
+
+    @Test
+    public void testClear() {
+
+        InvalidTokenStore store = new InvalidTokenStore(64, TIME_TO_LIVE);
+        store.add("invalid-token");
+        store.clear();
+        Assert.assertFalse(store.contains("invalid-token"));
+    }
+
+    @Test
+    public void testTokenExpiresAfterTimeToLive() {
+
+        AtomicLong now = new AtomicLong(1000L);
+        InvalidTokenStore store = new InvalidTokenStore(64, TIME_TO_LIVE, now::get);
+        store.add("invalid-token");
+        now.addAndGet(TIME_TO_LIVE - 1);
+        Assert.assertTrue(store.contains("invalid-token"));
+        now.incrementAndGet();
+        Assert.assertFalse(store.contains("invalid-token"));
+        store.add("invalid-token");
+        Assert.assertTrue(store.contains("invalid-token"));
+    }
+
+    @Test
+    public void testExpiredSlotIsReused() {
+
+        AtomicLong now = new AtomicLong(1000L);
+        InvalidTokenStore store = new InvalidTokenStore(InvalidTokenStore.BUCKET_SIZE, TIME_TO_LIVE, now::get);
+        for (int i = 0; i < InvalidTokenStore.BUCKET_SIZE; i++) {
+            store.add("expired-token-" + i);
+        }
+        now.addAndGet(TIME_TO_LIVE);
+        store.add("invalid-token");
+        Assert.assertTrue(store.contains("invalid-token"));
+        Assert.assertEquals(0, store.getEvictionCount());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.streaming.sse;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SseEventAccumulatorTestCase {
+
+    private final List<long[]> batches = new ArrayList<>();
+    private final Set<SseEventAccumulator> activeAccumulators = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void setup() {
+
+        batches.clear();
+        activeAccumulators.clear();
+    }
+
+    @Test
+    public void testEventsAreCountedAcrossBuffers() {
+
+        SseEventAccumulator accumulator = createAccumulator(100, 1000);
+        ByteBuffer first = toBuffer("data: first\n");
+        Assert.assertEquals(0, accumulator.countEvents(first));
+        Assert.assertEquals(0, first.position());
+        Assert.assertEquals(2, accumulator.countEvents(toBuffer("\ndata: second\n\n")));
+        Assert.assertEquals(1, accumulator.countEvents(toBuffer("data: third\n\n\ndata: fourth")));
+        Assert.assertEquals(0, accumulator.countEvents(toBuffer("\n")));
+    }
+
+    @Test
+    public void testBatchIsPublishedWhenFull() {
+
+        SseEventAccumulator accumulator = createAccumulator(3, 1000);
+        accumulator.add(1, 10, 0);
+        accumulator.add(1, 10, 1);
+        Assert.assertTrue(batches.isEmpty());
+        accumulator.add(2, 20, 2);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertArrayEquals(new long[]{4, 40}, batches.get(0));
+        accumulator.add(1, 10, 3);
+        Assert.assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void testBatchIsPublishedAfterFlushInterval() {
+
+        SseEventAccumulator accumulator = createAccumulator(100, 1000);
+        accumulator.add(1, 10, 0);
+        accumulator.add(0, 5, 500);
+        Assert.assertTrue(batches.isEmpty());
+        accumulator.add(1, 10, 1000);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertArrayEquals(new long[]{2, 25}, batches.get(0));
+    }
+
+    @Test
+    public void testPendingEventsAreFlushedAndIdleStreamsRemoved() {
+
+        SseEventAccumulator accumulator = createAccumulator(100, 1000);
+        Assert.assertTrue(activeAccumulators.isEmpty());
+        accumulator.add(2, 20, 0);
+        Assert.assertTrue(activeAccumulators.contains(accumulator));
+        accumulator.flushIfDue(500, 60000);
+        Assert.assertTrue(batches.isEmpty());
+        accumulator.flushIfDue(1000, 60000);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertArrayEquals(new long[]{2, 20}, batches.get(0));
+        accumulator.flushIfDue(30000, 60000);
+        Assert.assertTrue(activeAccumulators.contains(accumulator));
+        accumulator.flushIfDue(60000, 60000);
+        Assert.assertFalse(activeAccumulators.contains(accumulator));
+        accumulator.add(1, 10, 61000);
+        Assert.assertTrue(activeAccumulators.contains(accumulator));
+    }
+
+    private SseEventAccumulator createAccumulator(int maxBatchEvents, long flushIntervalMillis) {
+
+        return new SseEventAccumulator((eventCount, byteCount) -> batches.add(new long[]{eventCount, byteCount}),
+                activeAccumulators, maxBatchEvents, flushIntervalMillis, 0);
+    }
+
+    private static ByteBuffer toBuffer(String text) {
+
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.inbound;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
+import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
+import org.wso2.carbon.apimgt.keymgt.model.entity.API;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test class for InboundMessageContextDataHolder.
+ */
+public class InboundMessageContextDataHolderTest {
+
+    private final InboundMessageContextDataHolder dataHolder = InboundMessageContextDataHolder.getInstance();
+
+    @After
+    public void cleanup() {
+        dataHolder.getInboundMessageContextMap().clear();
+    }
+
+    @Test
+    public void testGetOrCreateInboundMessageContext() {
+        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        InboundMessageContext inboundMessageContext = dataHolder.getOrCreateInboundMessageContext("conn-1", ctx);
+        Assert.assertSame(ctx, inboundMessageContext.getCtx());
+        Assert.assertSame(inboundMessageContext, dataHolder.getOrCreateInboundMessageContext("conn-1", ctx));
+        Assert.assertEquals(1, dataHolder.getConnectionCount());
+        dataHolder.removeInboundMessageContextForConnection("conn-1");
+        Assert.assertEquals(0, dataHolder.getConnectionCount());
+    }
+
+    @Test
+    public void testGetInboundMessageContextsByApiTenantAndApplication() {
+        InboundMessageContext first = createContext("conn-1", "api-1", "carbon.super", "1");
+        InboundMessageContext second = createContext("conn-2", "api-1", "wso2.com", "2");
+        InboundMessageContext third = createContext("conn-3", "api-2", "wso2.com", "2");
+        dataHolder.getOrCreateInboundMessageContext("conn-4", Mockito.mock(ChannelHandlerContext.class));
+
+        List<InboundMessageContext> apiContexts = dataHolder.getInboundMessageContextsForApi("api-1");
+        Assert.assertEquals(2, apiContexts.size());
+        Assert.assertTrue(apiContexts.contains(first) && apiContexts.contains(second));
+        List<InboundMessageContext> tenantContexts = dataHolder.getInboundMessageContextsForTenant("wso2.com");
+        Assert.assertEquals(2, tenantContexts.size());
+        Assert.assertTrue(tenantContexts.contains(second) && tenantContexts.contains(third));
+        List<InboundMessageContext> applicationContexts = dataHolder.getInboundMessageContextsForApplication("1");
+        Assert.assertEquals(1, applicationContexts.size());
+        Assert.assertSame(first, applicationContexts.get(0));
+    }
+
+    @Test
+    public void testGetInboundMessageContextsForSubscription() {
+        InboundMessageContext first = createContext("conn-1", "api-1", "carbon.super", "1");
+        createContext("conn-2", "api-2", "carbon.super", "1");
+        createContext("conn-3", "api-1", "carbon.super", "2");
+
+        List<InboundMessageContext> contexts = dataHolder.getInboundMessageContextsForSubscription("api-1", "1");
+        Assert.assertEquals(1, contexts.size());
+        Assert.assertSame(first, contexts.get(0));
+    }
+
+    @Test
+    public void testGetInboundMessageContextsForToken() {
+        InboundMessageContext opaqueTokenContext = createContext("conn-1", "api-1", "carbon.super", "1");
+        opaqueTokenContext.setToken("opaque-token");
+        InboundMessageContext jwtContext = createContext("conn-2", "api-1", "carbon.super", "1");
+        jwtContext.setToken("header.payload.signature");
+        jwtContext.setSignedJWTInfo(new SignedJWTInfo("header.payload.signature", null,
+                new JWTClaimsSet.Builder().jwtID("jti-1").build()));
+        createContext("conn-3", "api-1", "carbon.super", "1").setToken("other-token");
+
+        List<InboundMessageContext> contexts = dataHolder.getInboundMessageContextsForToken("opaque-token");
+        Assert.assertEquals(1, contexts.size());
+        Assert.assertSame(opaqueTokenContext, contexts.get(0));
+        contexts = dataHolder.getInboundMessageContextsForToken("jti-1");
+        Assert.assertEquals(1, contexts.size());
+        Assert.assertSame(jwtContext, contexts.get(0));
+        Assert.assertTrue(dataHolder.getInboundMessageContextsForToken("unknown").isEmpty());
+    }
+
+    @Test
+    public void testCloseConnections() {
+        InboundMessageContext inboundMessageContext = createContext("conn-1", "api-1", "carbon.super", "1");
+        dataHolder.closeConnections(dataHolder.getInboundMessageContextsForApi("api-1"), 1001, "API removed");
+        Mockito.verify(inboundMessageContext.getCtx()).writeAndFlush(Mockito.any());
+        Mockito.verify(inboundMessageContext.getCtx()).close();
+    }
+
+    @Test
+    public void testFrameCounters() {
+        InboundMessageContext inboundMessageContext = new InboundMessageContext();
+        inboundMessageContext.recordInboundFrame(
+                new TextWebSocketFrame(Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8)));
+        inboundMessageContext.recordOutboundFrame(
+                new TextWebSocketFrame(Unpooled.copiedBuffer("hello world", StandardCharsets.UTF_8)));
+        inboundMessageContext.recordOutboundFrame(Mockito.mock(TextWebSocketFrame.class));
+        Assert.assertEquals(1, inboundMessageContext.getInboundFrameCount());
+        Assert.assertEquals(5, inboundMessageContext.getInboundByteCount());
+        Assert.assertEquals(2, inboundMessageContext.getOutboundFrameCount());
+        Assert.assertEquals(11, inboundMessageContext.getOutboundByteCount());
+    }
+
+    private InboundMessageContext createContext(String connectionId, String apiUuid, String tenantDomain,
+                                                String applicationId) {
+        InboundMessageContext inboundMessageContext =
+                dataHolder.getOrCreateInboundMessageContext(connectionId, Mockito.mock(ChannelHandlerContext.class));
+        API api = new API();
+        api.setUuid(apiUuid);
+        inboundMessageContext.setElectedAPI(api);
+        inboundMessageContext.setTenantDomain(tenantDomain);
+        AuthenticationContext authContext = new AuthenticationContext();
+        authContext.setApplicationId(applicationId);
+        inboundMessageContext.setAuthContext(authContext);
+        return inboundMessageContext;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.inbound.websocket.throttling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameRateLimitTestCase {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testFrameRateLimit() {
+
+        FrameRateLimit frameRateLimit = new FrameRateLimit(2, 0, 0);
+        Assert.assertTrue(frameRateLimit.tryAcquire(10, 0));
+        Assert.assertTrue(frameRateLimit.tryAcquire(10, 0));
+        Assert.assertFalse(frameRateLimit.tryAcquire(10, 0));
+        Assert.assertTrue(frameRateLimit.tryAcquire(10, SECOND / 2));
+        Assert.assertFalse(frameRateLimit.tryAcquire(10, SECOND / 2));
+    }
+
+    @Test
+    public void testByteRateLimit() {
+
+        FrameRateLimit frameRateLimit = new FrameRateLimit(0, 100, 0);
+        Assert.assertTrue(frameRateLimit.tryAcquire(60, 0));
+        Assert.assertFalse(frameRateLimit.tryAcquire(60, 0));
+        Assert.assertTrue(frameRateLimit.tryAcquire(40, 0));
+        Assert.assertFalse(frameRateLimit.tryAcquire(1, 0));
+        Assert.assertTrue(frameRateLimit.tryAcquire(50, SECOND / 2));
+    }
+
+    @Test
+    public void testFrameLargerThanByteRate() {
+
+        FrameRateLimit frameRateLimit = new FrameRateLimit(0, 100, 0);
+        Assert.assertTrue(frameRateLimit.tryAcquire(300, 0));
+        Assert.assertFalse(frameRateLimit.tryAcquire(1, SECOND));
+        Assert.assertTrue(frameRateLimit.tryAcquire(1, 3 * SECOND));
+    }
+
+    @Test
+    public void testUnlimited() {
+
+        Assert.assertTrue(new FrameRateLimit(0, 0, 0).isUnlimited());
+        Assert.assertFalse(new FrameRateLimit(1, 0, 0).isUnlimited());
+        Assert.assertEquals(SECOND, trackAccess(new FrameRateLimit(0, 10, 0)));
+    }
+
+    private long trackAccess(FrameRateLimit frameRateLimit) {
+
+        frameRateLimit.tryAcquire(1, SECOND);
+        return frameRateLimit.getLastAccessTime();
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.wso2.carbon.apimgt.gateway.inbound.websocket.utils;
 
+import com.nimbusds.jwt.JWTClaimsSet;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
@@ -32,7 +33,10 @@ import org.wso2.carbon.apimgt.api.APIManagementException;
 import org.wso2.carbon.apimgt.gateway.handlers.WebsocketUtil;
 import org.wso2.carbon.apimgt.gateway.handlers.WebsocketWSClient;
 import org.wso2.carbon.apimgt.gateway.handlers.graphQL.GraphQLConstants;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APIKeyValidator;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
+import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
+import org.wso2.carbon.apimgt.gateway.handlers.security.jwt.JWTValidator;
 import org.wso2.carbon.apimgt.gateway.handlers.streaming.websocket.WebSocketApiConstants;
 import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContext;
 import org.wso2.carbon.apimgt.gateway.inbound.websocket.InboundProcessorResponseDTO;
@@ -44,6 +48,7 @@ import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
 import org.wso2.carbon.apimgt.impl.dto.APIKeyValidationInfoDTO;
 import org.wso2.carbon.apimgt.impl.dto.VerbInfoDTO;
 import org.wso2.carbon.apimgt.impl.jwt.JWTValidationService;
+import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.keymgt.model.entity.API;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
@@ -244,6 +249,65 @@ public class InboundWebsocketProcessorUtilTest {
         Assert.assertTrue(responseDTO.isError());
     }
 
+    @Test
+    public void authenticateTokenWithCachedAuthentication() {
+        InboundMessageContext inboundMessageContext = createWebSocketApiMessageContext();
+        inboundMessageContext.setJWTToken(true);
+        inboundMessageContext.setSignedJWTInfo(new SignedJWTInfo(null, null,
+                new JWTClaimsSet.Builder().jwtID(UUID.randomUUID().toString()).build()));
+        inboundMessageContext.setAuthenticationExpiryTime(System.currentTimeMillis() + 60000);
+        PowerMockito.stub(PowerMockito.method(InboundWebsocketProcessorUtil.class, "authenticateGraphQLJWTToken"))
+                .toReturn(false);
+        InboundProcessorResponseDTO responseDTO = InboundWebsocketProcessorUtil.authenticateToken(
+                inboundMessageContext);
+        Assert.assertFalse(responseDTO.isError());
+
+        inboundMessageContext.setAuthenticationExpiryTime(System.currentTimeMillis() - 1);
+        responseDTO = InboundWebsocketProcessorUtil.authenticateToken(inboundMessageContext);
+        Assert.assertTrue(responseDTO.isError());
+    }
+
+    @Test
+    public void authenticateWSJWTTokenWithTenantValidators() throws Exception {
+        APIKeyValidator apiKeyValidator = Mockito.mock(APIKeyValidator.class);
+        PowerMockito.whenNew(APIKeyValidator.class).withNoArguments().thenReturn(apiKeyValidator);
+        JWTValidator fooValidator = Mockito.mock(JWTValidator.class);
+        JWTValidator barValidator = Mockito.mock(JWTValidator.class);
+        PowerMockito.whenNew(JWTValidator.class).withArguments(apiKeyValidator, "foo.com").thenReturn(fooValidator);
+        PowerMockito.whenNew(JWTValidator.class).withArguments(apiKeyValidator, "bar.com").thenReturn(barValidator);
+        AuthenticationContext authenticationContext = new AuthenticationContext();
+        authenticationContext.setAuthenticated(true);
+        Mockito.when(fooValidator.authenticateForWebSocket(Mockito.any(SignedJWTInfo.class), Mockito.anyString(),
+                Mockito.anyString(), Mockito.anyString())).thenReturn(authenticationContext);
+        Mockito.when(barValidator.authenticateForWebSocket(Mockito.any(SignedJWTInfo.class), Mockito.anyString(),
+                Mockito.anyString(), Mockito.anyString())).thenReturn(authenticationContext);
+
+        InboundMessageContext fooContext = createWebSocketApiMessageContext();
+        fooContext.setTenantDomain("foo.com");
+        fooContext.setApiContext("/t/foo.com/wscontext");
+        fooContext.setVersion("1.0.0");
+        fooContext.setMatchingResource("/*");
+        fooContext.setSignedJWTInfo(new SignedJWTInfo(null, null, new JWTClaimsSet.Builder().build()));
+        InboundMessageContext barContext = createWebSocketApiMessageContext();
+        barContext.setTenantDomain("bar.com");
+        barContext.setApiContext("/t/bar.com/wscontext");
+        barContext.setVersion("1.0.0");
+        barContext.setMatchingResource("/*");
+        barContext.setSignedJWTInfo(new SignedJWTInfo(null, null, new JWTClaimsSet.Builder().build()));
+
+        Assert.assertTrue(InboundWebsocketProcessorUtil.authenticateWSJWTToken(fooContext));
+        Assert.assertTrue(InboundWebsocketProcessorUtil.authenticateWSJWTToken(barContext));
+        Assert.assertTrue(InboundWebsocketProcessorUtil.authenticateWSJWTToken(fooContext));
+        Mockito.verify(fooValidator, Mockito.times(2)).authenticateForWebSocket(fooContext.getSignedJWTInfo(),
+                "/t/foo.com/wscontext", "1.0.0", "/*");
+        Mockito.verify(barValidator, Mockito.times(1)).authenticateForWebSocket(barContext.getSignedJWTInfo(),
+                "/t/bar.com/wscontext", "1.0.0", "/*");
+        Mockito.verify(fooValidator, Mockito.never()).authenticateForWebSocket(Mockito.eq(barContext
+                .getSignedJWTInfo()), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+        PowerMockito.verifyNew(JWTValidator.class, Mockito.times(2)).withArguments(apiKeyValidator, "foo.com");
+        PowerMockito.verifyNew(JWTValidator.class, Mockito.times(1)).withArguments(apiKeyValidator, "bar.com");
+    }
+
     private InboundMessageContext createWebSocketApiMessageContext() {
         API websocketAPI = new API(UUID.randomUUID().toString(), 1, "admin", "WSAPI", "1.0.0", "/wscontext",
                 "Unlimited", APIConstants.API_TYPE_WS, APIConstants.PUBLISHED_STATUS, false);
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.listeners;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.wso2.carbon.apimgt.gateway.handlers.streaming.websocket.WebSocketApiConstants;
+import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContext;
+import org.wso2.carbon.apimgt.gateway.inbound.InboundMessageContextDataHolder;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.token.RevokedTokenService;
+
+import javax.jms.TextMessage;
+import javax.jms.Topic;
+
+/**
+ * Test class for GatewayTokenRevocationMessageListener.
+ */
+public class GatewayTokenRevocationMessageListenerTest {
+
+    private final InboundMessageContextDataHolder dataHolder = InboundMessageContextDataHolder.getInstance();
+    private RevokedTokenService revokedTokenService;
+
+    @Before
+    public void setup() {
+        revokedTokenService = Mockito.mock(RevokedTokenService.class);
+        ServiceReferenceHolder.getInstance().setRevokedTokenService(revokedTokenService);
+    }
+
+    @After
+    public void cleanup() {
+        dataHolder.getInboundMessageContextMap().clear();
+        ServiceReferenceHolder.getInstance().setRevokedTokenService(null);
+    }
+
+    @Test
+    public void testRevokedTokenClosesWebSocketConnections() throws Exception {
+        ChannelHandlerContext revokedCtx = Mockito.mock(ChannelHandlerContext.class);
+        dataHolder.getOrCreateInboundMessageContext("conn-1", revokedCtx).setToken("revoked-token");
+        ChannelHandlerContext otherCtx = Mockito.mock(ChannelHandlerContext.class);
+        dataHolder.getOrCreateInboundMessageContext("conn-2", otherCtx).setToken("other-token");
+
+        new GatewayTokenRevocationMessageListener().onMessage(createRevocationMessage("revoked-token"));
+
+        Mockito.verify(revokedTokenService).removeTokenFromGatewayCache("revoked-token", false);
+        ArgumentCaptor<CloseWebSocketFrame> frame = ArgumentCaptor.forClass(CloseWebSocketFrame.class);
+        Mockito.verify(revokedCtx).writeAndFlush(frame.capture());
+        Assert.assertEquals(WebSocketApiConstants.FrameErrorConstants.API_AUTH_INVALID_CREDENTIALS,
+                frame.getValue().statusCode());
+        Mockito.verify(revokedCtx).close();
+        Mockito.verify(otherCtx, Mockito.never()).close();
+    }
+
+    private TextMessage createRevocationMessage(String revokedToken) throws Exception {
+        Topic topic = Mockito.mock(Topic.class);
+        Mockito.when(topic.getTopicName()).thenReturn(APIConstants.TopicNames.TOPIC_TOKEN_REVOCATION);
+        TextMessage message = Mockito.mock(TextMessage.class);
+        Mockito.when(message.getJMSDestination()).thenReturn(topic);
+        Mockito.when(message.getText()).thenReturn("{\"" + APIConstants.EVENT_PAYLOAD + "\":{\""
+                + APIConstants.EVENT_PAYLOAD_DATA + "\":{\"" + APIConstants.REVOKED_TOKEN_KEY + "\":\"" + revokedToken
+                + "\",\"" + APIConstants.REVOKED_TOKEN_EXPIRY_TIME + "\":0,\"" + APIConstants.REVOKED_TOKEN_TYPE
+                + "\":\"Default\"}}}");
+        return message;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.listeners;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.throttling.APIThrottleDataService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.jms.TextMessage;
+import javax.jms.Topic;
+
+/**
+ * Test class for JMSMessageListener.
+ */
+public class JMSMessageListenerTest {
+
+    private APIThrottleDataService throttleDataService;
+
+    @Before
+    public void setup() {
+        throttleDataService = Mockito.mock(APIThrottleDataService.class);
+        ServiceReferenceHolder.getInstance().setAPIThrottleDataService(throttleDataService);
+    }
+
+    @After
+    public void cleanup() {
+        ServiceReferenceHolder.getInstance().setAPIThrottleDataService(null);
+    }
+
+    @Test
+    public void testThrottleBatchWithInvalidConditions() throws Exception {
+        String invalidConditions = Base64.getEncoder().encodeToString("not json".getBytes(StandardCharsets.UTF_8));
+        String decisions = "[{\"throttleKey\":\"/pizzashack/1.0.0:1.0.0_condition_1\",\"isThrottled\":true,"
+                + "\"expiryTimeStamp\":2000,\"evaluatedConditions\":\"" + invalidConditions + "\"},"
+                + "{\"throttleKey\":\"1:admin@carbon.super\",\"isThrottled\":true,\"expiryTimeStamp\":3000},"
+                + "{\"throttleKey\":\"2:admin@carbon.super\",\"isThrottled\":false,\"expiryTimeStamp\":0}]";
+
+        new JMSMessageListener().onMessage(createBatchMessage(decisions));
+
+        // The decisions after the one with invalid conditions are still applied
+        ArgumentCaptor<Map> throttledKeys = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(throttleDataService).addThrottleDataFromMap(throttledKeys.capture());
+        Assert.assertEquals(2, throttledKeys.getValue().size());
+        Assert.assertEquals(2000L, throttledKeys.getValue().get("/pizzashack/1.0.0:1.0.0_condition_1"));
+        Assert.assertEquals(3000L, throttledKeys.getValue().get("1:admin@carbon.super"));
+        Mockito.verify(throttleDataService).removeThrottleData("2:admin@carbon.super");
+    }
+
+    private TextMessage createBatchMessage(String decisions) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(decisions.getBytes(StandardCharsets.UTF_8));
+        }
+        Topic topic = Mockito.mock(Topic.class);
+        Mockito.when(topic.getTopicName()).thenReturn(APIConstants.TopicNames.TOPIC_THROTTLE_DATA);
+        TextMessage message = Mockito.mock(TextMessage.class);
+        Mockito.when(message.getJMSDestination()).thenReturn(topic);
+        Mockito.when(message.getText()).thenReturn("{\"" + APIConstants.EVENT_PAYLOAD + "\":{\""
+                + APIConstants.EVENT_PAYLOAD_DATA + "\":{\"" + APIConstants.AdvancedThrottleConstants.THROTTLE_DECISIONS
+                + "\":\"" + Base64.getEncoder().encodeToString(outputStream.toByteArray()) + "\"}}}");
+        return message;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.throttling.local;
+
+import org.apache.synapse.MessageContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.VerbInfoDTO;
+import org.wso2.carbon.apimgt.keymgt.SubscriptionDataHolder;
+import org.wso2.carbon.apimgt.keymgt.model.SubscriptionDataStore;
+import org.wso2.carbon.apimgt.keymgt.model.entity.ApplicationPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.QuotaPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.RequestCountLimit;
+import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionPolicy;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceReferenceHolder.class, SubscriptionDataHolder.class})
+public class LocalTrafficManagerTestCase {
+
+    private static final String TENANT_DOMAIN = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    private static final String SUBSCRIPTION_KEY = "1:/pizzashack/1.0.0:Gold";
+    private static final String APPLICATION_KEY = "1:admin@carbon.super";
+
+    private APIManagerConfiguration apiManagerConfiguration;
+    private ThrottleDataHolder throttleDataHolder;
+    private VerbInfoDTO verbInfo;
+    private AuthenticationContext authContext;
+    private MessageContext messageContext;
+
+    @Before
+    public void setUp() {
+
+        PowerMockito.mockStatic(ServiceReferenceHolder.class);
+        ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
+        PowerMockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
+        apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
+        Mockito.when(serviceReferenceHolder.getAPIManagerConfiguration()).thenReturn(apiManagerConfiguration);
+        throttleDataHolder = new ThrottleDataHolder();
+        Mockito.when(serviceReferenceHolder.getThrottleDataHolder()).thenReturn(throttleDataHolder);
+
+        SubscriptionDataStore subscriptionDataStore = Mockito.mock(SubscriptionDataStore.class);
+        SubscriptionPolicy subscriptionPolicy = new SubscriptionPolicy();
+        subscriptionPolicy.setDefaultLimit(getRequestCountLimit(2));
+        Mockito.when(subscriptionDataStore.getSubscriptionPolicyByName("Gold", MultitenantConstants.SUPER_TENANT_ID))
+                .thenReturn(subscriptionPolicy);
+        ApplicationPolicy applicationPolicy = new ApplicationPolicy();
+        applicationPolicy.setDefaultLimit(getRequestCountLimit(3));
+        Mockito.when(subscriptionDataStore.getApplicationPolicyByName("10PerDay",
+                MultitenantConstants.SUPER_TENANT_ID)).thenReturn(applicationPolicy);
+        PowerMockito.mockStatic(SubscriptionDataHolder.class);
+        SubscriptionDataHolder subscriptionDataHolder = Mockito.mock(SubscriptionDataHolder.class);
+        PowerMockito.when(SubscriptionDataHolder.getInstance()).thenReturn(subscriptionDataHolder);
+        Mockito.when(subscriptionDataHolder.getTenantSubscriptionStore(TENANT_DOMAIN))
+                .thenReturn(subscriptionDataStore);
+
+        verbInfo = new VerbInfoDTO();
+        verbInfo.setThrottling(APIConstants.UNLIMITED_TIER);
+        authContext = new AuthenticationContext();
+        messageContext = Mockito.mock(MessageContext.class);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+
+        Assert.assertFalse(new LocalTrafficManager().isEnabled());
+    }
+
+    @Test
+    public void testSubscriptionAndApplicationLimits() {
+
+        LocalTrafficManager localTrafficManager = getEnabledLocalTrafficManager();
+        processRequest(localTrafficManager, "Gold", "10PerDay");
+        Assert.assertFalse(throttleDataHolder.getThrottleDataMap().containsKey(SUBSCRIPTION_KEY));
+        Assert.assertFalse(throttleDataHolder.getThrottleDataMap().containsKey(APPLICATION_KEY));
+
+        // The second request reaches the subscription limit and the third one the application limit
+        processRequest(localTrafficManager, "Gold", "10PerDay");
+        Long subscriptionExpiry = throttleDataHolder.getThrottleDataMap().get(SUBSCRIPTION_KEY);
+        Assert.assertNotNull(subscriptionExpiry);
+        Assert.assertTrue(subscriptionExpiry > System.currentTimeMillis());
+        Assert.assertFalse(throttleDataHolder.getThrottleDataMap().containsKey(APPLICATION_KEY));
+        processRequest(localTrafficManager, "Gold", "10PerDay");
+        Assert.assertEquals(subscriptionExpiry, throttleDataHolder.getThrottleDataMap().get(APPLICATION_KEY));
+        Assert.assertEquals(2, localTrafficManager.getCounterCount());
+    }
+
+    @Test
+    public void testUnlimitedTiersAreNotCounted() {
+
+        LocalTrafficManager localTrafficManager = getEnabledLocalTrafficManager();
+        processRequest(localTrafficManager, APIConstants.UNLIMITED_TIER, APIConstants.UNLIMITED_TIER);
+        Assert.assertEquals(0, localTrafficManager.getCounterCount());
+        Assert.assertTrue(throttleDataHolder.getThrottleDataMap().isEmpty());
+    }
+
+    private LocalTrafficManager getEnabledLocalTrafficManager() {
+
+        Mockito.when(apiManagerConfiguration.getFirstProperty(APIConstants.LOCAL_TRAFFIC_MANAGER_ENABLED))
+                .thenReturn("true");
+        LocalTrafficManager localTrafficManager = new LocalTrafficManager();
+        Assert.assertTrue(localTrafficManager.isEnabled());
+        return localTrafficManager;
+    }
+
+    private void processRequest(LocalTrafficManager localTrafficManager, String subscriptionLevelTier,
+                                String applicationLevelTier) {
+
+        localTrafficManager.processRequest(verbInfo, APPLICATION_KEY, applicationLevelTier,
+                "/pizzashack/1.0.0", null, SUBSCRIPTION_KEY, subscriptionLevelTier, "admin", TENANT_DOMAIN,
+                TENANT_DOMAIN, messageContext, authContext);
+    }
+
+    private static QuotaPolicy getRequestCountLimit(long requestCount) {
+
+        RequestCountLimit requestCountLimit = new RequestCountLimit();
+        requestCountLimit.setRequestCount(requestCount);
+        requestCountLimit.setTimeUnit("day");
+        requestCountLimit.setUnitTime(1);
+        QuotaPolicy quotaPolicy = new QuotaPolicy();
+        quotaPolicy.setQuotaType("requestCount");
+        quotaPolicy.setRequestCount(requestCountLimit);
+        return quotaPolicy;
+    }
+}
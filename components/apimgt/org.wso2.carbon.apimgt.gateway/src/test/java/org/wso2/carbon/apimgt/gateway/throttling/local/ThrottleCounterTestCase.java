@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.throttling.local;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ThrottleCounterTestCase {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void testRequestCountLimit() {
+
+        ThrottleCounter counter = new ThrottleCounter();
+        long time = 10 * MINUTE + 1000;
+        Assert.assertEquals(0, counter.add(1, 3, MINUTE, time));
+        Assert.assertEquals(0, counter.add(1, 3, MINUTE, time + 1));
+        Assert.assertEquals(11 * MINUTE, counter.add(1, 3, MINUTE, time + 2));
+        Assert.assertEquals(11 * MINUTE, counter.add(1, 3, MINUTE, time + 3));
+    }
+
+    @Test
+    public void testWindowIsAlignedToEpoch() {
+
+        ThrottleCounter counter = new ThrottleCounter();
+        Assert.assertEquals(11 * MINUTE, counter.add(1, 1, MINUTE, 11 * MINUTE - 1));
+        Assert.assertFalse(counter.isExpired(11 * MINUTE - 1));
+        Assert.assertTrue(counter.isExpired(11 * MINUTE));
+        Assert.assertEquals(0, counter.add(1, 2, MINUTE, 11 * MINUTE));
+        Assert.assertEquals(12 * MINUTE, counter.add(1, 2, MINUTE, 12 * MINUTE - 1));
+    }
+
+    @Test
+    public void testBandwidthLimit() {
+
+        ThrottleCounter counter = new ThrottleCounter();
+        Assert.assertEquals(0, counter.add(600, 1024, MINUTE, 0));
+        Assert.assertEquals(MINUTE, counter.add(600, 1024, MINUTE, 1));
+    }
+
+    @Test
+    public void testWindowSizeChange() {
+
+        ThrottleCounter counter = new ThrottleCounter();
+        Assert.assertEquals(MINUTE, counter.add(1, 1, MINUTE, 1000));
+        Assert.assertEquals(0, counter.add(1, 2, 2 * MINUTE, 1000));
+    }
+
+    @Test
+    public void testConcurrentRequests() throws InterruptedException {
+
+        ThrottleCounter counter = new ThrottleCounter();
+        int threads = 8;
+        int requestsPerThread = 1000;
+        int limit = 5000;
+        AtomicInteger throttled = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < requestsPerThread; j++) {
+                    if (counter.add(1, limit, MINUTE, 1000) > 0) {
+                        throttled.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executorService.shutdown();
+        Assert.assertEquals(threads * requestsPerThread - limit + 1, throttled.get());
+    }
+}
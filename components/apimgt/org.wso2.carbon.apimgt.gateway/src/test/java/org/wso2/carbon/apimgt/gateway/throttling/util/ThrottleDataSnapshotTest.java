@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.throttling.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.carbon.apimgt.gateway.dto.IPRange;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ThrottleDataSnapshotTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String NONE = "none";
+    private static final String RESOURCE_KEY = "/pizzashack/1.0.0:1.0.0:/menu:GET";
+    private static final String SUBSCRIPTION_KEY = "/pizzashack/1.0.0:1.0.0:admin-DefaultApplication";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRestoreDropsExpiredThrottleDecisions() throws Exception {
+
+        File snapshotFile = new File(temporaryFolder.getRoot(), "data" + File.separator + "throttle-data.snapshot");
+        ThrottleDataHolder throttleDataHolder = createThrottleDataHolder();
+        new ThrottleDataSnapshot(throttleDataHolder, snapshotFile).write();
+        Assert.assertTrue(snapshotFile.isFile());
+
+        ThrottleDataHolder restoredHolder = new ThrottleDataHolder();
+        new ThrottleDataSnapshot(restoredHolder, snapshotFile).restore();
+        Assert.assertTrue(restoredHolder.isThrottled("active"));
+        Assert.assertFalse(restoredHolder.getThrottleDataMap().containsKey("expired"));
+        Assert.assertTrue(restoredHolder.isRequestBlocked("/pizzashack/1.0.0", "admin:DefaultApplication",
+                "admin", "127.0.0.1", TENANT_DOMAIN, SUBSCRIPTION_KEY));
+        Assert.assertTrue(restoredHolder.isRequestBlocked(NONE, NONE, NONE, "10.0.0.1", TENANT_DOMAIN,
+                SUBSCRIPTION_KEY));
+        Assert.assertTrue(restoredHolder.isRequestBlocked("/pizzashack/1.0.0", NONE, NONE, "10.0.0.1",
+                TENANT_DOMAIN, NONE));
+        Assert.assertTrue(restoredHolder.isRequestBlocked(NONE, NONE, NONE, "127.0.0.1", TENANT_DOMAIN, NONE));
+        Assert.assertFalse(restoredHolder.isRequestBlocked(NONE, NONE, NONE, "10.0.0.1", TENANT_DOMAIN, NONE));
+        Assert.assertTrue(restoredHolder.isKeyTemplatesPresent());
+        Assert.assertEquals("$userId", restoredHolder.getKeyTemplateMap().get("$userId"));
+    }
+
+    @Test
+    public void testReconcileRemovesDeletedEntries() throws Exception {
+
+        File snapshotFile = temporaryFolder.newFile("throttle-data.snapshot");
+        new ThrottleDataSnapshot(createThrottleDataHolder(), snapshotFile).write();
+
+        ThrottleDataHolder restoredHolder = new ThrottleDataHolder();
+        ThrottleDataSnapshot snapshot = new ThrottleDataSnapshot(restoredHolder, snapshotFile);
+        snapshot.restore();
+        snapshot.reconcileBlockingConditions(Collections.<String, String>emptyMap(),
+                Collections.singletonMap("admin:DefaultApplication", "admin:DefaultApplication"),
+                Collections.<String, String>emptyMap(), Collections.<String, Set<IPRange>>emptyMap(),
+                Collections.<String, String>emptyMap());
+        snapshot.reconcileKeyTemplates(Collections.<String, String>emptyMap());
+
+        Assert.assertFalse(restoredHolder.isRequestBlocked("/pizzashack/1.0.0", NONE, "admin", "10.0.0.1",
+                TENANT_DOMAIN, NONE));
+        Assert.assertTrue(restoredHolder.isRequestBlocked(NONE, "admin:DefaultApplication", NONE, "10.0.0.1",
+                TENANT_DOMAIN, NONE));
+        Assert.assertFalse(restoredHolder.isRequestBlocked(NONE, NONE, NONE, "127.0.0.1", TENANT_DOMAIN, NONE));
+        Assert.assertFalse(restoredHolder.isRequestBlocked(NONE, NONE, NONE, "10.0.0.1", TENANT_DOMAIN,
+                SUBSCRIPTION_KEY));
+        Assert.assertTrue(restoredHolder.getKeyTemplateMap().isEmpty());
+        Assert.assertTrue(restoredHolder.isThrottled("active"));
+    }
+
+    @Test
+    public void testRestoreResourceLevelThrottleKey() throws Exception {
+
+        File snapshotFile = temporaryFolder.newFile("throttle-data.snapshot");
+        ThrottleDataHolder throttleDataHolder = createThrottleDataHolder();
+        long currentTime = System.currentTimeMillis();
+        ConditionDto.HeaderConditions headerConditions = new ConditionDto.HeaderConditions();
+        headerConditions.setValues(Collections.singletonMap("host", "pizzashack.com"));
+        ConditionDto conditionDto = new ConditionDto();
+        conditionDto.setHeaderConditions(headerConditions);
+        throttleDataHolder.addThrottleData(RESOURCE_KEY + "_condition_0", currentTime + 60000);
+        throttleDataHolder.addThrottledApiConditions(RESOURCE_KEY, "_condition_0",
+                Collections.singletonList(conditionDto));
+        throttleDataHolder.addThrottledAPIKey(RESOURCE_KEY, currentTime + 60000);
+        throttleDataHolder.addThrottledApiConditions("/expired/1.0.0:1.0.0", "_default",
+                Collections.<ConditionDto>emptyList());
+        throttleDataHolder.addThrottledAPIKey("/expired/1.0.0:1.0.0", currentTime - 60000);
+        new ThrottleDataSnapshot(throttleDataHolder, snapshotFile).write();
+
+        ThrottleDataHolder restoredHolder = new ThrottleDataHolder();
+        new ThrottleDataSnapshot(restoredHolder, snapshotFile).restore();
+        Assert.assertTrue(restoredHolder.isAPIThrottled(RESOURCE_KEY));
+        Assert.assertTrue(restoredHolder.isConditionsAvailable(RESOURCE_KEY));
+        List<ConditionDto> conditions = restoredHolder.getConditionDtoMap(RESOURCE_KEY).get("_condition_0");
+        Assert.assertEquals(1, conditions.size());
+        Assert.assertEquals("pizzashack.com", conditions.get(0).getHeaderConditions().getValues().get("host"));
+        Assert.assertTrue(restoredHolder.isThrottled(RESOURCE_KEY + "_condition_0"));
+        Assert.assertFalse(restoredHolder.isAPIThrottled("/expired/1.0.0:1.0.0"));
+        Assert.assertFalse(restoredHolder.isConditionsAvailable("/expired/1.0.0:1.0.0"));
+    }
+
+    @Test
+    public void testSnapshotIsReplaced() throws Exception {
+
+        File snapshotFile = temporaryFolder.newFile("throttle-data.snapshot");
+        ThrottleDataHolder throttleDataHolder = createThrottleDataHolder();
+        ThrottleDataSnapshot snapshot = new ThrottleDataSnapshot(throttleDataHolder, snapshotFile);
+        snapshot.write();
+        throttleDataHolder.addThrottleData("added", System.currentTimeMillis() + 60000);
+        throttleDataHolder.removeThrottleData("active");
+        snapshot.write();
+        Assert.assertFalse(new File(snapshotFile.getPath() + ".tmp").exists());
+
+        ThrottleDataSnapshot.SnapshotData data = snapshot.read();
+        Assert.assertNotNull(data);
+        Assert.assertTrue(data.throttleData.containsKey("added"));
+        Assert.assertFalse(data.throttleData.containsKey("active"));
+    }
+
+    @Test
+    public void testInvalidSnapshotIsIgnored() throws Exception {
+
+        File snapshotFile = temporaryFolder.newFile("throttle-data.snapshot");
+        Files.write(snapshotFile.toPath(), "{\"throttleData\":{\"active\":1}}".getBytes(StandardCharsets.UTF_8));
+        ThrottleDataSnapshot snapshot = new ThrottleDataSnapshot(new ThrottleDataHolder(), snapshotFile);
+        Assert.assertNull(snapshot.read());
+        snapshot.restore();
+    }
+
+    private ThrottleDataHolder createThrottleDataHolder() {
+
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        long currentTime = System.currentTimeMillis();
+        Map<String, Long> throttleData = new HashMap<>();
+        throttleData.put("active", currentTime + 60000);
+        throttleData.put("expired", currentTime - 60000);
+        throttleDataHolder.addThrottleDataFromMap(throttleData);
+        throttleDataHolder.addAPIBlockingCondition("/pizzashack/1.0.0", "/pizzashack/1.0.0");
+        throttleDataHolder.addApplicationBlockingCondition("admin:DefaultApplication", "admin:DefaultApplication");
+        throttleDataHolder.addUserBlockingCondition("admin", "admin");
+        throttleDataHolder.addSubscriptionBlockingCondition(SUBSCRIPTION_KEY, SUBSCRIPTION_KEY);
+        IPRange ipRange = new IPRange();
+        ipRange.setId(1);
+        ipRange.setTenantDomain(TENANT_DOMAIN);
+        ipRange.setType(APIConstants.BLOCKING_CONDITIONS_IP);
+        ipRange.setFixedIp("127.0.0.1");
+        Set<IPRange> ipRanges = new HashSet<>();
+        ipRanges.add(ipRange);
+        throttleDataHolder.addIplockingConditionsFromMap(Collections.singletonMap(TENANT_DOMAIN, ipRanges));
+        throttleDataHolder.addKeyTemplate("$userId", "$userId");
+        return throttleDataHolder;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.webhooks.delivery;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.impl.dto.WebhooksDTO;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WebhookFanOutEngineTestCase {
+
+    @Test
+    public void testDeliveryToAllCallbacks() throws Exception {
+
+        Map<String, Queue<String>> received = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(20);
+        WebhookFanOutEngine engine = createEngine(10, 3, delivery -> {
+            received.computeIfAbsent(delivery.getCallbackURL(), callback -> new ConcurrentLinkedQueue<>())
+                    .add(delivery.getPayload());
+            latch.countDown();
+            return 200;
+        });
+        for (int event = 0; event < 10; event++) {
+            Assert.assertTrue(engine.submit(createSubscriber("http://localhost/a"), "event" + event, null));
+            Assert.assertTrue(engine.submit(createSubscriber("http://localhost/b"), "event" + event, null));
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(2, received.size());
+        for (Queue<String> events : received.values()) {
+            int event = 0;
+            for (String payload : events) {
+                Assert.assertEquals("Events of a callback are delivered in order", "event" + event++, payload);
+            }
+        }
+        Assert.assertEquals(20, waitForDelivered(engine, 20));
+        Assert.assertEquals(0, engine.getDeadLetterStore().size());
+    }
+
+    @Test
+    public void testFailedDeliveryMovedToDeadLetterStore() throws Exception {
+
+        CountDownLatch latch = new CountDownLatch(3);
+        WebhookFanOutEngine engine = createEngine(10, 2, delivery -> {
+            latch.countDown();
+            throw new IOException("Connection refused");
+        });
+        engine.submit(createSubscriber("http://localhost/a"), "event", null);
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (engine.getDeadLetterStore().size() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(2, engine.getRetryCount());
+        List<WebhookDelivery> deadLetters = engine.getDeadLetterStore().drain();
+        Assert.assertEquals(1, deadLetters.size());
+        Assert.assertEquals(3, deadLetters.get(0).getAttempts());
+        Assert.assertTrue(deadLetters.get(0).getFailureReason().contains("Connection refused"));
+    }
+
+    @Test
+    public void testRetriedDeliveryKeepsOrder() throws Exception {
+
+        Queue<String> received = new ConcurrentLinkedQueue<>();
+        Map<String, Boolean> failed = new ConcurrentHashMap<>();
+        WebhookFanOutEngine engine = createEngine(10, 3, delivery -> {
+            if (failed.putIfAbsent(delivery.getPayload(), Boolean.TRUE) == null && delivery.getPayload()
+                    .equals("event1")) {
+                return 503;
+            }
+            received.add(delivery.getPayload());
+            return 200;
+        });
+        for (int event = 0; event < 5; event++) {
+            Assert.assertTrue(engine.submit(createSubscriber("http://localhost/a"), "event" + event, null));
+        }
+        Assert.assertEquals(5, waitForDelivered(engine, 5));
+        Assert.assertEquals(1, engine.getRetryCount());
+        int event = 0;
+        for (String payload : received) {
+            Assert.assertEquals("Retried event is delivered before the later events", "event" + event++, payload);
+        }
+    }
+
+    @Test
+    public void testFullQueueRejectsDeliveries() throws Exception {
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WebhookFanOutEngine engine = createEngine(1, 0, delivery -> {
+            blocked.countDown();
+            release.await();
+            return 200;
+        });
+        Assert.assertTrue(engine.submit(createSubscriber("http://localhost/a"), "event0", null));
+        Assert.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(engine.submit(createSubscriber("http://localhost/a"), "event1", null));
+        Assert.assertFalse(engine.submit(createSubscriber("http://localhost/a"), "event2", null));
+        Assert.assertTrue(engine.submit(createSubscriber("http://localhost/b"), "event2", null));
+        Assert.assertEquals(1, engine.getRejectedCount());
+        Assert.assertEquals(1, engine.getDeadLetterStore().size());
+        release.countDown();
+        Assert.assertEquals(3, waitForDelivered(engine, 3));
+    }
+
+    @Test
+    public void testRetryInterval() {
+
+        WebhookFanOutEngine engine = createEngine(10, 5, delivery -> 200);
+        Assert.assertEquals(1, engine.getRetryInterval(1));
+        Assert.assertEquals(2, engine.getRetryInterval(2));
+        Assert.assertEquals(8, engine.getRetryInterval(4));
+        Assert.assertEquals(10, engine.getRetryInterval(5));
+        Assert.assertEquals(10, engine.getRetryInterval(100));
+    }
+
+    private WebhookFanOutEngine createEngine(int queueCapacity, int maxRetries, TestSender sender) {
+
+        return new WebhookFanOutEngine(2, queueCapacity, maxRetries, 1, 10, 10, 60000, delivery -> {
+            try {
+                return sender.send(delivery);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }) {
+            @Override
+            void persistDeliveryStatus(WebhooksDTO subscriber, int status) {
+
+            }
+        };
+    }
+
+    private long waitForDelivered(WebhookFanOutEngine engine, long expected) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (engine.getDeliveredCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return engine.getDeliveredCount();
+    }
+
+    private WebhooksDTO createSubscriber(String callbackURL) {
+
+        WebhooksDTO subscriber = new WebhooksDTO();
+        subscriber.setCallbackURL(callbackURL);
+        subscriber.setTopicName("topic");
+        return subscriber;
+    }
+
+    private interface TestSender {
+
+        int send(WebhookDelivery delivery) throws IOException, InterruptedException;
+    }
+}
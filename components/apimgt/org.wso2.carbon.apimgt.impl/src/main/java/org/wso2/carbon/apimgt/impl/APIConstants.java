@@ -591,6 +591,7 @@ public final class APIConstants {
     public static final String DELEM_UNDERSCORE = "_";
     public static final String CHAR_ASTERIX = "*";
     public static final String CERTIFICATE_RETRIEVAL_ENDPOINT = "/endpoint-certificates";
+    public static final String USER_AUTHENTICATION_INFO_ENDPOINT = "/user-authentication-info";
     public static final String GA_CONFIG_RETRIEVAL_ENDPOINT = "/ga-config";
     public static final String API_OVERVIEW_WEBSUB_SUBSCRIPTION_CONFIGURATION
             = "overview_websubSubscriptionConfiguration";
@@ -713,6 +714,52 @@ public final class APIConstants {
     public static final String ENABLED_JWT_CLAIM_CACHE = CACHE_CONFIGS + "EnableJWTClaimCache";
     public static final String KEY_MANAGER_TOKEN_CACHE = CACHE_CONFIGS + "EnableKeyManagerTokenCache";
     public static final String TOKEN_CACHE_EXPIRY = CACHE_CONFIGS + "TokenCacheExpiry";
+    public static final String INVALID_TOKEN_STORE_ENABLED = CACHE_CONFIGS + "EnableInvalidTokenStore";
+    public static final String INVALID_TOKEN_STORE_CAPACITY = CACHE_CONFIGS + "InvalidTokenStoreCapacity";
+    public static final int DEFAULT_INVALID_TOKEN_STORE_CAPACITY = 1 << 20;
+
+    public static final String WS_LOCAL_THROTTLING = "ThrottlingConfigurations.WebSocketLocalThrottling.";
+    public static final String WS_LOCAL_THROTTLING_ENABLED = WS_LOCAL_THROTTLING + "Enabled";
+    public static final String WS_LOCAL_THROTTLING_CONNECTION_FRAME_RATE = WS_LOCAL_THROTTLING + "ConnectionFrameRate";
+    public static final String WS_LOCAL_THROTTLING_CONNECTION_BYTE_RATE = WS_LOCAL_THROTTLING + "ConnectionByteRate";
+    public static final String WS_LOCAL_THROTTLING_SUBSCRIPTION_FRAME_RATE =
+            WS_LOCAL_THROTTLING + "SubscriptionFrameRate";
+    public static final String WS_LOCAL_THROTTLING_SUBSCRIPTION_BYTE_RATE = WS_LOCAL_THROTTLING + "SubscriptionByteRate";
+    public static final String WS_LOCAL_THROTTLING_APPLICATION_FRAME_RATE = WS_LOCAL_THROTTLING + "ApplicationFrameRate";
+    public static final String WS_LOCAL_THROTTLING_APPLICATION_BYTE_RATE = WS_LOCAL_THROTTLING + "ApplicationByteRate";
+    public static final String WS_LOCAL_THROTTLING_PUBLISH_INTERVAL = WS_LOCAL_THROTTLING + "PublishInterval";
+    public static final long DEFAULT_WS_LOCAL_THROTTLING_PUBLISH_INTERVAL = 1000;
+    public static final String LOCAL_TRAFFIC_MANAGER = "ThrottlingConfigurations.LocalTrafficManager.";
+    public static final String LOCAL_TRAFFIC_MANAGER_ENABLED = LOCAL_TRAFFIC_MANAGER + "Enabled";
+    public static final String THROTTLE_DATA_SNAPSHOT = "ThrottlingConfigurations.ThrottleDataSnapshot.";
+    public static final String THROTTLE_DATA_SNAPSHOT_ENABLED = THROTTLE_DATA_SNAPSHOT + "Enabled";
+    public static final String THROTTLE_DATA_SNAPSHOT_INTERVAL = THROTTLE_DATA_SNAPSHOT + "Interval";
+    public static final String THROTTLE_DATA_SNAPSHOT_LOCATION = THROTTLE_DATA_SNAPSHOT + "Location";
+    public static final long DEFAULT_THROTTLE_DATA_SNAPSHOT_INTERVAL = 30000;
+
+    public static final String WEBHOOKS_FAN_OUT = "WebhooksFanOut.";
+    public static final String WEBHOOKS_FAN_OUT_WORKER_THREADS = WEBHOOKS_FAN_OUT + "WorkerThreads";
+    public static final String WEBHOOKS_FAN_OUT_QUEUE_CAPACITY = WEBHOOKS_FAN_OUT + "CallbackQueueCapacity";
+    public static final String WEBHOOKS_FAN_OUT_MAX_RETRIES = WEBHOOKS_FAN_OUT + "MaxRetries";
+    public static final String WEBHOOKS_FAN_OUT_INITIAL_RETRY_INTERVAL = WEBHOOKS_FAN_OUT + "InitialRetryInterval";
+    public static final String WEBHOOKS_FAN_OUT_MAX_RETRY_INTERVAL = WEBHOOKS_FAN_OUT + "MaxRetryInterval";
+    public static final String WEBHOOKS_FAN_OUT_DEAD_LETTER_CAPACITY = WEBHOOKS_FAN_OUT + "DeadLetterCapacity";
+    public static final String WEBHOOKS_FAN_OUT_DELIVERY_TIMEOUT = WEBHOOKS_FAN_OUT + "DeliveryTimeout";
+    public static final String WEBHOOKS_FAN_OUT_STATUS_REPORT_INTERVAL = WEBHOOKS_FAN_OUT + "StatusReportInterval";
+    public static final int DEFAULT_WEBHOOKS_FAN_OUT_WORKER_THREADS = 20;
+    public static final int DEFAULT_WEBHOOKS_FAN_OUT_QUEUE_CAPACITY = 1000;
+    public static final int DEFAULT_WEBHOOKS_FAN_OUT_MAX_RETRIES = 5;
+    public static final long DEFAULT_WEBHOOKS_FAN_OUT_INITIAL_RETRY_INTERVAL = 1000;
+    public static final long DEFAULT_WEBHOOKS_FAN_OUT_MAX_RETRY_INTERVAL = 64000;
+    public static final int DEFAULT_WEBHOOKS_FAN_OUT_DEAD_LETTER_CAPACITY = 10000;
+    public static final int DEFAULT_WEBHOOKS_FAN_OUT_DELIVERY_TIMEOUT = 60000;
+    public static final long DEFAULT_WEBHOOKS_FAN_OUT_STATUS_REPORT_INTERVAL = 60000;
+    public static final String TOKEN_CACHE_REFRESH_AHEAD_PERCENTAGE = CACHE_CONFIGS
+            + "TokenCacheRefreshAheadPercentage";
+    public static final int DEFAULT_TOKEN_CACHE_REFRESH_AHEAD_PERCENTAGE = 80;
+    public static final String BASIC_AUTH_CACHE_REFRESH_AHEAD_PERCENTAGE = CACHE_CONFIGS
+            + "BasicAuthCacheRefreshAheadPercentage";
+    public static final int DEFAULT_BASIC_AUTH_CACHE_REFRESH_AHEAD_PERCENTAGE = 80;
     public static final String REST_API_TOKEN_CACHE_ENABLED = CACHE_CONFIGS + "EnableRESTAPITokenCache";
     public static final String REST_API_TOKEN_CACHE_EXPIRY = CACHE_CONFIGS + "RESTAPITokenCacheExpiry";
     public static final String REST_API_CACHE_CONTROL_HEADERS_ENABLED = CACHE_CONFIGS
@@ -736,6 +783,8 @@ public final class APIConstants {
     public static final String API_KEY_VALIDATOR_PASSWORD = API_KEY_VALIDATOR + "Password";
     public static final String ENABLE_DEFAULT_KEY_MANAGER_REGISTRATION = API_KEY_VALIDATOR +
             "EnableDefaultKeyManagerRegistration";
+    public static final String ENABLE_REST_BASIC_AUTH_VALIDATION = API_KEY_VALIDATOR +
+            "EnableRESTBasicAuthValidation";
     public static final String ENABLE_KEY_MANAGER_RETRIVAL = API_KEY_VALIDATOR +
             "EnableKeyManagerConfigurationRetriever";
     public static final String DEFAULT_KEY_MANAGER_TYPE = API_KEY_VALIDATOR + "DefaultKeyManagerType";
@@ -1915,6 +1964,12 @@ public final class APIConstants {
         public static final String JOB_QUEUE_SIZE = "JobQueueSize";
         public static final String ENABLE_UNLIMITED_TIER = "EnableUnlimitedTier";
         public static final String POLICY_DEPLOYER_CONFIGURATION = "PolicyDeployer";
+        public static final String THROTTLING_ALGORITHM = "ThrottlingAlgorithm";
+        public static final String THROTTLING_ALGORITHM_TIME_BATCH = "timeBatch";
+        public static final String THROTTLING_ALGORITHM_SLIDING_WINDOW = "slidingWindow";
+        public static final String THROTTLING_ALGORITHM_GCRA = "gcra";
+        public static final String CONSOLIDATED_DEPLOYMENT = "ConsolidatedDeployment";
+        public static final String DECISION_BATCHING = "DecisionBatching";
         public static final String BLOCK_CONDITION_RETRIEVER_CONFIGURATION = "BlockCondition";
         public static final String DATA_PUBLISHER_THREAD_POOL_CONFIGURATION = "DataPublisherThreadPool";
         public static final String DATA_PUBLISHER_THREAD_POOL_CONFIGURATION_CORE_POOL_SIZE = "CorePoolSize";
@@ -1932,6 +1987,8 @@ public final class APIConstants {
         public static final String THROTTLE_KEY = "throttleKey";
         public static final String EXPIRY_TIMESTAMP = "expiryTimeStamp";
         public static final String EVALUATED_CONDITIONS = "evaluatedConditions";
+        public static final String THROTTLE_DECISIONS = "decisions";
+        public static final String BATCH_TIMESTAMP = "batchTimeStamp";
         public static final String TRUE = "true";
         public static final String ADD = "add";
         public static final String ENABLE_POLICY_DEPLOYMENT = "EnablePolicyDeployment";
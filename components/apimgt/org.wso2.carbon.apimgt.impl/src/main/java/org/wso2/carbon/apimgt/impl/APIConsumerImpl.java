@@ -3569,15 +3569,22 @@ public class APIConsumerImpl extends AbstractAPIManager implements APIConsumer {
             if (searchAPIs != null) {
                 List<DevPortalAPIInfo> list = searchAPIs.getDevPortalAPIInfoList();
                 List<Object> apiList = new ArrayList<>();
+                // Ratings and tier definitions are loaded once for the whole page rather than per API
+                List<String> uuids = new ArrayList<>();
+                for (DevPortalAPIInfo devPortalAPIInfo : list) {
+                    uuids.add(devPortalAPIInfo.getId());
+                }
+                Map<String, Float> ratings = apiMgtDAO.getAverageRatings(uuids);
+                Map<String, Tier> definedTiers = APIUtil.getTiers(tenantId);
                 for (DevPortalAPIInfo devPortalAPIInfo : list) {
                     API mappedAPI = APIMapper.INSTANCE.toApi(devPortalAPIInfo);
-                    mappedAPI.setRating(APIUtil.getAverageRating(mappedAPI.getUuid()));
+                    Float rating = ratings.get(mappedAPI.getUuid());
+                    mappedAPI.setRating(rating != null ? rating : 0f);
                     Set<String> tierNameSet = devPortalAPIInfo.getAvailableTierNames();
                     String tiers = null;
                     if (tierNameSet != null) {
                         tiers = String.join("||", tierNameSet);
                     }
-                    Map<String, Tier> definedTiers = APIUtil.getTiers(tenantId);
                     Set<Tier> availableTiers = APIUtil.getAvailableTiers(definedTiers, tiers,
                             mappedAPI.getId().getApiName());
                     mappedAPI.removeAllTiers();
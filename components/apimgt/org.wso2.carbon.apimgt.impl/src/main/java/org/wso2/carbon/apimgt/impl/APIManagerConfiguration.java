@@ -1414,6 +1414,27 @@ public class APIManagerConfiguration {
                             resolve(policyDeployerServicePasswordElement, secretResolver);
                     policyDeployerConfiguration.setPassword(APIUtil.replaceSystemProperty
                             (policyDeployerServicePassword));
+                    OMElement throttlingAlgorithmElement = policyDeployerConnectionElement
+                            .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
+                                    .THROTTLING_ALGORITHM));
+                    if (throttlingAlgorithmElement != null
+                            && StringUtils.isNotEmpty(throttlingAlgorithmElement.getText())) {
+                        policyDeployerConfiguration.setThrottlingAlgorithm(throttlingAlgorithmElement.getText().trim());
+                    }
+                    OMElement consolidatedDeploymentElement = policyDeployerConnectionElement
+                            .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
+                                    .CONSOLIDATED_DEPLOYMENT));
+                    if (consolidatedDeploymentElement != null) {
+                        policyDeployerConfiguration.setConsolidatedDeployment(JavaUtils.isTrueExplicitly
+                                (consolidatedDeploymentElement.getText().trim()));
+                    }
+                    OMElement decisionBatchingElement = policyDeployerConnectionElement
+                            .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
+                                    .DECISION_BATCHING));
+                    if (decisionBatchingElement != null) {
+                        policyDeployerConfiguration.setDecisionBatching(JavaUtils.isTrueExplicitly
+                                (decisionBatchingElement.getText().trim()));
+                    }
                 }
                 throttleProperties.setPolicyDeployer(policyDeployerConfiguration);
 
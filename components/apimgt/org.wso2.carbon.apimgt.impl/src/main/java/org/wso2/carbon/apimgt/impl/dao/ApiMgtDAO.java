@@ -161,6 +161,7 @@ import java.util.stream.Collectors;
 public class ApiMgtDAO {
 
     private static final Log log = LogFactory.getLog(ApiMgtDAO.class);
+    private static final int MAX_RATING_LOOKUP_BATCH_SIZE = 500;
     private static ApiMgtDAO INSTANCE = null;
     private final Object scopeMutex = new Object();
     private boolean forceCaseInsensitiveComparisons = false;
@@ -3305,6 +3306,40 @@ public class ApiMgtDAO {
         return Float.parseFloat(decimal.setScale(1, BigDecimal.ROUND_UP).toString());
     }
 
+    /**
+     * Get the average ratings of a set of APIs with a single query per batch of UUIDs. APIs which have not been
+     * rated are not included in the returned map.
+     *
+     * @param uuids UUIDs of the APIs
+     * @return Map of API UUID to the average rating, rounded the same way as {@link #getAverageRating(String)}
+     * @throws APIManagementException if failed to read the ratings
+     */
+    public Map<String, Float> getAverageRatings(List<String> uuids) throws APIManagementException {
+
+        Map<String, Float> ratings = new HashMap<>();
+        if (uuids == null || uuids.isEmpty()) {
+            return ratings;
+        }
+        try (Connection conn = APIMgtDBUtil.getConnection()) {
+            for (int from = 0; from < uuids.size(); from += MAX_RATING_LOOKUP_BATCH_SIZE) {
+                int to = Math.min(from + MAX_RATING_LOOKUP_BATCH_SIZE, uuids.size());
+                String[] batch = uuids.subList(from, to).toArray(new String[0]);
+                try (PreparedStatement ps = fillQueryParams(conn, SQLConstants.GET_API_AVERAGE_RATINGS_BY_UUIDS_SQL,
+                        batch, 1);
+                     ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        BigDecimal decimal = new BigDecimal(rs.getFloat("RATING"));
+                        ratings.put(rs.getString("API_UUID"),
+                                Float.parseFloat(decimal.setScale(1, BigDecimal.ROUND_UP).toString()));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            handleException("Failed to get average ratings of APIs", e);
+        }
+        return ratings;
+    }
+
     /**
      * Get details of the subscription block condition by condition value and tenant domain
      *
@@ -4077,7 +4112,7 @@ public class ApiMgtDAO {
             }
             // sortColumn, sortOrder variable values has sanitized in jaggery level (applications-list.jag)for security.
             sqlQuery = sqlQuery.replace("$1", sortColumn);
-            if ("acs".equalsIgnoreCase(sortOrder) || "desc".equalsIgnoreCase(sortOrder)) {
+            if ("asc".equalsIgnoreCase(sortOrder) || "desc".equalsIgnoreCase(sortOrder)) {
                 sqlQuery = sqlQuery.replace("$2", sortOrder);
             } else {
                 sqlQuery = sqlQuery.replace("$2", "asc");
@@ -4323,6 +4358,13 @@ public class ApiMgtDAO {
             if (driverName.contains("Oracle")) {
                 limit = offset + limit;
             }
+            // sort column and order are part of the query, hence only the known values are accepted
+            if (!APIConstants.APPLICATION_NAME.equals(sortBy) && !APIConstants.APPLICATION_CREATED_BY.equals(sortBy)) {
+                sortBy = APIConstants.APPLICATION_NAME;
+            }
+            if (!"desc".equalsIgnoreCase(sortOrder)) {
+                sortOrder = "asc";
+            }
             sqlQuery = sqlQuery.replace("$1", sortBy);
             sqlQuery = sqlQuery.replace("$2", sortOrder);
             prepStmt = connection.prepareStatement(sqlQuery);
@@ -18096,51 +18138,55 @@ public class ApiMgtDAO {
         return subscribedAPIs;
     }
 
+    /**
+     * Returns a page of the APIs subscribed by the given application. The page is selected in the database, ordered
+     * by API name and subscription id.
+     *
+     * @param application  the application
+     * @param offset       index of the first subscription of the page
+     * @param limit        maximum number of subscriptions in the page
+     * @param organization organization of the APIs
+     * @return the subscribed APIs of the page
+     * @throws APIManagementException if the subscriptions could not be retrieved
+     */
     public Set<SubscribedAPI> getPaginatedSubscribedAPIsByApplication(Application application, Integer offset,
                                                                       Integer limit, String organization)
             throws APIManagementException {
         Set<SubscribedAPI> subscribedAPIs = new LinkedHashSet<>();
 
+        String sqlQuery = SQLConstantManagerFactory.getSQlString("GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID");
         try (Connection connection = APIMgtDBUtil.getConnection();
-             PreparedStatement ps =
-                     connection.prepareStatement(SQLConstants.GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID_SQL)) {
+             PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+            int rowLimit = limit;
+            if (connection.getMetaData().getDriverName().contains("Oracle")) {
+                rowLimit = offset + limit;
+            }
             ps.setInt(1, application.getId());
             ps.setString(2, organization);
+            ps.setInt(3, offset);
+            ps.setInt(4, rowLimit);
             try (ResultSet result = ps.executeQuery()) {
-                int index = 0;
                 while (result.next()) {
-                    if (index >= offset && index < limit) {
-                        String apiType = result.getString("TYPE");
-
-                        if (APIConstants.API_PRODUCT.toString().equals(apiType)) {
-                            APIProductIdentifier identifier = new APIProductIdentifier(
-                                    APIUtil.replaceEmailDomain(result.getString("API_PROVIDER")),
-                                    result.getString("API_NAME"), result.getString("API_VERSION"));
-                            identifier.setUuid(result.getString("API_UUID"));
-                            SubscribedAPI subscribedAPI = new SubscribedAPI(application.getSubscriber(), identifier);
-                            subscribedAPI.setApplication(application);
-                            initSubscribedAPI(subscribedAPI, result);
-                            subscribedAPIs.add(subscribedAPI);
-                        } else {
-                            APIIdentifier identifier = new APIIdentifier(APIUtil.replaceEmailDomain(result.getString
-                                    ("API_PROVIDER")), result.getString("API_NAME"),
-                                    result.getString("API_VERSION"));
-                            identifier.setUuid(result.getString("API_UUID"));
-                            SubscribedAPI subscribedAPI = new SubscribedAPI(application.getSubscriber(), identifier);
-                            subscribedAPI.setApplication(application);
-                            initSubscribedAPI(subscribedAPI, result);
-                            subscribedAPIs.add(subscribedAPI);
-                        }
-
-                        if (index == limit - 1) {
-                            break;
-                        }
+                    String apiType = result.getString("TYPE");
+                    SubscribedAPI subscribedAPI;
+                    if (APIConstants.API_PRODUCT.toString().equals(apiType)) {
+                        APIProductIdentifier identifier = new APIProductIdentifier(
+                                APIUtil.replaceEmailDomain(result.getString("API_PROVIDER")),
+                                result.getString("API_NAME"), result.getString("API_VERSION"));
+                        identifier.setUuid(result.getString("API_UUID"));
+                        subscribedAPI = new SubscribedAPI(application.getSubscriber(), identifier);
+                    } else {
+                        APIIdentifier identifier = new APIIdentifier(APIUtil.replaceEmailDomain(result.getString
+                                ("API_PROVIDER")), result.getString("API_NAME"),
+                                result.getString("API_VERSION"));
+                        identifier.setUuid(result.getString("API_UUID"));
+                        subscribedAPI = new SubscribedAPI(application.getSubscriber(), identifier);
                     }
-                    index++;
-
+                    subscribedAPI.setApplication(application);
+                    initSubscribedAPI(subscribedAPI, result);
+                    subscribedAPIs.add(subscribedAPI);
+                }
             }
-        }
-
         } catch (SQLException e) {
             handleException("Failed to get SubscribedAPI of application :" + application.getName(), e);
         }
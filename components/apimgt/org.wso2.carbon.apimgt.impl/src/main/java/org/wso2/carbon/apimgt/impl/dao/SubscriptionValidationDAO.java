@@ -56,6 +56,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
@@ -394,6 +395,7 @@ public class SubscriptionValidationDAO {
             sql = sql.concat("WHERE AM_API.CONTEXT LIKE '/t/" + organization + "%'");
         }
         List<API> apiList = new ArrayList<>();
+        BulkAPIIndex bulkAPIIndex = new BulkAPIIndex();
         try (Connection connection = APIMgtDBUtil.getConnection()) {
             try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -420,24 +422,22 @@ public class SubscriptionValidationDAO {
                         if (StringUtils.isNotBlank(publishedDefaultApiVersion)) {
                             api.setIsDefaultVersion(true);
                         }
+                        api.setPolicy(null);
                         if (isExpand) {
                             String revision = resultSet.getString("REVISION_UUID");
-                            api.setPolicy(getAPILevelTier(connection, apiUuid, revision));
-                            if (APIConstants.API_PRODUCT.equals(apiType)) {
-                                attachURlMappingDetailsOfApiProduct(connection, api);
-                            } else {
-                                attachURLMappingDetails(connection, revision, api);
+                            bulkAPIIndex.add(api, revision);
+                            if (!APIConstants.API_PRODUCT.equals(apiType)) {
                                 api.setEnvironment(deploymentName);
                                 api.setRevision(revision);
                             }
-                        } else {
-                            api.setPolicy(null);
                         }
                         apiList.add(api);
                     }
                 }
             }
-
+            if (isExpand) {
+                attachAPIDetailsInBulk(connection, organization, bulkAPIIndex);
+            }
         } catch (SQLException e) {
             log.error("Error in loading APIs for organization : " + organization, e);
         }
@@ -1070,6 +1070,7 @@ public class SubscriptionValidationDAO {
             sql = sql.concat("WHERE AM_API.CONTEXT LIKE '/t/" + organization + "%'");
         }
         List<API> apiList = new ArrayList<>();
+        BulkAPIIndex bulkAPIIndex = new BulkAPIIndex();
         try (Connection connection = APIMgtDBUtil.getConnection()) {
             try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -1097,21 +1098,17 @@ public class SubscriptionValidationDAO {
                         if (StringUtils.isNotBlank(publishedDefaultApiVersion)) {
                             api.setIsDefaultVersion(true);
                         }
+                        api.setPolicy(null);
                         if (isExpand) {
-                            String revision = resultSet.getString("REVISION_UUID");
-                            api.setPolicy(getAPILevelTier(connection, apiUuid, revision));
-                            if (APIConstants.API_PRODUCT.equals(apiType)) {
-                                attachURlMappingDetailsOfApiProduct(connection, api);
-                            } else {
-                                attachURLMappingDetails(connection, revision, api);
-                            }
-                        } else {
-                            api.setPolicy(null);
+                            bulkAPIIndex.add(api, resultSet.getString("REVISION_UUID"));
                         }
                         apiList.add(api);
                     }
                 }
             }
+            if (isExpand) {
+                attachAPIDetailsInBulk(connection, organization, bulkAPIIndex);
+            }
         } catch (SQLException e) {
             log.error("Error in loading APIs for api : " + deployment, e);
         }
@@ -1125,23 +1122,7 @@ public class SubscriptionValidationDAO {
             preparedStatement.setInt(1, api.getApiId());
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
-                    String httpMethod = resultSet.getString("HTTP_METHOD");
-                    String authScheme = resultSet.getString("AUTH_SCHEME");
-                    String urlPattern = resultSet.getString("URL_PATTERN");
-                    String throttlingTier = resultSet.getString("THROTTLING_TIER");
-                    String scopeName = resultSet.getString("SCOPE_NAME");
-                    URLMapping urlMapping = api.getResource(urlPattern, httpMethod);
-                    if (urlMapping == null) {
-                        urlMapping = new URLMapping();
-                        urlMapping.setAuthScheme(authScheme);
-                        urlMapping.setHttpMethod(httpMethod);
-                        urlMapping.setThrottlingPolicy(throttlingTier);
-                        urlMapping.setUrlPattern(urlPattern);
-                    }
-                    if (StringUtils.isNotEmpty(scopeName)) {
-                        urlMapping.addScope(scopeName);
-                    }
-                    api.addResource(urlMapping);
+                    addURLMapping(api, resultSet);
                 }
             }
         }
@@ -1204,23 +1185,7 @@ public class SubscriptionValidationDAO {
             preparedStatement.setString(2, revisionId);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
-                    String httpMethod = resultSet.getString("HTTP_METHOD");
-                    String authScheme = resultSet.getString("AUTH_SCHEME");
-                    String urlPattern = resultSet.getString("URL_PATTERN");
-                    String throttlingTier = resultSet.getString("THROTTLING_TIER");
-                    String scopeName = resultSet.getString("SCOPE_NAME");
-                    URLMapping urlMapping = api.getResource(urlPattern, httpMethod);
-                    if (urlMapping == null) {
-                        urlMapping = new URLMapping();
-                        urlMapping.setAuthScheme(authScheme);
-                        urlMapping.setHttpMethod(httpMethod);
-                        urlMapping.setThrottlingPolicy(throttlingTier);
-                        urlMapping.setUrlPattern(urlPattern);
-                    }
-                    if (StringUtils.isNotEmpty(scopeName)) {
-                        urlMapping.addScope(scopeName);
-                    }
-                    api.addResource(urlMapping);
+                    addURLMapping(api, resultSet);
                 }
             }
         }
@@ -1295,6 +1260,103 @@ public class SubscriptionValidationDAO {
         return null;
     }
 
+    private void addURLMapping(API api, ResultSet resultSet) throws SQLException {
+
+        String httpMethod = resultSet.getString("HTTP_METHOD");
+        String authScheme = resultSet.getString("AUTH_SCHEME");
+        String urlPattern = resultSet.getString("URL_PATTERN");
+        String throttlingTier = resultSet.getString("THROTTLING_TIER");
+        String scopeName = resultSet.getString("SCOPE_NAME");
+        URLMapping urlMapping = api.getResource(urlPattern, httpMethod);
+        if (urlMapping == null) {
+            urlMapping = new URLMapping();
+            urlMapping.setAuthScheme(authScheme);
+            urlMapping.setHttpMethod(httpMethod);
+            urlMapping.setThrottlingPolicy(throttlingTier);
+            urlMapping.setUrlPattern(urlPattern);
+        }
+        if (StringUtils.isNotEmpty(scopeName)) {
+            urlMapping.addScope(scopeName);
+        }
+        api.addResource(urlMapping);
+    }
+
+    /*
+     * This method attaches the API level tiers, the URL mappings of APIs and the resources of API products to the
+     * given APIs using a fixed number of queries over the whole organization, instead of querying them per API.
+     *
+     * @param connection   : database connection
+     * @param organization : organization of the APIs
+     * @param bulkAPIIndex : index of the loaded APIs
+     * */
+    private void attachAPIDetailsInBulk(Connection connection, String organization, BulkAPIIndex bulkAPIIndex)
+            throws SQLException {
+
+        if (bulkAPIIndex.apisByRevision.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement preparedStatement = prepareOrganizationStatement(connection,
+                SubscriptionValidationSQLConstants.GET_ALL_API_TIERS_BY_ORGANIZATION_SQL, organization);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                List<API> apis = bulkAPIIndex.apisByRevision.get(
+                        resultSet.getString("API_UUID") + ":" + resultSet.getString("REVISION_UUID"));
+                if (apis != null) {
+                    String apiTier = resultSet.getString("API_TIER");
+                    for (API api : apis) {
+                        api.setPolicy(apiTier);
+                    }
+                }
+            }
+        }
+        if (!bulkAPIIndex.apisByIdAndRevision.isEmpty()) {
+            try (PreparedStatement preparedStatement = prepareOrganizationStatement(connection,
+                    SubscriptionValidationSQLConstants.GET_ALL_URI_TEMPLATES_BY_ORGANIZATION_SQL, organization);
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    List<API> apis = bulkAPIIndex.apisByIdAndRevision.get(
+                            resultSet.getInt("API_ID") + ":" + resultSet.getString("REVISION_UUID"));
+                    if (apis != null) {
+                        for (API api : apis) {
+                            addURLMapping(api, resultSet);
+                        }
+                    }
+                }
+            }
+        }
+        if (!bulkAPIIndex.apiProductsById.isEmpty()) {
+            try (PreparedStatement preparedStatement = prepareOrganizationStatement(connection,
+                    SubscriptionValidationSQLConstants.GET_ALL_API_PRODUCT_URI_TEMPLATES_BY_ORGANIZATION_SQL,
+                    organization);
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    List<API> apiProducts = bulkAPIIndex.apiProductsById.get(resultSet.getInt("API_ID"));
+                    if (apiProducts != null) {
+                        for (API apiProduct : apiProducts) {
+                            addURLMapping(apiProduct, resultSet);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private PreparedStatement prepareOrganizationStatement(Connection connection, String sql, String organization)
+            throws SQLException {
+
+        if (MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(organization)) {
+            return connection.prepareStatement(sql.concat("AM_API.CONTEXT NOT LIKE '/t/%'"));
+        }
+        PreparedStatement preparedStatement = connection.prepareStatement(sql.concat("AM_API.CONTEXT LIKE ?"));
+        try {
+            preparedStatement.setString(1, "/t/" + organization + "%");
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
+        }
+        return preparedStatement;
+    }
+
     private String getAPILevelTier(Connection connection, String apiUUID, String revisionUUID) throws SQLException {
 
         try (PreparedStatement preparedStatement =
@@ -1309,4 +1371,26 @@ public class SubscriptionValidationDAO {
         }
         return null;
     }
+
+    /**
+     * Index of the APIs loaded for an organization, used to attach the details retrieved in bulk to the matching
+     * APIs. An API revision deployed to several gateway environments is loaded as several API objects.
+     */
+    private static class BulkAPIIndex {
+
+        private final Map<String, List<API>> apisByRevision = new HashMap<>();
+        private final Map<String, List<API>> apisByIdAndRevision = new HashMap<>();
+        private final Map<Integer, List<API>> apiProductsById = new HashMap<>();
+
+        private void add(API api, String revision) {
+
+            apisByRevision.computeIfAbsent(api.getApiUUID() + ":" + revision, key -> new ArrayList<>()).add(api);
+            if (APIConstants.API_PRODUCT.equals(api.getApiType())) {
+                apiProductsById.computeIfAbsent(api.getApiId(), key -> new ArrayList<>()).add(api);
+            } else {
+                apisByIdAndRevision.computeIfAbsent(api.getApiId() + ":" + revision, key -> new ArrayList<>())
+                        .add(api);
+            }
+        }
+    }
 }
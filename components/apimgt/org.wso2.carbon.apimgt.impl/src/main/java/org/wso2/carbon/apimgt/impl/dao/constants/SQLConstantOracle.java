@@ -240,6 +240,13 @@ public class SQLConstantOracle extends SQLConstants{
                     " )x left join AM_BLOCK_CONDITIONS bl on  ( bl.TYPE = 'APPLICATION' AND bl.BLOCK_CONDITION = concat(concat(x.USER_ID,':'),x.name)) "+
                     " ORDER BY $1 $2 ";
 
+    public static final String GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID =
+            "SELECT * FROM (" +
+                    "   SELECT a.*, rownum r FROM (" +
+                    GET_SUBSCRIBED_APIS_BY_APP_ID_AND_ORGANIZATION_SQL + SUBSCRIBED_APIS_BY_APP_ID_PAGE_ORDER +
+                    "   ) a " +
+                    " ) WHERE r BETWEEN ?+1 AND ?";
+
     public static final String GET_APPLICATIONS_BY_TENANT_ID =
             "(" +
                     "SELECT * FROM (" +
@@ -225,6 +225,10 @@ public class SQLConstantPostgreSQL extends SQLConstants{
                     " )x left join AM_BLOCK_CONDITIONS bl on  ( bl.TYPE = 'APPLICATION' AND bl.BLOCK_CONDITION = concat(concat(x.USER_ID,':'),x.name)) ";
 
 
+    public static final String GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID =
+            GET_SUBSCRIBED_APIS_BY_APP_ID_AND_ORGANIZATION_SQL + SUBSCRIBED_APIS_BY_APP_ID_PAGE_ORDER +
+                    " offset ? limit ? ";
+
     public static final String GET_APPLICATIONS_BY_TENANT_ID =
                     "   SELECT " +
                     "   APP.APPLICATION_ID as APPLICATION_ID, " +
@@ -508,7 +508,7 @@ public class SQLConstants {
             "   AND SUBS.SUBS_CREATE_STATE = '" + APIConstants.SubscriptionCreatedStatus.SUBSCRIBE + "'";
 
 
-    public static final String GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID_SQL =
+    public static final String GET_SUBSCRIBED_APIS_BY_APP_ID_AND_ORGANIZATION_SQL =
             " SELECT " +
                     "   SUBS.SUBSCRIPTION_ID, " +
                     "   API.API_PROVIDER AS API_PROVIDER, " +
@@ -532,8 +532,11 @@ public class SQLConstants {
                     "   AND API.API_ID=SUBS.API_ID " +
                     "   AND APP.APPLICATION_ID = ? " +
                     "   AND API.ORGANIZATION = ?"+
-                    "   AND SUBS.SUBS_CREATE_STATE = '" + APIConstants.SubscriptionCreatedStatus.SUBSCRIBE + "'" +
-                    " ORDER BY API_NAME ASC";
+                    "   AND SUBS.SUBS_CREATE_STATE = '" + APIConstants.SubscriptionCreatedStatus.SUBSCRIBE + "'";
+
+    // Subscription id breaks ties between APIs of the same name so that pages do not overlap or skip rows
+    public static final String SUBSCRIBED_APIS_BY_APP_ID_PAGE_ORDER =
+            " ORDER BY API.API_NAME ASC, SUBS.SUBSCRIPTION_ID ASC";
 
     public static final String GET_SUBSCRIBED_APIS_BY_APP_ID_SQL =
             " SELECT " +
@@ -994,6 +997,19 @@ public class SQLConstants {
             " GROUP BY " +
             "   API_ID ";
 
+    public static final String GET_API_AVERAGE_RATINGS_BY_UUIDS_SQL =
+            " SELECT " +
+            "   API.API_UUID, " +
+            "   CAST( SUM(RATINGS.RATING) AS DECIMAL)/COUNT(RATINGS.RATING) AS RATING " +
+            " FROM " +
+            "   AM_API_RATINGS RATINGS, " +
+            "   AM_API API " +
+            " WHERE " +
+            "   RATINGS.API_ID = API.API_ID " +
+            "   AND API.API_UUID IN ($params) " +
+            " GROUP BY " +
+            "   API.API_UUID ";
+
     public static final String APP_APPLICATION_SQL =
             " INSERT INTO AM_APPLICATION (NAME, SUBSCRIBER_ID, APPLICATION_TIER, " +
             "   CALLBACK_URL, DESCRIPTION, APPLICATION_STATUS, GROUP_ID, CREATED_BY, CREATED_TIME, UPDATED_TIME, " +
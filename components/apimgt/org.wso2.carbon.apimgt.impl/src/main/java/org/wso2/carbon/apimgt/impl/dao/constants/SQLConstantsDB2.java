@@ -196,6 +196,10 @@ public class SQLConstantsDB2 extends SQLConstants{
 
 
 
+    public static final String GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID =
+            GET_SUBSCRIBED_APIS_BY_APP_ID_AND_ORGANIZATION_SQL + SUBSCRIBED_APIS_BY_APP_ID_PAGE_ORDER +
+                    " limit ? , ? ";
+
     public static final String GET_APPLICATIONS_BY_TENANT_ID =
             "(" +
                     "SELECT * FROM (" +
@@ -222,6 +222,10 @@ public class SQLConstantsH2MySQL extends SQLConstants{
             " ORDER BY $1 $2 limit ? , ?";
 
 
+    public static final String GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID =
+            GET_SUBSCRIBED_APIS_BY_APP_ID_AND_ORGANIZATION_SQL + SUBSCRIBED_APIS_BY_APP_ID_PAGE_ORDER +
+                    " limit ? , ? ";
+
     public static final String GET_APPLICATIONS_BY_TENANT_ID =
                     "   SELECT " +
                     "   APP.APPLICATION_ID as APPLICATION_ID, " +
@@ -243,6 +243,10 @@ public class SQLConstantsMSSQL extends SQLConstants{
             " )x left join AM_BLOCK_CONDITIONS bl on  ( bl.TYPE = 'APPLICATION' AND bl.BLOCK_CONDITION = (x.USER_ID + ':') + x.NAME)" +
             " ORDER BY $1 $2 OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
 
+    public static final String GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID =
+            GET_SUBSCRIBED_APIS_BY_APP_ID_AND_ORGANIZATION_SQL + SUBSCRIBED_APIS_BY_APP_ID_PAGE_ORDER +
+                    " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
     public static final String GET_APPLICATIONS_BY_TENANT_ID =
             "(" +
                     "SELECT * FROM (" +
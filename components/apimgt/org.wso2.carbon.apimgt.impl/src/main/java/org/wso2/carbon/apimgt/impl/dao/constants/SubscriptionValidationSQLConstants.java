@@ -589,6 +589,24 @@ public class SubscriptionValidationSQLConstants {
             " JOIN AM_API_RESOURCE_SCOPE_MAPPING ON AM_API_URL_MAPPING.URL_MAPPING_ID=AM_API_RESOURCE_SCOPE_MAPPING" +
             ".URL_MAPPING_ID WHERE AM_API_URL_MAPPING.URL_MAPPING_ID IN (SELECT URL_MAPPING_ID FROM " +
             "AM_API_PRODUCT_MAPPING WHERE API_ID = ? )";
+    public static final String GET_ALL_API_TIERS_BY_ORGANIZATION_SQL = "SELECT " +
+            "AM_API_REVISION_METADATA.API_UUID,AM_API_REVISION_METADATA.REVISION_UUID,AM_API_REVISION_METADATA" +
+            ".API_TIER FROM AM_API_REVISION_METADATA INNER JOIN AM_API ON AM_API_REVISION_METADATA.API_UUID=AM_API" +
+            ".API_UUID WHERE ";
+    public static final String GET_ALL_URI_TEMPLATES_BY_ORGANIZATION_SQL = "SELECT AM_API_URL_MAPPING.API_ID," +
+            "AM_API_URL_MAPPING.REVISION_UUID,AM_API_URL_MAPPING.HTTP_METHOD,AM_API_URL_MAPPING.AUTH_SCHEME," +
+            "AM_API_URL_MAPPING.URL_PATTERN,AM_API_URL_MAPPING.THROTTLING_TIER,AM_API_RESOURCE_SCOPE_MAPPING" +
+            ".SCOPE_NAME FROM AM_API_URL_MAPPING INNER JOIN AM_API ON AM_API_URL_MAPPING.API_ID=AM_API.API_ID LEFT " +
+            "JOIN AM_API_RESOURCE_SCOPE_MAPPING ON AM_API_URL_MAPPING.URL_MAPPING_ID=AM_API_RESOURCE_SCOPE_MAPPING" +
+            ".URL_MAPPING_ID WHERE AM_API_URL_MAPPING.REVISION_UUID IN (SELECT REVISION_UUID FROM " +
+            "AM_DEPLOYMENT_REVISION_MAPPING) AND ";
+    public static final String GET_ALL_API_PRODUCT_URI_TEMPLATES_BY_ORGANIZATION_SQL = "SELECT DISTINCT " +
+            "AM_API_PRODUCT_MAPPING.API_ID,AM_API_URL_MAPPING.URL_MAPPING_ID,AM_API_URL_MAPPING.HTTP_METHOD," +
+            "AM_API_URL_MAPPING.AUTH_SCHEME,AM_API_URL_MAPPING.URL_PATTERN,AM_API_URL_MAPPING.THROTTLING_TIER," +
+            "AM_API_RESOURCE_SCOPE_MAPPING.SCOPE_NAME FROM AM_API_PRODUCT_MAPPING INNER JOIN AM_API_URL_MAPPING ON " +
+            "AM_API_PRODUCT_MAPPING.URL_MAPPING_ID=AM_API_URL_MAPPING.URL_MAPPING_ID INNER JOIN AM_API ON " +
+            "AM_API_PRODUCT_MAPPING.API_ID=AM_API.API_ID LEFT JOIN AM_API_RESOURCE_SCOPE_MAPPING ON " +
+            "AM_API_URL_MAPPING.URL_MAPPING_ID=AM_API_RESOURCE_SCOPE_MAPPING.URL_MAPPING_ID WHERE ";
     public static final String  GET_API_BY_CONTEXT_AND_VERSION_SQL = "SELECT AM_API.API_PROVIDER,AM_API.API_NAME," +
             "AM_API.CONTEXT,AM_API.API_UUID,AM_API.API_ID,AM_API.API_TIER,AM_API.API_VERSION,AM_API.API_TYPE,AM_API" +
             ".STATUS,AM_REVISION.REVISION_UUID AS REVISION_UUID,AM_DEPLOYMENT_REVISION_MAPPING.NAME AS " +
@@ -52,6 +52,7 @@ public class APIKeyValidationInfoDTO implements Serializable {
     private int validationStatus;
     private long validityPeriod;
     private long issuedTime;
+    private long validatedTime;
     private List<String> authorizedDomains;
     //Following throttle data list can be use to hold throttle data and api level throttle key
     //should be its first element.
@@ -199,6 +200,14 @@ public class APIKeyValidationInfoDTO implements Serializable {
         this.issuedTime = issuedTime;
     }
 
+    public long getValidatedTime() {
+        return validatedTime;
+    }
+
+    public void setValidatedTime(long validatedTime) {
+        this.validatedTime = validatedTime;
+    }
+
     public List<String> getAuthorizedDomains() {
         return authorizedDomains;
     }
@@ -28,6 +28,8 @@ public class BasicAuthValidationInfoDTO implements Serializable {
 
     private boolean isAuthenticated = false;
     private String hashedPassword = null;
+    private String passwordSalt = null;
+    private long validatedTime;
     private String domainQualifiedUsername = null;
     private String[] userRoleList = null;
     private boolean cached;
@@ -48,6 +50,22 @@ public class BasicAuthValidationInfoDTO implements Serializable {
         this.hashedPassword = hashedPassword;
     }
 
+    public String getPasswordSalt() {
+        return passwordSalt;
+    }
+
+    public void setPasswordSalt(String passwordSalt) {
+        this.passwordSalt = passwordSalt;
+    }
+
+    public long getValidatedTime() {
+        return validatedTime;
+    }
+
+    public void setValidatedTime(long validatedTime) {
+        this.validatedTime = validatedTime;
+    }
+
     public String getDomainQualifiedUsername() {
         return domainQualifiedUsername;
     }
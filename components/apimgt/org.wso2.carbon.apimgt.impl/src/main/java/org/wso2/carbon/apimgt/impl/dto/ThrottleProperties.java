@@ -16,6 +16,8 @@
 
 package org.wso2.carbon.apimgt.impl.dto;
 
+import org.wso2.carbon.apimgt.impl.APIConstants;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -465,6 +467,9 @@ public class ThrottleProperties {
         private String serviceUrl;
         private String username;
         private String password;
+        private String throttlingAlgorithm = APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_TIME_BATCH;
+        private boolean consolidatedDeployment = false;
+        private boolean decisionBatching = false;
 
         public boolean isEnabled() {
             return enabled;
@@ -497,6 +502,30 @@ public class ThrottleProperties {
         public void setPassword(String password) {
             this.password = password;
         }
+
+        public String getThrottlingAlgorithm() {
+            return throttlingAlgorithm;
+        }
+
+        public void setThrottlingAlgorithm(String throttlingAlgorithm) {
+            this.throttlingAlgorithm = throttlingAlgorithm;
+        }
+
+        public boolean isConsolidatedDeployment() {
+            return consolidatedDeployment;
+        }
+
+        public void setConsolidatedDeployment(boolean consolidatedDeployment) {
+            this.consolidatedDeployment = consolidatedDeployment;
+        }
+
+        public boolean isDecisionBatching() {
+            return decisionBatching;
+        }
+
+        public void setDecisionBatching(boolean decisionBatching) {
+            this.decisionBatching = decisionBatching;
+        }
     }
 
     public static class BlockCondition {
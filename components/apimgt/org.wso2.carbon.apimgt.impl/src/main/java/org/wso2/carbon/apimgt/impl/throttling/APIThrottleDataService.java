@@ -23,6 +23,7 @@ package org.wso2.carbon.apimgt.impl.throttling;
 import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for retrieving ThrottleData.
@@ -41,6 +42,8 @@ public interface APIThrottleDataService {
 
     void addThrottleData(String throttleKey, Long timeStamp);
 
+    void addThrottleDataFromMap(Map<String, Long> throttleData);
+
     void addThrottledAPIKey(String resourceKey, Long timeStamp);
 
     void removeThrottleData(String throttleKey);
@@ -293,6 +293,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -6023,6 +6024,38 @@ public final class APIUtil {
         return throttleProperties.isEnabledSubscriptionLevelSpikeArrest();
     }
 
+    /**
+     * Returns the window of a throttle limit in milliseconds, in the same way the traffic manager execution plans
+     * translate the time unit of a policy. Months are counted as 30 days and years as 365 days.
+     *
+     * @param timeUnit time unit of the limit, such as sec, min, hour, day, week, month or year
+     * @param unitTime number of time units in the window
+     * @return window in milliseconds, or -1 if the time unit is not recognized or the unit time is not positive
+     */
+    public static long getThrottleWindowInMilliSeconds(String timeUnit, long unitTime) {
+
+        if (timeUnit == null || unitTime <= 0) {
+            return -1;
+        }
+        String unit = timeUnit.trim().toLowerCase(Locale.ENGLISH);
+        if (unit.startsWith("sec")) {
+            return TimeUnit.SECONDS.toMillis(unitTime);
+        } else if (unit.startsWith("min")) {
+            return TimeUnit.MINUTES.toMillis(unitTime);
+        } else if (unit.startsWith("hour")) {
+            return TimeUnit.HOURS.toMillis(unitTime);
+        } else if (unit.startsWith("day")) {
+            return TimeUnit.DAYS.toMillis(unitTime);
+        } else if (unit.startsWith("week")) {
+            return TimeUnit.DAYS.toMillis(7 * unitTime);
+        } else if (unit.startsWith("month")) {
+            return TimeUnit.DAYS.toMillis(30 * unitTime);
+        } else if (unit.startsWith("year")) {
+            return TimeUnit.DAYS.toMillis(365 * unitTime);
+        }
+        return -1;
+    }
+
     /**
      * This method is used to get the default policy in a given tenant space
      *
@@ -22,7 +22,10 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.impl.builder.StAXOMBuilder;
 import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -75,6 +78,7 @@ import org.wso2.carbon.apimgt.impl.dto.APIKeyInfoDTO;
 import org.wso2.carbon.apimgt.impl.dto.ApplicationRegistrationWorkflowDTO;
 import org.wso2.carbon.apimgt.impl.dto.TierPermissionDTO;
 import org.wso2.carbon.apimgt.impl.factory.KeyManagerHolder;
+import org.wso2.carbon.apimgt.impl.factory.SQLConstantManagerFactory;
 import org.wso2.carbon.apimgt.impl.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.notifier.Notifier;
 import org.wso2.carbon.apimgt.impl.utils.APIMgtDBUtil;
@@ -97,6 +101,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -117,6 +122,8 @@ import static org.junit.Assert.assertTrue;
 @PowerMockIgnore("javax.management.*")
 public class APIMgtDAOTest {
 
+    private static final Log log = LogFactory.getLog(APIMgtDAOTest.class);
+
     public static ApiMgtDAO apiMgtDAO;
     private KeyManager keyManager;
 
@@ -1283,6 +1290,243 @@ public class APIMgtDAOTest {
 
     }
 
+    @Test
+    public void testGetPaginatedSubscribedAPIsByApplication() throws Exception {
+        SQLConstantManagerFactory.initializeSQLConstantManager();
+        String organization = "testPaginationOrg";
+        Subscriber subscriber = new Subscriber("testGetPaginatedSubscribedAPIsByApplication");
+        subscriber.setTenantId(-1234);
+        subscriber.setEmail("abc@wso2.com");
+        subscriber.setSubscribedDate(new Date(System.currentTimeMillis()));
+        apiMgtDAO.addSubscriber(subscriber, null);
+        Application application = new Application("testGetPaginatedSubscribedAPIsByApplication", subscriber);
+        application.setId(apiMgtDAO.addApplication(application, subscriber.getName(), organization));
+
+        // Subscriptions are added out of name order, and PagedAPI_C is subscribed in two versions so that the
+        // subscription id has to break the tie between rows of the same API name
+        String[][] apis = {{"PagedAPI_E", "1.0.0"}, {"PagedAPI_C", "1.0.0"}, {"PagedAPI_A", "1.0.0"},
+                {"PagedAPI_C", "2.0.0"}, {"PagedAPI_D", "1.0.0"}, {"PagedAPI_B", "1.0.0"}};
+        List<String> apiUuids = new ArrayList<>();
+        for (String[] nameAndVersion : apis) {
+            APIIdentifier apiId = new APIIdentifier("admin", nameAndVersion[0], nameAndVersion[1]);
+            API api = new API(apiId);
+            api.setContext("/" + nameAndVersion[0] + "/" + nameAndVersion[1]);
+            api.setContextTemplate("/" + nameAndVersion[0] + "/{version}");
+            api.setUUID(UUID.randomUUID().toString());
+            api.setVersionTimestamp(String.valueOf(System.currentTimeMillis()));
+            api.getId().setId(apiMgtDAO.addAPI(api, -1234, organization));
+            apiId.setTier("Unlimited");
+            apiMgtDAO.addSubscription(new ApiTypeWrapper(api), application, APIConstants.SubscriptionStatus.UNBLOCKED,
+                    subscriber.getName());
+            apiUuids.add(api.getUuid());
+        }
+        List<String> expectedOrder = new ArrayList<>();
+        expectedOrder.add("PagedAPI_A:1.0.0");
+        expectedOrder.add("PagedAPI_B:1.0.0");
+        expectedOrder.add("PagedAPI_C:1.0.0");
+        expectedOrder.add("PagedAPI_C:2.0.0");
+        expectedOrder.add("PagedAPI_D:1.0.0");
+        expectedOrder.add("PagedAPI_E:1.0.0");
+
+        assertEquals(expectedOrder.subList(0, 4), getSubscribedAPINames(
+                apiMgtDAO.getPaginatedSubscribedAPIsByApplication(application, 0, 4, organization)));
+        assertEquals(expectedOrder.subList(4, 6), getSubscribedAPINames(
+                apiMgtDAO.getPaginatedSubscribedAPIsByApplication(application, 4, 4, organization)));
+        assertTrue(apiMgtDAO.getPaginatedSubscribedAPIsByApplication(application, 6, 4, organization).isEmpty());
+        // Walking the subscriptions page by page returns every subscription once and in the same order
+        List<String> pagedNames = new ArrayList<>();
+        for (int offset = 0; offset < expectedOrder.size(); offset += 2) {
+            Set<SubscribedAPI> page = apiMgtDAO.getPaginatedSubscribedAPIsByApplication(application, offset, 2,
+                    organization);
+            assertEquals(2, page.size());
+            pagedNames.addAll(getSubscribedAPINames(page));
+        }
+        assertEquals(expectedOrder, pagedNames);
+        assertTrue(apiMgtDAO.getPaginatedSubscribedAPIsByApplication(application, 0, 10, "otherOrg").isEmpty());
+
+        for (String apiUuid : apiUuids) {
+            apiMgtDAO.removeAllSubscriptions(apiUuid);
+            apiMgtDAO.deleteAPI(apiUuid);
+        }
+        apiMgtDAO.deleteApplication(application);
+        deleteSubscriber(subscriber.getId());
+    }
+
+    @Test
+    public void testGetApplicationsWithPaginationSortFallback() throws Exception {
+        SQLConstantManagerFactory.initializeSQLConstantManager();
+        Subscriber subscriber = new Subscriber("testGetApplicationsWithPaginationSortFallback");
+        subscriber.setTenantId(-1234);
+        subscriber.setEmail("abc@wso2.com");
+        subscriber.setSubscribedDate(new Date(System.currentTimeMillis()));
+        apiMgtDAO.addSubscriber(subscriber, null);
+        List<Application> applications = new ArrayList<>();
+        for (String name : new String[]{"PagedApp_B", "PagedApp_A", "PagedApp_C"}) {
+            Application application = new Application(name, subscriber);
+            application.setId(apiMgtDAO.addApplication(application, subscriber.getName(), "testOrg"));
+            applications.add(application);
+        }
+        List<String> ascending = new ArrayList<>();
+        ascending.add("PagedApp_A");
+        ascending.add("PagedApp_B");
+        ascending.add("PagedApp_C");
+        List<String> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+
+        assertEquals(ascending, getApplicationNames(apiMgtDAO.getApplicationsWithPagination(subscriber.getName(),
+                subscriber.getName(), -1234, 10, 0, APIConstants.APPLICATION_NAME, "asc", "PagedApp_")));
+        assertEquals(descending, getApplicationNames(apiMgtDAO.getApplicationsWithPagination(subscriber.getName(),
+                subscriber.getName(), -1234, 10, 0, APIConstants.APPLICATION_NAME, "desc", "PagedApp_")));
+        // Values outside the accepted sort columns and orders are not placed in the query, the default order is used
+        assertEquals(ascending, getApplicationNames(apiMgtDAO.getApplicationsWithPagination(subscriber.getName(),
+                subscriber.getName(), -1234, 10, 0, "APPLICATION_ID DESC, NAME", "asc", "PagedApp_")));
+        assertEquals(ascending, getApplicationNames(apiMgtDAO.getApplicationsWithPagination(subscriber.getName(),
+                subscriber.getName(), -1234, 10, 0, APIConstants.APPLICATION_NAME, "desc, APPLICATION_ID",
+                "PagedApp_")));
+        assertEquals(ascending.subList(1, 3), getApplicationNames(apiMgtDAO.getApplicationsWithPagination(
+                subscriber.getName(), subscriber.getName(), -1234, 2, 1, null, null, "PagedApp_")));
+
+        for (Application application : applications) {
+            apiMgtDAO.deleteApplication(application);
+        }
+        deleteSubscriber(subscriber.getId());
+    }
+
+    @Test
+    public void testGetAverageRatings() throws Exception {
+        String organization = "testAverageRatingsOrg";
+        Subscriber subscriber = new Subscriber("testGetAverageRatings");
+        subscriber.setTenantId(-1234);
+        subscriber.setEmail("abc@wso2.com");
+        subscriber.setSubscribedDate(new Date(System.currentTimeMillis()));
+        apiMgtDAO.addSubscriber(subscriber, null);
+        // More APIs than a single rating lookup batch holds, so that the ratings are read in two batches
+        List<String> uuids = addRatedAPIs(organization, 520, subscriber.getId());
+        try {
+            Map<String, Float> ratings = apiMgtDAO.getAverageRatings(uuids);
+
+            assertEquals(uuids.size() - (uuids.size() + 2) / 3, ratings.size());
+            assertFalse(ratings.containsKey(uuids.get(0)));
+            assertFalse(ratings.containsKey(uuids.get(519)));
+            assertEquals(4.4f, ratings.get(uuids.get(1)), 0);
+            assertEquals(1.5f, ratings.get(uuids.get(2)), 0);
+            assertEquals(4.4f, ratings.get(uuids.get(517)), 0);
+            assertEquals(1.5f, ratings.get(uuids.get(518)), 0);
+            for (String uuid : uuids) {
+                Float rating = ratings.get(uuid);
+                assertEquals("Rating of " + uuid + " differs from the single API lookup",
+                        apiMgtDAO.getAverageRating(uuid), rating != null ? rating : 0f, 0);
+            }
+            assertTrue(apiMgtDAO.getAverageRatings(Collections.singletonList(UUID.randomUUID().toString()))
+                    .isEmpty());
+            assertTrue(apiMgtDAO.getAverageRatings(new ArrayList<String>()).isEmpty());
+        } finally {
+            deleteAPIsOfOrganization(organization);
+            deleteSubscriber(subscriber.getId());
+        }
+    }
+
+    @Test
+    public void testGetAverageRatingsBenchmark() throws Exception {
+        Assume.assumeTrue("Run with -Dbenchmark=true to compare the rating lookups of the API search",
+                Boolean.getBoolean("benchmark"));
+        String organization = "testAverageRatingsBenchmarkOrg";
+        Subscriber subscriber = new Subscriber("testGetAverageRatingsBenchmark");
+        subscriber.setTenantId(-1234);
+        subscriber.setEmail("abc@wso2.com");
+        subscriber.setSubscribedDate(new Date(System.currentTimeMillis()));
+        apiMgtDAO.addSubscriber(subscriber, null);
+        List<String> uuids = addRatedAPIs(organization, 500, subscriber.getId());
+        try {
+            // Warm up both code paths before measuring
+            apiMgtDAO.getAverageRatings(uuids);
+            apiMgtDAO.getAverageRating(uuids.get(0));
+            for (int pageSize : new int[]{25, 100, 500}) {
+                List<String> page = uuids.subList(0, pageSize);
+                // searchPaginatedAPIs used to look up the rating of every API of the page separately
+                long start = System.nanoTime();
+                for (String uuid : page) {
+                    apiMgtDAO.getAverageRating(uuid);
+                }
+                long perApiTime = System.nanoTime() - start;
+                start = System.nanoTime();
+                apiMgtDAO.getAverageRatings(page);
+                long batchTime = System.nanoTime() - start;
+                log.info("Average ratings of a search page of " + pageSize + " APIs read in "
+                        + perApiTime / 1000 + " us with a lookup per API and in " + batchTime / 1000
+                        + " us with the batch lookup");
+            }
+        } finally {
+            deleteAPIsOfOrganization(organization);
+            deleteSubscriber(subscriber.getId());
+        }
+    }
+
+    /**
+     * Adds APIs to the given organization. Every third API, starting from the first, is not rated. The others are
+     * rated either 5, 4 and 4 (average 4.33, shown as 4.4) or 1 and 2 (average 1.5).
+     */
+    private List<String> addRatedAPIs(String organization, int count, int subscriberId) throws SQLException {
+        List<String> uuids = new ArrayList<>();
+        try (Connection conn = APIMgtDBUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement addAPI = conn.prepareStatement("INSERT INTO AM_API (API_UUID, API_PROVIDER, "
+                    + "API_NAME, API_VERSION, CONTEXT, ORGANIZATION) VALUES (?, 'admin', ?, '1.0.0', ?, ?)");
+                 PreparedStatement addRating = conn.prepareStatement("INSERT INTO AM_API_RATINGS (RATING_ID, "
+                         + "API_ID, RATING, SUBSCRIBER_ID) SELECT ?, API_ID, ?, ? FROM AM_API WHERE API_UUID = ?")) {
+                for (int i = 0; i < count; i++) {
+                    String uuid = UUID.randomUUID().toString();
+                    addAPI.setString(1, uuid);
+                    addAPI.setString(2, organization + "API" + i);
+                    addAPI.setString(3, "/" + organization + "/api" + i);
+                    addAPI.setString(4, organization);
+                    addAPI.addBatch();
+                    int[] apiRatings = i % 3 == 1 ? new int[]{5, 4, 4} : i % 3 == 2 ? new int[]{1, 2} : new int[0];
+                    for (int rating : apiRatings) {
+                        addRating.setString(1, UUID.randomUUID().toString());
+                        addRating.setInt(2, rating);
+                        addRating.setInt(3, subscriberId);
+                        addRating.setString(4, uuid);
+                        addRating.addBatch();
+                    }
+                    uuids.add(uuid);
+                }
+                addAPI.executeBatch();
+                addRating.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return uuids;
+    }
+
+    private void deleteAPIsOfOrganization(String organization) throws SQLException {
+        try (Connection conn = APIMgtDBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM AM_API WHERE ORGANIZATION = ?")) {
+            ps.setString(1, organization);
+            ps.executeUpdate();
+        }
+    }
+
+    private List<String> getSubscribedAPINames(Set<SubscribedAPI> subscribedAPIs) {
+        List<String> names = new ArrayList<>();
+        for (SubscribedAPI subscribedAPI : subscribedAPIs) {
+            names.add(subscribedAPI.getAPIIdentifier().getApiName() + ":"
+                    + subscribedAPI.getAPIIdentifier().getVersion());
+        }
+        return names;
+    }
+
+    private List<String> getApplicationNames(Application[] applications) {
+        List<String> names = new ArrayList<>();
+        for (Application application : applications) {
+            names.add(application.getName());
+        }
+        return names;
+    }
+
     private void deleteSubscriber(int subscriberId) throws APIManagementException {
         Connection conn = null;
         ResultSet rs = null;
@@ -0,0 +1,358 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl.dao.test;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.builder.StAXOMBuilder;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.api.model.subscription.API;
+import org.wso2.carbon.apimgt.api.model.subscription.URLMapping;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.APIManagerConfigurationServiceImpl;
+import org.wso2.carbon.apimgt.impl.dao.SubscriptionValidationDAO;
+import org.wso2.carbon.apimgt.impl.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.utils.APIMgtDBUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore("javax.management.*")
+public class SubscriptionValidationDAOTest {
+
+    private static final Log log = LogFactory.getLog(SubscriptionValidationDAOTest.class);
+    private static final String BENCHMARK_PROPERTY = "benchmark";
+    private static final int BENCHMARK_API_COUNT = 200;
+
+    private SubscriptionValidationDAO subscriptionValidationDAO;
+    private String organization;
+
+    @Before
+    public void setUp() throws Exception {
+
+        String dbConfigPath = System.getProperty("APIManagerDBConfigurationPath");
+        APIManagerConfiguration config = new APIManagerConfiguration();
+        initializeDatabase(dbConfigPath);
+        config.load(dbConfigPath);
+        ServiceReferenceHolder.getInstance().setAPIManagerConfigurationService(new APIManagerConfigurationServiceImpl
+                (config));
+        APIMgtDBUtil.initialize();
+        subscriptionValidationDAO = new SubscriptionValidationDAO();
+        // The database is shared between the test classes, hence each test loads the APIs of its own organization
+        organization = "bulkapis" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static void initializeDatabase(String configFilePath) {
+
+        InputStream in;
+        try {
+            in = FileUtils.openInputStream(new File(configFilePath));
+            StAXOMBuilder builder = new StAXOMBuilder(in);
+            String dataSource = builder.getDocumentElement().getFirstChildWithName(new QName("DataSourceName")).
+                    getText();
+            OMElement databaseElement = builder.getDocumentElement().getFirstChildWithName(new QName("Database"));
+            String databaseURL = databaseElement.getFirstChildWithName(new QName("URL")).getText();
+            String databaseUser = databaseElement.getFirstChildWithName(new QName("Username")).getText();
+            String databasePass = databaseElement.getFirstChildWithName(new QName("Password")).getText();
+            String databaseDriver = databaseElement.getFirstChildWithName(new QName("Driver")).getText();
+
+            BasicDataSource basicDataSource = new BasicDataSource();
+            basicDataSource.setDriverClassName(databaseDriver);
+            basicDataSource.setUrl(databaseURL);
+            basicDataSource.setUsername(databaseUser);
+            basicDataSource.setPassword(databasePass);
+
+            // Create initial context
+            System.setProperty(Context.INITIAL_CONTEXT_FACTORY,
+                    "org.apache.naming.java.javaURLContextFactory");
+            System.setProperty(Context.URL_PKG_PREFIXES,
+                    "org.apache.naming");
+            try {
+                InitialContext.doLookup("java:/comp/env/jdbc/WSO2AM_DB");
+            } catch (NamingException e) {
+                InitialContext ic = new InitialContext();
+                ic.createSubcontext("java:");
+                ic.createSubcontext("java:/comp");
+                ic.createSubcontext("java:/comp/env");
+                ic.createSubcontext("java:/comp/env/jdbc");
+
+                ic.bind("java:/comp/env/jdbc/WSO2AM_DB", basicDataSource);
+            }
+        } catch (XMLStreamException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (NamingException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    public void testGetAllApisWithDetails() throws Exception {
+
+        String apiUuid = UUID.randomUUID().toString();
+        String apiRevision = UUID.randomUUID().toString();
+        int apiId = addAPI(apiUuid, "PizzaShackAPI", "/pizzashack", "HTTP");
+        addRevision(apiUuid, apiRevision, "Gold");
+        addDeployment(apiRevision, "Default");
+        addDeployment(apiRevision, "Production");
+        int menuMappingId = addURLMapping(apiId, "GET", "/menu", "Unlimited", apiRevision);
+        addScope(menuMappingId, "read");
+        addScope(menuMappingId, "write");
+        addURLMapping(apiId, "POST", "/order", "10KPerMin", apiRevision);
+        // Working copy resources are not deployed, hence they must not be attached to the deployed revision
+        addURLMapping(apiId, "DELETE", "/order", "Unlimited", null);
+
+        String undeployedApiUuid = UUID.randomUUID().toString();
+        int undeployedApiId = addAPI(undeployedApiUuid, "CalculatorAPI", "/calculator", "HTTP");
+        String undeployedRevision = UUID.randomUUID().toString();
+        addRevision(undeployedApiUuid, undeployedRevision, "Bronze");
+        addURLMapping(undeployedApiId, "GET", "/add", "Unlimited", undeployedRevision);
+
+        String productUuid = UUID.randomUUID().toString();
+        String productRevision = UUID.randomUUID().toString();
+        int productId = addAPI(productUuid, "PizzaProduct", "/pizzaproduct", APIConstants.API_PRODUCT);
+        addRevision(productUuid, productRevision, "Silver");
+        addDeployment(productRevision, "Default");
+        addProductMapping(productId, menuMappingId, productRevision);
+
+        List<API> apis = subscriptionValidationDAO.getAllApis(organization, true);
+
+        Assert.assertEquals(3, apis.size());
+        Map<String, API> apisByKey = new HashMap<>();
+        for (API api : apis) {
+            apisByKey.put(api.getApiUUID() + ":" + api.getEnvironment(), api);
+            Assert.assertNotEquals(undeployedApiUuid, api.getApiUUID());
+        }
+        for (String environment : new String[]{"Default", "Production"}) {
+            API api = apisByKey.get(apiUuid + ":" + environment);
+            Assert.assertNotNull("API is not loaded for the " + environment + " deployment", api);
+            Assert.assertEquals(apiRevision, api.getRevision());
+            Assert.assertEquals("Gold", api.getPolicy());
+            Assert.assertEquals(2, api.getAllResources().size());
+            URLMapping menu = api.getResource("/menu", "GET");
+            Assert.assertNotNull(menu);
+            Assert.assertEquals("Unlimited", menu.getThrottlingPolicy());
+            Assert.assertEquals(2, menu.getScopes().size());
+            Assert.assertTrue(menu.getScopes().contains("read"));
+            Assert.assertTrue(menu.getScopes().contains("write"));
+            Assert.assertEquals("10KPerMin", api.getResource("/order", "POST").getThrottlingPolicy());
+            Assert.assertNull(api.getResource("/order", "DELETE"));
+            assertSameAsLoadedById(api, environment);
+        }
+        // The API revision deployed to several environments is loaded as separate API objects
+        Assert.assertNotSame(apisByKey.get(apiUuid + ":Default"), apisByKey.get(apiUuid + ":Production"));
+
+        API product = apisByKey.get(productUuid + ":null");
+        Assert.assertNotNull("API product is not loaded", product);
+        Assert.assertEquals("Silver", product.getPolicy());
+        Assert.assertEquals(1, product.getAllResources().size());
+        Assert.assertEquals(2, product.getResource("/menu", "GET").getScopes().size());
+        assertSameAsLoadedById(product, "Default");
+    }
+
+    @Test
+    public void testGetAllApisWithoutDetails() throws Exception {
+
+        String apiUuid = UUID.randomUUID().toString();
+        String apiRevision = UUID.randomUUID().toString();
+        int apiId = addAPI(apiUuid, "PizzaShackAPI", "/pizzashack", "HTTP");
+        addRevision(apiUuid, apiRevision, "Gold");
+        addDeployment(apiRevision, "Default");
+        addURLMapping(apiId, "GET", "/menu", "Unlimited", apiRevision);
+
+        List<API> apis = subscriptionValidationDAO.getAllApis(organization, false);
+
+        Assert.assertEquals(1, apis.size());
+        Assert.assertNull(apis.get(0).getPolicy());
+        Assert.assertNull(apis.get(0).getRevision());
+        Assert.assertTrue(apis.get(0).getAllResources().isEmpty());
+    }
+
+    @Test
+    public void testGetAllApisBenchmark() throws Exception {
+
+        Assume.assumeTrue("Run with -D" + BENCHMARK_PROPERTY + "=true to measure the loading of the APIs",
+                Boolean.getBoolean(BENCHMARK_PROPERTY));
+        String[] apiUuids = new String[BENCHMARK_API_COUNT];
+        for (int i = 0; i < BENCHMARK_API_COUNT; i++) {
+            apiUuids[i] = UUID.randomUUID().toString();
+            String revision = UUID.randomUUID().toString();
+            int apiId = addAPI(apiUuids[i], "BenchmarkAPI" + i, "/benchmark" + i, "HTTP");
+            addRevision(apiUuids[i], revision, "Unlimited");
+            addDeployment(revision, "Default");
+            for (int j = 0; j < 5; j++) {
+                addScope(addURLMapping(apiId, "GET", "/resource" + j, "Unlimited", revision), "scope" + j);
+            }
+        }
+        // Warm up both code paths before measuring
+        subscriptionValidationDAO.getAllApis(organization, true);
+        subscriptionValidationDAO.getApiByUUID(apiUuids[0], "Default", organization, true);
+
+        long start = System.nanoTime();
+        List<API> apis = subscriptionValidationDAO.getAllApis(organization, true);
+        long bulkTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (String apiUuid : apiUuids) {
+            subscriptionValidationDAO.getApiByUUID(apiUuid, "Default", organization, true);
+        }
+        long perApiTime = System.nanoTime() - start;
+
+        Assert.assertEquals(BENCHMARK_API_COUNT, apis.size());
+        log.info("Loaded " + BENCHMARK_API_COUNT + " APIs with 5 resources each in " + bulkTime / 1000000
+                + " ms using the bulk queries and in " + perApiTime / 1000000 + " ms using the per API queries");
+    }
+
+    private void assertSameAsLoadedById(API api, String environment) {
+
+        API loadedById = subscriptionValidationDAO.getApiByUUID(api.getApiUUID(), environment, organization, true);
+        Assert.assertNotNull(loadedById);
+        Assert.assertEquals(loadedById.getApiId(), api.getApiId());
+        Assert.assertEquals(loadedById.getPolicy(), api.getPolicy());
+        Assert.assertEquals(loadedById.isDefaultVersion(), api.isDefaultVersion());
+        Assert.assertEquals(loadedById.getAllResources(), api.getAllResources());
+        for (Map.Entry<String, URLMapping> resource : loadedById.getAllResources().entrySet()) {
+            Assert.assertEquals(resource.getValue().getScopes().size(),
+                    api.getAllResources().get(resource.getKey()).getScopes().size());
+            Assert.assertTrue(api.getAllResources().get(resource.getKey()).getScopes()
+                    .containsAll(resource.getValue().getScopes()));
+        }
+    }
+
+    private int addAPI(String apiUuid, String name, String context, String apiType) throws SQLException {
+
+        String sql = "INSERT INTO AM_API (API_UUID, API_PROVIDER, API_NAME, API_VERSION, CONTEXT, API_TYPE, "
+                + "ORGANIZATION, STATUS) VALUES (?, 'admin', ?, '1.0.0', ?, ?, ?, 'PUBLISHED')";
+        try (Connection connection = APIMgtDBUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql,
+                     Statement.RETURN_GENERATED_KEYS)) {
+            preparedStatement.setString(1, apiUuid);
+            preparedStatement.setString(2, name);
+            preparedStatement.setString(3, "/t/" + organization + context + "/1.0.0");
+            preparedStatement.setString(4, apiType);
+            preparedStatement.setString(5, organization);
+            preparedStatement.executeUpdate();
+            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                Assert.assertTrue(resultSet.next());
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private void addRevision(String apiUuid, String revisionUuid, String apiTier) throws SQLException {
+
+        try (Connection connection = APIMgtDBUtil.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(
+                    "INSERT INTO AM_REVISION (ID, API_UUID, REVISION_UUID) VALUES (1, ?, ?)")) {
+                preparedStatement.setString(1, apiUuid);
+                preparedStatement.setString(2, revisionUuid);
+                preparedStatement.executeUpdate();
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(
+                    "INSERT INTO AM_API_REVISION_METADATA (API_UUID, REVISION_UUID, API_TIER) VALUES (?, ?, ?)")) {
+                preparedStatement.setString(1, apiUuid);
+                preparedStatement.setString(2, revisionUuid);
+                preparedStatement.setString(3, apiTier);
+                preparedStatement.executeUpdate();
+            }
+        }
+    }
+
+    private void addDeployment(String revisionUuid, String deployment) throws SQLException {
+
+        try (Connection connection = APIMgtDBUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(
+                     "INSERT INTO AM_DEPLOYMENT_REVISION_MAPPING (NAME, REVISION_UUID) VALUES (?, ?)")) {
+            preparedStatement.setString(1, deployment);
+            preparedStatement.setString(2, revisionUuid);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private int addURLMapping(int apiId, String httpMethod, String urlPattern, String throttlingTier,
+                              String revisionUuid) throws SQLException {
+
+        String sql = "INSERT INTO AM_API_URL_MAPPING (API_ID, HTTP_METHOD, AUTH_SCHEME, URL_PATTERN, THROTTLING_TIER, "
+                + "REVISION_UUID) VALUES (?, ?, 'Any', ?, ?, ?)";
+        try (Connection connection = APIMgtDBUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql,
+                     Statement.RETURN_GENERATED_KEYS)) {
+            preparedStatement.setInt(1, apiId);
+            preparedStatement.setString(2, httpMethod);
+            preparedStatement.setString(3, urlPattern);
+            preparedStatement.setString(4, throttlingTier);
+            preparedStatement.setString(5, revisionUuid);
+            preparedStatement.executeUpdate();
+            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                Assert.assertTrue(resultSet.next());
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private void addScope(int urlMappingId, String scopeName) throws SQLException {
+
+        try (Connection connection = APIMgtDBUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(
+                     "INSERT INTO AM_API_RESOURCE_SCOPE_MAPPING (SCOPE_NAME, URL_MAPPING_ID, TENANT_ID) "
+                             + "VALUES (?, ?, -1234)")) {
+            preparedStatement.setString(1, scopeName);
+            preparedStatement.setInt(2, urlMappingId);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private void addProductMapping(int productId, int urlMappingId, String revisionUuid) throws SQLException {
+
+        try (Connection connection = APIMgtDBUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(
+                     "INSERT INTO AM_API_PRODUCT_MAPPING (API_ID, URL_MAPPING_ID, REVISION_UUID) VALUES (?, ?, ?)")) {
+            preparedStatement.setInt(1, productId);
+            preparedStatement.setInt(2, urlMappingId);
+            preparedStatement.setString(3, revisionUuid);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
@@ -161,6 +161,31 @@ public class SQLConstantmanagerFactoryTestCase {
         Assert.assertEquals(result, SQLConstantOracle.GET_APPLICATIONS_PREFIX_CASESENSITVE);
     }
 
+    @Test
+    public void testGetPaginatedSubscribedAPIsSQLOfAllDBTypes() throws Exception {
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "dbType", "h2mysql");
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "sqlConstantsH2MySQL", new SQLConstantsH2MySQL());
+        Assert.assertEquals(SQLConstantsH2MySQL.GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID,
+                SQLConstantManagerFactory.getSQlString("GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID"));
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "dbType", "mssql");
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "sqlConstantsMSSQL", new SQLConstantsMSSQL());
+        Assert.assertEquals(SQLConstantsMSSQL.GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID,
+                SQLConstantManagerFactory.getSQlString("GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID"));
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "dbType", "db2");
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "sqlConstantsDB2", new SQLConstantsDB2());
+        Assert.assertEquals(SQLConstantsDB2.GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID,
+                SQLConstantManagerFactory.getSQlString("GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID"));
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "dbType", "postgre");
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "sqlConstantPostgreSQL",
+                new SQLConstantPostgreSQL());
+        Assert.assertEquals(SQLConstantPostgreSQL.GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID,
+                SQLConstantManagerFactory.getSQlString("GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID"));
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "dbType", "oracle");
+        Whitebox.setInternalState(SQLConstantManagerFactory.class, "sqlConstantOracle", new SQLConstantOracle());
+        Assert.assertEquals(SQLConstantOracle.GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID,
+                SQLConstantManagerFactory.getSQlString("GET_PAGINATED_SUBSCRIBED_APIS_BY_APP_ID"));
+    }
+
     @Test(expected = APIManagementException.class)
     public void testGetSQLStringNoSucFieldException() throws Exception{
         Whitebox.setInternalState(SQLConstantManagerFactory.class, "dbType", "oracle");
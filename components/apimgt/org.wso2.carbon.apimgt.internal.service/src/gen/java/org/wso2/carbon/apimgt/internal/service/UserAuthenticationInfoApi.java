@@ -0,0 +1,52 @@
+package org.wso2.carbon.apimgt.internal.service;
+
+import org.wso2.carbon.apimgt.internal.service.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.internal.service.dto.UserAuthenticationInfoDTO;
+import org.wso2.carbon.apimgt.internal.service.dto.UserCredentialsDTO;
+import org.wso2.carbon.apimgt.internal.service.UserAuthenticationInfoApiService;
+import org.wso2.carbon.apimgt.internal.service.impl.UserAuthenticationInfoApiServiceImpl;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.inject.Inject;
+
+import io.swagger.annotations.*;
+import java.io.InputStream;
+
+import org.apache.cxf.jaxrs.ext.MessageContext;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.Multipart;
+
+import java.util.Map;
+import java.util.List;
+import javax.validation.constraints.*;
+@Path("/user-authentication-info")
+
+@Api(description = "the user-authentication-info API")
+
+@Consumes({ "application/json" })
+@Produces({ "application/json" })
+
+
+public class UserAuthenticationInfoApi  {
+
+  @Context MessageContext securityContext;
+
+UserAuthenticationInfoApiService delegate = new UserAuthenticationInfoApiServiceImpl();
+
+
+    @POST
+    
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Validate user credentials.", notes = "This validates the given username and password against the user store and returns the authentication info of the user. ", response = UserAuthenticationInfoDTO.class, tags={ "User Authentication" })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Authentication info of the user.", response = UserAuthenticationInfoDTO.class),
+        @ApiResponse(code = 200, message = "Unexpected error", response = ErrorDTO.class) })
+    public Response userAuthenticationInfoPost(@ApiParam(value = "Credentials of the user" ,required=true) UserCredentialsDTO body) throws APIManagementException{
+        return delegate.userAuthenticationInfoPost(body, securityContext);
+    }
+}
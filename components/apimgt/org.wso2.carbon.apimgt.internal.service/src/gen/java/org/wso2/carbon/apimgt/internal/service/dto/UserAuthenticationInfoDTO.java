@@ -0,0 +1,114 @@
+package org.wso2.carbon.apimgt.internal.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+
+
+
+
+public class UserAuthenticationInfoDTO   {
+  
+    private Boolean authenticated = null;
+    private String domainQualifiedUsername = null;
+    private List<String> userRoleList = new ArrayList<>();
+
+  /**
+   **/
+  public UserAuthenticationInfoDTO authenticated(Boolean authenticated) {
+    this.authenticated = authenticated;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "")
+  @JsonProperty("authenticated")
+  public Boolean isAuthenticated() {
+    return authenticated;
+  }
+  public void setAuthenticated(Boolean authenticated) {
+    this.authenticated = authenticated;
+  }
+
+  /**
+   **/
+  public UserAuthenticationInfoDTO domainQualifiedUsername(String domainQualifiedUsername) {
+    this.domainQualifiedUsername = domainQualifiedUsername;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "")
+  @JsonProperty("domainQualifiedUsername")
+  public String getDomainQualifiedUsername() {
+    return domainQualifiedUsername;
+  }
+  public void setDomainQualifiedUsername(String domainQualifiedUsername) {
+    this.domainQualifiedUsername = domainQualifiedUsername;
+  }
+
+  /**
+   **/
+  public UserAuthenticationInfoDTO userRoleList(List<String> userRoleList) {
+    this.userRoleList = userRoleList;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "")
+  @JsonProperty("userRoleList")
+  public List<String> getUserRoleList() {
+    return userRoleList;
+  }
+  public void setUserRoleList(List<String> userRoleList) {
+    this.userRoleList = userRoleList;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    UserAuthenticationInfoDTO userAuthenticationInfo = (UserAuthenticationInfoDTO) o;
+    return Objects.equals(authenticated, userAuthenticationInfo.authenticated) &&
+        Objects.equals(domainQualifiedUsername, userAuthenticationInfo.domainQualifiedUsername) &&
+        Objects.equals(userRoleList, userAuthenticationInfo.userRoleList);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(authenticated, domainQualifiedUsername, userRoleList);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class UserAuthenticationInfoDTO {\n");
+    
+    sb.append("    authenticated: ").append(toIndentedString(authenticated)).append("\n");
+    sb.append("    domainQualifiedUsername: ").append(toIndentedString(domainQualifiedUsername)).append("\n");
+    sb.append("    userRoleList: ").append(toIndentedString(userRoleList)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.internal.service.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.cxf.jaxrs.ext.MessageContext;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
+import org.wso2.carbon.apimgt.impl.service.APIKeyMgtRemoteUserStoreMgtService;
+import org.wso2.carbon.apimgt.internal.service.UserAuthenticationInfoApiService;
+import org.wso2.carbon.apimgt.internal.service.dto.UserAuthenticationInfoDTO;
+import org.wso2.carbon.apimgt.internal.service.dto.UserCredentialsDTO;
+
+import java.util.Arrays;
+
+import javax.ws.rs.core.Response;
+
+/**
+ * Validates basic auth credentials for the gateway. This is the REST counterpart of
+ * {@link APIKeyMgtRemoteUserStoreMgtService#getUserAuthenticationInfo(String, String)}.
+ */
+public class UserAuthenticationInfoApiServiceImpl implements UserAuthenticationInfoApiService {
+
+    private final APIKeyMgtRemoteUserStoreMgtService userStoreMgtService = new APIKeyMgtRemoteUserStoreMgtService();
+
+    @Override
+    public Response userAuthenticationInfoPost(UserCredentialsDTO body, MessageContext messageContext)
+            throws APIManagementException {
+
+        if (body == null || StringUtils.isEmpty(body.getUsername()) || body.getPassword() == null) {
+            return Response.status(Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Username and password are required.").build();
+        }
+        BasicAuthValidationInfoDTO basicAuthValidationInfoDTO =
+                userStoreMgtService.getUserAuthenticationInfo(body.getUsername(), body.getPassword());
+        UserAuthenticationInfoDTO userAuthenticationInfoDTO = new UserAuthenticationInfoDTO();
+        userAuthenticationInfoDTO.setAuthenticated(basicAuthValidationInfoDTO.isAuthenticated());
+        userAuthenticationInfoDTO.setDomainQualifiedUsername(basicAuthValidationInfoDTO.getDomainQualifiedUsername());
+        if (basicAuthValidationInfoDTO.getUserRoleList() != null) {
+            userAuthenticationInfoDTO.setUserRoleList(Arrays.asList(basicAuthValidationInfoDTO.getUserRoleList()));
+        }
+        return Response.ok().entity(userAuthenticationInfoDTO).build();
+    }
+}
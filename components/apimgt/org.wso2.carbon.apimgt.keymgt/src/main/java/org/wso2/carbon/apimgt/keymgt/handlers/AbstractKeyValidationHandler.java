@@ -36,6 +36,7 @@ import org.wso2.carbon.apimgt.keymgt.model.entity.ApplicationPolicy;
 import org.wso2.carbon.apimgt.keymgt.model.entity.GroupId;
 import org.wso2.carbon.apimgt.keymgt.model.entity.Subscription;
 import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionValidationDecision;
 import org.wso2.carbon.apimgt.keymgt.model.exception.DataLoadingException;
 import org.wso2.carbon.apimgt.keymgt.model.impl.SubscriptionDataLoaderImpl;
 import org.wso2.carbon.apimgt.keymgt.service.TokenValidationContext;
@@ -148,6 +149,15 @@ public abstract class AbstractKeyValidationHandler implements KeyValidationHandl
     @Override
     public APIKeyValidationInfoDTO validateSubscription(String apiContext, String apiVersion, String consumerKey,
                                                         String keyManager) {
+
+        SubscriptionDataStore datastore = getSubscriptionDataStore(apiContext);
+        String decisionKey = String.join(APIConstants.DELEM_COLON, "key", keyManager, consumerKey, apiContext,
+                apiVersion);
+        APIKeyValidationInfoDTO cachedInfoDTO = getCachedValidationInfo(datastore, decisionKey);
+        if (cachedInfoDTO != null) {
+            return cachedInfoDTO;
+        }
+        long storeVersion = datastore != null ? datastore.getStoreVersion() : 0;
         APIKeyValidationInfoDTO apiKeyValidationInfoDTO =  new APIKeyValidationInfoDTO();
 
         if (log.isDebugEnabled()) {
@@ -159,11 +169,25 @@ public abstract class AbstractKeyValidationHandler implements KeyValidationHandl
         if (log.isDebugEnabled()) {
             log.debug("After validating subscriptions");
         }
+        if (datastore != null) {
+            datastore.addSubscriptionValidationDecision(decisionKey,
+                    SubscriptionValidationDecision.from(apiKeyValidationInfoDTO), storeVersion);
+        }
         return apiKeyValidationInfoDTO;
     }
 
     @Override
     public APIKeyValidationInfoDTO validateSubscription(String apiContext, String apiVersion, int appId) {
+
+        SubscriptionDataStore datastore = getSubscriptionDataStore(apiContext);
+        // The key type of an application is fixed by the application itself, so it is covered by the appId
+        String decisionKey = String.join(APIConstants.DELEM_COLON, "app", String.valueOf(appId), apiContext,
+                apiVersion);
+        APIKeyValidationInfoDTO cachedInfoDTO = getCachedValidationInfo(datastore, decisionKey);
+        if (cachedInfoDTO != null) {
+            return cachedInfoDTO;
+        }
+        long storeVersion = datastore != null ? datastore.getStoreVersion() : 0;
         APIKeyValidationInfoDTO apiKeyValidationInfoDTO =  new APIKeyValidationInfoDTO();
 
         if (log.isDebugEnabled()) {
@@ -175,8 +199,37 @@ public abstract class AbstractKeyValidationHandler implements KeyValidationHandl
         if (log.isDebugEnabled()) {
             log.debug("After validating subscriptions");
         }
+        if (datastore != null) {
+            datastore.addSubscriptionValidationDecision(decisionKey,
+                    SubscriptionValidationDecision.from(apiKeyValidationInfoDTO), storeVersion);
+        }
         return apiKeyValidationInfoDTO;
     }
+
+    private SubscriptionDataStore getSubscriptionDataStore(String context) {
+
+        String apiTenantDomain = MultitenantUtils.getTenantDomainFromRequestURL(context);
+        if (apiTenantDomain == null) {
+            apiTenantDomain = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+        }
+        return SubscriptionDataHolder.getInstance().getTenantSubscriptionStore(apiTenantDomain);
+    }
+
+    private APIKeyValidationInfoDTO getCachedValidationInfo(SubscriptionDataStore datastore, String decisionKey) {
+
+        if (datastore == null) {
+            return null;
+        }
+        SubscriptionValidationDecision decision = datastore.getSubscriptionValidationDecision(decisionKey);
+        if (decision == null) {
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Subscription validation decision found in the datastore for " + decisionKey
+                    + ". Authorized : " + decision.isAuthorized());
+        }
+        return decision.toValidationInfoDTO();
+    }
     
     private boolean validateSubscriptionDetails(String context, String version, String consumerKey, String keyManager,
             APIKeyValidationInfoDTO infoDTO) {
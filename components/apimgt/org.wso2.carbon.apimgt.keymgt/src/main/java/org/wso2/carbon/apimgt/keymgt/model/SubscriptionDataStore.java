@@ -26,6 +26,7 @@ import org.wso2.carbon.apimgt.keymgt.model.entity.ApplicationPolicy;
 import org.wso2.carbon.apimgt.keymgt.model.entity.Scope;
 import org.wso2.carbon.apimgt.keymgt.model.entity.Subscription;
 import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionValidationDecision;
 
 import java.util.List;
 import java.util.Map;
@@ -180,6 +181,32 @@ public interface SubscriptionDataStore {
 
     List<ApplicationKeyMapping> getKeyMappingByApplicationId(int applicationId);
 
+    /**
+     * Gets a previously resolved subscription validation decision.
+     *
+     * @param decisionKey key identifying the application, API and key type of the validation
+     * @return {@link SubscriptionValidationDecision} or null if the decision is not cached
+     */
+    SubscriptionValidationDecision getSubscriptionValidationDecision(String decisionKey);
+
+    /**
+     * Caches a subscription validation decision, unless the store has been updated after the given version was
+     * obtained.
+     *
+     * @param decisionKey  key identifying the application, API and key type of the validation
+     * @param decision     resolved decision
+     * @param storeVersion value of {@link #getStoreVersion()} before the decision was resolved
+     */
+    void addSubscriptionValidationDecision(String decisionKey, SubscriptionValidationDecision decision,
+                                           long storeVersion);
+
+    /**
+     * Gets the version of the store, which changes whenever an entity in the store is added, updated or removed.
+     *
+     * @return store version
+     */
+    long getStoreVersion();
+
     void destroy();
 }
 
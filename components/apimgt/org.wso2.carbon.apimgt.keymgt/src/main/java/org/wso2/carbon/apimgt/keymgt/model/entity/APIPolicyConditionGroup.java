@@ -31,6 +31,7 @@ public class APIPolicyConditionGroup {
     private String quotaType;
     private int conditionGroupId = -1;
     private Set<Condition> condition;
+    private QuotaPolicy defaultLimit;
 
     public int getPolicyId() {
 
@@ -72,6 +73,16 @@ public class APIPolicyConditionGroup {
         this.condition = condition;
     }
 
+    public QuotaPolicy getDefaultLimit() {
+
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(QuotaPolicy defaultLimit) {
+
+        this.defaultLimit = defaultLimit;
+    }
+
     public boolean isContentAware() {
 
         if (PolicyConstants.BANDWIDTH_TYPE.equals(quotaType)) {
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.keymgt.model.entity;
+
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+
+/**
+ * Top level entity for representing a limit of a throttling policy.
+ */
+public class Limit {
+
+    private String timeUnit;
+    private int unitTime;
+
+    public String getTimeUnit() {
+
+        return timeUnit;
+    }
+
+    public void setTimeUnit(String timeUnit) {
+
+        this.timeUnit = timeUnit;
+    }
+
+    public int getUnitTime() {
+
+        return unitTime;
+    }
+
+    public void setUnitTime(int unitTime) {
+
+        this.unitTime = unitTime;
+    }
+
+    /**
+     * Returns the time window of the limit in milliseconds, in the same way the traffic manager execution plans
+     * translate the time unit of a policy.
+     *
+     * @return time window of the limit in milliseconds, or -1 if the time unit is not known
+     */
+    public long getTimeInMilliSeconds() {
+
+        return APIUtil.getThrottleWindowInMilliSeconds(timeUnit, unitTime);
+    }
+}
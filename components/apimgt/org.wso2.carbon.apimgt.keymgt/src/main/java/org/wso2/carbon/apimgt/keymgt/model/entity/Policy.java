@@ -36,6 +36,7 @@ public class Policy implements CacheableEntity<String> {
     private Integer tenantId = null;
     private String name = null;
     private String quotaType = null;
+    private QuotaPolicy defaultLimit = null;
 
     public int getId() {
 
@@ -82,6 +83,16 @@ public class Policy implements CacheableEntity<String> {
         this.name = name;
     }
 
+    public QuotaPolicy getDefaultLimit() {
+
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(QuotaPolicy defaultLimit) {
+
+        this.defaultLimit = defaultLimit;
+    }
+
     @Override
     public String getCacheKey() {
 
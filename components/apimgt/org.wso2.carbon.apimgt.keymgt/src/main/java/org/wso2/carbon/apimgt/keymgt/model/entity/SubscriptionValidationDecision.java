@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.keymgt.model.entity;
+
+import org.wso2.carbon.apimgt.impl.dto.APIKeyValidationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable result of a subscription validation, resolved from the in-memory subscription data store. A decision is
+ * kept in the data store until a subscription, application, key mapping, API or policy event changes the store, and
+ * is copied into a new {@link APIKeyValidationInfoDTO} for each request.
+ */
+public final class SubscriptionValidationDecision {
+
+    private final boolean authorized;
+    private final int validationStatus;
+    private final String tier;
+    private final String subscriber;
+    private final String subscriberTenantDomain;
+    private final String type;
+    private final String applicationId;
+    private final String applicationName;
+    private final String applicationTier;
+    private final String applicationUUID;
+    private final Set<String> applicationGroupIds;
+    private final Map<String, String> appAttributes;
+    private final String apiName;
+    private final String apiVersion;
+    private final String apiPublisher;
+    private final String apiTier;
+    private final boolean contentAware;
+    private final int spikeArrestLimit;
+    private final String spikeArrestUnit;
+    private final boolean stopOnQuotaReach;
+    private final int graphQLMaxDepth;
+    private final int graphQLMaxComplexity;
+    private final List<String> throttlingDataList;
+
+    private SubscriptionValidationDecision(APIKeyValidationInfoDTO infoDTO) {
+
+        this.authorized = infoDTO.isAuthorized();
+        this.validationStatus = infoDTO.getValidationStatus();
+        this.tier = infoDTO.getTier();
+        this.subscriber = infoDTO.getSubscriber();
+        this.subscriberTenantDomain = infoDTO.getSubscriberTenantDomain();
+        this.type = infoDTO.getType();
+        this.applicationId = infoDTO.getApplicationId();
+        this.applicationName = infoDTO.getApplicationName();
+        this.applicationTier = infoDTO.getApplicationTier();
+        this.applicationUUID = infoDTO.getApplicationUUID();
+        this.applicationGroupIds = infoDTO.getApplicationGroupIds() != null ?
+                Collections.unmodifiableSet(new HashSet<>(infoDTO.getApplicationGroupIds())) : null;
+        this.appAttributes = infoDTO.getAppAttributes() != null ?
+                Collections.unmodifiableMap(new HashMap<>(infoDTO.getAppAttributes())) : null;
+        this.apiName = infoDTO.getApiName();
+        this.apiVersion = infoDTO.getApiVersion();
+        this.apiPublisher = infoDTO.getApiPublisher();
+        this.apiTier = infoDTO.getApiTier();
+        this.contentAware = infoDTO.isContentAware();
+        this.spikeArrestLimit = infoDTO.getSpikeArrestLimit();
+        this.spikeArrestUnit = infoDTO.getSpikeArrestUnit();
+        this.stopOnQuotaReach = infoDTO.isStopOnQuotaReach();
+        this.graphQLMaxDepth = infoDTO.getGraphQLMaxDepth();
+        this.graphQLMaxComplexity = infoDTO.getGraphQLMaxComplexity();
+        this.throttlingDataList = infoDTO.getThrottlingDataList() != null ?
+                Collections.unmodifiableList(new ArrayList<>(infoDTO.getThrottlingDataList())) : null;
+    }
+
+    /**
+     * Captures the subscription related fields of a validated {@link APIKeyValidationInfoDTO}.
+     *
+     * @param infoDTO validation result
+     * @return immutable decision
+     */
+    public static SubscriptionValidationDecision from(APIKeyValidationInfoDTO infoDTO) {
+
+        return new SubscriptionValidationDecision(infoDTO);
+    }
+
+    /**
+     * Creates a new {@link APIKeyValidationInfoDTO} populated from this decision. Collections are copied, so the
+     * caller is free to modify the returned object.
+     *
+     * @return validation result
+     */
+    public APIKeyValidationInfoDTO toValidationInfoDTO() {
+
+        APIKeyValidationInfoDTO infoDTO = new APIKeyValidationInfoDTO();
+        infoDTO.setAuthorized(authorized);
+        infoDTO.setValidationStatus(validationStatus);
+        infoDTO.setTier(tier);
+        infoDTO.setSubscriber(subscriber);
+        infoDTO.setSubscriberTenantDomain(subscriberTenantDomain);
+        infoDTO.setType(type);
+        infoDTO.setApplicationId(applicationId);
+        infoDTO.setApplicationName(applicationName);
+        infoDTO.setApplicationTier(applicationTier);
+        infoDTO.setApplicationUUID(applicationUUID);
+        if (applicationGroupIds != null) {
+            infoDTO.setApplicationGroupIds(new HashSet<>(applicationGroupIds));
+        }
+        if (appAttributes != null) {
+            infoDTO.setAppAttributes(new HashMap<>(appAttributes));
+        }
+        infoDTO.setApiName(apiName);
+        infoDTO.setApiVersion(apiVersion);
+        infoDTO.setApiPublisher(apiPublisher);
+        infoDTO.setApiTier(apiTier);
+        infoDTO.setContentAware(contentAware);
+        infoDTO.setSpikeArrestLimit(spikeArrestLimit);
+        infoDTO.setSpikeArrestUnit(spikeArrestUnit);
+        infoDTO.setStopOnQuotaReach(stopOnQuotaReach);
+        infoDTO.setGraphQLMaxDepth(graphQLMaxDepth);
+        infoDTO.setGraphQLMaxComplexity(graphQLMaxComplexity);
+        if (throttlingDataList != null) {
+            infoDTO.setThrottlingDataList(new ArrayList<>(throttlingDataList));
+        }
+        return infoDTO;
+    }
+
+    public boolean isAuthorized() {
+
+        return authorized;
+    }
+
+    public int getValidationStatus() {
+
+        return validationStatus;
+    }
+}
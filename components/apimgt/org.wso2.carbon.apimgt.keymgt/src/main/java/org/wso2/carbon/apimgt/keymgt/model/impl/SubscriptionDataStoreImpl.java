@@ -38,6 +38,7 @@ import org.wso2.carbon.apimgt.keymgt.model.entity.ApplicationPolicy;
 import org.wso2.carbon.apimgt.keymgt.model.entity.Scope;
 import org.wso2.carbon.apimgt.keymgt.model.entity.Subscription;
 import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionValidationDecision;
 import org.wso2.carbon.apimgt.keymgt.model.exception.DataLoadingException;
 import org.wso2.carbon.apimgt.keymgt.model.util.SubscriptionDataStoreUtil;
 
@@ -50,6 +51,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -57,8 +59,11 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
     public static final String DELEM_PERIOD = ":";
     public static final int LOADING_POOL_SIZE = 7;
+    public static final int MAX_VALIDATION_DECISIONS = 10000;
     private static final Log log = LogFactory.getLog(SubscriptionDataStoreImpl.class);
     private final EventHubConfigurationDto eventHubConfiguration;
+    // Limits of subscription and application policies are only needed by the gateway local traffic manager.
+    private final boolean localTrafficManagerEnabled;
     private boolean scopesInitialized;
     // Maps for keeping Subscription related details.
     private Map<ApplicationKeyMappingCacheKey, ApplicationKeyMapping> applicationKeyMappingMap;
@@ -71,6 +76,10 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     private Map<String, ApplicationPolicy> appPolicyMap;
     private Map<String, Subscription> subscriptionMap;
     private Map<String, Scope> scopesMap;
+    // Resolved subscription validation decisions, cleared whenever an API, application, subscription, key
+    // mapping or policy changes.
+    private Map<String, SubscriptionValidationDecision> validationDecisionMap;
+    private final AtomicLong storeVersion = new AtomicLong();
     private boolean apisInitialized;
     private boolean apiPoliciesInitialized;
     private String tenantDomain;
@@ -78,8 +87,11 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
     public SubscriptionDataStoreImpl(String tenantDomain) {
 
-        this.eventHubConfiguration = ServiceReferenceHolder.getInstance()
-                .getAPIManagerConfigurationService().getAPIManagerConfiguration().getEventHubConfigurationDto();
+        APIManagerConfiguration config =
+                ServiceReferenceHolder.getInstance().getAPIManagerConfigurationService().getAPIManagerConfiguration();
+        this.eventHubConfiguration = config.getEventHubConfigurationDto();
+        this.localTrafficManagerEnabled =
+                Boolean.parseBoolean(config.getFirstProperty(APIConstants.LOCAL_TRAFFIC_MANAGER_ENABLED));
         this.tenantDomain = tenantDomain;
         initializeStore();
     }
@@ -96,6 +108,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         this.subscriptionMap = new ConcurrentHashMap<>();
         this.scopesMap = new ConcurrentHashMap<>();
         this.apiNameVersionMap = new ConcurrentHashMap<>();
+        this.validationDecisionMap = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -267,6 +280,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                     // load to the memory
                     log.debug("Loading Subscription to the in-memory datastore.");
                     subscriptionMap.put(subscription.getCacheKey(), subscription);
+                    invalidateValidationDecisions();
                 }
             }
         }
@@ -453,6 +467,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                     }
                 }
             }
+            invalidateValidationDecisions();
             if (log.isDebugEnabled()) {
                 Subscription updatedSubscription = subscriptionMap.get(subscription.getCacheKey());
                 log.debug("Updated Subscription From map :" + updatedSubscription.toString());
@@ -465,6 +480,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     public void removeSubscription(Subscription subscription) {
 
         subscriptionMap.remove(subscription.getCacheKey());
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -474,6 +490,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         apiByUUIDMap.put(api.getUuid(), api);
         apiNameVersionMap.put(key, api);
         apiMap.put(api.getCacheKey(), api);
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -486,6 +503,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                 String key = newAPI.getApiName().concat(":").concat(newAPI.getApiVersion());
                 apiNameVersionMap.put(key, newAPI);
                 apiByUUIDMap.put(newAPI.getUuid(), newAPI);
+                invalidateValidationDecisions();
             }
         } catch (DataLoadingException e) {
             log.error("Exception while loading api for " + api.getContext() + " " + api.getApiVersion(), e);
@@ -500,6 +518,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         apiByUUIDMap.remove(api.getUuid());
         apiNameVersionMap.remove(key);
         apiMap.remove(api.getCacheKey());
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -507,38 +526,64 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
         applicationKeyMappingMap.remove(applicationKeyMapping.getCacheKey());
         applicationKeyMappingMap.put(applicationKeyMapping.getCacheKey(), applicationKeyMapping);
+        invalidateValidationDecisions();
     }
 
     @Override
     public void removeApplicationKeyMapping(ApplicationKeyMapping applicationKeyMapping) {
 
         applicationKeyMappingMap.remove(applicationKeyMapping.getCacheKey());
+        invalidateValidationDecisions();
     }
 
     @Override
     public void addOrUpdateSubscriptionPolicy(SubscriptionPolicy subscriptionPolicy) {
 
+        if (localTrafficManagerEnabled && subscriptionPolicy.getDefaultLimit() == null) {
+            // Policy events do not carry the limits of the policy, hence load them from the internal API.
+            try {
+                subscriptionPolicy.setDefaultLimit(new SubscriptionDataLoaderImpl()
+                        .getSubscriptionPolicy(subscriptionPolicy.getName(), tenantDomain).getDefaultLimit());
+            } catch (DataLoadingException e) {
+                log.error("Exception while loading limits of subscription policy " + subscriptionPolicy.getName()
+                        + " for domain " + tenantDomain, e);
+            }
+        }
         subscriptionPolicyMap.remove(subscriptionPolicy.getCacheKey());
         subscriptionPolicyMap.put(subscriptionPolicy.getCacheKey(), subscriptionPolicy);
+        invalidateValidationDecisions();
     }
 
     @Override
     public void addOrUpdateApplicationPolicy(ApplicationPolicy applicationPolicy) {
 
+        if (localTrafficManagerEnabled && applicationPolicy.getDefaultLimit() == null) {
+            // Policy events do not carry the limits of the policy, hence load them from the internal API.
+            try {
+                applicationPolicy.setDefaultLimit(new SubscriptionDataLoaderImpl()
+                        .getApplicationPolicy(applicationPolicy.getName(), tenantDomain).getDefaultLimit());
+            } catch (DataLoadingException e) {
+                log.error("Exception while loading limits of application policy " + applicationPolicy.getName()
+                        + " for domain " + tenantDomain, e);
+            }
+        }
         appPolicyMap.remove(applicationPolicy.getCacheKey());
         appPolicyMap.put(applicationPolicy.getCacheKey(), applicationPolicy);
+        invalidateValidationDecisions();
     }
 
     @Override
     public void removeApplicationPolicy(ApplicationPolicy applicationPolicy) {
 
         appPolicyMap.remove(applicationPolicy.getCacheKey());
+        invalidateValidationDecisions();
     }
 
     @Override
     public void removeSubscriptionPolicy(SubscriptionPolicy subscriptionPolicy) {
 
         subscriptionPolicyMap.remove(subscriptionPolicy.getCacheKey());
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -546,6 +591,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
         applicationMap.remove(application.getId());
         applicationMap.put(application.getId(), application);
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -554,6 +600,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         applicationMap.remove(application.getId());
         subscriptionMap.values().removeIf(subscription ->
                 subscription != null && application.getUUID().equals(subscription.getApplicationUUID()));
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -563,6 +610,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
             ApiPolicy policy = new SubscriptionDataLoaderImpl().getAPIPolicy(apiPolicy.getName(), tenantDomain);
             apiPolicyMap.remove(apiPolicy.getCacheKey());
             apiPolicyMap.put(apiPolicy.getCacheKey(), policy);
+            invalidateValidationDecisions();
         } catch (DataLoadingException e) {
             log.error("Exception while loading api policy for " + apiPolicy.getName() + " for domain " + tenantDomain,
                     e);
@@ -573,6 +621,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     public void removeApiPolicy(ApiPolicy apiPolicy) {
 
         apiPolicyMap.remove(apiPolicy.getCacheKey());
+        invalidateValidationDecisions();
     }
 
     @Override
@@ -680,6 +729,40 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         return applicationKeyMappings;
     }
 
+    @Override
+    public SubscriptionValidationDecision getSubscriptionValidationDecision(String decisionKey) {
+
+        return validationDecisionMap.get(decisionKey);
+    }
+
+    @Override
+    public void addSubscriptionValidationDecision(String decisionKey, SubscriptionValidationDecision decision,
+                                                  long storeVersion) {
+
+        if (validationDecisionMap.size() >= MAX_VALIDATION_DECISIONS) {
+            validationDecisionMap.clear();
+        }
+        validationDecisionMap.put(decisionKey, decision);
+        if (this.storeVersion.get() != storeVersion) {
+            // The store was updated while the decision was resolved, so it may already be stale.
+            validationDecisionMap.remove(decisionKey, decision);
+        }
+    }
+
+    @Override
+    public long getStoreVersion() {
+
+        return storeVersion.get();
+    }
+
+    private void invalidateValidationDecisions() {
+
+        // The version must change before clearing, so that a decision resolved from the old data is either removed
+        // here or rejected by addSubscriptionValidationDecision.
+        storeVersion.incrementAndGet();
+        validationDecisionMap.clear();
+    }
+
     @Override
     public void destroy() {
         executorService.shutdown();
@@ -766,7 +849,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         API
     }
 
-    private static class PopulateTask<K, V extends CacheableEntity<K>> implements Runnable {
+    private class PopulateTask<K, V extends CacheableEntity<K>> implements Runnable {
 
         private Map<K, V> entityMap;
         private Supplier<List<V>> supplier;
@@ -800,6 +883,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                     log.debug("List is null for " + supplier.getClass());
                 }
             }
+            invalidateValidationDecisions();
         }
     }
 }
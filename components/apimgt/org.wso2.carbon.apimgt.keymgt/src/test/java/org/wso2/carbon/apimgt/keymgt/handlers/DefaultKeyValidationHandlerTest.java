@@ -35,6 +35,7 @@ import org.wso2.carbon.apimgt.keymgt.APIKeyMgtException;
 import org.wso2.carbon.apimgt.keymgt.SubscriptionDataHolder;
 import org.wso2.carbon.apimgt.keymgt.model.SubscriptionDataStore;
 import org.wso2.carbon.apimgt.keymgt.model.entity.API;
+import org.wso2.carbon.apimgt.keymgt.model.entity.SubscriptionValidationDecision;
 import org.wso2.carbon.apimgt.keymgt.service.TokenValidationContext;
 import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
@@ -44,6 +45,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.wso2.carbon.base.CarbonBaseConstants.CARBON_HOME;
 
@@ -173,4 +176,31 @@ public class DefaultKeyValidationHandlerTest extends DefaultKeyValidationHandler
                 APIConstants.KeyValidationStatus.API_AUTH_RESOURCE_FORBIDDEN, info.getValidationStatus());
 
     }
+
+    @Test
+    public void testSubscriptionValidationDecisionIsReused() {
+
+        DefaultKeyValidationHandler defaultKeyValidationHandler = new DefaultKeyValidationHandler();
+        APIKeyValidationInfoDTO validated = new APIKeyValidationInfoDTO();
+        validated.setAuthorized(true);
+        validated.setTier(TIER);
+        validated.setSubscriber(SUBSCRIBER);
+        validated.setApplicationId(APPLICATION_ID);
+        validated.setType(APIConstants.API_KEY_TYPE_PRODUCTION);
+        SubscriptionValidationDecision decision = SubscriptionValidationDecision.from(validated);
+        Mockito.when(SubscriptionDataHolder.getInstance()).thenReturn(subscriptionDataHolder);
+        Mockito.when(subscriptionDataHolder.getTenantSubscriptionStore(eq(TENANT_DOMAIN)))
+                .thenReturn(tenantSubscriptionStore);
+        Mockito.when(tenantSubscriptionStore.getSubscriptionValidationDecision(anyString())).thenReturn(decision);
+
+        APIKeyValidationInfoDTO info = defaultKeyValidationHandler.validateSubscription(API_CONTEXT, API_VERSION, 1);
+        Assert.assertTrue(info.isAuthorized());
+        Assert.assertEquals(TIER, info.getTier());
+        Assert.assertEquals(SUBSCRIBER, info.getSubscriber());
+        Assert.assertEquals(APPLICATION_ID, info.getApplicationId());
+        Assert.assertEquals(APIConstants.API_KEY_TYPE_PRODUCTION, info.getType());
+        Assert.assertNotSame(info, defaultKeyValidationHandler.validateSubscription(API_CONTEXT, API_VERSION, 1));
+        Mockito.verify(tenantSubscriptionStore, Mockito.never()).getApplicationById(anyInt());
+        Mockito.verify(tenantSubscriptionStore, Mockito.never()).getApiByContextAndVersion(anyString(), anyString());
+    }
 }
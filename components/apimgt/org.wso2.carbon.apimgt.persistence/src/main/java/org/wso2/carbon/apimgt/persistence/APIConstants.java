@@ -291,6 +291,7 @@ public final class APIConstants {
 
     //API caching related constants
     public static final String API_MANAGER_CACHE_MANAGER = "API_MANAGER_CACHE";
+    public static final String API_DEFINITION_CACHE_NAME = "apiDefinitionCache";
 
     public static final String SKIP_ROLES_BY_REGEX = "skipRolesByRegex";
     public static final String DOCUMENT_MEDIA_TYPE_KEY = "application/vnd.wso2-document\\+xml";
@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.persistence;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.model.Tag;
+import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPISearchResult;
+import org.wso2.carbon.apimgt.persistence.dto.Organization;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPI;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPIProduct;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPISearchResult;
+import org.wso2.carbon.apimgt.persistence.dto.ResourceFile;
+import org.wso2.carbon.apimgt.persistence.dto.UserContext;
+import org.wso2.carbon.apimgt.persistence.exceptions.APIPersistenceException;
+import org.wso2.carbon.apimgt.persistence.exceptions.ThumbnailPersistenceException;
+import org.wso2.carbon.apimgt.persistence.index.APIIndexEntry;
+import org.wso2.carbon.apimgt.persistence.index.APIIndexQuery;
+import org.wso2.carbon.apimgt.persistence.index.APISearchIndex;
+import org.wso2.carbon.apimgt.persistence.utils.RegistryPersistenceUtil;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.governance.api.generic.GenericArtifactManager;
+import org.wso2.carbon.governance.api.generic.dataobjects.GenericArtifact;
+import org.wso2.carbon.governance.api.util.GovernanceUtils;
+import org.wso2.carbon.registry.core.Registry;
+import org.wso2.carbon.registry.core.Resource;
+import org.wso2.carbon.registry.core.exceptions.RegistryException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Registry based persistence which answers the API listing, search and tag cloud queries of the Publisher and Dev
+ * Portal from an {@link APISearchIndex} instead of the registry Solr index. The index of an organization is built
+ * on its first search and kept up to date from the API write operations of this node. It is rebuilt in the
+ * background once it is older than the refresh interval, so that changes made by other nodes of a cluster are
+ * picked up. Queries which the index cannot answer, such as document and content searches, go to the registry.
+ */
+public class IndexedRegistryPersistenceImpl extends RegistryPersistenceImpl {
+
+    private static final Log log = LogFactory.getLog(IndexedRegistryPersistenceImpl.class);
+
+    private final APISearchIndex searchIndex = new APISearchIndex();
+    private final ConcurrentMap<String, Object> indexLocks = new ConcurrentHashMap<>();
+    private final Set<String> refreshingOrganizations = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "APISearchIndexRefresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long refreshIntervalMillis;
+
+    /**
+     * @param properties            persistence properties
+     * @param refreshIntervalMillis interval after which the index of an organization is rebuilt. Non positive values
+     *                              disable the periodic rebuild.
+     */
+    public IndexedRegistryPersistenceImpl(Properties properties, long refreshIntervalMillis) {
+
+        super(properties);
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    @Override
+    public PublisherAPISearchResult searchAPIsForPublisher(Organization org, String searchQuery, int start, int offset,
+                                                           UserContext ctx, String sortBy, String sortOrder)
+            throws APIPersistenceException {
+
+        APIIndexQuery query = APIIndexQuery.parse(searchQuery);
+        if (query != null && ensureIndexed(org)) {
+            PublisherAPISearchResult result = searchIndex.searchForPublisher(org.getName(), query, ctx, start,
+                    offset);
+            if (result != null) {
+                return result;
+            }
+        }
+        return super.searchAPIsForPublisher(org, searchQuery, start, offset, ctx, sortBy, sortOrder);
+    }
+
+    @Override
+    public DevPortalAPISearchResult searchAPIsForDevPortal(Organization org, String searchQuery, int start, int offset,
+                                                           UserContext ctx) throws APIPersistenceException {
+
+        APIIndexQuery query = APIIndexQuery.parse(searchQuery);
+        if (query != null && ensureIndexed(org)) {
+            DevPortalAPISearchResult result = searchIndex.searchForDevPortal(org.getName(), query, ctx,
+                    getAccessType(org.getName(), ctx), start, offset, isAllowDisplayAPIsWithMultipleStatus(),
+                    isAllowDisplayAPIsWithMultipleVersions());
+            if (result != null) {
+                return result;
+            }
+        }
+        return super.searchAPIsForDevPortal(org, searchQuery, start, offset, ctx);
+    }
+
+    @Override
+    public Set<Tag> getAllTags(Organization org, UserContext ctx) throws APIPersistenceException {
+
+        if (ensureIndexed(org)) {
+            Set<Tag> tags = searchIndex.getTags(org.getName(), ctx, getAccessType(org.getName(), ctx));
+            if (tags != null) {
+                return tags;
+            }
+        }
+        return super.getAllTags(org, ctx);
+    }
+
+    @Override
+    public PublisherAPI addAPI(Organization org, PublisherAPI publisherAPI) throws APIPersistenceException {
+
+        PublisherAPI addedAPI = super.addAPI(org, publisherAPI);
+        if (addedAPI != null) {
+            updateIndex(org, addedAPI.getId());
+        }
+        return addedAPI;
+    }
+
+    @Override
+    public PublisherAPI updateAPI(Organization org, PublisherAPI publisherAPI) throws APIPersistenceException {
+
+        PublisherAPI updatedAPI = super.updateAPI(org, publisherAPI);
+        updateIndex(org, publisherAPI.getId());
+        return updatedAPI;
+    }
+
+    @Override
+    public void restoreAPIRevision(Organization org, String apiUUID, String revisionUUID, int revisionId)
+            throws APIPersistenceException {
+
+        super.restoreAPIRevision(org, apiUUID, revisionUUID, revisionId);
+        updateIndex(org, apiUUID);
+    }
+
+    @Override
+    public void deleteAPI(Organization org, String apiId) throws APIPersistenceException {
+
+        super.deleteAPI(org, apiId);
+        removeFromIndex(org, apiId);
+    }
+
+    @Override
+    public void deleteAllAPIs(Organization org) throws APIPersistenceException {
+
+        super.deleteAllAPIs(org);
+        if (org != null && org.getName() != null) {
+            searchIndex.invalidate(org.getName());
+        }
+    }
+
+    @Override
+    public void changeAPILifeCycle(Organization org, String apiId, String status) throws APIPersistenceException {
+
+        super.changeAPILifeCycle(org, apiId, status);
+        updateIndex(org, apiId);
+    }
+
+    @Override
+    public void saveThumbnail(Organization org, String apiId, ResourceFile resourceFile)
+            throws ThumbnailPersistenceException {
+
+        super.saveThumbnail(org, apiId, resourceFile);
+        updateIndex(org, apiId);
+    }
+
+    @Override
+    public void deleteThumbnail(Organization org, String apiId) throws ThumbnailPersistenceException {
+
+        super.deleteThumbnail(org, apiId);
+        updateIndex(org, apiId);
+    }
+
+    @Override
+    public PublisherAPIProduct addAPIProduct(Organization org, PublisherAPIProduct publisherAPIProduct)
+            throws APIPersistenceException {
+
+        PublisherAPIProduct addedProduct = super.addAPIProduct(org, publisherAPIProduct);
+        if (addedProduct != null) {
+            updateIndex(org, addedProduct.getId());
+        }
+        return addedProduct;
+    }
+
+    @Override
+    public PublisherAPIProduct updateAPIProduct(Organization org, PublisherAPIProduct publisherAPIProduct)
+            throws APIPersistenceException {
+
+        PublisherAPIProduct updatedProduct = super.updateAPIProduct(org, publisherAPIProduct);
+        updateIndex(org, publisherAPIProduct.getId());
+        return updatedProduct;
+    }
+
+    @Override
+    public void deleteAPIProduct(Organization org, String apiId) throws APIPersistenceException {
+
+        super.deleteAPIProduct(org, apiId);
+        removeFromIndex(org, apiId);
+    }
+
+    /**
+     * Rebuild the search index of an organization from the registry.
+     *
+     * @param org organization
+     * @throws APIPersistenceException if the APIs of the organization could not be read
+     */
+    public void rebuildIndex(Organization org) throws APIPersistenceException {
+
+        String organization = org.getName();
+        synchronized (getIndexLock(organization)) {
+            boolean tenantFlowStarted = false;
+            try {
+                RegistryHolder holder = getRegistry(organization);
+                tenantFlowStarted = holder.isTenantFlowStarted();
+                Registry registry = holder.getRegistry();
+                GenericArtifactManager artifactManager = RegistryPersistenceUtil.getArtifactManager(registry,
+                        APIConstants.API_KEY);
+                if (artifactManager == null) {
+                    throw new APIPersistenceException("Artifact manager is null when indexing APIs of organization "
+                            + organization);
+                }
+                long startTime = System.currentTimeMillis();
+                List<APIIndexEntry> entries = new ArrayList<>();
+                for (GenericArtifact artifact : artifactManager.getAllGenericArtifacts()) {
+                    APIIndexEntry entry = toIndexEntry(registry, artifact);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+                searchIndex.replace(organization, entries);
+                if (log.isDebugEnabled()) {
+                    log.debug("Indexed " + entries.size() + " APIs of organization " + organization + " in "
+                            + (System.currentTimeMillis() - startTime) + "ms");
+                }
+            } catch (RegistryException e) {
+                throw new APIPersistenceException("Error while indexing APIs of organization " + organization, e);
+            } finally {
+                if (tenantFlowStarted) {
+                    RegistryPersistenceUtil.endTenantFlow();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the search index of an organization. It is rebuilt on the next search.
+     *
+     * @param org organization
+     */
+    public void invalidateIndex(Organization org) {
+
+        if (org != null && org.getName() != null) {
+            searchIndex.invalidate(org.getName());
+        }
+    }
+
+    private boolean ensureIndexed(Organization org) {
+
+        if (org == null || org.getName() == null) {
+            return false;
+        }
+        String organization = org.getName();
+        if (!searchIndex.isIndexed(organization)) {
+            synchronized (getIndexLock(organization)) {
+                if (!searchIndex.isIndexed(organization)) {
+                    try {
+                        rebuildIndex(org);
+                    } catch (APIPersistenceException e) {
+                        log.error("Error while indexing APIs of organization " + organization
+                                + ". Searching the registry instead", e);
+                        return false;
+                    }
+                }
+            }
+        } else if (refreshIntervalMillis > 0 && searchIndex.isOlderThan(organization, refreshIntervalMillis)
+                && refreshingOrganizations.add(organization)) {
+            refreshExecutor.execute(() -> {
+                // the refresher thread has no carbon context, so read the registry in the organization's tenant
+                RegistryPersistenceUtil.startTenantFlow(organization);
+                try {
+                    rebuildIndex(org);
+                } catch (APIPersistenceException e) {
+                    log.error("Error while refreshing the search index of organization " + organization, e);
+                } finally {
+                    RegistryPersistenceUtil.endTenantFlow();
+                    refreshingOrganizations.remove(organization);
+                }
+            });
+        }
+        return true;
+    }
+
+    private void updateIndex(Organization org, String apiId) {
+
+        if (org == null || org.getName() == null || apiId == null || !searchIndex.isIndexed(org.getName())) {
+            return;
+        }
+        String organization = org.getName();
+        boolean tenantFlowStarted = false;
+        try {
+            RegistryHolder holder = getRegistry(organization);
+            tenantFlowStarted = holder.isTenantFlowStarted();
+            Registry registry = holder.getRegistry();
+            GenericArtifactManager artifactManager = RegistryPersistenceUtil.getArtifactManager(registry,
+                    APIConstants.API_KEY);
+            GenericArtifact artifact = artifactManager != null ? artifactManager.getGenericArtifact(apiId) : null;
+            APIIndexEntry entry = artifact != null ? toIndexEntry(registry, artifact) : null;
+            if (entry != null) {
+                searchIndex.put(organization, entry);
+            } else {
+                searchIndex.remove(organization, apiId);
+            }
+        } catch (APIPersistenceException | RegistryException e) {
+            // the write itself succeeded, so drop the index rather than failing the operation
+            log.error("Error while indexing API " + apiId + ". Search index of organization " + organization
+                    + " will be rebuilt", e);
+            searchIndex.invalidate(organization);
+        } finally {
+            if (tenantFlowStarted) {
+                RegistryPersistenceUtil.endTenantFlow();
+            }
+        }
+    }
+
+    private void removeFromIndex(Organization org, String apiId) {
+
+        if (org != null && org.getName() != null && apiId != null) {
+            searchIndex.remove(org.getName(), apiId);
+        }
+    }
+
+    private Object getIndexLock(String organization) {
+        return indexLocks.computeIfAbsent(organization, key -> new Object());
+    }
+
+    private APISearchIndex.AccessType getAccessType(String organization, UserContext ctx) {
+
+        if (ctx == null || ctx.getUserame() == null
+                || APIConstants.WSO2_ANONYMOUS_USER.equals(getTenantAwareUsername(ctx.getUserame()))) {
+            return APISearchIndex.AccessType.ANONYMOUS;
+        }
+        String userTenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        if (userTenantDomain != null && !userTenantDomain.equals(organization)) {
+            return APISearchIndex.AccessType.CROSS_ORGANIZATION_USER;
+        }
+        return APISearchIndex.AccessType.ORGANIZATION_USER;
+    }
+
+    /**
+     * Read the stored fields of an API artifact. Returns null for artifacts outside the API root location, such as
+     * API revisions, since those are not listed.
+     */
+    private APIIndexEntry toIndexEntry(Registry registry, GenericArtifact artifact) throws RegistryException {
+
+        String artifactPath = GovernanceUtils.getArtifactPath(registry, artifact.getId());
+        if (artifactPath == null || !artifactPath.startsWith(APIConstants.API_ROOT_LOCATION)) {
+            return null;
+        }
+        Resource resource = registry.get(artifactPath);
+        Set<String> tags = new HashSet<>();
+        for (org.wso2.carbon.registry.core.Tag tag : registry.getTags(artifactPath)) {
+            tags.add(tag.getTagName());
+        }
+        Set<String> tiers = new HashSet<>();
+        String tierNames = artifact.getAttribute(APIConstants.API_OVERVIEW_TIER);
+        if (tierNames != null) {
+            tiers.addAll(Arrays.asList(tierNames.split("\\|\\|")));
+        }
+        return new APIIndexEntry.Builder()
+                .id(artifact.getId())
+                .name(artifact.getAttribute(APIConstants.API_OVERVIEW_NAME))
+                .version(artifact.getAttribute(APIConstants.API_OVERVIEW_VERSION))
+                .versionComparable(artifact.getAttribute(APIConstants.API_OVERVIEW_VERSION_COMPARABLE))
+                .context(artifact.getAttribute(APIConstants.API_OVERVIEW_CONTEXT))
+                .contextTemplate(artifact.getAttribute(APIConstants.API_OVERVIEW_CONTEXT_TEMPLATE))
+                .provider(artifact.getAttribute(APIConstants.API_OVERVIEW_PROVIDER))
+                .owner(artifact.getAttribute(APIConstants.API_OVERVIEW_OWNER))
+                .description(artifact.getAttribute(APIConstants.API_OVERVIEW_DESCRIPTION))
+                .status(artifact.getAttribute(APIConstants.API_OVERVIEW_STATUS))
+                .type(artifact.getAttribute(APIConstants.API_OVERVIEW_TYPE))
+                .thumbnail(artifact.getAttribute(APIConstants.API_OVERVIEW_THUMBNAIL_URL))
+                .businessOwner(artifact.getAttribute(APIConstants.API_OVERVIEW_BUSS_OWNER))
+                .audience(artifact.getAttribute(APIConstants.API_OVERVIEW_AUDIENCE))
+                .gatewayVendor(artifact.getAttribute(APIConstants.API_OVERVIEW_GATEWAY_VENDOR))
+                .subscriptionAvailability(
+                        artifact.getAttribute(APIConstants.API_OVERVIEW_SUBSCRIPTION_AVAILABILITY))
+                .subscriptionAvailableOrgs(
+                        artifact.getAttribute(APIConstants.API_OVERVIEW_SUBSCRIPTION_AVAILABLE_TENANTS))
+                .enableStore(artifact.getAttribute(APIConstants.API_OVERVIEW_ENABLE_STORE))
+                .advertiseOnly(Boolean.parseBoolean(artifact.getAttribute(APIConstants.API_OVERVIEW_ADVERTISE_ONLY)))
+                .visibility(artifact.getAttribute(APIConstants.API_OVERVIEW_VISIBILITY))
+                .visibleRoles(splitRoles(artifact.getAttribute(APIConstants.API_OVERVIEW_VISIBLE_ROLES)))
+                .storeViewRoles(splitRoles(resource.getProperty(APIConstants.STORE_VIEW_ROLES)))
+                .publisherRoles(splitRoles(resource.getProperty(APIConstants.PUBLISHER_ROLES)))
+                .tags(tags)
+                .tiers(tiers)
+                .createdTime(resource.getCreatedTime() != null
+                        ? String.valueOf(resource.getCreatedTime().getTime()) : null)
+                .updatedTime(resource.getLastModified())
+                .build();
+    }
+
+    private static Set<String> splitRoles(String roles) {
+
+        Set<String> roleSet = new HashSet<>();
+        if (StringUtils.isNotEmpty(roles)) {
+            roleSet.addAll(Arrays.asList(roles.split(",")));
+        }
+        return roleSet;
+    }
+}
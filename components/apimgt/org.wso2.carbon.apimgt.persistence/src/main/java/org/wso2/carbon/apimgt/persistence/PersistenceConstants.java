@@ -32,4 +32,16 @@ public class PersistenceConstants {
     public static final int DEFAULT_RETRY_COUNT = 3;
     public static final int DEFAULT_TREAD_COUNT = 5;
 
+    //Search index related
+    public static final String SEARCH_INDEX_ENABLED = "SearchIndex.Enabled";
+    public static final String SEARCH_INDEX_REFRESH_INTERVAL = "SearchIndex.RefreshInterval";
+    public static final long DEFAULT_SEARCH_INDEX_REFRESH_INTERVAL = 300;
+
+    //Definition cache related
+    public static final String DEFINITION_CACHE_ENABLED = "DefinitionCache.Enabled";
+    public static final String DEFINITION_CACHE_EXPIRY_TIME = "DefinitionCache.ExpiryTime";
+    public static final String DEFINITION_CACHE_MAX_ENTRY_SIZE = "DefinitionCache.MaxEntrySize";
+    public static final long DEFAULT_DEFINITION_CACHE_EXPIRY_TIME = 900;
+    public static final long DEFAULT_DEFINITION_CACHE_MAX_ENTRY_SIZE = 1024;
+
 }
@@ -22,6 +22,7 @@ import java.util.Properties;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.persistence.cache.APIDefinitionCache;
 import org.wso2.carbon.apimgt.persistence.internal.ServiceReferenceHolder;
 
 public class PersistenceManager {
@@ -40,10 +41,45 @@ public class PersistenceManager {
                 persistence = serviceReferenceHolder.getApiPersistence();
             } else {
                 if (persistence == null) {
-                    persistence = new RegistryPersistenceImpl(properties);
+                    RegistryPersistenceImpl registryPersistence;
+                    if (configs != null
+                            && Boolean.parseBoolean(configs.get(PersistenceConstants.SEARCH_INDEX_ENABLED))) {
+                        registryPersistence = new IndexedRegistryPersistenceImpl(properties,
+                                getSearchIndexRefreshInterval(configs) * 1000);
+                    } else {
+                        registryPersistence = new RegistryPersistenceImpl(properties);
+                    }
+                    if (configs != null
+                            && Boolean.parseBoolean(configs.get(PersistenceConstants.DEFINITION_CACHE_ENABLED))) {
+                        registryPersistence.setDefinitionCache(new APIDefinitionCache(
+                                getLongConfig(configs, PersistenceConstants.DEFINITION_CACHE_EXPIRY_TIME,
+                                        PersistenceConstants.DEFAULT_DEFINITION_CACHE_EXPIRY_TIME),
+                                getLongConfig(configs, PersistenceConstants.DEFINITION_CACHE_MAX_ENTRY_SIZE,
+                                        PersistenceConstants.DEFAULT_DEFINITION_CACHE_MAX_ENTRY_SIZE)));
+                    }
+                    persistence = registryPersistence;
                 }
             }
         }
         return persistence;
     }
+
+    private static long getSearchIndexRefreshInterval(Map<String, String> configs) {
+
+        return getLongConfig(configs, PersistenceConstants.SEARCH_INDEX_REFRESH_INTERVAL,
+                PersistenceConstants.DEFAULT_SEARCH_INDEX_REFRESH_INTERVAL);
+    }
+
+    private static long getLongConfig(Map<String, String> configs, String key, long defaultValue) {
+
+        String value = configs.get(key);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value " + value + " for " + key + ". Using the default value " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
 }
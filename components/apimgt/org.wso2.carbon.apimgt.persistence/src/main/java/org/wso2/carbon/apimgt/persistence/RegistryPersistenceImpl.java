@@ -32,6 +32,7 @@ import org.wso2.carbon.apimgt.api.ExceptionCodes;
 import org.wso2.carbon.apimgt.api.model.*;
 import org.wso2.carbon.apimgt.api.model.Tag;
 import org.wso2.carbon.apimgt.api.model.SOAPToRestSequence.Direction;
+import org.wso2.carbon.apimgt.persistence.cache.APIDefinitionCache;
 import org.wso2.carbon.apimgt.persistence.dto.*;
 import org.wso2.carbon.apimgt.persistence.dto.Documentation;
 import org.wso2.carbon.apimgt.persistence.dto.Mediation;
@@ -102,6 +103,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
 
     private static final Log log = LogFactory.getLog(RegistryPersistenceImpl.class);
     private Properties properties;
+    private APIDefinitionCache definitionCache;
 
     public RegistryPersistenceImpl() {
     }
@@ -110,6 +112,16 @@ public class RegistryPersistenceImpl implements APIPersistence {
         this.properties = properties;
     }
 
+    void setDefinitionCache(APIDefinitionCache definitionCache) {
+        this.definitionCache = definitionCache;
+    }
+
+    private void invalidateDefinitions(String apiId) {
+        if (definitionCache != null) {
+            definitionCache.invalidate(apiId);
+        }
+    }
+
     protected String getTenantAwareUsername(String username) {
         return MultitenantUtils.getTenantAwareUsername(username);
     }
@@ -373,6 +385,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
             }
             registry.commitTransaction();
             transactionCommitted = true;
+            invalidateDefinitions(apiUUID);
             if (log.isDebugEnabled()) {
                 String logMessage =
                         "Revision ID" + revisionId + " for API UUID: " + apiUUID + " restored";
@@ -420,6 +433,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
             registry.delete(revisionTargetPath);
             registry.commitTransaction();
             transactionCommitted = true;
+            invalidateDefinitions(revisionUUID);
             if (log.isDebugEnabled()) {
                 String logMessage =
                         "Revision ID:" + revisionId + " for API : " + apiUUID + " deleted";
@@ -607,6 +621,8 @@ public class RegistryPersistenceImpl implements APIPersistence {
             setSoapToRestSequences(publisherAPI, registry);
             registry.commitTransaction();
             transactionCommitted = true;
+            // Invalidated only once committed, otherwise a concurrent read could cache the old definition again
+            invalidateDefinitions(api.getUuid());
             return APIMapper.INSTANCE.toPublisherApi(api);
         } catch (Exception e) {
             try {
@@ -840,6 +856,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
             }
             registry.commitTransaction();
             transactionCommitted = true;
+            invalidateDefinitions(apiId);
         } catch (RegistryException e) {
             throw new APIPersistenceException("Failed to remove the API : " + apiId, e);
         } finally {
@@ -1339,14 +1356,14 @@ public class RegistryPersistenceImpl implements APIPersistence {
         return searchResults;
     }
 
-    private boolean isAllowDisplayAPIsWithMultipleStatus() {
+    protected boolean isAllowDisplayAPIsWithMultipleStatus() {
         if (properties != null) {
             return (boolean) properties.get(APIConstants.ALLOW_MULTIPLE_STATUS);
         }
         return false;
     }
 
-    private boolean isAllowDisplayAPIsWithMultipleVersions() {
+    protected boolean isAllowDisplayAPIsWithMultipleVersions() {
         if (properties != null) {
             return (boolean) properties.get(APIConstants.ALLOW_MULTIPLE_VERSIONS);
         }
@@ -1720,6 +1737,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
             }
             apiArtifact.setAttribute(APIConstants.API_OVERVIEW_WSDL, wsdlRegistryPath);
             apiArtifactManager.updateGenericArtifact(apiArtifact);
+            invalidateDefinitions(apiId);
         } catch (APIPersistenceException | APIManagementException | RegistryException e) {
             throw new WSDLPersistenceException("Error while saving the wsdl for api " + apiId, e);
         } finally {
@@ -1739,6 +1757,12 @@ public class RegistryPersistenceImpl implements APIPersistence {
             Registry registry = holder.getRegistry();
             isTenantFlowStarted = holder.isTenantFlowStarted();
 
+            if (definitionCache != null) {
+                ResourceFile cachedWSDL = definitionCache.getWSDL(apiId);
+                if (cachedWSDL != null) {
+                    return cachedWSDL;
+                }
+            }
             GenericArtifact apiArtifact = getAPIArtifact(apiId, registry);
             if (apiArtifact == null) {
                 return null;
@@ -1760,12 +1784,12 @@ public class RegistryPersistenceImpl implements APIPersistence {
                 Resource resource = registry.get(wsdlResourcePath);
                 ResourceFile returnResource = new ResourceFile(resource.getContentStream(), resource.getMediaType());
                 returnResource.setName(resourceFileName);
-                return returnResource;
+                return cacheWSDL(apiId, returnResource);
             } else if (registry.resourceExists(wsdlResourcePathOld)) {
                 Resource resource = registry.get(wsdlResourcePathOld);
                 ResourceFile returnResource = new ResourceFile(resource.getContentStream(), resource.getMediaType());
                 returnResource.setName(resourceFileName);
-                return returnResource;
+                return cacheWSDL(apiId, returnResource);
             } else {
                 wsdlResourcePath = apiSourcePath + RegistryConstants.PATH_SEPARATOR
                         + APIConstants.API_WSDL_ARCHIVE_LOCATION + apiProviderName
@@ -1777,18 +1801,18 @@ public class RegistryPersistenceImpl implements APIPersistence {
                     Resource resource = registry.get(wsdlResourcePath);
                     ResourceFile returnResource = new ResourceFile(resource.getContentStream(), resource.getMediaType());
                     returnResource.setName(resourceFileName);
-                    return returnResource;
+                    return cacheWSDL(apiId, returnResource);
                 } else if (registry.resourceExists(wsdlResourcePathOld)) {
                     Resource resource = registry.get(wsdlResourcePathOld);
                     ResourceFile returnResource = new ResourceFile(resource.getContentStream(), resource.getMediaType());
                     returnResource.setName(resourceFileName);
-                    return returnResource;
+                    return cacheWSDL(apiId, returnResource);
                 } else {
                     throw new WSDLPersistenceException("No WSDL found for the API: " + apiId,
                             ExceptionCodes.from(ExceptionCodes.NO_WSDL_AVAILABLE_FOR_API, apiName, apiVersion));
                 }
             }
-        } catch (RegistryException | APIPersistenceException e) {
+        } catch (RegistryException | APIPersistenceException | IOException e) {
             String msg = "Error while getting wsdl file from the registry for API: " + apiId.toString();
             throw new WSDLPersistenceException(msg, e);
         } finally {
@@ -1798,6 +1822,13 @@ public class RegistryPersistenceImpl implements APIPersistence {
         }
     }
 
+    private ResourceFile cacheWSDL(String apiId, ResourceFile wsdlResourceFile) throws IOException {
+        if (definitionCache == null) {
+            return wsdlResourceFile;
+        }
+        return definitionCache.putWSDL(apiId, wsdlResourceFile);
+    }
+
     @Override
     public void saveOASDefinition(Organization org, String apiId, String apiDefinition) throws OASPersistenceException {
 
@@ -1848,6 +1879,8 @@ public class RegistryPersistenceImpl implements APIPersistence {
         } catch (RegistryException | APIPersistenceException | APIManagementException e) {
             throw new OASPersistenceException("Error while adding OSA Definition for " + apiId, e);
         } finally {
+            // The definition may have been written even if a later step failed
+            invalidateDefinitions(apiId);
             if (isTenantFlowStarted) {
                 PrivilegedCarbonContext.endTenantFlow();
             }
@@ -1864,6 +1897,12 @@ public class RegistryPersistenceImpl implements APIPersistence {
             Registry registryType = holder.getRegistry();
             tenantFlowStarted = holder.isTenantFlowStarted;
 
+            if (definitionCache != null) {
+                definition = definitionCache.getDefinition(apiId, APIDefinitionCache.DefinitionType.OAS);
+                if (definition != null) {
+                    return definition;
+                }
+            }
             GenericArtifact apiArtifact = getAPIArtifact(apiId, registryType);
             if (apiArtifact != null) {
                 String apiProviderName = apiArtifact.getAttribute(APIConstants.API_OVERVIEW_PROVIDER);
@@ -1878,6 +1917,9 @@ public class RegistryPersistenceImpl implements APIPersistence {
                 if (registryType.resourceExists(definitionPath)) {
                     Resource apiDocResource = registryType.get(definitionPath);
                     definition = new String((byte[]) apiDocResource.getContent(), Charset.defaultCharset());
+                    if (definitionCache != null) {
+                        definitionCache.putDefinition(apiId, APIDefinitionCache.DefinitionType.OAS, definition);
+                    }
                     return definition;
                 }
             }
@@ -1945,6 +1987,8 @@ public class RegistryPersistenceImpl implements APIPersistence {
         } catch (RegistryException | APIPersistenceException | APIManagementException e) {
             throw new AsyncSpecPersistenceException("Error while adding AsyncApi Definition for " + apiId, e);
         } finally {
+            // The definition may have been written even if a later step failed
+            invalidateDefinitions(apiId);
             if (isTenantFlowStarted) {
                 PrivilegedCarbonContext.endTenantFlow();
             }
@@ -1961,6 +2005,12 @@ public class RegistryPersistenceImpl implements APIPersistence {
             Registry registryType = holder.getRegistry();
             tenantFlowStarted = holder.isTenantFlowStarted;
 
+            if (definitionCache != null) {
+                definition = definitionCache.getDefinition(apiId, APIDefinitionCache.DefinitionType.ASYNC_API);
+                if (definition != null) {
+                    return definition;
+                }
+            }
             GenericArtifactManager artifactManager = RegistryPersistenceUtil.getArtifactManager(registryType,
                     APIConstants.API_KEY);
 
@@ -1979,6 +2029,10 @@ public class RegistryPersistenceImpl implements APIPersistence {
                 if (registryType.resourceExists(definitionPath)) {
                     Resource apiDocResource = registryType.get(definitionPath);
                     definition = new String((byte[]) apiDocResource.getContent(), Charset.defaultCharset());
+                    if (definitionCache != null) {
+                        definitionCache.putDefinition(apiId, APIDefinitionCache.DefinitionType.ASYNC_API,
+                                definition);
+                    }
                     return definition;
                 }
             }
@@ -2036,6 +2090,8 @@ public class RegistryPersistenceImpl implements APIPersistence {
         } catch (RegistryException | APIManagementException | APIPersistenceException e) {
             throw new GraphQLPersistenceException("Error while adding Graphql Definition for api " + apiId, e);
         } finally {
+            // The schema may have been written even if a later step failed
+            invalidateDefinitions(apiId);
             if (tenantFlowStarted) {
                 RegistryPersistenceUtil.endTenantFlow();
             }
@@ -2051,6 +2107,12 @@ public class RegistryPersistenceImpl implements APIPersistence {
             RegistryHolder holder = getRegistry(tenantDomain);
             Registry registry = holder.getRegistry();
             tenantFlowStarted = holder.isTenantFlowStarted();
+            if (definitionCache != null) {
+                schemaDoc = definitionCache.getDefinition(apiId, APIDefinitionCache.DefinitionType.GRAPHQL_SCHEMA);
+                if (schemaDoc != null) {
+                    return schemaDoc;
+                }
+            }
             BasicAPI api = getbasicAPIInfo(apiId, registry);
             if (api == null) {
                 throw new GraphQLPersistenceException("API not foud ", ExceptionCodes.API_NOT_FOUND);
@@ -2065,6 +2127,10 @@ public class RegistryPersistenceImpl implements APIPersistence {
                 Resource schemaResource = registry.get(schemaResourcePath);
                 schemaDoc = IOUtils.toString(schemaResource.getContentStream(),
                         RegistryConstants.DEFAULT_CHARSET_ENCODING);
+                if (definitionCache != null) {
+                    definitionCache.putDefinition(apiId, APIDefinitionCache.DefinitionType.GRAPHQL_SCHEMA,
+                            schemaDoc);
+                }
             }
         } catch (APIPersistenceException | RegistryException | IOException e) {
             throw new GraphQLPersistenceException("Error while accessing graphql schema definition ", e);
@@ -3353,6 +3419,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
                     apiProduct.getVisibility(), visibleRoles, artifactPath, registry);
             registry.commitTransaction();
             transactionCommitted = true;
+            invalidateDefinitions(publisherAPIProduct.getId());
             return publisherAPIProduct;
         } catch (Exception e) {
             try {
@@ -3461,7 +3528,7 @@ public class RegistryPersistenceImpl implements APIPersistence {
                     registry.delete(productProviderPath);
                 }
             }
-
+            invalidateDefinitions(apiId);
         } catch (RegistryException e) {
             String msg = "Failed to get API";
             throw new APIPersistenceException(msg, e);
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.persistence.cache;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.persistence.APIConstants;
+import org.wso2.carbon.apimgt.persistence.dto.ResourceFile;
+import org.wso2.carbon.base.ServerConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheConfiguration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+/**
+ * Read-through cache for API definitions (OpenAPI, AsyncAPI, GraphQL schema and WSDL) kept in the persistence layer.
+ * Entries are keyed by the API or revision UUID and the definition type. The cache lives in the tenant scoped
+ * API Manager cache manager, so every method has to be called within the tenant flow of the API's organization.
+ * Removals are propagated to the other nodes of the cluster through the cache invalidation events.
+ */
+public class APIDefinitionCache {
+
+    private static final Log log = LogFactory.getLog(APIDefinitionCache.class);
+    private static final String KEY_SEPARATOR = ":";
+    private static final String LOCAL_CACHE_PREFIX = "$__local__$.";
+
+    /**
+     * Types of definitions stored in the cache.
+     */
+    public enum DefinitionType {
+        OAS, ASYNC_API, GRAPHQL_SCHEMA, WSDL
+    }
+
+    private final long expiryTime;
+    private final long maxEntrySize;
+
+    /**
+     * @param expiryTime   expiry time of the cache entries in seconds
+     * @param maxEntrySize maximum size of a definition that is cached, in kilobytes
+     */
+    public APIDefinitionCache(long expiryTime, long maxEntrySize) {
+
+        this.expiryTime = expiryTime;
+        this.maxEntrySize = maxEntrySize * 1024;
+    }
+
+    /**
+     * Returns the cached definition of the given type.
+     *
+     * @param apiId API or revision UUID
+     * @param type  definition type
+     * @return cached definition or null if it is not cached
+     */
+    public String getDefinition(String apiId, DefinitionType type) {
+
+        Object cached = getCache().get(getCacheKey(apiId, type));
+        if (cached instanceof String) {
+            if (log.isDebugEnabled()) {
+                log.debug("Found " + type + " definition of API " + apiId + " in the definition cache");
+            }
+            return (String) cached;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a definition to the cache. Definitions larger than the configured maximum entry size are not cached.
+     *
+     * @param apiId      API or revision UUID
+     * @param type       definition type
+     * @param definition definition content
+     */
+    public void putDefinition(String apiId, DefinitionType type, String definition) {
+
+        if (apiId == null || definition == null || definition.length() > maxEntrySize) {
+            return;
+        }
+        getCache().put(getCacheKey(apiId, type), definition);
+    }
+
+    /**
+     * Returns the cached WSDL of an API. A new stream is created over the cached content for each call.
+     *
+     * @param apiId API or revision UUID
+     * @return cached WSDL resource or null if it is not cached
+     */
+    public ResourceFile getWSDL(String apiId) {
+
+        Object cached = getCache().get(getCacheKey(apiId, DefinitionType.WSDL));
+        if (cached instanceof CachedResource) {
+            return ((CachedResource) cached).toResourceFile();
+        }
+        return null;
+    }
+
+    /**
+     * Adds a WSDL to the cache. The content stream of the given resource is consumed, hence the returned resource
+     * has to be used by the caller instead of the given one.
+     *
+     * @param apiId        API or revision UUID
+     * @param resourceFile WSDL resource read from the registry
+     * @return resource with a readable content stream
+     * @throws IOException if the content of the resource could not be read
+     */
+    public ResourceFile putWSDL(String apiId, ResourceFile resourceFile) throws IOException {
+
+        if (apiId == null || resourceFile == null || resourceFile.getContent() == null) {
+            return resourceFile;
+        }
+        CachedResource cachedResource;
+        try (InputStream content = resourceFile.getContent()) {
+            cachedResource = new CachedResource(IOUtils.toByteArray(content), resourceFile.getContentType(),
+                    resourceFile.getName());
+        }
+        if (cachedResource.content.length <= maxEntrySize) {
+            getCache().put(getCacheKey(apiId, DefinitionType.WSDL), cachedResource);
+        }
+        return cachedResource.toResourceFile();
+    }
+
+    /**
+     * Removes all the definitions of an API or revision from the cache.
+     *
+     * @param apiId API or revision UUID
+     */
+    public void invalidate(String apiId) {
+
+        if (apiId == null) {
+            return;
+        }
+        Cache<String, Object> cache = getCache();
+        for (DefinitionType type : DefinitionType.values()) {
+            cache.remove(getCacheKey(apiId, type));
+        }
+    }
+
+    /**
+     * Removes all the definitions of the current tenant from the cache.
+     */
+    public void invalidateAll() {
+
+        getCache().removeAll();
+    }
+
+    /**
+     * Returns the definition cache of the current tenant. Only the creation of the cache is synchronized, so lookups
+     * of an existing cache do not contend on a lock.
+     */
+    protected Cache<String, Object> getCache() {
+
+        CacheManager cacheManager = Caching.getCacheManager(APIConstants.API_MANAGER_CACHE_MANAGER);
+        Cache<String, Object> cache = findCache(cacheManager);
+        if (cache != null) {
+            return cache;
+        }
+        synchronized (this) {
+            cache = findCache(cacheManager);
+            if (cache != null) {
+                return cache;
+            }
+            return cacheManager.<String, Object>createCacheBuilder(APIConstants.API_DEFINITION_CACHE_NAME)
+                    .setExpiry(CacheConfiguration.ExpiryType.MODIFIED,
+                            new CacheConfiguration.Duration(TimeUnit.SECONDS, expiryTime))
+                    .setExpiry(CacheConfiguration.ExpiryType.ACCESSED,
+                            new CacheConfiguration.Duration(TimeUnit.SECONDS, expiryTime))
+                    .setStoreByValue(false).build();
+        }
+    }
+
+    private static Cache<String, Object> findCache(CacheManager cacheManager) {
+
+        String cacheName = getCacheName(APIConstants.API_DEFINITION_CACHE_NAME);
+        for (Cache<?, ?> cache : cacheManager.getCaches()) {
+            if (cache.getName().equalsIgnoreCase(cacheName)) {
+                return cacheManager.getCache(APIConstants.API_DEFINITION_CACHE_NAME);
+            }
+        }
+        return null;
+    }
+
+    private static String getCacheName(String cacheName) {
+
+        return (Boolean.parseBoolean(ServerConfiguration.getInstance().getFirstProperty("Cache.ForceLocalCache"))
+                && !cacheName.startsWith(LOCAL_CACHE_PREFIX)) ? LOCAL_CACHE_PREFIX + cacheName : cacheName;
+    }
+
+    private static String getCacheKey(String apiId, DefinitionType type) {
+
+        return apiId + KEY_SEPARATOR + type.name();
+    }
+
+    /**
+     * Binary content of a cached resource such as a WSDL file or archive.
+     */
+    private static final class CachedResource {
+
+        private final byte[] content;
+        private final String contentType;
+        private final String name;
+
+        private CachedResource(byte[] content, String contentType, String name) {
+
+            this.content = content;
+            this.contentType = contentType;
+            this.name = name;
+        }
+
+        private ResourceFile toResourceFile() {
+
+            ResourceFile resourceFile = new ResourceFile(new ByteArrayInputStream(content), contentType);
+            resourceFile.setName(name);
+            return resourceFile;
+        }
+    }
+}
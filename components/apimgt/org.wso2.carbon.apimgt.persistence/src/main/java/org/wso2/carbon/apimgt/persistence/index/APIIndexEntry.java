@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.persistence.index;
+
+import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPIInfo;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPIInfo;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Stored fields of a single API in the {@link APISearchIndex}. Holds everything needed to match, authorize and
+ * list an API without loading its registry artifact. Instances are immutable so that they can be shared between
+ * index snapshots.
+ */
+public final class APIIndexEntry {
+
+    private final String id;
+    private final String name;
+    private final String version;
+    private final String versionComparable;
+    private final String context;
+    private final String contextTemplate;
+    private final String provider;
+    private final String owner;
+    private final String description;
+    private final String status;
+    private final String type;
+    private final String thumbnail;
+    private final String businessOwner;
+    private final String audience;
+    private final String gatewayVendor;
+    private final String subscriptionAvailability;
+    private final String subscriptionAvailableOrgs;
+    private final String enableStore;
+    private final boolean advertiseOnly;
+    private final String visibility;
+    private final Set<String> visibleRoles;
+    private final Set<String> storeViewRoles;
+    private final Set<String> publisherRoles;
+    private final Set<String> tags;
+    private final Set<String> tiers;
+    private final String createdTime;
+    private final Date updatedTime;
+
+    private APIIndexEntry(Builder builder) {
+
+        this.id = builder.id;
+        this.name = builder.name;
+        this.version = builder.version;
+        this.versionComparable = builder.versionComparable;
+        this.context = builder.context;
+        this.contextTemplate = builder.contextTemplate;
+        this.provider = builder.provider;
+        this.owner = builder.owner;
+        this.description = builder.description;
+        this.status = builder.status;
+        this.type = builder.type;
+        this.thumbnail = builder.thumbnail;
+        this.businessOwner = builder.businessOwner;
+        this.audience = builder.audience;
+        this.gatewayVendor = builder.gatewayVendor;
+        this.subscriptionAvailability = builder.subscriptionAvailability;
+        this.subscriptionAvailableOrgs = builder.subscriptionAvailableOrgs;
+        this.enableStore = builder.enableStore;
+        this.advertiseOnly = builder.advertiseOnly;
+        this.visibility = builder.visibility;
+        this.visibleRoles = toLowerCaseSet(builder.visibleRoles);
+        this.storeViewRoles = toLowerCaseSet(builder.storeViewRoles);
+        this.publisherRoles = toLowerCaseSet(builder.publisherRoles);
+        this.tags = builder.tags == null ? Collections.<String>emptySet()
+                : Collections.unmodifiableSet(new HashSet<>(builder.tags));
+        this.tiers = builder.tiers == null ? Collections.<String>emptySet()
+                : Collections.unmodifiableSet(new HashSet<>(builder.tiers));
+        this.createdTime = builder.createdTime;
+        this.updatedTime = builder.updatedTime;
+    }
+
+    private static Set<String> toLowerCaseSet(Set<String> values) {
+
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> lowerCaseValues = new HashSet<>();
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                lowerCaseValues.add(value.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return Collections.unmodifiableSet(lowerCaseValues);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getVersionComparable() {
+        return versionComparable;
+    }
+
+    public String getContext() {
+        return context;
+    }
+
+    public String getContextTemplate() {
+        return contextTemplate;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getEnableStore() {
+        return enableStore;
+    }
+
+    public String getVisibility() {
+        return visibility;
+    }
+
+    public Set<String> getVisibleRoles() {
+        return visibleRoles;
+    }
+
+    public Set<String> getStoreViewRoles() {
+        return storeViewRoles;
+    }
+
+    public Set<String> getPublisherRoles() {
+        return publisherRoles;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Build the Dev Portal listing DTO from the stored fields.
+     *
+     * @return DevPortalAPIInfo of this API
+     */
+    public DevPortalAPIInfo toDevPortalAPIInfo() {
+
+        DevPortalAPIInfo apiInfo = new DevPortalAPIInfo();
+        apiInfo.setType(type);
+        apiInfo.setId(id);
+        apiInfo.setApiName(name);
+        apiInfo.setDescription(description);
+        apiInfo.setContext(contextTemplate);
+        apiInfo.setProviderName(provider);
+        apiInfo.setStatus(status);
+        apiInfo.setThumbnail(thumbnail);
+        apiInfo.setBusinessOwner(businessOwner);
+        apiInfo.setVersion(version);
+        apiInfo.setAvailableTierNames(new HashSet<>(tiers));
+        apiInfo.setSubscriptionAvailability(subscriptionAvailability);
+        apiInfo.setSubscriptionAvailableOrgs(subscriptionAvailableOrgs);
+        apiInfo.setGatewayVendor(gatewayVendor);
+        return apiInfo;
+    }
+
+    /**
+     * Build the Publisher listing DTO from the stored fields.
+     *
+     * @return PublisherAPIInfo of this API
+     */
+    public PublisherAPIInfo toPublisherAPIInfo() {
+
+        PublisherAPIInfo apiInfo = new PublisherAPIInfo();
+        apiInfo.setType(type);
+        apiInfo.setId(id);
+        apiInfo.setApiName(name);
+        apiInfo.setDescription(description);
+        apiInfo.setContext(contextTemplate);
+        apiInfo.setProviderName(provider);
+        apiInfo.setStatus(status);
+        apiInfo.setThumbnail(thumbnail);
+        apiInfo.setVersion(version);
+        apiInfo.setAudience(audience);
+        apiInfo.setCreatedTime(createdTime);
+        apiInfo.setUpdatedTime(updatedTime);
+        apiInfo.setGatewayVendor(String.valueOf(gatewayVendor));
+        apiInfo.setAdvertiseOnly(advertiseOnly);
+        return apiInfo;
+    }
+
+    /**
+     * Builder for {@link APIIndexEntry}.
+     */
+    public static class Builder {
+
+        private String id;
+        private String name;
+        private String version;
+        private String versionComparable;
+        private String context;
+        private String contextTemplate;
+        private String provider;
+        private String owner;
+        private String description;
+        private String status;
+        private String type;
+        private String thumbnail;
+        private String businessOwner;
+        private String audience;
+        private String gatewayVendor;
+        private String subscriptionAvailability;
+        private String subscriptionAvailableOrgs;
+        private String enableStore;
+        private boolean advertiseOnly;
+        private String visibility;
+        private Set<String> visibleRoles;
+        private Set<String> storeViewRoles;
+        private Set<String> publisherRoles;
+        private Set<String> tags;
+        private Set<String> tiers;
+        private String createdTime;
+        private Date updatedTime;
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder version(String version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder versionComparable(String versionComparable) {
+            this.versionComparable = versionComparable;
+            return this;
+        }
+
+        public Builder context(String context) {
+            this.context = context;
+            return this;
+        }
+
+        public Builder contextTemplate(String contextTemplate) {
+            this.contextTemplate = contextTemplate;
+            return this;
+        }
+
+        public Builder provider(String provider) {
+            this.provider = provider;
+            return this;
+        }
+
+        public Builder owner(String owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder type(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder thumbnail(String thumbnail) {
+            this.thumbnail = thumbnail;
+            return this;
+        }
+
+        public Builder businessOwner(String businessOwner) {
+            this.businessOwner = businessOwner;
+            return this;
+        }
+
+        public Builder audience(String audience) {
+            this.audience = audience;
+            return this;
+        }
+
+        public Builder gatewayVendor(String gatewayVendor) {
+            this.gatewayVendor = gatewayVendor;
+            return this;
+        }
+
+        public Builder subscriptionAvailability(String subscriptionAvailability) {
+            this.subscriptionAvailability = subscriptionAvailability;
+            return this;
+        }
+
+        public Builder subscriptionAvailableOrgs(String subscriptionAvailableOrgs) {
+            this.subscriptionAvailableOrgs = subscriptionAvailableOrgs;
+            return this;
+        }
+
+        public Builder enableStore(String enableStore) {
+            this.enableStore = enableStore;
+            return this;
+        }
+
+        public Builder advertiseOnly(boolean advertiseOnly) {
+            this.advertiseOnly = advertiseOnly;
+            return this;
+        }
+
+        public Builder visibility(String visibility) {
+            this.visibility = visibility;
+            return this;
+        }
+
+        public Builder visibleRoles(Set<String> visibleRoles) {
+            this.visibleRoles = visibleRoles;
+            return this;
+        }
+
+        public Builder storeViewRoles(Set<String> storeViewRoles) {
+            this.storeViewRoles = storeViewRoles;
+            return this;
+        }
+
+        public Builder publisherRoles(Set<String> publisherRoles) {
+            this.publisherRoles = publisherRoles;
+            return this;
+        }
+
+        public Builder tags(Set<String> tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public Builder tiers(Set<String> tiers) {
+            this.tiers = tiers;
+            return this;
+        }
+
+        public Builder createdTime(String createdTime) {
+            this.createdTime = createdTime;
+            return this;
+        }
+
+        public Builder updatedTime(Date updatedTime) {
+            this.updatedTime = updatedTime;
+            return this;
+        }
+
+        public APIIndexEntry build() {
+            return new APIIndexEntry(this);
+        }
+    }
+}
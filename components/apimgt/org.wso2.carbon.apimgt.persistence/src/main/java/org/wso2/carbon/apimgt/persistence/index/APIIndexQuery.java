@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.persistence.index;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A search query of the Publisher or Dev Portal parsed into criteria which can be evaluated against the stored
+ * fields of an {@link APIIndexEntry}. The parsing follows the same rules as
+ * {@link org.wso2.carbon.apimgt.persistence.utils.RegistrySearchUtil}: space separated criteria are combined with
+ * AND, a criterion without a prefix is a name search, and values are matched as sub strings unless they are
+ * quoted.
+ */
+public final class APIIndexQuery {
+
+    private static final String TAG_COLON_PREFIX = "tag:";
+    private static final String EMAIL_DOMAIN_SEPARATOR_REPLACEMENT = "-AT-";
+    private static final String EMAIL_DOMAIN_SEPARATOR = "@";
+
+    /**
+     * Fields that the index can answer queries on.
+     */
+    public enum Field {
+        NAME, PROVIDER, VERSION, CONTEXT, TAGS, TYPE, DESCRIPTION
+    }
+
+    private final List<Criterion> criteria;
+
+    private APIIndexQuery(List<Criterion> criteria) {
+        this.criteria = Collections.unmodifiableList(criteria);
+    }
+
+    /**
+     * Parse a search query entered in the Publisher or Dev Portal.
+     *
+     * @param searchQuery search query
+     * @return parsed query, or null if the query uses a prefix or syntax which the index cannot answer (for example
+     * doc, content, label or custom property searches) and has to be sent to the registry instead
+     */
+    public static APIIndexQuery parse(String searchQuery) {
+
+        List<Criterion> criteria = new ArrayList<>();
+        if (StringUtils.isBlank(searchQuery)) {
+            return new APIIndexQuery(criteria);
+        }
+        String query = searchQuery.trim();
+        if (query.contains("&") || query.contains("=")) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        if (query.contains(TAG_COLON_PREFIX)) {
+            // tags may contain spaces, hence tag searches are not split
+            terms.add(query);
+        } else {
+            for (String term : query.split(" ")) {
+                if (!term.trim().isEmpty()) {
+                    terms.add(term.trim());
+                }
+            }
+        }
+        for (String term : terms) {
+            Criterion criterion = parseCriterion(term);
+            if (criterion == null) {
+                return null;
+            }
+            criteria.add(criterion);
+        }
+        return new APIIndexQuery(criteria);
+    }
+
+    private static Criterion parseCriterion(String term) {
+
+        Field field = Field.NAME;
+        String value = term;
+        if (term.contains(":")) {
+            String[] keyValue = term.split(":");
+            if (keyValue.length != 2) {
+                return null;
+            }
+            field = toField(keyValue[0].trim());
+            if (field == null) {
+                return null;
+            }
+            value = keyValue[1].trim();
+        }
+        boolean exact = false;
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+            exact = true;
+        } else if (field == Field.TAGS) {
+            exact = true;
+        } else {
+            value = StringUtils.strip(value, "*");
+        }
+        if (value.contains("*")) {
+            return null;
+        }
+        if (field == Field.PROVIDER) {
+            value = value.replace(EMAIL_DOMAIN_SEPARATOR_REPLACEMENT, EMAIL_DOMAIN_SEPARATOR);
+        }
+        return new Criterion(field, value.toLowerCase(Locale.ENGLISH), exact);
+    }
+
+    private static Field toField(String key) {
+
+        switch (key.toLowerCase(Locale.ENGLISH)) {
+            case "name":
+                return Field.NAME;
+            case "provider":
+                return Field.PROVIDER;
+            case "version":
+                return Field.VERSION;
+            case "context":
+                return Field.CONTEXT;
+            case "tag":
+            case "tags":
+                return Field.TAGS;
+            case "type":
+                return Field.TYPE;
+            case "description":
+                return Field.DESCRIPTION;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return true if this is a plain listing without any criteria
+     */
+    public boolean isListing() {
+        return criteria.isEmpty();
+    }
+
+    /**
+     * @param field field to check
+     * @return true if the query has a criterion on the given field
+     */
+    public boolean hasCriterion(Field field) {
+
+        for (Criterion criterion : criteria) {
+            if (criterion.field == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluate the query against an indexed API.
+     *
+     * @param entry                indexed API
+     * @param matchOwnerAsProvider match provider criteria against the API owner instead of the provider. The registry
+     *                             based search retries with the owner when nothing matched the provider.
+     * @return true if all the criteria match
+     */
+    public boolean matches(APIIndexEntry entry, boolean matchOwnerAsProvider) {
+
+        for (Criterion criterion : criteria) {
+            if (!criterion.matches(entry, matchOwnerAsProvider)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Criterion {
+
+        private final Field field;
+        private final String value;
+        private final boolean exact;
+
+        private Criterion(Field field, String value, boolean exact) {
+
+            this.field = field;
+            this.value = value;
+            this.exact = exact;
+        }
+
+        private boolean matches(APIIndexEntry entry, boolean matchOwnerAsProvider) {
+
+            switch (field) {
+                case NAME:
+                    return matchesValue(entry.getName());
+                case PROVIDER:
+                    String provider = matchOwnerAsProvider ? entry.getOwner() : entry.getProvider();
+                    return provider != null && matchesValue(
+                            provider.replace(EMAIL_DOMAIN_SEPARATOR_REPLACEMENT, EMAIL_DOMAIN_SEPARATOR));
+                case VERSION:
+                    return matchesValue(entry.getVersion());
+                case CONTEXT:
+                    return matchesValue(value.contains("{") ? entry.getContextTemplate() : entry.getContext());
+                case TAGS:
+                    for (String tag : entry.getTags()) {
+                        if (matchesValue(tag)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case TYPE:
+                    return matchesValue(entry.getType());
+                case DESCRIPTION:
+                    return matchesValue(entry.getDescription());
+                default:
+                    return false;
+            }
+        }
+
+        private boolean matchesValue(String fieldValue) {
+
+            if (fieldValue == null) {
+                return false;
+            }
+            String lowerCaseValue = fieldValue.toLowerCase(Locale.ENGLISH);
+            return exact ? lowerCaseValue.equals(value) : lowerCaseValue.contains(value);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.persistence.index;
+
+import org.apache.commons.lang3.StringUtils;
+import org.wso2.carbon.apimgt.api.model.Tag;
+import org.wso2.carbon.apimgt.persistence.APIConstants;
+import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPIInfo;
+import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPISearchResult;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPIInfo;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPISearchResult;
+import org.wso2.carbon.apimgt.persistence.dto.UserContext;
+import org.wso2.carbon.apimgt.persistence.utils.PersistenceUtil;
+import org.wso2.carbon.apimgt.persistence.utils.PublisherAPISearchResultComparator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In memory search index of the APIs of each organization. Each organization is indexed as an immutable snapshot of
+ * {@link APIIndexEntry} instances which is replaced on every change, so searches never block and never see a
+ * partially applied update. Listing, full text, tag and tag cloud queries of the Publisher and Dev Portal are
+ * answered from the stored fields without loading registry artifacts.
+ */
+public class APISearchIndex {
+
+    private static final Comparator<APIIndexEntry> NAME_COMPARATOR = new Comparator<APIIndexEntry>() {
+        @Override
+        public int compare(APIIndexEntry o1, APIIndexEntry o2) {
+
+            int result = String.CASE_INSENSITIVE_ORDER.compare(StringUtils.defaultString(o1.getName()),
+                    StringUtils.defaultString(o2.getName()));
+            if (result == 0) {
+                result = StringUtils.defaultString(o1.getVersion())
+                        .compareTo(StringUtils.defaultString(o2.getVersion()));
+            }
+            return result;
+        }
+    };
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * How the requesting user accesses the APIs of an organization. Decides which visibility restrictions apply.
+     */
+    public enum AccessType {
+        /** A user of the organization. Restricted APIs are visible only to users of the visible roles. */
+        ORGANIZATION_USER,
+        /** A user of another organization. The registry search of such users is not restricted by visibility. */
+        CROSS_ORGANIZATION_USER,
+        /** An anonymous user. Only public APIs are visible. */
+        ANONYMOUS
+    }
+
+    /**
+     * @param organization organization
+     * @return true if the APIs of the organization have been indexed
+     */
+    public boolean isIndexed(String organization) {
+        return snapshots.containsKey(organization);
+    }
+
+    /**
+     * @param organization organization
+     * @param maxAgeMillis maximum age of the index
+     * @return true if the index of the organization was built more than maxAgeMillis ago
+     */
+    public boolean isOlderThan(String organization, long maxAgeMillis) {
+
+        Snapshot snapshot = snapshots.get(organization);
+        return snapshot != null && System.currentTimeMillis() - snapshot.builtTime > maxAgeMillis;
+    }
+
+    /**
+     * Replace the index of an organization with the given APIs.
+     *
+     * @param organization organization
+     * @param entries      all the APIs of the organization
+     */
+    public void replace(String organization, Collection<APIIndexEntry> entries) {
+
+        Map<String, APIIndexEntry> entriesById = new HashMap<>();
+        for (APIIndexEntry entry : entries) {
+            entriesById.put(entry.getId(), entry);
+        }
+        snapshots.put(organization, new Snapshot(entriesById, System.currentTimeMillis()));
+    }
+
+    /**
+     * Add or update a single API. Ignored if the organization has not been indexed yet, since the API is picked up
+     * when the organization is indexed.
+     *
+     * @param organization organization
+     * @param entry        API to index
+     */
+    public void put(String organization, APIIndexEntry entry) {
+
+        snapshots.computeIfPresent(organization, (org, snapshot) -> {
+            Map<String, APIIndexEntry> entriesById = new HashMap<>(snapshot.entriesById);
+            entriesById.put(entry.getId(), entry);
+            return new Snapshot(entriesById, snapshot.builtTime);
+        });
+    }
+
+    /**
+     * Remove a single API from the index.
+     *
+     * @param organization organization
+     * @param id           UUID of the API
+     */
+    public void remove(String organization, String id) {
+
+        snapshots.computeIfPresent(organization, (org, snapshot) -> {
+            if (!snapshot.entriesById.containsKey(id)) {
+                return snapshot;
+            }
+            Map<String, APIIndexEntry> entriesById = new HashMap<>(snapshot.entriesById);
+            entriesById.remove(id);
+            return new Snapshot(entriesById, snapshot.builtTime);
+        });
+    }
+
+    /**
+     * Drop the index of an organization. It is rebuilt on the next search.
+     *
+     * @param organization organization
+     */
+    public void invalidate(String organization) {
+        snapshots.remove(organization);
+    }
+
+    /**
+     * Search the APIs visible in the Dev Portal.
+     *
+     * @param organization            organization
+     * @param query                   parsed search query
+     * @param ctx                     user context
+     * @param accessType              how the user accesses the organization
+     * @param start                   index of the first API to return
+     * @param limit                   maximum number of APIs to return
+     * @param displayMultipleStatus   whether deprecated APIs are listed
+     * @param displayMultipleVersions whether all the versions of an API are listed
+     * @return search result, or null if the organization is not indexed
+     */
+    public DevPortalAPISearchResult searchForDevPortal(String organization, APIIndexQuery query, UserContext ctx,
+                                                       AccessType accessType, int start, int limit,
+                                                       boolean displayMultipleStatus,
+                                                       boolean displayMultipleVersions) {
+
+        Snapshot snapshot = snapshots.get(organization);
+        if (snapshot == null) {
+            return null;
+        }
+        Set<String> statuses = new HashSet<>();
+        statuses.add(APIConstants.PUBLISHED);
+        statuses.add(APIConstants.PROTOTYPED);
+        if (displayMultipleStatus) {
+            statuses.add(APIConstants.DEPRECATED);
+        }
+        boolean isAdmin = PersistenceUtil.isAdminUser(ctx);
+        Set<String> roles = getUserRoles(ctx, false);
+        Set<String> queryRoles = getUserRoles(ctx, true);
+
+        List<APIIndexEntry> candidates = new ArrayList<>();
+        for (APIIndexEntry entry : snapshot.sortedEntries) {
+            if (entry.getStatus() != null && statuses.contains(entry.getStatus().toUpperCase(Locale.ENGLISH))
+                    && (!query.isListing() || !Boolean.FALSE.toString().equalsIgnoreCase(entry.getEnableStore()))
+                    && (isAdmin || hasAnyRole(entry.getStoreViewRoles(), queryRoles))
+                    && isVisibleInDevPortal(entry, accessType, isAdmin, roles)) {
+                candidates.add(entry);
+            }
+        }
+        List<APIIndexEntry> matched = match(candidates, query);
+        if (query.isListing() && !displayMultipleVersions) {
+            matched = getLatestVersions(matched);
+        }
+        List<DevPortalAPIInfo> page = new ArrayList<>();
+        for (APIIndexEntry entry : getPage(matched, start, limit)) {
+            page.add(entry.toDevPortalAPIInfo());
+        }
+        DevPortalAPISearchResult result = new DevPortalAPISearchResult();
+        result.setDevPortalAPIInfoList(page);
+        result.setReturnedAPIsCount(page.size());
+        result.setTotalAPIsCount(matched.size());
+        return result;
+    }
+
+    /**
+     * Search the APIs visible in the Publisher.
+     *
+     * @param organization organization
+     * @param query        parsed search query
+     * @param ctx          user context
+     * @param start        index of the first API to return
+     * @param limit        maximum number of APIs to return
+     * @return search result, or null if the organization is not indexed
+     */
+    public PublisherAPISearchResult searchForPublisher(String organization, APIIndexQuery query, UserContext ctx,
+                                                       int start, int limit) {
+
+        Snapshot snapshot = snapshots.get(organization);
+        if (snapshot == null) {
+            return null;
+        }
+        boolean isAdmin = PersistenceUtil.isAdminUser(ctx);
+        Set<String> queryRoles = getUserRoles(ctx, true);
+        boolean filterByType = !query.hasCriterion(APIIndexQuery.Field.TYPE);
+
+        List<APIIndexEntry> candidates = new ArrayList<>();
+        for (APIIndexEntry entry : snapshot.sortedEntries) {
+            if ((isAdmin || hasAnyRole(entry.getPublisherRoles(), queryRoles))
+                    && (!filterByType || isSupportedAPIType(entry.getType()))) {
+                candidates.add(entry);
+            }
+        }
+        List<APIIndexEntry> matched = match(candidates, query);
+        List<PublisherAPIInfo> page = new ArrayList<>();
+        for (APIIndexEntry entry : getPage(matched, start, limit)) {
+            page.add(entry.toPublisherAPIInfo());
+        }
+        Collections.sort(page, new PublisherAPISearchResultComparator());
+        PublisherAPISearchResult result = new PublisherAPISearchResult();
+        result.setPublisherAPIInfoList(page);
+        result.setReturnedAPIsCount(page.size());
+        result.setTotalAPIsCount(matched.size());
+        return result;
+    }
+
+    /**
+     * Get the tag cloud of the published and prototyped APIs of an organization. Only the APIs the user can see in
+     * the Dev Portal are counted, with the same role and visibility restrictions as the Dev Portal search.
+     *
+     * @param organization organization
+     * @param ctx          user context
+     * @param accessType   how the user accesses the organization
+     * @return tags with the number of APIs using each, or null if the organization is not indexed
+     */
+    public Set<Tag> getTags(String organization, UserContext ctx, AccessType accessType) {
+
+        Snapshot snapshot = snapshots.get(organization);
+        if (snapshot == null) {
+            return null;
+        }
+        boolean isAdmin = ctx != null && PersistenceUtil.isAdminUser(ctx);
+        Set<String> roles = getUserRoles(ctx, false);
+        Set<String> queryRoles = getUserRoles(ctx, true);
+        Map<String, Integer> tagCounts = new HashMap<>();
+        for (APIIndexEntry entry : snapshot.sortedEntries) {
+            if ((APIConstants.PUBLISHED.equalsIgnoreCase(entry.getStatus())
+                    || APIConstants.PROTOTYPED.equalsIgnoreCase(entry.getStatus()))
+                    && (isAdmin || hasAnyRole(entry.getStoreViewRoles(), queryRoles))
+                    && isVisibleInDevPortal(entry, accessType, isAdmin, roles)) {
+                for (String tag : entry.getTags()) {
+                    tagCounts.merge(tag, 1, Integer::sum);
+                }
+            }
+        }
+        Set<Tag> tags = new TreeSet<>(new Comparator<Tag>() {
+            @Override
+            public int compare(Tag o1, Tag o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+        for (Map.Entry<String, Integer> tagCount : tagCounts.entrySet()) {
+            tags.add(new Tag(tagCount.getKey(), tagCount.getValue()));
+        }
+        return tags;
+    }
+
+    private static List<APIIndexEntry> match(List<APIIndexEntry> candidates, APIIndexQuery query) {
+
+        List<APIIndexEntry> matched = new ArrayList<>();
+        for (APIIndexEntry entry : candidates) {
+            if (query.matches(entry, false)) {
+                matched.add(entry);
+            }
+        }
+        if (matched.isEmpty() && query.hasCriterion(APIIndexQuery.Field.PROVIDER)) {
+            for (APIIndexEntry entry : candidates) {
+                if (query.matches(entry, true)) {
+                    matched.add(entry);
+                }
+            }
+        }
+        return matched;
+    }
+
+    private static List<APIIndexEntry> getLatestVersions(List<APIIndexEntry> entries) {
+
+        Map<String, APIIndexEntry> latestByName = new LinkedHashMap<>();
+        for (APIIndexEntry entry : entries) {
+            APIIndexEntry latest = latestByName.get(entry.getName());
+            if (latest == null || compareVersions(entry, latest) > 0) {
+                latestByName.put(entry.getName(), entry);
+            }
+        }
+        return new ArrayList<>(latestByName.values());
+    }
+
+    private static int compareVersions(APIIndexEntry entry1, APIIndexEntry entry2) {
+
+        String version1 = entry1.getVersionComparable();
+        String version2 = entry2.getVersionComparable();
+        if (version1 == null || version2 == null) {
+            if (version1 == null && version2 == null) {
+                return 0;
+            }
+            return version1 == null ? -1 : 1;
+        }
+        try {
+            return Long.compare(Long.parseLong(version1), Long.parseLong(version2));
+        } catch (NumberFormatException e) {
+            return version1.compareTo(version2);
+        }
+    }
+
+    private static List<APIIndexEntry> getPage(List<APIIndexEntry> entries, int start, int limit) {
+
+        int from = Math.min(Math.max(start, 0), entries.size());
+        int to = Math.min(from + Math.max(limit, 0), entries.size());
+        return entries.subList(from, to);
+    }
+
+    private static boolean isVisibleInDevPortal(APIIndexEntry entry, AccessType accessType, boolean isAdmin,
+                                                Set<String> roles) {
+
+        String visibility = entry.getVisibility();
+        switch (accessType) {
+            case ANONYMOUS:
+                return StringUtils.isEmpty(visibility)
+                        || APIConstants.API_GLOBAL_VISIBILITY.equalsIgnoreCase(visibility);
+            case CROSS_ORGANIZATION_USER:
+                return true;
+            default:
+                if (isAdmin || !APIConstants.API_RESTRICTED_VISIBILITY.equalsIgnoreCase(visibility)) {
+                    return true;
+                }
+                if (entry.getVisibleRoles().contains(APIConstants.EVERYONE_ROLE)) {
+                    return true;
+                }
+                for (String role : roles) {
+                    if (entry.getVisibleRoles().contains(role)) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    /**
+     * Same as the role criteria of the registry search. An API without roles, or with the null role list, is
+     * visible to everyone. Otherwise the user must have one of the roles.
+     */
+    private static boolean hasAnyRole(Set<String> apiRoles, Set<String> userRoles) {
+
+        if (apiRoles.isEmpty() || apiRoles.contains(APIConstants.NULL_USER_ROLE_LIST)) {
+            return true;
+        }
+        for (String role : userRoles) {
+            if (apiRoles.contains(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> getUserRoles(UserContext ctx, boolean applySkipRoles) {
+
+        Set<String> roles = new HashSet<>();
+        if (ctx == null || ctx.getRoles() == null) {
+            return roles;
+        }
+        List<Pattern> skipRolePatterns = new ArrayList<>();
+        String skipRoles = applySkipRoles ? PersistenceUtil.getSkipRoles(ctx) : null;
+        if (StringUtils.isNotEmpty(skipRoles)) {
+            for (String regex : skipRoles.split(",")) {
+                skipRolePatterns.add(Pattern.compile(regex));
+            }
+        }
+        for (String role : ctx.getRoles()) {
+            boolean skipped = false;
+            for (Pattern pattern : skipRolePatterns) {
+                if (pattern.matcher(role).matches()) {
+                    skipped = true;
+                    break;
+                }
+            }
+            if (!skipped) {
+                roles.add(role.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return roles;
+    }
+
+    private static boolean isSupportedAPIType(String type) {
+
+        for (String supportedType : APIConstants.API_SUPPORTED_TYPE_LIST) {
+            if (supportedType.equalsIgnoreCase(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Immutable view of the APIs of one organization, with the derived structures used by searches.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, APIIndexEntry> entriesById;
+        private final List<APIIndexEntry> sortedEntries;
+        private final long builtTime;
+
+        private Snapshot(Map<String, APIIndexEntry> entriesById, long builtTime) {
+
+            this.entriesById = Collections.unmodifiableMap(entriesById);
+            List<APIIndexEntry> entries = new ArrayList<>(entriesById.values());
+            entries.sort(NAME_COMPARATOR);
+            this.sortedEntries = Collections.unmodifiableList(entries);
+            this.builtTime = builtTime;
+        }
+    }
+}
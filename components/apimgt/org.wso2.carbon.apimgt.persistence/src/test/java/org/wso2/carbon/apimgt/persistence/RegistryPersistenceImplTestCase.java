@@ -29,6 +29,7 @@ import javax.xml.namespace.QName;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -37,6 +38,7 @@ import org.wso2.carbon.apimgt.api.APIManagementException;
 import org.wso2.carbon.apimgt.api.model.API;
 import org.wso2.carbon.apimgt.api.model.APIIdentifier;
 import org.wso2.carbon.apimgt.api.model.APIProduct;
+import org.wso2.carbon.apimgt.persistence.cache.APIDefinitionCache;
 import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPI;
 import org.wso2.carbon.apimgt.persistence.dto.Organization;
 import org.wso2.carbon.apimgt.persistence.dto.PublisherAPI;
@@ -589,6 +591,7 @@ public class RegistryPersistenceImplTestCase {
         Mockito.when(registry.getTags(anyString())).thenReturn(tags);
         GenericArtifact existArtifact = PersistenceHelper.getSampleAPIArtifact();
         String apiUUID = existArtifact.getId();
+        publisherAPI.setId(apiUUID);
 
         PowerMockito.mockStatic(RegistryPersistenceUtil.class);
         GenericArtifactManager manager = Mockito.mock(GenericArtifactManager.class);
@@ -608,11 +611,52 @@ public class RegistryPersistenceImplTestCase {
         Mockito.when(RegistryPersistenceUtil.getAPIPath(any(APIIdentifier.class))).thenReturn(apiPath);
 
         Organization org = new Organization(SUPER_TENANT_DOMAIN);
-        APIPersistence apiPersistenceInstance = new RegistryPersistenceImplWrapper(registry, existArtifact);
+        RegistryPersistenceImplWrapper apiPersistenceInstance = new RegistryPersistenceImplWrapper(registry,
+                existArtifact);
+        APIDefinitionCache definitionCache = Mockito.mock(APIDefinitionCache.class);
+        apiPersistenceInstance.setDefinitionCache(definitionCache);
 
         PublisherAPI updatedAPI = apiPersistenceInstance.updateAPI(org, publisherAPI);
         Assert.assertEquals("Updated API description does not match", "Modified description",
                 updatedAPI.getDescription());
+        // The cached definitions are dropped only after the registry transaction is committed
+        InOrder inOrder = Mockito.inOrder(registry, definitionCache);
+        inOrder.verify(registry).commitTransaction();
+        inOrder.verify(definitionCache).invalidate(apiUUID);
+
+        Mockito.reset(definitionCache);
+        Mockito.doThrow(new RegistryException("Commit failed")).when(registry).commitTransaction();
+        try {
+            apiPersistenceInstance.updateAPI(org, publisherAPI);
+            Assert.fail("Update should fail when the registry transaction is not committed");
+        } catch (APIPersistenceException e) {
+            Mockito.verify(definitionCache, Mockito.never()).invalidate(anyString());
+        }
+    }
+
+    @Test
+    public void testSaveOASDefinitionInvalidatesDefinitions() throws Exception {
+
+        Registry registry = Mockito.mock(UserRegistry.class);
+        Mockito.when(registry.newResource()).thenReturn(new ResourceImpl());
+        GenericArtifact artifact = PersistenceHelper.getSampleAPIArtifact();
+        String apiUUID = artifact.getId();
+
+        PowerMockito.mockStatic(RegistryPersistenceUtil.class);
+        GenericArtifactManager manager = Mockito.mock(GenericArtifactManager.class);
+        PowerMockito.when(RegistryPersistenceUtil.getArtifactManager(registry, APIConstants.API_KEY))
+                .thenReturn(manager);
+        Mockito.when(manager.getGenericArtifact(apiUUID)).thenReturn(artifact);
+
+        RegistryPersistenceImplWrapper apiPersistenceInstance = new RegistryPersistenceImplWrapper(registry,
+                artifact);
+        APIDefinitionCache definitionCache = Mockito.mock(APIDefinitionCache.class);
+        apiPersistenceInstance.setDefinitionCache(definitionCache);
+
+        apiPersistenceInstance.saveOASDefinition(new Organization(SUPER_TENANT_DOMAIN), apiUUID, "{}");
+        InOrder inOrder = Mockito.inOrder(registry, definitionCache);
+        inOrder.verify(registry).put(anyString(), any(Resource.class));
+        inOrder.verify(definitionCache).invalidate(apiUUID);
     }
 
     @Test
@@ -683,11 +727,46 @@ public class RegistryPersistenceImplTestCase {
                 any(APIProduct.class))).thenReturn(updatedArtifact);
 
         Organization org = new Organization(SUPER_TENANT_DOMAIN);
-        APIPersistence apiPersistenceInstance = new RegistryPersistenceImplWrapper(registry, existArtifact);
+        RegistryPersistenceImplWrapper apiPersistenceInstance = new RegistryPersistenceImplWrapper(registry,
+                existArtifact);
+        APIDefinitionCache definitionCache = Mockito.mock(APIDefinitionCache.class);
+        apiPersistenceInstance.setDefinitionCache(definitionCache);
 
         PublisherAPIProduct updatedAPI = apiPersistenceInstance.updateAPIProduct(org, publisherAPI);
         Assert.assertEquals("Updated API description does not match", "Modified description",
                 updatedAPI.getDescription());
+        InOrder inOrder = Mockito.inOrder(registry, definitionCache);
+        inOrder.verify(registry).commitTransaction();
+        inOrder.verify(definitionCache).invalidate(apiUUID);
+    }
+
+    @Test
+    public void testDeleteAPIProductInvalidatesDefinitions() throws Exception {
+
+        Registry registry = Mockito.mock(UserRegistry.class);
+        Resource resource = new ResourceImpl();
+        resource.setUUID("c5f8e2b1-7d3a-4e6f-9b0c-1a2d3e4f5a6b");
+        Mockito.when(registry.get(anyString())).thenReturn(resource);
+        GenericArtifact existArtifact = Mockito.mock(GenericArtifact.class);
+        Mockito.when(existArtifact.getAttribute(anyString())).thenReturn("APIProductTest");
+        Mockito.when(existArtifact.getDependencies()).thenReturn(new GovernanceArtifact[0]);
+        String apiUUID = "3a1c5e7f-9b2d-4f6a-8c0e-2b4d6f8a0c1e";
+
+        PowerMockito.mockStatic(RegistryPersistenceUtil.class);
+        GenericArtifactManager manager = Mockito.mock(GenericArtifactManager.class);
+        PowerMockito.when(RegistryPersistenceUtil.getArtifactManager(registry, APIConstants.API_KEY))
+                .thenReturn(manager);
+        Mockito.when(manager.getGenericArtifact(apiUUID)).thenReturn(existArtifact);
+
+        RegistryPersistenceImplWrapper apiPersistenceInstance = new RegistryPersistenceImplWrapper(registry,
+                existArtifact);
+        APIDefinitionCache definitionCache = Mockito.mock(APIDefinitionCache.class);
+        apiPersistenceInstance.setDefinitionCache(definitionCache);
+
+        apiPersistenceInstance.deleteAPIProduct(new Organization(SUPER_TENANT_DOMAIN), apiUUID);
+        InOrder inOrder = Mockito.inOrder(manager, definitionCache);
+        inOrder.verify(manager).removeGenericArtifact(existArtifact);
+        inOrder.verify(definitionCache).invalidate(apiUUID);
     }
 
     private String generateArtifactPath(GenericArtifact artifact) throws GovernanceException {
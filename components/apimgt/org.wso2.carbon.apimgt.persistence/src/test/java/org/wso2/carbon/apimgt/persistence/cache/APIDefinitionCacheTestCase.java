@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.persistence.cache;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.wso2.carbon.apimgt.persistence.dto.ResourceFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.cache.Cache;
+
+public class APIDefinitionCacheTestCase {
+
+    private static final String API_ID = "f5d6a4b2-1c3e-4d5f-8a9b-0c1d2e3f4a5b";
+    private final Map<Object, Object> entries = new HashMap<>();
+    private APIDefinitionCache definitionCache;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void init() {
+
+        entries.clear();
+        final Cache<String, Object> cache = Mockito.mock(Cache.class);
+        Mockito.doAnswer(invocation -> entries.get(invocation.getArguments()[0])).when(cache)
+                .get(Mockito.any());
+        Mockito.doAnswer(invocation -> entries.put(invocation.getArguments()[0], invocation.getArguments()[1]))
+                .when(cache).put(Mockito.anyString(), Mockito.any());
+        Mockito.doAnswer(invocation -> entries.remove(invocation.getArguments()[0]) != null).when(cache)
+                .remove(Mockito.any());
+        definitionCache = new APIDefinitionCache(900, 1) {
+            @Override
+            protected Cache<String, Object> getCache() {
+
+                return cache;
+            }
+        };
+    }
+
+    @Test
+    public void testDefinitionIsCachedPerType() {
+
+        definitionCache.putDefinition(API_ID, APIDefinitionCache.DefinitionType.OAS, "{\"openapi\":\"3.0.1\"}");
+        Assert.assertEquals("{\"openapi\":\"3.0.1\"}",
+                definitionCache.getDefinition(API_ID, APIDefinitionCache.DefinitionType.OAS));
+        Assert.assertNull(definitionCache.getDefinition(API_ID, APIDefinitionCache.DefinitionType.ASYNC_API));
+    }
+
+    @Test
+    public void testLargeDefinitionIsNotCached() {
+
+        char[] definition = new char[2048];
+        Arrays.fill(definition, 'a');
+        definitionCache.putDefinition(API_ID, APIDefinitionCache.DefinitionType.GRAPHQL_SCHEMA,
+                new String(definition));
+        Assert.assertNull(definitionCache.getDefinition(API_ID, APIDefinitionCache.DefinitionType.GRAPHQL_SCHEMA));
+    }
+
+    @Test
+    public void testCachedWSDLCanBeReadMoreThanOnce() throws Exception {
+
+        byte[] wsdl = "<definitions/>".getBytes(StandardCharsets.UTF_8);
+        ResourceFile resourceFile = new ResourceFile(new ByteArrayInputStream(wsdl), "application/wsdl+xml");
+        resourceFile.setName("admin-Echo-1.0.0");
+        ResourceFile returned = definitionCache.putWSDL(API_ID, resourceFile);
+        Assert.assertArrayEquals(wsdl, IOUtils.toByteArray(returned.getContent()));
+
+        for (int i = 0; i < 2; i++) {
+            ResourceFile cached = definitionCache.getWSDL(API_ID);
+            Assert.assertNotNull(cached);
+            Assert.assertEquals("application/wsdl+xml", cached.getContentType());
+            Assert.assertEquals("admin-Echo-1.0.0", cached.getName());
+            Assert.assertArrayEquals(wsdl, IOUtils.toByteArray(cached.getContent()));
+        }
+    }
+
+    @Test
+    public void testInvalidateRemovesAllDefinitionsOfAPI() throws Exception {
+
+        definitionCache.putDefinition(API_ID, APIDefinitionCache.DefinitionType.OAS, "{}");
+        definitionCache.putDefinition(API_ID, APIDefinitionCache.DefinitionType.ASYNC_API, "{}");
+        definitionCache.putWSDL(API_ID, new ResourceFile(new ByteArrayInputStream(new byte[] { 1 }), null));
+        definitionCache.putDefinition("other", APIDefinitionCache.DefinitionType.OAS, "{}");
+
+        definitionCache.invalidate(API_ID);
+        Assert.assertNull(definitionCache.getDefinition(API_ID, APIDefinitionCache.DefinitionType.OAS));
+        Assert.assertNull(definitionCache.getDefinition(API_ID, APIDefinitionCache.DefinitionType.ASYNC_API));
+        Assert.assertNull(definitionCache.getWSDL(API_ID));
+        Assert.assertEquals("{}", definitionCache.getDefinition("other", APIDefinitionCache.DefinitionType.OAS));
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.persistence.index;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.api.model.Tag;
+import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPIInfo;
+import org.wso2.carbon.apimgt.persistence.dto.DevPortalAPISearchResult;
+import org.wso2.carbon.apimgt.persistence.dto.Organization;
+import org.wso2.carbon.apimgt.persistence.dto.PublisherAPISearchResult;
+import org.wso2.carbon.apimgt.persistence.dto.UserContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class APISearchIndexTestCase {
+
+    private static final String ORGANIZATION = "carbon.super";
+    private final Organization organization = new Organization(ORGANIZATION);
+    private final String[] devPortalRoles = { "internal/subscriber", "internal/everyone" };
+    private APISearchIndex searchIndex;
+
+    @Before
+    public void init() {
+
+        searchIndex = new APISearchIndex();
+        List<APIIndexEntry> entries = new ArrayList<>();
+        entries.add(entry("1", "PizzaShack", "1.0.0", "1", "PUBLISHED", "public", null,
+                new String[] { "pizza", "food" }));
+        entries.add(entry("2", "PizzaShack", "2.0.0", "2", "PUBLISHED", "public", null, new String[] { "pizza" }));
+        entries.add(entry("3", "Calculator", "1.0.0", "1", "PUBLISHED", "restricted", "internal/subscriber",
+                new String[] { "math" }));
+        entries.add(entry("4", "Payroll", "1.0.0", "1", "PUBLISHED", "restricted", "hr", new String[] { "hr" }));
+        entries.add(entry("5", "Inventory", "1.0.0", "1", "CREATED", "public", null, new String[] { "food" }));
+        entries.add(entry("6", "Weather", "1.0.0", "1", "PROTOTYPED", "private", null, new String[] { "food" }));
+        searchIndex.replace(ORGANIZATION, entries);
+    }
+
+    @Test
+    public void testDevPortalListingReturnsLatestVisibleVersions() {
+
+        UserContext ctx = new UserContext("subscriber", organization, null, devPortalRoles);
+        DevPortalAPISearchResult result = searchIndex.searchForDevPortal(ORGANIZATION, APIIndexQuery.parse(""), ctx,
+                APISearchIndex.AccessType.ORGANIZATION_USER, 0, 10, false, false);
+
+        Assert.assertEquals(3, result.getTotalAPIsCount());
+        Assert.assertEquals(Arrays.asList("3", "2", "6"), getIds(result));
+    }
+
+    @Test
+    public void testDevPortalVisibilityForAnonymousUser() {
+
+        UserContext ctx = new UserContext("wso2.anonymous.user", organization, null,
+                new String[] { "system/wso2.anonymous.role" });
+        DevPortalAPISearchResult result = searchIndex.searchForDevPortal(ORGANIZATION, APIIndexQuery.parse(""), ctx,
+                APISearchIndex.AccessType.ANONYMOUS, 0, 10, false, true);
+
+        Assert.assertEquals(Arrays.asList("1", "2"), getIds(result));
+    }
+
+    @Test
+    public void testDevPortalSearchByNameAndTag() {
+
+        UserContext ctx = new UserContext("subscriber", organization, null, devPortalRoles);
+        DevPortalAPISearchResult result = searchIndex.searchForDevPortal(ORGANIZATION,
+                APIIndexQuery.parse("pizza"), ctx, APISearchIndex.AccessType.ORGANIZATION_USER, 0, 10, false, false);
+        Assert.assertEquals(Arrays.asList("1", "2"), getIds(result));
+
+        result = searchIndex.searchForDevPortal(ORGANIZATION, APIIndexQuery.parse("tag:food"), ctx,
+                APISearchIndex.AccessType.ORGANIZATION_USER, 0, 10, false, false);
+        Assert.assertEquals(Arrays.asList("1", "6"), getIds(result));
+
+        result = searchIndex.searchForDevPortal(ORGANIZATION, APIIndexQuery.parse("name:pizza version:2"), ctx,
+                APISearchIndex.AccessType.ORGANIZATION_USER, 0, 10, false, false);
+        Assert.assertEquals(Arrays.asList("2"), getIds(result));
+    }
+
+    @Test
+    public void testDevPortalPagination() {
+
+        UserContext ctx = new UserContext("subscriber", organization, null, devPortalRoles);
+        DevPortalAPISearchResult result = searchIndex.searchForDevPortal(ORGANIZATION, APIIndexQuery.parse(""), ctx,
+                APISearchIndex.AccessType.ORGANIZATION_USER, 1, 1, false, true);
+
+        Assert.assertEquals(4, result.getTotalAPIsCount());
+        Assert.assertEquals(1, result.getReturnedAPIsCount());
+        Assert.assertEquals(Arrays.asList("1"), getIds(result));
+    }
+
+    @Test
+    public void testPublisherSearchIncludesAllStatuses() {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("isAdmin", true);
+        UserContext ctx = new UserContext("admin", organization, properties, new String[] { "admin" });
+        PublisherAPISearchResult result = searchIndex.searchForPublisher(ORGANIZATION, APIIndexQuery.parse(""), ctx,
+                0, 10);
+
+        Assert.assertEquals(6, result.getTotalAPIsCount());
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+
+        UserContext ctx = new UserContext("subscriber", organization, null, devPortalRoles);
+        searchIndex.put(ORGANIZATION, entry("5", "Inventory", "1.0.0", "1", "PUBLISHED", "public", null,
+                new String[] { "food" }));
+        searchIndex.remove(ORGANIZATION, "6");
+
+        DevPortalAPISearchResult result = searchIndex.searchForDevPortal(ORGANIZATION,
+                APIIndexQuery.parse("tag:food"), ctx, APISearchIndex.AccessType.ORGANIZATION_USER, 0, 10, false,
+                false);
+        Assert.assertEquals(Arrays.asList("5", "1"), getIds(result));
+    }
+
+    @Test
+    public void testTagCloud() {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("isAdmin", true);
+        UserContext ctx = new UserContext("admin", organization, properties, new String[] { "admin" });
+        Map<String, Integer> counts = getTagCounts(searchIndex.getTags(ORGANIZATION, ctx,
+                APISearchIndex.AccessType.ORGANIZATION_USER));
+        Assert.assertEquals(Integer.valueOf(2), counts.get("pizza"));
+        Assert.assertEquals(Integer.valueOf(2), counts.get("food"));
+        Assert.assertEquals(Integer.valueOf(1), counts.get("hr"));
+    }
+
+    @Test
+    public void testTagCloudExcludesRestrictedAPIs() {
+
+        UserContext ctx = new UserContext("subscriber", organization, null, devPortalRoles);
+        Map<String, Integer> counts = getTagCounts(searchIndex.getTags(ORGANIZATION, ctx,
+                APISearchIndex.AccessType.ORGANIZATION_USER));
+        Assert.assertEquals(Integer.valueOf(2), counts.get("pizza"));
+        Assert.assertEquals(Integer.valueOf(2), counts.get("food"));
+        Assert.assertEquals(Integer.valueOf(1), counts.get("math"));
+        Assert.assertFalse(counts.containsKey("hr"));
+
+        ctx = new UserContext("wso2.anonymous.user", organization, null,
+                new String[] { "system/wso2.anonymous.role" });
+        counts = getTagCounts(searchIndex.getTags(ORGANIZATION, ctx, APISearchIndex.AccessType.ANONYMOUS));
+        Assert.assertEquals(Integer.valueOf(2), counts.get("pizza"));
+        Assert.assertEquals(Integer.valueOf(1), counts.get("food"));
+        Assert.assertFalse(counts.containsKey("math"));
+        Assert.assertFalse(counts.containsKey("hr"));
+    }
+
+    @Test
+    public void testUnsupportedQueriesAreNotParsed() {
+
+        Assert.assertNull(APIIndexQuery.parse("doc:readme"));
+        Assert.assertNull(APIIndexQuery.parse("api-category:finance"));
+        Assert.assertNull(APIIndexQuery.parse("name:pi*za"));
+        Assert.assertNotNull(APIIndexQuery.parse("provider:admin"));
+    }
+
+    private static Map<String, Integer> getTagCounts(Set<Tag> tags) {
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (Tag tag : tags) {
+            counts.put(tag.getName(), tag.getNoOfOccurrences());
+        }
+        return counts;
+    }
+
+    private static List<String> getIds(DevPortalAPISearchResult result) {
+
+        List<String> ids = new ArrayList<>();
+        for (DevPortalAPIInfo apiInfo : result.getDevPortalAPIInfoList()) {
+            ids.add(apiInfo.getId());
+        }
+        return ids;
+    }
+
+    private static APIIndexEntry entry(String id, String name, String version, String versionComparable,
+                                       String status, String visibility, String visibleRoles, String[] tags) {
+
+        Set<String> roles = new HashSet<>();
+        if (visibleRoles != null) {
+            roles.add(visibleRoles);
+        }
+        return new APIIndexEntry.Builder()
+                .id(id)
+                .name(name)
+                .version(version)
+                .versionComparable(versionComparable)
+                .context("/" + name.toLowerCase())
+                .contextTemplate("/" + name.toLowerCase() + "/{version}")
+                .provider("admin")
+                .status(status)
+                .type("HTTP")
+                .visibility(visibility)
+                .visibleRoles(roles)
+                .storeViewRoles(new HashSet<>(Arrays.asList("null")))
+                .publisherRoles(new HashSet<>(Arrays.asList("null")))
+                .tags(new HashSet<>(Arrays.asList(tags)))
+                .build();
+    }
+}
@@ -143,12 +143,13 @@ public class SubscriptionsApiServiceImpl implements SubscriptionsApiService {
                     RestApiUtil.handleAuthorizationFailure(RestApiConstants.RESOURCE_APPLICATION, applicationId, log);
                 }
 
+                // the page is selected in the database, hence the returned list starts at the requested offset
                 subscriptions = apiConsumer.getPaginatedSubscribedAPIsByApplication(application, offset, limit,
                         organization);
                 subscribedAPIList.addAll(subscriptions);
 
                 subscriptionListDTO = SubscriptionMappingUtil.fromSubscriptionListToDTO(subscribedAPIList, limit,
-                        offset, organization);
+                        0, organization);
                 return Response.ok().entity(subscriptionListDTO).build();
 
             } else {
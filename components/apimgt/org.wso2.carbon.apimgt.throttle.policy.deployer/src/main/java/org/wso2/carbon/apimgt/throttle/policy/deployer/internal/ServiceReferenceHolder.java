@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.throttle.policy.deployer.internal;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
 import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
 import org.wso2.carbon.event.processor.core.EventProcessorService;
+import org.wso2.carbon.event.publisher.core.EventPublisherService;
 
 /**
  * Class for keeping service references.
@@ -34,6 +35,7 @@ public class ServiceReferenceHolder {
 
     private APIManagerConfiguration apimConfiguration;
     private EventProcessorService eventProcessorService;
+    private EventPublisherService eventPublisherService;
 
     public static ServiceReferenceHolder getInstance() {
         return instance;
@@ -61,4 +63,12 @@ public class ServiceReferenceHolder {
     public void setEventProcessorService(EventProcessorService eventProcessorService) {
         this.eventProcessorService = eventProcessorService;
     }
+
+    public EventPublisherService getEventPublisherService() {
+        return eventPublisherService;
+    }
+
+    public void setEventPublisherService(EventPublisherService eventPublisherService) {
+        this.eventPublisherService = eventPublisherService;
+    }
 }
@@ -35,6 +35,7 @@ import org.wso2.carbon.apimgt.throttle.policy.deployer.utils.ThrottlePolicyStart
 import org.wso2.carbon.core.ServerShutdownHandler;
 import org.wso2.carbon.core.ServerStartupObserver;
 import org.wso2.carbon.event.processor.core.EventProcessorService;
+import org.wso2.carbon.event.publisher.core.EventPublisherService;
 
 /**
  * Throttle policy deployer component.
@@ -106,6 +107,24 @@ public class ThrottlePolicyDeployerComponent {
         ServiceReferenceHolder.getInstance().setEventProcessorService(null);
     }
 
+    @Reference(
+            name = "event.publisher.service",
+            service = EventPublisherService.class,
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetEventPublisherService")
+    protected void setEventPublisherService(EventPublisherService eventPublisherService) {
+
+        log.debug("Setting EventPublisher Service");
+        ServiceReferenceHolder.getInstance().setEventPublisherService(eventPublisherService);
+    }
+
+    protected void unsetEventPublisherService(EventPublisherService eventPublisherService) {
+
+        log.debug("Unsetting EventPublisher Service");
+        ServiceReferenceHolder.getInstance().setEventPublisherService(null);
+    }
+
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
 
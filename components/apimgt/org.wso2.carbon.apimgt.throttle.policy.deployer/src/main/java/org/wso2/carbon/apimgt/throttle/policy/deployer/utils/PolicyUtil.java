@@ -28,6 +28,7 @@ import org.wso2.carbon.apimgt.impl.notifier.events.GlobalPolicyEvent;
 import org.wso2.carbon.apimgt.impl.notifier.events.PolicyEvent;
 import org.wso2.carbon.apimgt.impl.notifier.events.SubscriptionPolicyEvent;
 import org.wso2.carbon.apimgt.impl.template.APITemplateException;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.PolicyRetriever;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApiPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApiPolicyList;
@@ -35,21 +36,34 @@ import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApplicationPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApplicationPolicyList;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.GlobalPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.GlobalPolicyList;
+import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.Limit;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.Policy;
+import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.QuotaPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.SubscriptionPolicyList;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.exception.ThrottlePolicyDeployerException;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.throttling.siddhi.extension.ThrottlePolicyTable;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.event.processor.core.EventProcessorService;
 import org.wso2.carbon.event.processor.core.ExecutionPlanConfiguration;
 import org.wso2.carbon.event.processor.core.exception.ExecutionPlanConfigurationException;
 import org.wso2.carbon.event.processor.core.exception.ExecutionPlanDependencyValidationException;
+import org.wso2.carbon.event.publisher.core.EventPublisherService;
+import org.wso2.carbon.event.publisher.core.exception.EventPublisherConfigurationException;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * An Utility class for policy deploy operations.
@@ -57,6 +71,21 @@ import java.util.Map;
 public class PolicyUtil {
 
     private static final Log log = LogFactory.getLog(PolicyUtil.class);
+    private static final String CONSOLIDATED_POLICY_PREFIX = "consolidated";
+    private static final ThrottlePolicyTemplateBuilder policyTemplateBuilder = new ThrottlePolicyTemplateBuilder();
+    private static final String THROTTLE_DECISIONS_RESOURCE_PATH = "/throttle-decisions/";
+    private static final String DECISION_BATCHING_EXECUTION_PLAN = "throttleDecisionBatchingExecutionPlan";
+    private static final String DECISION_BATCHING_EXECUTION_PLAN_FILE =
+            "ThrottleDecisionBatchingExecutionPlan.siddhiql";
+    private static final String BATCH_EVENT_PUBLISHER = "jmsBatchEventPublisher";
+    private static final String BATCH_EVENT_PUBLISHER_FILE = "jmsBatchEventPublisher.xml";
+    // Publishers of the single decisions of the global throttle stream versions, against their configuration files
+    private static final Map<String, String> DECISION_EVENT_PUBLISHERS = new LinkedHashMap<>();
+
+    static {
+        DECISION_EVENT_PUBLISHERS.put("jmsEventPublisher", "jmsEventPublisher.xml");
+        DECISION_EVENT_PUBLISHERS.put("jmsEventPublisher-1.0.0", "jmsEventPublisher_1.10.0.xml");
+    }
 
     /**
      * Deploy the given throttle policy in the Traffic Manager.
@@ -66,9 +95,17 @@ public class PolicyUtil {
      */
     public static void deployPolicy(Policy policy, PolicyEvent policyEvent) {
 
+        if (Policy.PolicyType.SUBSCRIPTION.equals(policy.getType())
+                || Policy.PolicyType.APPLICATION.equals(policy.getType())) {
+            if (isConsolidatedDeploymentEnabled(policy) && deployConsolidatedPolicy(policy)) {
+                return;
+            }
+            // The policy gets its own execution plan, so it must not be evaluated by the consolidated plan as well
+            ThrottlePolicyTable.getInstance().removePolicy(getPolicyLevel(policy), policy.getTenantDomain(),
+                    policy.getName());
+        }
         EventProcessorService eventProcessorService =
                 ServiceReferenceHolder.getInstance().getEventProcessorService();
-        ThrottlePolicyTemplateBuilder policyTemplateBuilder = new ThrottlePolicyTemplateBuilder();
 
         Map<String, String> policiesToDeploy = new HashMap<>();
         List<String> policiesToUndeploy = new ArrayList<>();
@@ -147,12 +184,104 @@ public class PolicyUtil {
         }
     }
 
+    /**
+     * Deploy a subscription or application policy as an entry of the throttle policy table, which is evaluated by
+     * the consolidated execution plan of its level. Adding or updating a policy is then a table update, and the
+     * consolidated execution plan is deployed only if it is not active yet. The policy is added to the table and the
+     * execution plan it had before is undeployed only once the consolidated execution plan is active.
+     *
+     * @param policy subscription or application policy
+     * @return true if the policy was deployed to the table, false if it needs its own execution plan
+     */
+    private static boolean deployConsolidatedPolicy(Policy policy) {
+
+        String level = getPolicyLevel(policy);
+        QuotaPolicy quotaPolicy = policy.getDefaultLimit();
+        long limit = -1;
+        boolean bandwidth = false;
+        if (quotaPolicy != null && PolicyConstants.REQUEST_COUNT_TYPE.equals(quotaPolicy.getQuotaType())
+                && quotaPolicy.getRequestCount() != null) {
+            limit = quotaPolicy.getRequestCount().getRequestCount();
+        } else if (quotaPolicy != null && PolicyConstants.BANDWIDTH_TYPE.equals(quotaPolicy.getQuotaType())
+                && quotaPolicy.getBandwidth() != null) {
+            limit = quotaPolicy.getBandwidth().getStandardDataAmount();
+            bandwidth = true;
+        }
+        Limit policyLimit = quotaPolicy != null ? quotaPolicy.getLimit() : null;
+        long timeInMilliSeconds = policyLimit != null ? APIUtil.getThrottleWindowInMilliSeconds(
+                policyLimit.getTimeUnit(), policyLimit.getUnitTime()) : -1;
+        if (limit <= 0 || timeInMilliSeconds <= 0) {
+            // Event count policies and policies without a window are deployed as separate execution plans
+            return false;
+        }
+
+        EventProcessorService eventProcessorService =
+                ServiceReferenceHolder.getInstance().getEventProcessorService();
+        String policyPlanName = String.join(APIConstants.DELEM_UNDERSCORE, CONSOLIDATED_POLICY_PREFIX, level);
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                    .setTenantDomain(APIConstants.SUPER_TENANT_DOMAIN, true);
+            try {
+                eventProcessorService.getActiveExecutionPlan(policyPlanName);
+            } catch (ExecutionPlanConfigurationException e) {
+                eventProcessorService.deployExecutionPlan(
+                        policyTemplateBuilder.getConsolidatedThrottlePolicy(level, policyPlanName));
+            }
+        } catch (APITemplateException e) {
+            log.error("Error in creating execution plan " + policyPlanName + ". Deploying " + level + " policy "
+                    + policy.getName() + " as a separate execution plan", e);
+            return false;
+        } catch (ExecutionPlanConfigurationException | ExecutionPlanDependencyValidationException e) {
+            log.error("Error in deploying execution plan " + policyPlanName + ". Deploying " + level + " policy "
+                    + policy.getName() + " as a separate execution plan", e);
+            return false;
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+
+        ThrottlePolicyTable.getInstance().addPolicy(level, policy.getTenantDomain(), policy.getName(), limit,
+                timeInMilliSeconds, bandwidth);
+        if (log.isDebugEnabled()) {
+            log.debug("Added " + level + " policy " + policy.getName() + " of tenant " + policy.getTenantDomain()
+                    + " to the throttle policy table");
+        }
+        undeployPolicies(Collections.singletonList(String.join(APIConstants.DELEM_UNDERSCORE,
+                policy.getTenantDomain(), level, policy.getName())));
+        return true;
+    }
+
+    private static String getPolicyLevel(Policy policy) {
+
+        return Policy.PolicyType.SUBSCRIPTION.equals(policy.getType()) ?
+                PolicyConstants.POLICY_LEVEL_SUB : PolicyConstants.POLICY_LEVEL_APP;
+    }
+
+    /**
+     * Checks whether a subscription or application policy is deployed to the throttle policy table instead of a
+     * separate execution plan. The consolidated execution plans count fixed time windows, hence policies evaluated
+     * with another throttling algorithm keep their own execution plans.
+     *
+     * @param policy subscription or application policy
+     * @return true if the consolidated deployment is enabled for the policy
+     */
+    private static boolean isConsolidatedDeploymentEnabled(Policy policy) {
+
+        APIManagerConfiguration configuration = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        return configuration != null && configuration.getThrottleProperties() != null
+                && configuration.getThrottleProperties().getPolicyDeployer() != null
+                && configuration.getThrottleProperties().getPolicyDeployer().isConsolidatedDeployment()
+                && APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_TIME_BATCH
+                .equals(policyTemplateBuilder.getThrottlingAlgorithm(policy));
+    }
+
     /**
      * Deploy all the throttle policies retrieved from the database in the Traffic Manager.
      */
     public static void deployAllPolicies() {
         // Undeploy all existing policies
         undeployAllPolicies();
+        ThrottlePolicyTable.getInstance().clear();
         PolicyRetriever policyRetriever = new PolicyRetriever();
         try {
             // Deploy all the policies retrieved from the database
@@ -185,6 +314,105 @@ public class PolicyUtil {
         } catch (ThrottlePolicyDeployerException e) {
             log.error("Error in retrieving throttle policies", e);
         }
+        deployThrottleDecisionPublishers();
+    }
+
+    /**
+     * Deploy the publishers which send the throttle decisions of the Traffic Manager to the gateways. By default,
+     * each decision is published as a separate message. When decision batching is enabled, the decisions are
+     * coalesced by the decision batching execution plan and published in compressed batches instead, which are only
+     * understood by gateways that support batched decisions.
+     */
+    static void deployThrottleDecisionPublishers() {
+
+        EventPublisherService eventPublisherService =
+                ServiceReferenceHolder.getInstance().getEventPublisherService();
+        boolean decisionBatchingEnabled = isDecisionBatchingEnabled();
+        if (eventPublisherService == null) {
+            if (decisionBatchingEnabled) {
+                log.warn("Event publisher service is not available. Throttle decisions are not batched.");
+            }
+            return;
+        }
+        EventProcessorService eventProcessorService =
+                ServiceReferenceHolder.getInstance().getEventProcessorService();
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                    .setTenantDomain(APIConstants.SUPER_TENANT_DOMAIN, true);
+            if (decisionBatchingEnabled) {
+                // The batches are published before the decision publishers are removed, so that no decision is lost
+                deployEventPublisher(eventPublisherService, BATCH_EVENT_PUBLISHER, BATCH_EVENT_PUBLISHER_FILE);
+                if (!isExecutionPlanActive(eventProcessorService, DECISION_BATCHING_EXECUTION_PLAN)) {
+                    eventProcessorService.deployExecutionPlan(
+                            readThrottleDecisionResource(DECISION_BATCHING_EXECUTION_PLAN_FILE));
+                }
+                for (String eventPublisher : DECISION_EVENT_PUBLISHERS.keySet()) {
+                    undeployEventPublisher(eventPublisherService, eventPublisher);
+                }
+                log.info("Throttle decisions are published to the gateways in batches");
+            } else {
+                for (Map.Entry<String, String> eventPublisher : DECISION_EVENT_PUBLISHERS.entrySet()) {
+                    deployEventPublisher(eventPublisherService, eventPublisher.getKey(), eventPublisher.getValue());
+                }
+                if (isExecutionPlanActive(eventProcessorService, DECISION_BATCHING_EXECUTION_PLAN)) {
+                    eventProcessorService.undeployActiveExecutionPlan(DECISION_BATCHING_EXECUTION_PLAN);
+                }
+                undeployEventPublisher(eventPublisherService, BATCH_EVENT_PUBLISHER);
+            }
+        } catch (EventPublisherConfigurationException | ExecutionPlanConfigurationException
+                | ExecutionPlanDependencyValidationException | IOException e) {
+            log.error("Error in deploying the throttle decision publishers", e);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private static boolean isDecisionBatchingEnabled() {
+
+        APIManagerConfiguration configuration = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        return configuration != null && configuration.getThrottleProperties() != null
+                && configuration.getThrottleProperties().getPolicyDeployer() != null
+                && configuration.getThrottleProperties().getPolicyDeployer().isDecisionBatching();
+    }
+
+    private static boolean isExecutionPlanActive(EventProcessorService eventProcessorService,
+                                                 String executionPlanName) {
+
+        try {
+            return eventProcessorService.getActiveExecutionPlan(executionPlanName) != null;
+        } catch (ExecutionPlanConfigurationException e) {
+            // The execution plan is not deployed
+            return false;
+        }
+    }
+
+    private static void deployEventPublisher(EventPublisherService eventPublisherService, String eventPublisherName,
+                                             String fileName) throws EventPublisherConfigurationException,
+            IOException {
+
+        if (eventPublisherService.getActiveEventPublisherConfiguration(eventPublisherName) == null) {
+            eventPublisherService.deployEventPublisherConfiguration(readThrottleDecisionResource(fileName));
+        }
+    }
+
+    private static void undeployEventPublisher(EventPublisherService eventPublisherService,
+                                               String eventPublisherName) throws EventPublisherConfigurationException {
+
+        if (eventPublisherService.getActiveEventPublisherConfiguration(eventPublisherName) != null) {
+            eventPublisherService.undeployActiveEventPublisherConfiguration(eventPublisherName);
+        }
+    }
+
+    private static String readThrottleDecisionResource(String fileName) throws IOException {
+
+        InputStream inputStream = PolicyUtil.class.getResourceAsStream(THROTTLE_DECISIONS_RESOURCE_PATH + fileName);
+        if (inputStream == null) {
+            throw new IOException("Throttle decision resource " + fileName + " not found");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining(System.lineSeparator()));
+        }
     }
 
     /**
@@ -213,7 +441,8 @@ public class PolicyUtil {
                         break;
                     }
                 }
-                if (!skiped) {
+                // The decision batching execution plan is not a policy and is managed with the decision publishers
+                if (!skiped && !DECISION_BATCHING_EXECUTION_PLAN.equals(policyPlanName)) {
                     eventProcessorService.undeployActiveExecutionPlan(policyPlanName);
                 }
             }
@@ -231,6 +460,8 @@ public class PolicyUtil {
      */
     public static void undeployPolicy(SubscriptionPolicyEvent policyEvent) {
 
+        ThrottlePolicyTable.getInstance().removePolicy(PolicyConstants.POLICY_LEVEL_SUB,
+                policyEvent.getTenantDomain(), policyEvent.getPolicyName());
         List<String> policyFileNames = new ArrayList<>();
         String policyFile = policyEvent.getTenantDomain() + "_" + PolicyConstants.POLICY_LEVEL_SUB + "_" +
                 policyEvent.getPolicyName();
@@ -245,6 +476,8 @@ public class PolicyUtil {
      */
     public static void undeployPolicy(ApplicationPolicyEvent policyEvent) {
 
+        ThrottlePolicyTable.getInstance().removePolicy(PolicyConstants.POLICY_LEVEL_APP,
+                policyEvent.getTenantDomain(), policyEvent.getPolicyName());
         List<String> policyFileNames = new ArrayList<>();
         String policyFile = policyEvent.getTenantDomain() + "_" + PolicyConstants.POLICY_LEVEL_APP + "_" +
                 policyEvent.getPolicyName();
@@ -35,6 +35,7 @@ import org.wso2.carbon.apimgt.api.model.policy.JWTClaimsCondition;
 import org.wso2.carbon.apimgt.api.model.policy.PolicyConstants;
 import org.wso2.carbon.apimgt.api.model.policy.QueryParameterCondition;
 import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
 import org.wso2.carbon.apimgt.impl.template.APITemplateException;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.APIPolicyConditionGroup;
@@ -42,7 +43,9 @@ import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApiPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApplicationPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.Condition;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.GlobalPolicy;
+import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.Policy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.throttle.policy.deployer.internal.ServiceReferenceHolder;
 import org.wso2.carbon.utils.CarbonUtils;
 
 import java.io.File;
@@ -67,8 +70,11 @@ public class ThrottlePolicyTemplateBuilder {
     private static final String POLICY_VELOCITY_APP = "throttle_policy_template_app";
     private static final String POLICY_VELOCITY_SUB = "throttle_policy_template_sub";
     private static final String POLICY_VELOCITY_ASYNC_SUB = "throttle_policy_template_async_sub";
+    private static final String POLICY_VELOCITY_CONSOLIDATED = "throttle_policy_template_consolidated";
     private final String policyTemplateLocation = "repository" + File.separator + "resources" + File.separator
             + "policy_templates" + File.separator;
+    private VelocityEngine velocityEngine;
+    private final Map<String, Template> templates = new HashMap<>();
 
     /**
      * Produces final condition inside a pipeline
@@ -226,6 +232,52 @@ public class ThrottlePolicyTemplateBuilder {
         context.put("POLICY_LEVEL_GLOBAL", PolicyConstants.POLICY_LEVEL_GLOBAL);
         context.put("REQUEST_COUNT_TYPE", PolicyConstants.REQUEST_COUNT_TYPE);
         context.put("BANDWIDTH_TYPE", PolicyConstants.BANDWIDTH_TYPE);
+        context.put("TIME_BATCH", APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_TIME_BATCH);
+    }
+
+    /**
+     * Returns the parsed policy template. The velocity engine is initialized once per builder and the templates are
+     * parsed on their first use, instead of for every generated execution plan.
+     *
+     * @param templatePath path of the template relative to the carbon home
+     * @return parsed template
+     */
+    private synchronized Template getTemplate(String templatePath) {
+        Template template = templates.get(templatePath);
+        if (template == null) {
+            if (velocityEngine == null) {
+                VelocityEngine engine = new VelocityEngine();
+                APIUtil.initializeVelocityContext(engine);
+                engine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CarbonUtils.getCarbonHome());
+                engine.init();
+                velocityEngine = engine;
+            }
+            template = velocityEngine.getTemplate(templatePath);
+            templates.put(templatePath, template);
+        }
+        return template;
+    }
+
+    /**
+     * Returns the throttler extension used to evaluate the limits of a policy. The fixed time batch window is used
+     * unless the sliding window or GCRA throttler is configured for the policy deployer. Policies do not carry an
+     * algorithm of their own, so the configured algorithm applies to all the policies unless this is overridden.
+     *
+     * @param policy policy to generate the execution plan for
+     * @return name of the throttler extension
+     */
+    protected String getThrottlingAlgorithm(Policy policy) {
+        APIManagerConfiguration configuration = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        if (configuration != null && configuration.getThrottleProperties() != null
+                && configuration.getThrottleProperties().getPolicyDeployer() != null) {
+            String throttlingAlgorithm = configuration.getThrottleProperties().getPolicyDeployer()
+                    .getThrottlingAlgorithm();
+            if (APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_SLIDING_WINDOW.equals(throttlingAlgorithm)
+                    || APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_GCRA.equals(throttlingAlgorithm)) {
+                return throttlingAlgorithm;
+            }
+        }
+        return APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_TIME_BATCH;
     }
 
     /**
@@ -244,12 +296,7 @@ public class ThrottlePolicyTemplateBuilder {
         Map<String, String> policyArray = new HashMap<>();
 
         try {
-            VelocityEngine velocityengine = new VelocityEngine();
-            APIUtil.initializeVelocityContext(velocityengine);
-
-            velocityengine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CarbonUtils.getCarbonHome());
-            velocityengine.init();
-            Template template = velocityengine.getTemplate(getTemplatePathForAPI());
+            Template template = getTemplate(getTemplatePathForAPI());
             StringWriter writer;
             VelocityContext context;
 
@@ -263,6 +310,7 @@ public class ThrottlePolicyTemplateBuilder {
                     setConstantContext(context);
                     context.put("policy", policy);
                     context.put("quotaPolicy", conditionGroup.getDefaultLimit());
+                    context.put("throttlingAlgorithm", getThrottlingAlgorithm(policy));
                     context.put("pipeline", "condition_" + conditionGroup.getConditionGroupId());
 
                     String conditionString = getPolicyCondition(conditionGroup.getCondition());
@@ -307,12 +355,7 @@ public class ThrottlePolicyTemplateBuilder {
         Set<String> conditionsSet = new HashSet<>();
 
         try {
-            VelocityEngine velocityengine = new VelocityEngine();
-            APIUtil.initializeVelocityContext(velocityengine);
-
-            velocityengine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CarbonUtils.getCarbonHome());
-            velocityengine.init();
-            Template template = velocityengine.getTemplate(getTemplatePathForAPIDefaultPolicy());
+            Template template = getTemplate(getTemplatePathForAPIDefaultPolicy());
             StringWriter writer;
             VelocityContext context;
 
@@ -335,6 +378,7 @@ public class ThrottlePolicyTemplateBuilder {
             setConstantContext(context);
             context.put("policy", policy);
             context.put("quotaPolicy", policy.getDefaultLimit());
+            context.put("throttlingAlgorithm", getThrottlingAlgorithm(policy));
             context.put("evaluatedConditions",
                     new String(Base64.encodeBase64(policyConditionJson.toJSONString()
                             .getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
@@ -371,13 +415,7 @@ public class ThrottlePolicyTemplateBuilder {
             log.debug("Generating policy for global level :" + policy.toString());
         }
         try {
-            VelocityEngine velocityengine = new VelocityEngine();
-            APIUtil.initializeVelocityContext(velocityengine);
-
-            velocityengine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CarbonUtils.getCarbonHome());
-            velocityengine.init();
-
-            Template template = velocityengine.getTemplate(getTemplatePathForGlobal());
+            Template template = getTemplate(getTemplatePathForGlobal());
 
             VelocityContext context = new VelocityContext();
             setConstantContext(context);
@@ -410,17 +448,13 @@ public class ThrottlePolicyTemplateBuilder {
         }
 
         try {
-            VelocityEngine velocityengine = new VelocityEngine();
-            APIUtil.initializeVelocityContext(velocityengine);
-
-            velocityengine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CarbonUtils.getCarbonHome());
-            velocityengine.init();
-            Template template = velocityengine.getTemplate(getTemplatePathForApplication());
+            Template template = getTemplate(getTemplatePathForApplication());
 
             VelocityContext context = new VelocityContext();
             setConstantContext(context);
             context.put("policy", policy);
             context.put("quotaPolicy", policy.getDefaultLimit());
+            context.put("throttlingAlgorithm", getThrottlingAlgorithm(policy));
             template.merge(context, writer);
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + writer.toString());
@@ -449,21 +483,50 @@ public class ThrottlePolicyTemplateBuilder {
         }
 
         try {
-            VelocityEngine velocityengine = new VelocityEngine();
-            velocityengine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, CarbonUtils.getCarbonHome());
-            APIUtil.initializeVelocityContext(velocityengine);
-
-            velocityengine.init();
             Template template;
             if (PolicyConstants.EVENT_COUNT_TYPE.equals(policy.getDefaultLimit().getQuotaType())) {
-                template = velocityengine.getTemplate(getTemplatePathForAsyncSubscription());
+                template = getTemplate(getTemplatePathForAsyncSubscription());
             } else {
-                template = velocityengine.getTemplate(getTemplatePathForSubscription());
+                template = getTemplate(getTemplatePathForSubscription());
             }
             VelocityContext context = new VelocityContext();
             setConstantContext(context);
             context.put("policy", policy);
             context.put("quotaPolicy", policy.getDefaultLimit());
+            context.put("throttlingAlgorithm", getThrottlingAlgorithm(policy));
+            template.merge(context, writer);
+            if (log.isDebugEnabled()) {
+                log.debug("Policy : " + writer.toString());
+            }
+        } catch (VelocityException e) {
+            log.error("Velocity Error", e);
+            throw new APITemplateException("Velocity Error", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Generate the consolidated execution plan which throttles every subscription or application policy in the
+     * throttle policy table
+     *
+     * @param level    policy level, either 'sub' or 'app'
+     * @param planName name of the execution plan
+     * @return the generated execution plan
+     * @throws APITemplateException if failed to generate the execution plan
+     */
+    public String getConsolidatedThrottlePolicy(String level, String planName) throws APITemplateException {
+        StringWriter writer = new StringWriter();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Generating consolidated policy for " + level + " level");
+        }
+
+        try {
+            Template template = getTemplate(getTemplatePathForConsolidatedPolicy());
+            VelocityContext context = new VelocityContext();
+            setConstantContext(context);
+            context.put("level", level);
+            context.put("planName", planName);
             template.merge(context, writer);
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + writer.toString());
@@ -498,4 +561,8 @@ public class ThrottlePolicyTemplateBuilder {
     private String getTemplatePathForAsyncSubscription() {
         return policyTemplateLocation + ThrottlePolicyTemplateBuilder.POLICY_VELOCITY_ASYNC_SUB + ".xml";
     }
+
+    private String getTemplatePathForConsolidatedPolicy() {
+        return policyTemplateLocation + ThrottlePolicyTemplateBuilder.POLICY_VELOCITY_CONSOLIDATED + ".xml";
+    }
 }
@@ -17,6 +17,7 @@
  */
 package org.wso2.carbon.apimgt.throttle.policy.deployer.utils;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -44,11 +45,15 @@ import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.SubscriptionPolicyList;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.exception.ThrottlePolicyDeployerException;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.throttling.siddhi.extension.ThrottlePolicyTable;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.event.processor.core.EventProcessorService;
 import org.wso2.carbon.event.processor.core.ExecutionPlanConfiguration;
 import org.wso2.carbon.event.processor.core.exception.ExecutionPlanConfigurationException;
 import org.wso2.carbon.event.processor.core.exception.ExecutionPlanDependencyValidationException;
+import org.wso2.carbon.event.publisher.core.EventPublisherService;
+import org.wso2.carbon.event.publisher.core.config.EventPublisherConfiguration;
+import org.wso2.carbon.event.publisher.core.exception.EventPublisherConfigurationException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -61,7 +66,9 @@ import java.util.UUID;
 @PrepareForTest({ServiceReferenceHolder.class, PrivilegedCarbonContext.class, PolicyUtil.class})
 public class PolicyUtilTest {
     private EventProcessorService eventProcessorService;
+    private EventPublisherService eventPublisherService;
     private PolicyRetriever policyRetriever;
+    private ThrottleProperties throttleProperties;
 
     @Before
     public void setUp() throws Exception {
@@ -75,9 +82,11 @@ public class PolicyUtilTest {
         PowerMockito.mockStatic(ServiceReferenceHolder.class);
         ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
         Mockito.when(serviceReferenceHolder.getEventProcessorService()).thenReturn(eventProcessorService);
+        eventPublisherService = Mockito.mock(EventPublisherService.class);
+        Mockito.when(serviceReferenceHolder.getEventPublisherService()).thenReturn(eventPublisherService);
 
         APIManagerConfiguration apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
-        ThrottleProperties throttleProperties = Mockito.mock(ThrottleProperties.class);
+        throttleProperties = Mockito.mock(ThrottleProperties.class);
         String[] skipThrottlePolicies = {"skipPolicy1"};
         Mockito.when(throttleProperties.getSkipRedeployingPolicies()).thenReturn(skipThrottlePolicies);
         Mockito.when(apiManagerConfiguration.getThrottleProperties()).thenReturn(throttleProperties);
@@ -282,6 +291,110 @@ public class PolicyUtilTest {
                 .undeployActiveExecutionPlan(Mockito.anyString());
     }
 
+    @Test
+    public void testAddPolicy_SubTypeConsolidated() throws ExecutionPlanConfigurationException,
+            ExecutionPlanDependencyValidationException {
+        enableConsolidatedDeployment();
+        ExecutionPlanConfigurationException executionPlanConfigurationException =
+                Mockito.mock(ExecutionPlanConfigurationException.class);
+        Mockito.when(eventProcessorService.getActiveExecutionPlan("consolidated_" + PolicyConstants.POLICY_LEVEL_SUB))
+                .thenThrow(executionPlanConfigurationException).thenReturn("EXECUTION_PLAN");
+
+        SubscriptionPolicy policy = TestUtil.getPolicySubLevel();
+        PolicyUtil.deployPolicy(policy, null);
+        SubscriptionPolicy secondPolicy = TestUtil.getPolicySubLevel();
+        secondPolicy.setName("policy2");
+        PolicyUtil.deployPolicy(secondPolicy, null);
+
+        // The consolidated plan is deployed once and both policies are added to the policy table
+        Mockito.verify(eventProcessorService, Mockito.times(1)).deployExecutionPlan(Mockito.anyString());
+        Mockito.verify(eventProcessorService, Mockito.never())
+                .editActiveExecutionPlan(Mockito.anyString(), Mockito.anyString());
+        ThrottlePolicyTable.PolicyLimit policyLimit = ThrottlePolicyTable.getInstance()
+                .getPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(), policy.getName());
+        Assert.assertNotNull(policyLimit);
+        Assert.assertEquals(1, policyLimit.getLimit());
+        Assert.assertEquals(60000, policyLimit.getTimeInMilliSeconds());
+        Assert.assertNotNull(ThrottlePolicyTable.getInstance()
+                .getPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(), "policy2"));
+    }
+
+    @Test
+    public void testAddPolicy_SubTypeConsolidatedUndeploysPolicyPlan() throws ExecutionPlanConfigurationException {
+        enableConsolidatedDeployment();
+        SubscriptionPolicy policy = TestUtil.getPolicySubLevel();
+        String policyPlanName = policy.getTenantDomain() + "_" + PolicyConstants.POLICY_LEVEL_SUB + "_"
+                + policy.getName();
+        Mockito.when(eventProcessorService.getActiveExecutionPlan(Mockito.anyString())).thenReturn("EXECUTION_PLAN");
+        PolicyUtil.deployPolicy(policy, null);
+
+        // The execution plan the policy was deployed with earlier is replaced by the policy table entry
+        Assert.assertNotNull(ThrottlePolicyTable.getInstance()
+                .getPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(), policy.getName()));
+        Mockito.verify(eventProcessorService, Mockito.times(1)).undeployActiveExecutionPlan(policyPlanName);
+    }
+
+    @Test
+    public void testAddPolicy_SubTypeConsolidatedPlanDeploymentFails() throws ExecutionPlanConfigurationException,
+            ExecutionPlanDependencyValidationException {
+        enableConsolidatedDeployment();
+        SubscriptionPolicy policy = TestUtil.getPolicySubLevel();
+        String policyPlanName = policy.getTenantDomain() + "_" + PolicyConstants.POLICY_LEVEL_SUB + "_"
+                + policy.getName();
+        ThrottlePolicyTable.getInstance().addPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(),
+                policy.getName(), 1, 60000, false);
+        ExecutionPlanConfigurationException executionPlanConfigurationException =
+                Mockito.mock(ExecutionPlanConfigurationException.class);
+        Mockito.when(eventProcessorService.getActiveExecutionPlan(Mockito.anyString()))
+                .thenThrow(executionPlanConfigurationException);
+        Mockito.doThrow(Mockito.mock(ExecutionPlanDependencyValidationException.class)).when(eventProcessorService)
+                .deployExecutionPlan(Mockito.contains("consolidated_" + PolicyConstants.POLICY_LEVEL_SUB));
+        PolicyUtil.deployPolicy(policy, null);
+
+        // Without the consolidated plan the policy falls back to its own execution plan
+        Assert.assertNull(ThrottlePolicyTable.getInstance()
+                .getPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(), policy.getName()));
+        Mockito.verify(eventProcessorService, Mockito.times(2)).deployExecutionPlan(Mockito.anyString());
+        Mockito.verify(eventProcessorService, Mockito.never()).undeployActiveExecutionPlan(policyPlanName);
+    }
+
+    @Test
+    public void testAddPolicy_SubTypeConsolidatedWithOtherAlgorithm() throws ExecutionPlanConfigurationException,
+            ExecutionPlanDependencyValidationException {
+        ThrottleProperties.PolicyDeployer policyDeployer = enableConsolidatedDeployment();
+        policyDeployer.setThrottlingAlgorithm(APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_GCRA);
+        ExecutionPlanConfigurationException executionPlanConfigurationException =
+                Mockito.mock(ExecutionPlanConfigurationException.class);
+        Mockito.when(eventProcessorService.getActiveExecutionPlan(Mockito.anyString()))
+                .thenThrow(executionPlanConfigurationException);
+        SubscriptionPolicy policy = TestUtil.getPolicySubLevel();
+        PolicyUtil.deployPolicy(policy, null);
+
+        // The consolidated plan counts fixed windows, hence the policy keeps its own execution plan
+        Assert.assertNull(ThrottlePolicyTable.getInstance()
+                .getPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(), policy.getName()));
+        Mockito.verify(eventProcessorService, Mockito.times(1)).deployExecutionPlan(Mockito.anyString());
+    }
+
+    @Test
+    public void testDeletePolicy_SubTypeConsolidated() throws ExecutionPlanConfigurationException {
+        enableConsolidatedDeployment();
+        Mockito.when(eventProcessorService.getActiveExecutionPlan(Mockito.anyString())).thenReturn("EXECUTION_PLAN");
+        SubscriptionPolicy policy = TestUtil.getPolicySubLevel();
+        PolicyUtil.deployPolicy(policy, null);
+        SubscriptionPolicyEvent policyEvent = new SubscriptionPolicyEvent(UUID.randomUUID().toString(),
+                System.currentTimeMillis(), APIConstants.EventType.POLICY_DELETE.name(), -1234,
+                policy.getTenantDomain(), policy.getId(),
+                policy.getName(), policy.getDefaultLimit().getQuotaType(),
+                policy.getRateLimitCount(), policy.getRateLimitTimeUnit(), policy.isStopOnQuotaReach(),
+                policy.getGraphQLMaxDepth(), policy.getGraphQLMaxComplexity(), policy.getSubscriberCount());
+        PolicyUtil.undeployPolicy(policyEvent);
+        Assert.assertNull(ThrottlePolicyTable.getInstance()
+                .getPolicy(PolicyConstants.POLICY_LEVEL_SUB, policy.getTenantDomain(), policy.getName()));
+        Mockito.verify(eventProcessorService, Mockito.never())
+                .undeployActiveExecutionPlan("consolidated_" + PolicyConstants.POLICY_LEVEL_SUB);
+    }
+
     @Test
     public void testAddPolicy_GlobalType() throws ExecutionPlanConfigurationException,
             ExecutionPlanDependencyValidationException {
@@ -376,4 +489,61 @@ public class PolicyUtilTest {
         Mockito.verify(eventProcessorService, Mockito.times(5)).deployExecutionPlan(Mockito.anyString());
     }
 
+    @Test
+    public void testDeployThrottleDecisionPublishers_Batching() throws ExecutionPlanConfigurationException,
+            ExecutionPlanDependencyValidationException, EventPublisherConfigurationException {
+        ThrottleProperties.PolicyDeployer policyDeployer = new ThrottleProperties.PolicyDeployer();
+        policyDeployer.setDecisionBatching(true);
+        Mockito.when(throttleProperties.getPolicyDeployer()).thenReturn(policyDeployer);
+        EventPublisherConfiguration eventPublisherConfiguration = Mockito.mock(EventPublisherConfiguration.class);
+        Mockito.when(eventPublisherService.getActiveEventPublisherConfiguration("jmsEventPublisher"))
+                .thenReturn(eventPublisherConfiguration);
+        Mockito.when(eventPublisherService.getActiveEventPublisherConfiguration("jmsEventPublisher-1.0.0"))
+                .thenReturn(eventPublisherConfiguration);
+        ExecutionPlanConfigurationException executionPlanConfigurationException =
+                Mockito.mock(ExecutionPlanConfigurationException.class);
+        Mockito.when(eventProcessorService.getActiveExecutionPlan("throttleDecisionBatchingExecutionPlan"))
+                .thenThrow(executionPlanConfigurationException);
+
+        PolicyUtil.deployThrottleDecisionPublishers();
+
+        Mockito.verify(eventPublisherService, Mockito.times(1))
+                .deployEventPublisherConfiguration(Mockito.contains("jmsBatchEventPublisher"));
+        Mockito.verify(eventProcessorService, Mockito.times(1))
+                .deployExecutionPlan(Mockito.contains("throttler:coalesce"));
+        Mockito.verify(eventPublisherService, Mockito.times(1))
+                .undeployActiveEventPublisherConfiguration("jmsEventPublisher");
+        Mockito.verify(eventPublisherService, Mockito.times(1))
+                .undeployActiveEventPublisherConfiguration("jmsEventPublisher-1.0.0");
+    }
+
+    @Test
+    public void testDeployThrottleDecisionPublishers_Default() throws ExecutionPlanConfigurationException,
+            ExecutionPlanDependencyValidationException, EventPublisherConfigurationException {
+        Mockito.when(throttleProperties.getPolicyDeployer()).thenReturn(new ThrottleProperties.PolicyDeployer());
+        EventPublisherConfiguration eventPublisherConfiguration = Mockito.mock(EventPublisherConfiguration.class);
+        Mockito.when(eventPublisherService.getActiveEventPublisherConfiguration("jmsBatchEventPublisher"))
+                .thenReturn(eventPublisherConfiguration);
+        Mockito.when(eventProcessorService.getActiveExecutionPlan("throttleDecisionBatchingExecutionPlan"))
+                .thenReturn("EXECUTION_PLAN");
+
+        PolicyUtil.deployThrottleDecisionPublishers();
+
+        // The single decision publishers removed by an earlier batching deployment are restored
+        Mockito.verify(eventPublisherService, Mockito.times(2))
+                .deployEventPublisherConfiguration(Mockito.contains("org.wso2.throttle.globalThrottle.stream"));
+        Mockito.verify(eventProcessorService, Mockito.never()).deployExecutionPlan(Mockito.anyString());
+        Mockito.verify(eventProcessorService, Mockito.times(1))
+                .undeployActiveExecutionPlan("throttleDecisionBatchingExecutionPlan");
+        Mockito.verify(eventPublisherService, Mockito.times(1))
+                .undeployActiveEventPublisherConfiguration("jmsBatchEventPublisher");
+    }
+
+    private ThrottleProperties.PolicyDeployer enableConsolidatedDeployment() {
+        ThrottlePolicyTable.getInstance().clear();
+        ThrottleProperties.PolicyDeployer policyDeployer = new ThrottleProperties.PolicyDeployer();
+        policyDeployer.setConsolidatedDeployment(true);
+        Mockito.when(throttleProperties.getPolicyDeployer()).thenReturn(policyDeployer);
+        return policyDeployer;
+    }
 }
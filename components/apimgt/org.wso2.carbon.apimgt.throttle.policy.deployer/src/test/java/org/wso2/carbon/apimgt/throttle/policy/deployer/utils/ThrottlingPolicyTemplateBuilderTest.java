@@ -26,8 +26,10 @@ import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.api.model.policy.PolicyConstants;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.ThrottleProperties;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApiPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApplicationPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.GlobalPolicy;
@@ -41,6 +43,7 @@ import java.util.Map;
 public class ThrottlingPolicyTemplateBuilderTest {
 
     private ThrottlePolicyTemplateBuilder templateBuilder;
+    private APIManagerConfiguration apiManagerConfiguration;
 
     @Before
     public void setUp() {
@@ -50,7 +53,7 @@ public class ThrottlingPolicyTemplateBuilderTest {
         PowerMockito.mockStatic(ServiceReferenceHolder.class);
         ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
         PowerMockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
-        APIManagerConfiguration apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
+        apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
         Mockito.when(apiManagerConfiguration.getFirstProperty(APIConstants.VELOCITY_LOGGER)).
                 thenReturn("not-defined");
         Mockito.when(serviceReferenceHolder.getAPIMConfiguration()).
@@ -88,4 +91,34 @@ public class ThrottlingPolicyTemplateBuilderTest {
         String policyString = templateBuilder.getThrottlePolicyForSubscriptionLevel(policy);
         Assert.assertNotNull(policyString);
     }
+
+    @Test
+    public void testGetConsolidatedThrottlePolicy() throws Exception {
+        String policyString = templateBuilder.getConsolidatedThrottlePolicy(PolicyConstants.POLICY_LEVEL_SUB,
+                "consolidated_sub");
+        Assert.assertTrue(policyString.contains("@Plan:name('consolidated_sub')"));
+        Assert.assertTrue(policyString.contains("#throttler:policyTable('sub', apiTenant, subscriptionTier, "
+                + "subscriptionKey, "));
+
+        policyString = templateBuilder.getConsolidatedThrottlePolicy(PolicyConstants.POLICY_LEVEL_APP,
+                "consolidated_app");
+        Assert.assertTrue(policyString.contains("#throttler:policyTable('app', appTenant, appTier, appKey, "));
+    }
+
+    @Test
+    public void testGetThrottlePolicyWithConfiguredThrottlingAlgorithm() throws Exception {
+        ThrottleProperties throttleProperties = new ThrottleProperties();
+        ThrottleProperties.PolicyDeployer policyDeployer = new ThrottleProperties.PolicyDeployer();
+        policyDeployer.setThrottlingAlgorithm(APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_GCRA);
+        throttleProperties.setPolicyDeployer(policyDeployer);
+        Mockito.when(apiManagerConfiguration.getThrottleProperties()).thenReturn(throttleProperties);
+
+        String policyString = templateBuilder.getThrottlePolicyForSubscriptionLevel(TestUtil.getPolicySubLevel());
+        Assert.assertTrue(policyString.contains("#throttler:gcra(throttleKey, "));
+        Assert.assertFalse(policyString.contains("#throttler:timeBatch("));
+
+        policyDeployer.setThrottlingAlgorithm(APIConstants.AdvancedThrottleConstants.THROTTLING_ALGORITHM_TIME_BATCH);
+        policyString = templateBuilder.getThrottlePolicyForSubscriptionLevel(TestUtil.getPolicySubLevel());
+        Assert.assertTrue(policyString.contains("#throttler:timeBatch("));
+    }
 }
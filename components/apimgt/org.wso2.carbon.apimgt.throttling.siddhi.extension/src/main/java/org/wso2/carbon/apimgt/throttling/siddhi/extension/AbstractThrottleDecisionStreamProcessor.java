@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.wso2.siddhi.core.config.ExecutionPlanContext;
+import org.wso2.siddhi.core.event.ComplexEvent;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+import org.wso2.siddhi.query.api.exception.ExecutionPlanValidationException;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class of the throttlers which take the throttling decision per event instead of aggregating a batch window.
+ * The state of each throttle key is kept in its own object holding primitive counters, so events of different keys
+ * are processed concurrently and events of the same key only contend on the state of that key.
+ * <p/>
+ * Usage:
+ * throttler:&lt;name&gt;(key, limit, windowTime)
+ * throttler:&lt;name&gt;(key, limit, windowTime, cost)
+ * <p/>
+ * Parameters:
+ * key: The throttle key.
+ * limit: Number of requests, or amount of data, allowed within the window.
+ * windowTime: Length of the window.
+ * cost: Amount of the limit consumed by the event. Defaults to 1, which counts requests.
+ * <p/>
+ * The processor adds isThrottled and expiryTimeStamp attributes to the events, where expiryTimeStamp is the time
+ * until which the key stays throttled.
+ *
+ * @param <S> type of the state kept per throttle key
+ */
+public abstract class AbstractThrottleDecisionStreamProcessor<S extends Serializable> extends StreamProcessor {
+
+    protected ExecutionPlanContext executionPlanContext;
+    protected long limit;
+    protected long timeInMilliSeconds;
+    private ExpressionExecutor keyExpressionExecutor;
+    private ExpressionExecutor costExpressionExecutor;
+    private final AtomicLong lastPurgeTime = new AtomicLong();
+    private ConcurrentHashMap<String, S> keyStates = new ConcurrentHashMap<String, S>();
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition inputDefinition,
+                                   ExpressionExecutor[] attributeExpressionExecutors,
+                                   ExecutionPlanContext executionPlanContext) {
+        this.executionPlanContext = executionPlanContext;
+        String usage = "throttler:" + getName() + "(key, limit, windowTime [, cost])";
+        if (attributeExpressionExecutors.length != 3 && attributeExpressionExecutors.length != 4) {
+            throw new ExecutionPlanValidationException("Invalid no of arguments passed to " + usage
+                                                       + ", required 3 or 4, but found "
+                                                       + attributeExpressionExecutors.length);
+        }
+        if (attributeExpressionExecutors[0].getReturnType() != Attribute.Type.STRING) {
+            throw new ExecutionPlanValidationException("Invalid parameter type found for the key argument of "
+                                                       + usage + ", required " + Attribute.Type.STRING
+                                                       + ", but found "
+                                                       + attributeExpressionExecutors[0].getReturnType());
+        }
+        keyExpressionExecutor = attributeExpressionExecutors[0];
+        limit = getConstantLongValue(attributeExpressionExecutors[1], "limit", usage);
+        timeInMilliSeconds = getConstantLongValue(attributeExpressionExecutors[2], "windowTime", usage);
+        if (limit <= 0 || timeInMilliSeconds <= 0) {
+            throw new ExecutionPlanValidationException("The limit and windowTime of " + usage
+                                                       + " should be positive values");
+        }
+        if (attributeExpressionExecutors.length == 4) {
+            Attribute.Type costType = attributeExpressionExecutors[3].getReturnType();
+            if (costType != Attribute.Type.INT && costType != Attribute.Type.LONG) {
+                throw new ExecutionPlanValidationException("Invalid parameter type found for the cost argument of "
+                                                           + usage + ", required either int or long, but found "
+                                                           + costType);
+            }
+            costExpressionExecutor = attributeExpressionExecutors[3];
+        }
+
+        List<Attribute> attributeList = new ArrayList<Attribute>();
+        attributeList.add(new Attribute("isThrottled", Attribute.Type.BOOL));
+        attributeList.add(new Attribute("expiryTimeStamp", Attribute.Type.LONG));
+        return attributeList;
+    }
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        long currentTime = executionPlanContext.getTimestampGenerator().currentTime();
+        purgeIdleStates(currentTime);
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                continue;
+            }
+            String key = (String) keyExpressionExecutor.execute(streamEvent);
+            S state = keyStates.get(key);
+            if (state == null) {
+                S newState = createState(currentTime);
+                state = keyStates.putIfAbsent(key, newState);
+                if (state == null) {
+                    state = newState;
+                }
+            }
+            long throttledUntil = evaluate(state, getCost(streamEvent), currentTime);
+            boolean isThrottled = throttledUntil > currentTime;
+            complexEventPopulater.populateComplexEvent(streamEvent,
+                    new Object[]{isThrottled, isThrottled ? throttledUntil : currentTime});
+        }
+        if (streamEventChunk.getFirst() != null) {
+            nextProcessor.process(streamEventChunk);
+        }
+    }
+
+    /**
+     * Returns the name of the extension, used in the validation messages.
+     *
+     * @return extension name
+     */
+    protected abstract String getName();
+
+    /**
+     * Creates the state of a throttle key seen for the first time.
+     *
+     * @param currentTime current time in milliseconds
+     * @return state of the key
+     */
+    protected abstract S createState(long currentTime);
+
+    /**
+     * Accounts the cost of an event against the state of its key.
+     *
+     * @param state       state of the throttle key
+     * @param cost        amount of the limit consumed by the event
+     * @param currentTime current time in milliseconds
+     * @return time until which the key is throttled, or a time not after currentTime if it is not throttled
+     */
+    protected abstract long evaluate(S state, long cost, long currentTime);
+
+    /**
+     * Checks whether the state of a key no longer affects the throttling decisions, so that it can be discarded.
+     *
+     * @param state       state of the throttle key
+     * @param currentTime current time in milliseconds
+     * @return true if the state can be discarded
+     */
+    protected abstract boolean isIdle(S state, long currentTime);
+
+    @Override
+    public void start() {
+        //Nothing to do.
+    }
+
+    @Override
+    public void stop() {
+        //Nothing to do.
+    }
+
+    @Override
+    public Object[] currentState() {
+        return new Object[]{new HashMap<String, S>(keyStates)};
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreState(Object[] state) {
+        keyStates = new ConcurrentHashMap<String, S>((Map<String, S>) state[0]);
+    }
+
+    private long getCost(StreamEvent streamEvent) {
+        if (costExpressionExecutor == null) {
+            return 1;
+        }
+        Object cost = costExpressionExecutor.execute(streamEvent);
+        return cost == null ? 0 : ((Number) cost).longValue();
+    }
+
+    /**
+     * Discards the states of idle keys, at most once per window. Only one of the concurrent callers does the purge.
+     */
+    private void purgeIdleStates(long currentTime) {
+        long lastPurge = lastPurgeTime.get();
+        if (currentTime - lastPurge < timeInMilliSeconds || !lastPurgeTime.compareAndSet(lastPurge, currentTime)) {
+            return;
+        }
+        Iterator<Map.Entry<String, S>> iterator = keyStates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (isIdle(iterator.next().getValue(), currentTime)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long getConstantLongValue(ExpressionExecutor executor, String parameter, String usage) {
+        if (!(executor instanceof ConstantExpressionExecutor)) {
+            throw new ExecutionPlanValidationException("The " + parameter + " of " + usage + " needs to be a "
+                                                       + "constant attribute but found a dynamic attribute "
+                                                       + executor.getClass().getCanonicalName());
+        }
+        Object value = ((ConstantExpressionExecutor) executor).getValue();
+        if (executor.getReturnType() == Attribute.Type.INT) {
+            return (Integer) value;
+        } else if (executor.getReturnType() == Attribute.Type.LONG) {
+            return (Long) value;
+        }
+        throw new ExecutionPlanValidationException("The " + parameter + " of " + usage + " should be either int "
+                                                   + "or long, but found " + executor.getReturnType());
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.siddhi.core.config.ExecutionPlanContext;
+import org.wso2.siddhi.core.event.ComplexEvent;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.SchedulingProcessor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.core.util.Scheduler;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+import org.wso2.siddhi.query.api.exception.ExecutionPlanValidationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coalesces the throttle decisions of a batch interval into one compressed event, so that the traffic manager sends
+ * one message to the gateways for all the state changes of the interval instead of one message per decision. Only the
+ * latest decision of a throttle key within the interval is kept.
+ * <p/>
+ * Usage:
+ * throttler:coalesce(throttleKey, isThrottled, expiryTimeStamp, evaluatedConditions, batchInterval)
+ * throttler:coalesce(throttleKey, isThrottled, expiryTimeStamp, evaluatedConditions, batchInterval, maxBatchSize)
+ * <p/>
+ * Parameters:
+ * batchInterval: Time the first decision of a batch waits for more decisions.
+ * maxBatchSize: Number of decisions after which the batch is sent without waiting. Defaults to 1000.
+ * <p/>
+ * The input events are consumed and a batch event is emitted with the attributes decisions, a base64 encoded gzip
+ * of the JSON array of the decisions, batchTimeStamp, the time the first decision of the batch was received, and
+ * decisionCount.
+ */
+public class CoalesceThrottleDecisionStreamProcessor extends StreamProcessor implements SchedulingProcessor {
+
+    private static final Log log = LogFactory.getLog(CoalesceThrottleDecisionStreamProcessor.class);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private ExecutionPlanContext executionPlanContext;
+    private Scheduler scheduler;
+    private ExpressionExecutor keyExpressionExecutor;
+    private ExpressionExecutor isThrottledExpressionExecutor;
+    private ExpressionExecutor expiryTimeStampExpressionExecutor;
+    private ExpressionExecutor evaluatedConditionsExpressionExecutor;
+    private long batchInterval;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private LinkedHashMap<String, Decision> pendingDecisions = new LinkedHashMap<String, Decision>();
+    private long batchTimeStamp = -1;
+    private StreamEvent templateEvent;
+
+    @Override
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition inputDefinition,
+                                   ExpressionExecutor[] attributeExpressionExecutors,
+                                   ExecutionPlanContext executionPlanContext) {
+        this.executionPlanContext = executionPlanContext;
+        String usage = "throttler:coalesce(throttleKey, isThrottled, expiryTimeStamp, evaluatedConditions, "
+                       + "batchInterval [, maxBatchSize])";
+        if (attributeExpressionExecutors.length != 5 && attributeExpressionExecutors.length != 6) {
+            throw new ExecutionPlanValidationException("Invalid no of arguments passed to " + usage
+                                                       + ", required 5 or 6, but found "
+                                                       + attributeExpressionExecutors.length);
+        }
+        if (attributeExpressionExecutors[0].getReturnType() != Attribute.Type.STRING
+            || attributeExpressionExecutors[1].getReturnType() != Attribute.Type.BOOL
+            || attributeExpressionExecutors[2].getReturnType() != Attribute.Type.LONG
+            || attributeExpressionExecutors[3].getReturnType() != Attribute.Type.STRING) {
+            throw new ExecutionPlanValidationException("Invalid parameter types found for " + usage + ", required "
+                                                       + "string, bool, long and string decision attributes");
+        }
+        keyExpressionExecutor = attributeExpressionExecutors[0];
+        isThrottledExpressionExecutor = attributeExpressionExecutors[1];
+        expiryTimeStampExpressionExecutor = attributeExpressionExecutors[2];
+        evaluatedConditionsExpressionExecutor = attributeExpressionExecutors[3];
+        batchInterval = getConstantLongValue(attributeExpressionExecutors[4], "batchInterval", usage);
+        if (attributeExpressionExecutors.length == 6) {
+            maxBatchSize = (int) getConstantLongValue(attributeExpressionExecutors[5], "maxBatchSize", usage);
+        }
+        if (batchInterval <= 0 || maxBatchSize <= 0) {
+            throw new ExecutionPlanValidationException("The batchInterval and maxBatchSize of " + usage
+                                                       + " should be positive values");
+        }
+
+        List<Attribute> attributeList = new ArrayList<Attribute>();
+        attributeList.add(new Attribute("decisions", Attribute.Type.STRING));
+        attributeList.add(new Attribute("batchTimeStamp", Attribute.Type.LONG));
+        attributeList.add(new Attribute("decisionCount", Attribute.Type.INT));
+        return attributeList;
+    }
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        ComplexEventChunk<StreamEvent> batchEventChunk = new ComplexEventChunk<StreamEvent>(false);
+        synchronized (this) {
+            long currentTime = executionPlanContext.getTimestampGenerator().currentTime();
+            while (streamEventChunk.hasNext()) {
+                StreamEvent streamEvent = streamEventChunk.next();
+                if (streamEvent.getType() == ComplexEvent.Type.CURRENT) {
+                    String key = (String) keyExpressionExecutor.execute(streamEvent);
+                    Long expiryTimeStamp = (Long) expiryTimeStampExpressionExecutor.execute(streamEvent);
+                    if (key == null || expiryTimeStamp == null) {
+                        // Gateways cannot apply such a decision, and failing here would drop the pending batch
+                        log.warn("Ignoring the throttle decision of key " + key + " with expiry time stamp "
+                                + expiryTimeStamp);
+                    } else {
+                        if (pendingDecisions.isEmpty()) {
+                            batchTimeStamp = currentTime;
+                            scheduler.notifyAt(currentTime + batchInterval);
+                        }
+                        pendingDecisions.remove(key);
+                        pendingDecisions.put(key, new Decision(key,
+                                Boolean.TRUE.equals(isThrottledExpressionExecutor.execute(streamEvent)),
+                                expiryTimeStamp, (String) evaluatedConditionsExpressionExecutor.execute(streamEvent)));
+                        templateEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                    }
+                }
+                streamEventChunk.remove();
+                if (templateEvent != null && !pendingDecisions.isEmpty()
+                    && (pendingDecisions.size() >= maxBatchSize || currentTime >= batchTimeStamp + batchInterval)) {
+                    StreamEvent batchEvent = streamEventCloner.copyStreamEvent(templateEvent);
+                    batchEvent.setType(ComplexEvent.Type.CURRENT);
+                    batchEvent.setTimestamp(currentTime);
+                    complexEventPopulater.populateComplexEvent(batchEvent, new Object[]{
+                            encode(pendingDecisions.values()), batchTimeStamp, pendingDecisions.size()});
+                    batchEventChunk.add(batchEvent);
+                    pendingDecisions = new LinkedHashMap<String, Decision>();
+                }
+            }
+        }
+        if (batchEventChunk.getFirst() != null) {
+            nextProcessor.process(batchEventChunk);
+        }
+    }
+
+    @Override
+    public void start() {
+        //Nothing to do.
+    }
+
+    @Override
+    public void stop() {
+        //Nothing to do.
+    }
+
+    @Override
+    public synchronized Object[] currentState() {
+        return new Object[]{new LinkedHashMap<String, Decision>(pendingDecisions), batchTimeStamp};
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized void restoreState(Object[] state) {
+        pendingDecisions = new LinkedHashMap<String, Decision>((Map<String, Decision>) state[0]);
+        batchTimeStamp = (Long) state[1];
+    }
+
+    /**
+     * Encodes decisions as a base64 encoded gzip of their JSON array.
+     *
+     * @param decisions throttle decisions
+     * @return encoded decisions
+     */
+    static String encode(Iterable<Decision> decisions) {
+        JsonArray json = new JsonArray();
+        for (Decision decision : decisions) {
+            JsonObject decisionJson = new JsonObject();
+            decisionJson.addProperty("throttleKey", decision.throttleKey);
+            decisionJson.addProperty("isThrottled", decision.isThrottled);
+            decisionJson.addProperty("expiryTimeStamp", decision.expiryTimeStamp);
+            if (decision.evaluatedConditions != null && !decision.evaluatedConditions.isEmpty()) {
+                decisionJson.addProperty("evaluatedConditions", decision.evaluatedConditions);
+            }
+            json.add(decisionJson);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while compressing throttle decisions", e);
+        }
+        return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+    }
+
+    private static long getConstantLongValue(ExpressionExecutor executor, String parameter, String usage) {
+        if (!(executor instanceof ConstantExpressionExecutor)) {
+            throw new ExecutionPlanValidationException("The " + parameter + " of " + usage + " needs to be a "
+                                                       + "constant attribute but found a dynamic attribute "
+                                                       + executor.getClass().getCanonicalName());
+        }
+        Object value = ((ConstantExpressionExecutor) executor).getValue();
+        if (executor.getReturnType() == Attribute.Type.INT) {
+            return (Integer) value;
+        } else if (executor.getReturnType() == Attribute.Type.LONG) {
+            return (Long) value;
+        }
+        throw new ExecutionPlanValidationException("The " + parameter + " of " + usage + " should be either int "
+                                                   + "or long, but found " + executor.getReturnType());
+    }
+
+    /**
+     * Latest throttle decision of a key.
+     */
+    static final class Decision implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String throttleKey;
+        private final boolean isThrottled;
+        private final long expiryTimeStamp;
+        private final String evaluatedConditions;
+
+        Decision(String throttleKey, boolean isThrottled, long expiryTimeStamp, String evaluatedConditions) {
+            this.throttleKey = throttleKey;
+            this.isThrottled = isThrottled;
+            this.expiryTimeStamp = expiryTimeStamp;
+            this.evaluatedConditions = evaluatedConditions;
+        }
+    }
+}
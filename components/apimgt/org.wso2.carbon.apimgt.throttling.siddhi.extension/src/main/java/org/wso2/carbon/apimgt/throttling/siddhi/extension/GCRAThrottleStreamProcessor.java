@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a custom extension which throttles using the generic cell rate algorithm (GCRA).
+ * Each throttle key keeps a theoretical arrival time, which advances by limit / windowTime per unit of cost. A key
+ * is throttled while its theoretical arrival time is more than a window ahead of the current time, which allows a
+ * burst of at most the limit and then spreads the requests evenly over the window. Only conforming events advance
+ * the theoretical arrival time, so events sent while the key is throttled do not extend the throttled period.
+ * The theoretical arrival time is updated with a compare and set, hence no lock is taken while processing events.
+ * <p/>
+ * Usage:
+ * throttler:gcra(key, limit, windowTime)
+ * throttler:gcra(key, limit, windowTime, cost)
+ * <p/>
+ * Example on usage:
+ * from EligibilityStream[isEligible==true]#throttler:gcra(throttleKey, 100, 1 min)
+ * select throttleKey, isThrottled, expiryTimeStamp
+ * insert into ResultStream;
+ */
+public class GCRAThrottleStreamProcessor extends AbstractThrottleDecisionStreamProcessor<AtomicLong> {
+
+    @Override
+    protected String getName() {
+        return "gcra";
+    }
+
+    @Override
+    protected AtomicLong createState(long currentTime) {
+        return new AtomicLong(Double.doubleToRawLongBits(currentTime));
+    }
+
+    @Override
+    protected long evaluate(AtomicLong state, long cost, long currentTime) {
+        double emissionInterval = (double) timeInMilliSeconds / limit;
+        double increment = emissionInterval * cost;
+        double theoreticalArrivalTime;
+        while (true) {
+            long current = state.get();
+            theoreticalArrivalTime = Math.max(Double.longBitsToDouble(current), currentTime) + increment;
+            if (theoreticalArrivalTime - currentTime > timeInMilliSeconds) {
+                // The event does not conform. It is throttled until it would fit within the window.
+                return (long) Math.ceil(theoreticalArrivalTime - timeInMilliSeconds);
+            }
+            if (state.compareAndSet(current, Double.doubleToRawLongBits(theoreticalArrivalTime))) {
+                break;
+            }
+        }
+        // The next unit conforms once the theoretical arrival time is within a window from the current time.
+        double releaseTime = theoreticalArrivalTime + emissionInterval - timeInMilliSeconds;
+        return (long) Math.ceil(releaseTime);
+    }
+
+    @Override
+    protected boolean isIdle(AtomicLong state, long currentTime) {
+        return Double.longBitsToDouble(state.get()) <= currentTime;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.wso2.siddhi.core.config.ExecutionPlanContext;
+import org.wso2.siddhi.core.event.ComplexEvent;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+import org.wso2.siddhi.query.api.exception.ExecutionPlanValidationException;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a custom extension which throttles the events of every policy of a level in a single execution plan.
+ * The limits are looked up from the {@link ThrottlePolicyTable} using the level, tenant domain and policy name of
+ * each event, and the usage of each throttle key is counted in a fixed window aligned to the epoch, giving the same
+ * decisions as a per policy throttler:timeBatch(windowTime, 0) plan. Events of policies which are not in the table are
+ * dropped, as they are not throttled by this plan.
+ * <p/>
+ * Usage:
+ * throttler:policyTable(level, tenantDomain, policyName, key)
+ * throttler:policyTable(level, tenantDomain, policyName, key, messageSize)
+ * throttler:policyTable(level, tenantDomain, policyName, key, messageSize, messageCount)
+ * <p/>
+ * Parameters:
+ * level: Constant level of the policies in the table, e.g. 'sub' or 'app'.
+ * tenantDomain: Tenant domain of the policy.
+ * policyName: Name of the policy.
+ * key: The throttle key.
+ * messageSize: Size of the message, counted against the limit of bandwidth policies.
+ * messageCount: Number of requests the event stands for, counted against the limit of request count policies.
+ * Defaults to 1. Aggregated events, such as the WebSocket frame events of a publish interval, carry more than one.
+ * <p/>
+ * Example on usage:
+ * from RequestStream#throttler:policyTable('sub', apiTenant, subscriptionTier, subscriptionKey)
+ * select subscriptionKey as throttleKey, isThrottled, expiryTimeStamp
+ * insert into ResultStream;
+ */
+public class PolicyTableThrottleStreamProcessor extends StreamProcessor {
+
+    private static final long PURGE_INTERVAL_IN_MILLISECONDS = 60000;
+
+    private ExecutionPlanContext executionPlanContext;
+    private String level;
+    private ExpressionExecutor tenantDomainExpressionExecutor;
+    private ExpressionExecutor policyNameExpressionExecutor;
+    private ExpressionExecutor keyExpressionExecutor;
+    private ExpressionExecutor messageSizeExpressionExecutor;
+    private ExpressionExecutor messageCountExpressionExecutor;
+    private final AtomicLong lastPurgeTime = new AtomicLong();
+    private ConcurrentHashMap<String, WindowState> keyStates = new ConcurrentHashMap<String, WindowState>();
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition inputDefinition,
+                                   ExpressionExecutor[] attributeExpressionExecutors,
+                                   ExecutionPlanContext executionPlanContext) {
+        this.executionPlanContext = executionPlanContext;
+        String usage = "throttler:policyTable(level, tenantDomain, policyName, key [, messageSize [, messageCount]])";
+        if (attributeExpressionExecutors.length < 4 || attributeExpressionExecutors.length > 6) {
+            throw new ExecutionPlanValidationException("Invalid no of arguments passed to " + usage
+                                                       + ", required 4 to 6, but found "
+                                                       + attributeExpressionExecutors.length);
+        }
+        if (!(attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor)) {
+            throw new ExecutionPlanValidationException("The level of " + usage + " needs to be a constant "
+                                                       + "attribute but found a dynamic attribute "
+                                                       + attributeExpressionExecutors[0].getClass()
+                                                               .getCanonicalName());
+        }
+        for (int i = 0; i < 4; i++) {
+            if (attributeExpressionExecutors[i].getReturnType() != Attribute.Type.STRING) {
+                throw new ExecutionPlanValidationException("Invalid parameter type found for argument " + (i + 1)
+                                                           + " of " + usage + ", required " + Attribute.Type.STRING
+                                                           + ", but found "
+                                                           + attributeExpressionExecutors[i].getReturnType());
+            }
+        }
+        level = (String) ((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue();
+        tenantDomainExpressionExecutor = attributeExpressionExecutors[1];
+        policyNameExpressionExecutor = attributeExpressionExecutors[2];
+        keyExpressionExecutor = attributeExpressionExecutors[3];
+        if (attributeExpressionExecutors.length >= 5) {
+            messageSizeExpressionExecutor = getNumericExpressionExecutor(attributeExpressionExecutors[4],
+                    "messageSize", usage);
+        }
+        if (attributeExpressionExecutors.length == 6) {
+            messageCountExpressionExecutor = getNumericExpressionExecutor(attributeExpressionExecutors[5],
+                    "messageCount", usage);
+        }
+
+        List<Attribute> attributeList = new ArrayList<Attribute>();
+        attributeList.add(new Attribute("isThrottled", Attribute.Type.BOOL));
+        attributeList.add(new Attribute("expiryTimeStamp", Attribute.Type.LONG));
+        return attributeList;
+    }
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        long currentTime = executionPlanContext.getTimestampGenerator().currentTime();
+        purgeIdleStates(currentTime);
+        ThrottlePolicyTable policyTable = ThrottlePolicyTable.getInstance();
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                continue;
+            }
+            ThrottlePolicyTable.PolicyLimit policyLimit = policyTable.getPolicy(level,
+                    (String) tenantDomainExpressionExecutor.execute(streamEvent),
+                    (String) policyNameExpressionExecutor.execute(streamEvent));
+            String key = (String) keyExpressionExecutor.execute(streamEvent);
+            if (policyLimit == null || key == null) {
+                streamEventChunk.remove();
+                continue;
+            }
+            WindowState state = keyStates.get(key);
+            if (state == null) {
+                WindowState newState = new WindowState();
+                state = keyStates.putIfAbsent(key, newState);
+                if (state == null) {
+                    state = newState;
+                }
+            }
+            long cost = policyLimit.isBandwidth() ? getMessageSize(streamEvent) : getMessageCount(streamEvent);
+            long timeInMilliSeconds = policyLimit.getTimeInMilliSeconds();
+            long windowStartTime = currentTime - currentTime % timeInMilliSeconds;
+            long count;
+            synchronized (state) {
+                if (state.windowStartTime != windowStartTime || state.timeInMilliSeconds != timeInMilliSeconds) {
+                    state.windowStartTime = windowStartTime;
+                    state.timeInMilliSeconds = timeInMilliSeconds;
+                    state.count = 0;
+                }
+                state.count += cost;
+                count = state.count;
+            }
+            complexEventPopulater.populateComplexEvent(streamEvent,
+                    new Object[]{count >= policyLimit.getLimit(), windowStartTime + timeInMilliSeconds});
+        }
+        if (streamEventChunk.getFirst() != null) {
+            nextProcessor.process(streamEventChunk);
+        }
+    }
+
+    @Override
+    public void start() {
+        //Nothing to do.
+    }
+
+    @Override
+    public void stop() {
+        //Nothing to do.
+    }
+
+    @Override
+    public Object[] currentState() {
+        return new Object[]{new HashMap<String, WindowState>(keyStates)};
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreState(Object[] state) {
+        keyStates = new ConcurrentHashMap<String, WindowState>((Map<String, WindowState>) state[0]);
+    }
+
+    private long getMessageSize(StreamEvent streamEvent) {
+        if (messageSizeExpressionExecutor == null) {
+            return 0;
+        }
+        Object messageSize = messageSizeExpressionExecutor.execute(streamEvent);
+        return messageSize == null ? 0 : ((Number) messageSize).longValue();
+    }
+
+    private long getMessageCount(StreamEvent streamEvent) {
+        if (messageCountExpressionExecutor == null) {
+            return 1;
+        }
+        Object messageCount = messageCountExpressionExecutor.execute(streamEvent);
+        return messageCount == null ? 1 : ((Number) messageCount).longValue();
+    }
+
+    private static ExpressionExecutor getNumericExpressionExecutor(ExpressionExecutor executor, String parameter,
+                                                                   String usage) {
+        Attribute.Type type = executor.getReturnType();
+        if (type != Attribute.Type.INT && type != Attribute.Type.LONG) {
+            throw new ExecutionPlanValidationException("Invalid parameter type found for the " + parameter
+                                                       + " argument of " + usage + ", required either int or "
+                                                       + "long, but found " + type);
+        }
+        return executor;
+    }
+
+    /**
+     * Discards the counters of the keys whose window has ended. Only one of the concurrent callers does the purge.
+     */
+    private void purgeIdleStates(long currentTime) {
+        long lastPurge = lastPurgeTime.get();
+        if (currentTime - lastPurge < PURGE_INTERVAL_IN_MILLISECONDS
+                || !lastPurgeTime.compareAndSet(lastPurge, currentTime)) {
+            return;
+        }
+        Iterator<Map.Entry<String, WindowState>> iterator = keyStates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            WindowState state = iterator.next().getValue();
+            synchronized (state) {
+                if (currentTime >= state.windowStartTime + state.timeInMilliSeconds) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counter of the current window of a throttle key.
+     */
+    static final class WindowState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private long windowStartTime;
+        private long timeInMilliSeconds;
+        private long count;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import java.io.Serializable;
+
+/**
+ * This is a custom extension which throttles using a sliding window counter.
+ * The usage of a key within the sliding window is estimated from the count of the current fixed window and the
+ * count of the previous fixed window, weighted by the portion of the previous window still inside the sliding window.
+ * Unlike throttler:timeBatch, this does not allow a burst of twice the limit around the window boundaries.
+ * <p/>
+ * Usage:
+ * throttler:slidingWindow(key, limit, windowTime)
+ * throttler:slidingWindow(key, limit, windowTime, cost)
+ * <p/>
+ * Example on usage:
+ * from EligibilityStream[isEligible==true]#throttler:slidingWindow(throttleKey, 100, 1 min)
+ * select throttleKey, isThrottled, expiryTimeStamp
+ * insert into ResultStream;
+ */
+public class SlidingWindowThrottleStreamProcessor extends
+        AbstractThrottleDecisionStreamProcessor<SlidingWindowThrottleStreamProcessor.WindowState> {
+
+    @Override
+    protected String getName() {
+        return "slidingWindow";
+    }
+
+    @Override
+    protected WindowState createState(long currentTime) {
+        return new WindowState(getWindowStartTime(currentTime));
+    }
+
+    @Override
+    protected long evaluate(WindowState state, long cost, long currentTime) {
+        long windowStartTime = getWindowStartTime(currentTime);
+        synchronized (state) {
+            if (state.windowStartTime != windowStartTime) {
+                if (windowStartTime - state.windowStartTime == timeInMilliSeconds) {
+                    state.previousCount = state.currentCount;
+                } else {
+                    state.previousCount = 0;
+                }
+                state.currentCount = 0;
+                state.windowStartTime = windowStartTime;
+            }
+            state.currentCount += cost;
+
+            long elapsedTime = currentTime - windowStartTime;
+            double estimatedCount = (double) state.previousCount * (timeInMilliSeconds - elapsedTime)
+                    / timeInMilliSeconds + state.currentCount;
+            if (estimatedCount < limit) {
+                return 0;
+            }
+            if (state.currentCount >= limit || state.previousCount == 0) {
+                return windowStartTime + timeInMilliSeconds;
+            }
+            // The estimate drops below the limit once the weight of the previous window is small enough.
+            double releaseTime = timeInMilliSeconds
+                    - (double) (limit - state.currentCount) * timeInMilliSeconds / state.previousCount;
+            return windowStartTime + (long) Math.floor(releaseTime) + 1;
+        }
+    }
+
+    @Override
+    protected boolean isIdle(WindowState state, long currentTime) {
+        synchronized (state) {
+            return currentTime - state.windowStartTime >= 2 * timeInMilliSeconds;
+        }
+    }
+
+    private long getWindowStartTime(long currentTime) {
+        return currentTime - currentTime % timeInMilliSeconds;
+    }
+
+    /**
+     * Counters of the current and previous fixed windows of a throttle key.
+     */
+    static final class WindowState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private long windowStartTime;
+        private long currentCount;
+        private long previousCount;
+
+        WindowState(long windowStartTime) {
+            this.windowStartTime = windowStartTime;
+        }
+    }
+}
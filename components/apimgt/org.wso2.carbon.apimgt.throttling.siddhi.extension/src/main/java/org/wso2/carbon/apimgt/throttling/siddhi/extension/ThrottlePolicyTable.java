@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of the limits of the policies evaluated by throttler:policyTable.
+ * The policies are keyed by level, tenant domain and name, so a single execution plan can throttle every policy of a
+ * level, and adding, updating or removing a policy is a table update instead of an execution plan deployment.
+ */
+public final class ThrottlePolicyTable {
+
+    private static final ThrottlePolicyTable instance = new ThrottlePolicyTable();
+    private static final String KEY_SEPARATOR = ":";
+
+    private final ConcurrentHashMap<String, PolicyLimit> policies = new ConcurrentHashMap<String, PolicyLimit>();
+
+    private ThrottlePolicyTable() {
+    }
+
+    public static ThrottlePolicyTable getInstance() {
+        return instance;
+    }
+
+    /**
+     * Adds a policy to the table, replacing the limits of an existing policy with the same level, tenant and name.
+     *
+     * @param level              policy level, e.g. sub or app
+     * @param tenantDomain       tenant domain of the policy
+     * @param policyName         name of the policy
+     * @param limit              number of requests, or amount of data in bytes, allowed within the window
+     * @param timeInMilliSeconds length of the window
+     * @param bandwidth          true if the limit is an amount of data instead of a request count
+     */
+    public void addPolicy(String level, String tenantDomain, String policyName, long limit, long timeInMilliSeconds,
+                          boolean bandwidth) {
+        if (limit <= 0 || timeInMilliSeconds <= 0) {
+            throw new IllegalArgumentException("The limit and window time of policy " + policyName
+                                               + " should be positive values");
+        }
+        policies.put(getKey(level, tenantDomain, policyName),
+                new PolicyLimit(limit, timeInMilliSeconds, bandwidth));
+    }
+
+    public void removePolicy(String level, String tenantDomain, String policyName) {
+        policies.remove(getKey(level, tenantDomain, policyName));
+    }
+
+    /**
+     * Returns the limits of a policy.
+     *
+     * @param level        policy level
+     * @param tenantDomain tenant domain of the policy
+     * @param policyName   name of the policy
+     * @return limits of the policy, or null if the policy is not in the table
+     */
+    public PolicyLimit getPolicy(String level, String tenantDomain, String policyName) {
+        if (level == null || tenantDomain == null || policyName == null) {
+            return null;
+        }
+        return policies.get(getKey(level, tenantDomain, policyName));
+    }
+
+    public int size() {
+        return policies.size();
+    }
+
+    public void clear() {
+        policies.clear();
+    }
+
+    private static String getKey(String level, String tenantDomain, String policyName) {
+        return level + KEY_SEPARATOR + tenantDomain + KEY_SEPARATOR + policyName;
+    }
+
+    /**
+     * Limits of a policy in the table.
+     */
+    public static final class PolicyLimit {
+
+        private final long limit;
+        private final long timeInMilliSeconds;
+        private final boolean bandwidth;
+
+        PolicyLimit(long limit, long timeInMilliSeconds, boolean bandwidth) {
+            this.limit = limit;
+            this.timeInMilliSeconds = timeInMilliSeconds;
+            this.bandwidth = bandwidth;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        public long getTimeInMilliSeconds() {
+            return timeInMilliSeconds;
+        }
+
+        public boolean isBandwidth() {
+            return bandwidth;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.siddhi.core.ExecutionPlanRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.query.output.callback.QueryCallback;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+public class CoalesceThrottleDecisionStreamProcessorTestCase {
+    private static final String DECISION_STREAM = "" +
+            "define stream DecisionStream (throttleKey string, isThrottled bool, expiryTimeStamp long, " +
+            "evaluatedConditions string);";
+
+    @Test
+    public void coalesceDecisionsTest() throws InterruptedException, IOException {
+        List<Event> events = runQuery("from DecisionStream#throttler:coalesce(throttleKey, isThrottled, " +
+                "expiryTimeStamp, evaluatedConditions, 100 milliseconds) " +
+                "select decisions, batchTimeStamp, decisionCount insert into BatchStream;", new Object[][]{
+                {"key1", true, 1000L, ""},
+                {"key2", true, 2000L, ""},
+                {"key1", false, 3000L, ""}});
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(2, events.get(0).getData(2));
+        Assert.assertEquals("[{\"throttleKey\":\"key2\",\"isThrottled\":true,\"expiryTimeStamp\":2000}," +
+                "{\"throttleKey\":\"key1\",\"isThrottled\":false,\"expiryTimeStamp\":3000}]",
+                decode((String) events.get(0).getData(0)));
+    }
+
+    @Test
+    public void maxBatchSizeTest() throws InterruptedException {
+        List<Event> events = runQuery("from DecisionStream#throttler:coalesce(throttleKey, isThrottled, " +
+                "expiryTimeStamp, evaluatedConditions, 1 min, 2) " +
+                "select decisions, batchTimeStamp, decisionCount insert into BatchStream;", new Object[][]{
+                {"key1", true, 1000L, ""},
+                {"key2", true, 1000L, ""},
+                {"key3", true, 1000L, ""},
+                {"key4", true, 1000L, ""}});
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(2, events.get(0).getData(2));
+        Assert.assertEquals(2, events.get(1).getData(2));
+    }
+
+    @Test
+    public void evaluatedConditionsAreEscapedTest() throws InterruptedException, IOException {
+        List<Event> events = runQuery("from DecisionStream#throttler:coalesce(throttleKey, isThrottled, " +
+                "expiryTimeStamp, evaluatedConditions, 1 min, 1) " +
+                "select decisions, batchTimeStamp, decisionCount insert into BatchStream;", new Object[][]{
+                {"/api/1.0.0:GET_condition_1", true, 1000L, "[{\"ip\":\"10.0.0.1\"}]"}});
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("[{\"throttleKey\":\"/api/1.0.0:GET_condition_1\",\"isThrottled\":true," +
+                "\"expiryTimeStamp\":1000,\"evaluatedConditions\":\"[{\\\"ip\\\":\\\"10.0.0.1\\\"}]\"}]",
+                decode((String) events.get(0).getData(0)));
+    }
+
+    @Test
+    public void decisionWithoutExpiryTimeStampIsIgnoredTest() throws InterruptedException, IOException {
+        List<Event> events = runQuery("from DecisionStream#throttler:coalesce(throttleKey, isThrottled, " +
+                "expiryTimeStamp, evaluatedConditions, 100 milliseconds) " +
+                "select decisions, batchTimeStamp, decisionCount insert into BatchStream;", new Object[][]{
+                {"key1", true, null, ""},
+                {"key2", true, 2000L, ""}});
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(1, events.get(0).getData(2));
+        Assert.assertEquals("[{\"throttleKey\":\"key2\",\"isThrottled\":true,\"expiryTimeStamp\":2000}]",
+                decode((String) events.get(0).getData(0)));
+    }
+
+    private List<Event> runQuery(String query, Object[][] decisions) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        ExecutionPlanRuntime executionPlanRuntime = siddhiManager.createExecutionPlanRuntime(DECISION_STREAM +
+                "@info(name = 'query1') " + query);
+        final List<Event> receivedEvents = Collections.synchronizedList(new ArrayList<Event>());
+        executionPlanRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    Collections.addAll(receivedEvents, inEvents);
+                }
+            }
+        });
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("DecisionStream");
+        executionPlanRuntime.start();
+        for (Object[] decision : decisions) {
+            inputHandler.send(decision);
+        }
+        Thread.sleep(500);
+        executionPlanRuntime.shutdown();
+        return receivedEvents;
+    }
+
+    private static String decode(String decisions) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = new GZIPInputStream(
+                new ByteArrayInputStream(Base64.getDecoder().decode(decisions)))) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, length);
+            }
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.wso2.siddhi.core.ExecutionPlanRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.query.output.callback.QueryCallback;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PolicyTableThrottleStreamProcessorTestCase {
+    private static final Log log = LogFactory.getLog(PolicyTableThrottleStreamProcessorTestCase.class);
+    private static final String REQUEST_STREAM = "" +
+            "define stream RequestStream (messageID string, tenant string, tier string, throttleKey string, " +
+            "messageSize long);";
+    private static final String POLICY_TABLE_QUERY = "@info(name = 'query1') " +
+            "from RequestStream#throttler:policyTable('sub', tenant, tier, throttleKey, messageSize) " +
+            "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;";
+    private static final String AGGREGATED_REQUEST_STREAM = "" +
+            "define stream RequestStream (messageID string, tenant string, tier string, throttleKey string, " +
+            "messageSize long, messageCount long);";
+    private static final String AGGREGATED_POLICY_TABLE_QUERY = "@info(name = 'query1') " +
+            "from RequestStream#throttler:policyTable('sub', tenant, tier, throttleKey, messageSize, messageCount) " +
+            "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;";
+    private static final String TENANT = "carbon.super";
+    private static final int BENCHMARK_POLICIES = 10000;
+    private static final int BENCHMARK_SAMPLE_PLANS = 200;
+    private static final String BENCHMARK_PROPERTY = "benchmark";
+
+    @After
+    public void tearDown() {
+        ThrottlePolicyTable.getInstance().clear();
+    }
+
+    @Test
+    public void policyTableThrottleTest() throws InterruptedException {
+        ThrottlePolicyTable.getInstance().addPolicy("sub", TENANT, "Gold", 3, 60000, false);
+        List<Event> events = runQuery(new Object[][]{
+                {"message1", TENANT, "Gold", "key1", 10L},
+                {"message2", TENANT, "Gold", "key1", 10L},
+                {"message3", TENANT, "Unknown", "key2", 10L},
+                {"message4", TENANT, "Gold", "key1", 10L},
+                {"message5", TENANT, "Gold", "key3", 10L},
+                {"message6", TENANT, "Gold", "key1", 10L}});
+        Assert.assertEquals(5, events.size());
+        Assert.assertFalse((Boolean) events.get(0).getData(1));
+        Assert.assertFalse((Boolean) events.get(1).getData(1));
+        Assert.assertTrue((Boolean) events.get(2).getData(1));
+        Assert.assertTrue((Long) events.get(2).getData(2) > System.currentTimeMillis());
+        Assert.assertEquals("key3", events.get(3).getData(0));
+        Assert.assertFalse((Boolean) events.get(3).getData(1));
+        Assert.assertTrue((Boolean) events.get(4).getData(1));
+    }
+
+    @Test
+    public void policyTableBandwidthThrottleTest() throws InterruptedException {
+        ThrottlePolicyTable.getInstance().addPolicy("sub", TENANT, "Bandwidth", 2500, 60000, true);
+        List<Event> events = runQuery(new Object[][]{
+                {"message1", TENANT, "Bandwidth", "key1", 1000L},
+                {"message2", TENANT, "Bandwidth", "key1", 1000L},
+                {"message3", TENANT, "Bandwidth", "key1", 1000L}});
+        Assert.assertEquals(3, events.size());
+        Assert.assertFalse((Boolean) events.get(0).getData(1));
+        Assert.assertFalse((Boolean) events.get(1).getData(1));
+        Assert.assertTrue((Boolean) events.get(2).getData(1));
+    }
+
+    @Test
+    public void policyTableMessageCountThrottleTest() throws InterruptedException {
+        ThrottlePolicyTable.getInstance().addPolicy("sub", TENANT, "Gold", 10, 60000, false);
+        List<Event> events = runQuery(AGGREGATED_REQUEST_STREAM + AGGREGATED_POLICY_TABLE_QUERY, new Object[][]{
+                {"message1", TENANT, "Gold", "key1", 100L, 4L},
+                {"message2", TENANT, "Gold", "key1", 100L, 4L},
+                {"message3", TENANT, "Gold", "key1", 100L, 4L}});
+        Assert.assertEquals(3, events.size());
+        Assert.assertFalse((Boolean) events.get(0).getData(1));
+        Assert.assertFalse((Boolean) events.get(1).getData(1));
+        Assert.assertTrue((Boolean) events.get(2).getData(1));
+    }
+
+    @Test
+    public void policyTableUpdateTest() throws InterruptedException {
+        ThrottlePolicyTable.getInstance().addPolicy("sub", TENANT, "Gold", 2, 60000, false);
+        Assert.assertEquals(2, ThrottlePolicyTable.getInstance().getPolicy("sub", TENANT, "Gold").getLimit());
+        ThrottlePolicyTable.getInstance().addPolicy("sub", TENANT, "Gold", 5, 60000, false);
+        List<Event> events = runQuery(new Object[][]{
+                {"message1", TENANT, "Gold", "key1", 10L},
+                {"message2", TENANT, "Gold", "key1", 10L},
+                {"message3", TENANT, "Gold", "key1", 10L}});
+        Assert.assertEquals(3, events.size());
+        for (Event event : events) {
+            Assert.assertFalse((Boolean) event.getData(1));
+        }
+        ThrottlePolicyTable.getInstance().removePolicy("sub", TENANT, "Gold");
+        Assert.assertNull(ThrottlePolicyTable.getInstance().getPolicy("sub", TENANT, "Gold"));
+    }
+
+    @Test
+    public void policyTableStartupBenchmarkTest() throws InterruptedException {
+        Assume.assumeTrue("Run with -D" + BENCHMARK_PROPERTY + "=true to measure the policy deployment",
+                Boolean.getBoolean(BENCHMARK_PROPERTY));
+        System.gc();
+        long initialMemory = usedMemory();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_POLICIES; i++) {
+            ThrottlePolicyTable.getInstance().addPolicy("sub", TENANT, "policy" + i, 1000, 60000, false);
+        }
+        ExecutionPlanRuntime consolidatedRuntime = new SiddhiManager().createExecutionPlanRuntime(REQUEST_STREAM +
+                POLICY_TABLE_QUERY);
+        consolidatedRuntime.start();
+        long consolidatedTime = System.nanoTime() - startTime;
+        System.gc();
+        long consolidatedMemory = usedMemory() - initialMemory;
+        Assert.assertEquals(BENCHMARK_POLICIES, ThrottlePolicyTable.getInstance().size());
+
+        // Deploying a plan per policy is measured on a sample and extrapolated to the same number of policies
+        SiddhiManager siddhiManager = new SiddhiManager();
+        List<ExecutionPlanRuntime> runtimes = new ArrayList<ExecutionPlanRuntime>();
+        System.gc();
+        initialMemory = usedMemory();
+        startTime = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_SAMPLE_PLANS; i++) {
+            ExecutionPlanRuntime runtime = siddhiManager.createExecutionPlanRuntime(REQUEST_STREAM +
+                    "from RequestStream[tenant == '" + TENANT + "' and tier == 'policy" + i + "']" +
+                    "#throttler:timeBatch(1 min, 0) " +
+                    "select throttleKey, (count(messageID) >= 1000) as isThrottled, expiryTimeStamp " +
+                    "group by throttleKey insert all events into ResultStream;");
+            runtime.start();
+            runtimes.add(runtime);
+        }
+        long perPolicyTime = (System.nanoTime() - startTime) / BENCHMARK_SAMPLE_PLANS * BENCHMARK_POLICIES;
+        System.gc();
+        long perPolicyMemory = (usedMemory() - initialMemory) / BENCHMARK_SAMPLE_PLANS * BENCHMARK_POLICIES;
+
+        log.info("Deploying " + BENCHMARK_POLICIES + " policies: consolidated plan took "
+                + consolidatedTime / 1000000 + " ms and " + consolidatedMemory / 1024 + " KB (measured), plan per "
+                + "policy would take " + perPolicyTime / 1000000 + " ms and " + perPolicyMemory / 1024 + " KB "
+                + "(extrapolated to " + BENCHMARK_POLICIES + " policies from " + BENCHMARK_SAMPLE_PLANS
+                + " deployed plans, not measured)");
+        consolidatedRuntime.shutdown();
+        for (ExecutionPlanRuntime runtime : runtimes) {
+            runtime.shutdown();
+        }
+    }
+
+    private List<Event> runQuery(Object[][] requests) throws InterruptedException {
+        return runQuery(REQUEST_STREAM + POLICY_TABLE_QUERY, requests);
+    }
+
+    private List<Event> runQuery(String executionPlan, Object[][] requests) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        ExecutionPlanRuntime executionPlanRuntime = siddhiManager.createExecutionPlanRuntime(executionPlan);
+        final List<Event> receivedEvents = new ArrayList<Event>();
+        executionPlanRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        receivedEvents.add(event);
+                    }
+                }
+            }
+        });
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("RequestStream");
+        executionPlanRuntime.start();
+        for (Object[] request : requests) {
+            inputHandler.send(request);
+        }
+        executionPlanRuntime.shutdown();
+        return receivedEvents;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
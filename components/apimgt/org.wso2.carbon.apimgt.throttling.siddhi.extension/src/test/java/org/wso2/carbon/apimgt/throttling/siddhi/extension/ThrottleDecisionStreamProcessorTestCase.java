@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.wso2.siddhi.core.ExecutionPlanRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.query.output.callback.QueryCallback;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ThrottleDecisionStreamProcessorTestCase {
+    private static final Log log = LogFactory.getLog(ThrottleDecisionStreamProcessorTestCase.class);
+    private static final String REQUEST_STREAM = "" +
+            "define stream RequestStream (messageID string, throttleKey string, messageSize long);";
+    private static final int BENCHMARK_THREADS = 4;
+    private static final int BENCHMARK_EVENTS_PER_THREAD = 50000;
+    private static final int BENCHMARK_KEYS = 1000;
+    private static final String BENCHMARK_PROPERTY = "benchmark";
+
+    @Test
+    public void slidingWindowThrottleTest() throws InterruptedException {
+        List<Event> events = runQuery("from RequestStream#throttler:slidingWindow(throttleKey, 3, 1 min) " +
+                "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;", 5, false);
+        assertThrottledFromThirdEvent(events);
+    }
+
+    @Test
+    public void gcraThrottleTest() throws InterruptedException {
+        List<Event> events = runQuery("from RequestStream#throttler:gcra(throttleKey, 3, 1 min) " +
+                "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;", 5, false);
+        assertThrottledFromThirdEvent(events);
+    }
+
+    @Test
+    public void gcraBurstReleasedAfterWindowTest() {
+        GCRAThrottleStreamProcessor processor = new GCRAThrottleStreamProcessor();
+        processor.limit = 3;
+        processor.timeInMilliSeconds = 60000;
+        long startTime = 1000000L;
+        AtomicLong state = processor.createState(startTime);
+        for (int i = 0; i < 10; i++) {
+            long throttledUntil = processor.evaluate(state, 1, startTime);
+            Assert.assertEquals(i >= 2, throttledUntil > startTime);
+        }
+        long windowEndTime = startTime + processor.timeInMilliSeconds;
+        Assert.assertFalse(processor.evaluate(state, 1, windowEndTime) > windowEndTime);
+    }
+
+    @Test
+    public void gcraBandwidthThrottleTest() throws InterruptedException {
+        List<Event> events = runQuery("from RequestStream#throttler:gcra(throttleKey, 2500L, 1 min, messageSize) " +
+                "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;", 3, false);
+        Assert.assertEquals(3, events.size());
+        Assert.assertFalse((Boolean) events.get(0).getData(1));
+        Assert.assertFalse((Boolean) events.get(1).getData(1));
+        Assert.assertTrue((Boolean) events.get(2).getData(1));
+    }
+
+    @Test
+    public void throttleKeysAreIndependentTest() throws InterruptedException {
+        List<Event> events = runQuery("from RequestStream#throttler:slidingWindow(throttleKey, 2, 1 min) " +
+                "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;", 4, true);
+        Assert.assertEquals(4, events.size());
+        for (Event event : events) {
+            Assert.assertFalse((Boolean) event.getData(1));
+        }
+    }
+
+    @Test
+    public void throttleThroughputTest() throws InterruptedException {
+        Assume.assumeTrue("Run with -D" + BENCHMARK_PROPERTY + "=true to measure the throttle throughput",
+                Boolean.getBoolean(BENCHMARK_PROPERTY));
+        long timeBatch = benchmark("from RequestStream#throttler:timeBatch(1 min, 0) " +
+                "select throttleKey, (count(messageID) >= 1000) as isThrottled, expiryTimeStamp group by throttleKey " +
+                "insert all events into ResultStream;");
+        long slidingWindow = benchmark("from RequestStream#throttler:slidingWindow(throttleKey, 1000, 1 min) " +
+                "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;");
+        long gcra = benchmark("from RequestStream#throttler:gcra(throttleKey, 1000, 1 min) " +
+                "select throttleKey, isThrottled, expiryTimeStamp insert into ResultStream;");
+        int totalEvents = BENCHMARK_THREADS * BENCHMARK_EVENTS_PER_THREAD;
+        log.info("Throttle decisions per second with " + BENCHMARK_THREADS + " threads and " + BENCHMARK_KEYS
+                + " keys: timeBatch=" + throughput(totalEvents, timeBatch) + ", slidingWindow="
+                + throughput(totalEvents, slidingWindow) + ", gcra=" + throughput(totalEvents, gcra));
+    }
+
+    private void assertThrottledFromThirdEvent(List<Event> events) {
+        Assert.assertEquals(5, events.size());
+        Assert.assertFalse((Boolean) events.get(0).getData(1));
+        Assert.assertFalse((Boolean) events.get(1).getData(1));
+        for (int i = 2; i < events.size(); i++) {
+            Assert.assertTrue((Boolean) events.get(i).getData(1));
+            Assert.assertTrue((Long) events.get(i).getData(2) > System.currentTimeMillis());
+        }
+    }
+
+    private List<Event> runQuery(String query, int eventCount, boolean distinctKeys) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        ExecutionPlanRuntime executionPlanRuntime = siddhiManager.createExecutionPlanRuntime(REQUEST_STREAM +
+                "@info(name = 'query1') " + query);
+        final List<Event> receivedEvents = new ArrayList<Event>();
+        executionPlanRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        receivedEvents.add(event);
+                    }
+                }
+            }
+        });
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("RequestStream");
+        executionPlanRuntime.start();
+        for (int i = 0; i < eventCount; i++) {
+            inputHandler.send(new Object[]{"message" + i, distinctKeys ? "key" + i : "key", 1000L});
+        }
+        executionPlanRuntime.shutdown();
+        return receivedEvents;
+    }
+
+    private long benchmark(String query) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        ExecutionPlanRuntime executionPlanRuntime = siddhiManager.createExecutionPlanRuntime(REQUEST_STREAM +
+                "@info(name = 'query1') " + query);
+        final AtomicInteger receivedEvents = new AtomicInteger();
+        executionPlanRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    receivedEvents.addAndGet(inEvents.length);
+                }
+            }
+        });
+        final InputHandler inputHandler = executionPlanRuntime.getInputHandler("RequestStream");
+        executionPlanRuntime.start();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch endLatch = new CountDownLatch(BENCHMARK_THREADS);
+        for (int t = 0; t < BENCHMARK_THREADS; t++) {
+            final int thread = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        for (int i = 0; i < BENCHMARK_EVENTS_PER_THREAD; i++) {
+                            inputHandler.send(new Object[]{"message" + i,
+                                    "key" + ((thread * BENCHMARK_EVENTS_PER_THREAD + i) % BENCHMARK_KEYS), 1000L});
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        endLatch.countDown();
+                    }
+                }
+            }).start();
+        }
+        long startTime = System.nanoTime();
+        startLatch.countDown();
+        endLatch.await();
+        long elapsedTime = System.nanoTime() - startTime;
+        executionPlanRuntime.shutdown();
+        Assert.assertTrue(receivedEvents.get() > 0);
+        return elapsedTime;
+    }
+
+    private static long throughput(int events, long elapsedNanos) {
+        return events * 1000000000L / Math.max(elapsedNanos, 1);
+    }
+}